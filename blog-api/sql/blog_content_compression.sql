@@ -0,0 +1,15 @@
+-- 大字段压缩（可选）
+-- 将 content 字段改为 LONGBLOB，已有数据按原 UTF-8 字节保留，无需转换即可读取；
+-- 执行后配置 blog.content-compression.enabled=true 并重启，再通过 /api/content-compression/migration/start 压缩已有数据。
+-- 注意：改为二进制后不能再对 content 做 LIKE 等文本查询
+
+USE blog_db;
+
+ALTER TABLE `article`
+    MODIFY COLUMN `content` LONGBLOB NOT NULL COMMENT '文章内容（Markdown，可能为LZ4压缩）';
+
+ALTER TABLE `project`
+    MODIFY COLUMN `content` LONGBLOB DEFAULT NULL COMMENT '项目详细介绍（可能为LZ4压缩）';
+
+ALTER TABLE `travel`
+    MODIFY COLUMN `content` LONGBLOB DEFAULT NULL COMMENT '详细游记内容（可能为LZ4压缩）';
@@ -58,8 +58,7 @@ CREATE TABLE `category` (
     PRIMARY KEY (`id`),
     UNIQUE KEY `uk_slug` (`slug`),
     KEY `idx_sort_order` (`sort_order`),
-    KEY `idx_status` (`status`),
-    KEY `idx_is_delete` (`is_delete`)
+    KEY `idx_list` (`is_delete`, `status`, `sort_order`, `create_time`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='分类表';
 
 -- 标签表
@@ -92,24 +91,24 @@ CREATE TABLE `article` (
     `cover_image` VARCHAR(500) DEFAULT NULL COMMENT '封面图片URL',
     `category_id` BIGINT DEFAULT NULL COMMENT '分类ID',
     `author_id` BIGINT NOT NULL COMMENT '作者ID',
-    `status` TINYINT DEFAULT 0 COMMENT '状态：0-草稿，1-已发布，2-已下线',
+    `status` TINYINT DEFAULT 0 COMMENT '状态：0-草稿，1-已发布，2-已下线，3-定时发布',
     `is_top` TINYINT DEFAULT 0 COMMENT '是否置顶：0-否，1-是',
     `is_featured` TINYINT DEFAULT 0 COMMENT '是否精选：0-否，1-是',
     `word_count` INT DEFAULT 0 COMMENT '字数统计',
     `reading_time` INT DEFAULT 0 COMMENT '预计阅读时间（分钟）',
-    `publish_time` DATETIME DEFAULT NULL COMMENT '发布时间',
+    `publish_time` DATETIME DEFAULT NULL COMMENT '发布时间（定时发布时为计划发布时间）',
+    `unpublish_time` DATETIME DEFAULT NULL COMMENT '计划下线时间',
     `create_time` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     `update_time` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     `is_delete` TINYINT DEFAULT 0 COMMENT '是否删除：0-未删除，1-已删除',
     PRIMARY KEY (`id`),
     UNIQUE KEY `uk_slug` (`slug`),
-    KEY `idx_category_id` (`category_id`),
     KEY `idx_author_id` (`author_id`),
-    KEY `idx_status` (`status`),
     KEY `idx_publish_time` (`publish_time`),
-    KEY `idx_is_delete` (`is_delete`),
-    KEY `idx_is_top` (`is_top`),
-    KEY `idx_is_featured` (`is_featured`),
+    KEY `idx_unpublish_time` (`unpublish_time`),
+    KEY `idx_list` (`is_delete`, `status`, `is_top`, `publish_time`, `create_time`),
+    KEY `idx_category_list` (`category_id`, `is_delete`, `status`, `is_top`, `publish_time`, `create_time`),
+    KEY `idx_featured_list` (`is_delete`, `status`, `is_featured`, `publish_time`, `create_time`),
     FOREIGN KEY (`category_id`) REFERENCES `category` (`id`) ON DELETE SET NULL,
     FOREIGN KEY (`author_id`) REFERENCES `user` (`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章表';
@@ -127,6 +126,36 @@ CREATE TABLE `article_tag` (
     FOREIGN KEY (`tag_id`) REFERENCES `tag` (`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章标签关联表';
 
+-- 文章修订历史表
+CREATE TABLE `article_revision` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '修订ID',
+    `article_id` BIGINT NOT NULL COMMENT '文章ID',
+    `revision_no` INT NOT NULL COMMENT '修订号（文章内从1递增）',
+    `type` TINYINT NOT NULL COMMENT '存储类型：0-全量快照，1-相对上一修订的增量',
+    `source` TINYINT NOT NULL DEFAULT 0 COMMENT '来源：0-保存，1-自动保存，2-恢复',
+    `content` MEDIUMBLOB NOT NULL COMMENT '压缩后的快照或增量',
+    `content_hash` CHAR(32) NOT NULL COMMENT '该修订完整内容的MD5',
+    `content_length` INT NOT NULL COMMENT '该修订完整内容的字符数',
+    `editor_id` BIGINT DEFAULT NULL COMMENT '编辑者ID',
+    `create_time` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_article_revision` (`article_id`, `revision_no`),
+    FOREIGN KEY (`article_id`) REFERENCES `article` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章修订历史表';
+
+-- 文章渲染结果表
+CREATE TABLE `article_render` (
+    `article_id` BIGINT NOT NULL COMMENT '文章ID',
+    `content_hash` CHAR(32) NOT NULL COMMENT '渲染时文章内容的MD5',
+    `renderer_version` INT NOT NULL COMMENT '渲染器版本',
+    `html` MEDIUMTEXT NOT NULL COMMENT '渲染后的HTML',
+    `toc` TEXT DEFAULT NULL COMMENT '目录（JSON）',
+    `excerpt` VARCHAR(500) DEFAULT NULL COMMENT '纯文本摘要',
+    `update_time` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '渲染时间',
+    PRIMARY KEY (`article_id`),
+    FOREIGN KEY (`article_id`) REFERENCES `article` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章渲染结果表';
+
 -- ================================
 -- 4. 技术栈模块
 -- ================================
@@ -148,8 +177,7 @@ CREATE TABLE `tech_stack` (
     PRIMARY KEY (`id`),
     KEY `idx_category` (`category`),
     KEY `idx_sort_order` (`sort_order`),
-    KEY `idx_status` (`status`),
-    KEY `idx_is_delete` (`is_delete`)
+    KEY `idx_list` (`is_delete`, `status`, `sort_order`, `create_time` DESC)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='技术栈表';
 
 -- ================================
@@ -172,8 +200,8 @@ CREATE TABLE `thought` (
     PRIMARY KEY (`id`),
     KEY `idx_author_id` (`author_id`),
     KEY `idx_create_time` (`create_time`),
-    KEY `idx_status` (`status`),
-    KEY `idx_is_delete` (`is_delete`),
+    KEY `idx_list` (`is_delete`, `status`, `create_time`),
+    KEY `idx_all_list` (`is_delete`, `create_time`),
     FOREIGN KEY (`author_id`) REFERENCES `user` (`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='想法表';
 
@@ -212,10 +240,9 @@ CREATE TABLE `travel` (
     PRIMARY KEY (`id`),
     KEY `idx_destination` (`destination`),
     KEY `idx_start_date` (`start_date`),
-    KEY `idx_author_id` (`author_id`),
     KEY `idx_rating` (`rating`),
-    KEY `idx_status` (`status`),
-    KEY `idx_is_delete` (`is_delete`),
+    KEY `idx_list` (`is_delete`, `status`, `start_date`, `create_time`),
+    KEY `idx_author_list` (`author_id`, `is_delete`, `status`, `start_date`, `create_time`),
     FOREIGN KEY (`author_id`) REFERENCES `user` (`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='旅行记录表';
 
@@ -252,12 +279,12 @@ CREATE TABLE `project` (
     PRIMARY KEY (`id`),
     UNIQUE KEY `uk_slug` (`slug`),
     KEY `idx_project_type` (`project_type`),
-    KEY `idx_status` (`status`),
     KEY `idx_author_id` (`author_id`),
     KEY `idx_sort_order` (`sort_order`),
-    KEY `idx_is_delete` (`is_delete`),
-    KEY `idx_is_featured` (`is_featured`),
-    KEY `idx_is_open_source` (`is_open_source`),
+    KEY `idx_list` (`is_delete`, `status`, `sort_order`, `create_time`),
+    KEY `idx_all_list` (`is_delete`, `sort_order`, `create_time`),
+    KEY `idx_featured_list` (`is_delete`, `is_featured`, `sort_order`, `create_time`),
+    KEY `idx_open_source_list` (`is_delete`, `is_open_source`, `sort_order`, `create_time`),
     FOREIGN KEY (`author_id`) REFERENCES `user` (`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='项目表';
 
@@ -282,6 +309,53 @@ CREATE TABLE `system_config` (
     KEY `idx_is_public` (`is_public`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='系统配置表';
 
+-- 复制心跳表（读写分离时检测从库延迟）
+CREATE TABLE `replication_heartbeat` (
+    `id` INT NOT NULL COMMENT '固定为1',
+    `beat_time` DATETIME(3) NOT NULL COMMENT '主库写入的心跳时间',
+    PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='复制心跳表';
+
+-- 图片资源表（上传图片的尺寸、缩放版本和占位图）
+CREATE TABLE `image_asset` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '图片ID',
+    `object_key` VARCHAR(512) NOT NULL COMMENT '原图对象键',
+    `width` INT NOT NULL COMMENT '原图宽度（像素）',
+    `height` INT NOT NULL COMMENT '原图高度（像素）',
+    `placeholder` TEXT DEFAULT NULL COMMENT '低质量占位图（data URI）',
+    `variants` VARCHAR(2000) DEFAULT NULL COMMENT '缩放版本（JSON）：宽度、高度、格式、对象键',
+    `create_time` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    `update_time` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_object_key` (`object_key`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='图片资源表';
+
+-- 领域事件发件箱（数据表变更与业务写操作同事务写入，后台转发到 Redis Stream）
+CREATE TABLE `domain_event_outbox` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '事件ID',
+    `event_key` CHAR(32) NOT NULL COMMENT '幂等键，订阅方据此去重',
+    `table_name` VARCHAR(64) NOT NULL COMMENT '变更的数据表',
+    `row_ids` VARCHAR(2000) DEFAULT NULL COMMENT '变更的主键ID，逗号分隔，为空表示整表',
+    `node_id` CHAR(32) NOT NULL COMMENT '写入节点ID',
+    `status` TINYINT NOT NULL DEFAULT 0 COMMENT '状态：0-待发布，1-已发布',
+    `create_time` DATETIME(3) DEFAULT CURRENT_TIMESTAMP(3) COMMENT '创建时间',
+    `publish_time` DATETIME(3) DEFAULT NULL COMMENT '发布时间',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_event_key` (`event_key`),
+    KEY `idx_status_id` (`status`, `id`),
+    KEY `idx_status_publish_time` (`status`, `publish_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='领域事件发件箱';
+
+-- 数据库结构迁移记录表（应用启动时执行 db/migration 下的脚本）
+CREATE TABLE `schema_migration` (
+    `version` INT NOT NULL COMMENT '版本号',
+    `description` VARCHAR(200) NOT NULL COMMENT '说明',
+    `checksum` BIGINT DEFAULT NULL COMMENT '脚本CRC32，建表脚本中已包含的版本为空',
+    `execution_millis` BIGINT DEFAULT NULL COMMENT '执行耗时（毫秒）',
+    `installed_time` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '执行时间',
+    PRIMARY KEY (`version`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='数据库结构迁移记录表';
+
 -- ================================
 -- 初始化数据
 -- ================================
@@ -327,5 +401,11 @@ INSERT INTO `system_config` (`config_key`, `config_value`, `config_type`, `descr
 ('github_url', 'https://github.com/lhcxu', 'string', 'GitHub地址', 'social', 1),
 ('registration_enabled', 'false', 'boolean', '是否开启注册', 'feature', 0);
 
+-- 本脚本已包含的迁移版本，启动时不再执行
+INSERT INTO `schema_migration` (`version`, `description`) VALUES
+(1, 'composite list indexes'),
+(2, 'image asset'),
+(3, 'domain event outbox');
+
 -- 恢复外键检查
 SET FOREIGN_KEY_CHECKS = 1;
\ No newline at end of file
@@ -0,0 +1,57 @@
+-- 博客项目数据库升级脚本
+-- 已有库按顺序执行；新建库直接使用 blog_database_design.sql
+-- 之后的结构变更放在 src/main/resources/db/migration，由应用启动时按版本号自动执行
+
+USE blog_db;
+
+-- ================================
+-- 定时发布/下线
+-- ================================
+ALTER TABLE `article`
+    MODIFY COLUMN `status` TINYINT DEFAULT 0 COMMENT '状态：0-草稿，1-已发布，2-已下线，3-定时发布',
+    MODIFY COLUMN `publish_time` DATETIME DEFAULT NULL COMMENT '发布时间（定时发布时为计划发布时间）',
+    ADD COLUMN `unpublish_time` DATETIME DEFAULT NULL COMMENT '计划下线时间' AFTER `publish_time`,
+    ADD KEY `idx_unpublish_time` (`unpublish_time`);
+
+-- ================================
+-- 文章修订历史
+-- ================================
+CREATE TABLE IF NOT EXISTS `article_revision` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '修订ID',
+    `article_id` BIGINT NOT NULL COMMENT '文章ID',
+    `revision_no` INT NOT NULL COMMENT '修订号（文章内从1递增）',
+    `type` TINYINT NOT NULL COMMENT '存储类型：0-全量快照，1-相对上一修订的增量',
+    `source` TINYINT NOT NULL DEFAULT 0 COMMENT '来源：0-保存，1-自动保存，2-恢复',
+    `content` MEDIUMBLOB NOT NULL COMMENT '压缩后的快照或增量',
+    `content_hash` CHAR(32) NOT NULL COMMENT '该修订完整内容的MD5',
+    `content_length` INT NOT NULL COMMENT '该修订完整内容的字符数',
+    `editor_id` BIGINT DEFAULT NULL COMMENT '编辑者ID',
+    `create_time` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_article_revision` (`article_id`, `revision_no`),
+    FOREIGN KEY (`article_id`) REFERENCES `article` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章修订历史表';
+
+-- ================================
+-- 文章渲染结果
+-- ================================
+CREATE TABLE IF NOT EXISTS `article_render` (
+    `article_id` BIGINT NOT NULL COMMENT '文章ID',
+    `content_hash` CHAR(32) NOT NULL COMMENT '渲染时文章内容的MD5',
+    `renderer_version` INT NOT NULL COMMENT '渲染器版本',
+    `html` MEDIUMTEXT NOT NULL COMMENT '渲染后的HTML',
+    `toc` TEXT DEFAULT NULL COMMENT '目录（JSON）',
+    `excerpt` VARCHAR(500) DEFAULT NULL COMMENT '纯文本摘要',
+    `update_time` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '渲染时间',
+    PRIMARY KEY (`article_id`),
+    FOREIGN KEY (`article_id`) REFERENCES `article` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章渲染结果表';
+
+-- ================================
+-- 复制心跳（读写分离）
+-- ================================
+CREATE TABLE IF NOT EXISTS `replication_heartbeat` (
+    `id` INT NOT NULL COMMENT '固定为1',
+    `beat_time` DATETIME(3) NOT NULL COMMENT '主库写入的心跳时间',
+    PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='复制心跳表';
@@ -0,0 +1,55 @@
+package com.xu.blogapi.annotation;
+
+import com.xu.blogapi.manager.ratelimit.RateLimitType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 接口限流
+ * 标注在控制器方法上，按 IP 或登录用户限流：先经过本机令牌桶，再经过 Redis 滑动窗口（集群内共享），
+ * 任一超限直接返回 429，不进入控制器
+ *
+ * @author xu
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimit {
+
+    /**
+     * 限流维度
+     *
+     * @return 限流维度
+     */
+    RateLimitType type() default RateLimitType.IP;
+
+    /**
+     * 本机令牌桶每秒补充的令牌数
+     *
+     * @return 每秒请求数
+     */
+    double rate() default 5;
+
+    /**
+     * 本机令牌桶容量，即允许的突发请求数
+     *
+     * @return 突发请求数
+     */
+    int burst() default 20;
+
+    /**
+     * 集群滑动窗口内允许的请求数，0 表示不做集群限流
+     *
+     * @return 窗口内请求数
+     */
+    int windowLimit() default 0;
+
+    /**
+     * 集群滑动窗口长度（秒）
+     *
+     * @return 窗口长度
+     */
+    int windowSeconds() default 60;
+}
@@ -0,0 +1,31 @@
+package com.xu.blogapi.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 响应体缓存
+ * 标注在公共 GET 接口上，按请求路径和参数缓存序列化、压缩后的响应体，依赖的数据表变更时自动失效
+ *
+ * @author xu
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ResponseCache {
+
+    /**
+     * 响应依赖的数据表
+     *
+     * @return 表名
+     */
+    String[] tables();
+
+    /**
+     * 过期时间（秒）
+     *
+     * @return 过期时间
+     */
+    long ttl() default 600;
+}
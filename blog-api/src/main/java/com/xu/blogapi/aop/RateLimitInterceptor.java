@@ -0,0 +1,85 @@
+package com.xu.blogapi.aop;
+
+import cn.dev33.satoken.stp.StpUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xu.blogapi.annotation.RateLimit;
+import com.xu.blogapi.common.ErrorCode;
+import com.xu.blogapi.common.ResultUtils;
+import com.xu.blogapi.manager.ratelimit.RateLimitManager;
+import com.xu.blogapi.manager.ratelimit.RateLimitType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.annotation.Resource;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 接口限流拦截器
+ * 在响应体缓存和控制器之前执行，超限时直接返回 429 和 Retry-After 响应头
+ *
+ * @author xu
+ */
+@Slf4j
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    @Resource
+    private RateLimitManager rateLimitManager;
+
+    @Resource
+    private ObjectMapper objectMapper;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!(handler instanceof HandlerMethod) || !rateLimitManager.isEnabled()) {
+            return true;
+        }
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        RateLimit rateLimit = handlerMethod.getMethodAnnotation(RateLimit.class);
+        if (rateLimit == null) {
+            return true;
+        }
+        String key = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName()
+                + ":" + resolveClient(request, rateLimit.type());
+        long waitMillis = rateLimitManager.tryAcquire(key, rateLimit);
+        if (waitMillis <= 0) {
+            return true;
+        }
+        log.warn("rate limited, key = {}, uri = {}", key, request.getRequestURI());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, TimeUnit.MILLISECONDS.toSeconds(waitMillis + 999))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(objectMapper.writeValueAsString(ResultUtils.error(ErrorCode.TOO_MANY_REQUEST_ERROR)));
+        return false;
+    }
+
+    /**
+     * 限流对象：登录用户按用户ID，其他按 IP
+     * IP 取 getRemoteAddr，只有来自受信任代理的 X-Forwarded-For 会被 Tomcat 解析为客户端地址，客户端自带的该请求头不能绕过限流
+     */
+    private String resolveClient(HttpServletRequest request, RateLimitType type) {
+        if (type == RateLimitType.USER) {
+            try {
+                if (StpUtil.isLogin()) {
+                    return "user:" + StpUtil.getLoginIdAsString();
+                }
+            } catch (Exception e) {
+                // 无法获取登录状态时按 IP 限流
+                log.debug("resolve login user failed", e);
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,68 @@
+package com.xu.blogapi.aop;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xu.blogapi.annotation.ResponseCache;
+import com.xu.blogapi.common.BaseResponse;
+import com.xu.blogapi.common.ErrorCode;
+import com.xu.blogapi.manager.ResponseCacheManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import javax.annotation.Resource;
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * 响应体缓存回填
+ * 未命中缓存的请求在写出响应前，用 MVC 同一个 ObjectMapper 序列化结果并写入缓存
+ *
+ * @author xu
+ */
+@Slf4j
+@ControllerAdvice
+public class ResponseCacheBodyAdvice implements ResponseBodyAdvice<Object> {
+
+    @Resource
+    private ResponseCacheManager responseCacheManager;
+
+    @Resource
+    private ObjectMapper objectMapper;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.hasMethodAnnotation(ResponseCache.class)
+                && MappingJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest)) {
+            return body;
+        }
+        HttpServletRequest servletRequest = ((ServletServerHttpRequest) request).getServletRequest();
+        String key = (String) servletRequest.getAttribute(ResponseCacheInterceptor.CACHE_KEY_ATTRIBUTE);
+        Long generation = (Long) servletRequest.getAttribute(ResponseCacheInterceptor.CACHE_GENERATION_ATTRIBUTE);
+        // 只缓存成功的响应
+        if (key == null || generation == null || !(body instanceof BaseResponse)
+                || ((BaseResponse<?>) body).getCode() != ErrorCode.SUCCESS.getCode()) {
+            return body;
+        }
+        ResponseCache responseCache = returnType.getMethodAnnotation(ResponseCache.class);
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(body);
+            responseCacheManager.put(key, bytes, responseCache.tables(), responseCache.ttl(), generation);
+        } catch (Exception e) {
+            log.warn("cache response body failed, key = {}", key, e);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,169 @@
+package com.xu.blogapi.aop;
+
+import com.xu.blogapi.annotation.ResponseCache;
+import com.xu.blogapi.datasource.ReadWriteRoutingDataSource;
+import com.xu.blogapi.manager.ResponseCacheManager;
+import com.xu.blogapi.manager.ResponseCacheManager.CachedResponse;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.annotation.Resource;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 响应体缓存拦截器
+ * 命中时直接写出缓存字节并中断处理链，未命中时记录缓存键，由 {@link ResponseCacheBodyAdvice} 回填；
+ * 回填的响应会被缓存到依赖的表下次变更，生成响应的查询强制走主库，避免缓存从库上的旧数据
+ *
+ * @author xu
+ */
+@Component
+public class ResponseCacheInterceptor implements HandlerInterceptor {
+
+    /**
+     * 缓存键请求属性
+     */
+    public static final String CACHE_KEY_ATTRIBUTE = ResponseCacheInterceptor.class.getName() + ".KEY";
+
+    /**
+     * 失效代数请求属性
+     */
+    public static final String CACHE_GENERATION_ATTRIBUTE = ResponseCacheInterceptor.class.getName() + ".GENERATION";
+
+    /**
+     * 进入前的主库标记请求属性
+     */
+    private static final String PREVIOUS_PRIMARY_ATTRIBUTE = ResponseCacheInterceptor.class.getName() + ".PREVIOUS_PRIMARY";
+
+    private static final ParameterNameDiscoverer PARAMETER_NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
+
+    @Resource
+    private ResponseCacheManager responseCacheManager;
+
+    /**
+     * 接口方法 -> 绑定的请求参数名（排序后）
+     */
+    private final Map<HandlerMethod, List<String>> boundParameterNames = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!(handler instanceof HandlerMethod) || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+        ResponseCache responseCache = ((HandlerMethod) handler).getMethodAnnotation(ResponseCache.class);
+        if (responseCache == null) {
+            return true;
+        }
+        String key = buildKey(request, (HandlerMethod) handler);
+        CachedResponse cachedResponse = responseCacheManager.get(key);
+        if (cachedResponse == null) {
+            request.setAttribute(CACHE_KEY_ATTRIBUTE, key);
+            request.setAttribute(CACHE_GENERATION_ATTRIBUTE, responseCacheManager.getGeneration());
+            request.setAttribute(PREVIOUS_PRIMARY_ATTRIBUTE, Optional.ofNullable(ReadWriteRoutingDataSource.markPrimary(true)));
+            return true;
+        }
+        writeCachedResponse(request, response, cachedResponse);
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Optional<Boolean> previous = (Optional<Boolean>) request.getAttribute(PREVIOUS_PRIMARY_ATTRIBUTE);
+        if (previous != null) {
+            request.removeAttribute(PREVIOUS_PRIMARY_ATTRIBUTE);
+            ReadWriteRoutingDataSource.restorePrimary(previous.orElse(null));
+        }
+    }
+
+    /**
+     * 缓存键：请求路径 + 接口方法绑定的请求参数，其余参数不影响响应，不参与缓存键，避免随意附加的参数产生大量条目
+     */
+    private String buildKey(HttpServletRequest request, HandlerMethod handlerMethod) {
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        for (String name : boundParameterNames.computeIfAbsent(handlerMethod, ResponseCacheInterceptor::resolveParameterNames)) {
+            String[] values = request.getParameterValues(name);
+            key.append('&').append(name).append('=');
+            if (values != null) {
+                key.append(String.join(",", values));
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * 解析接口方法绑定的请求参数名：@RequestParam 参数，以及未加注解的简单类型参数
+     */
+    static List<String> resolveParameterNames(HandlerMethod handlerMethod) {
+        TreeSet<String> names = new TreeSet<>();
+        for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+            RequestParam requestParam = parameter.getParameterAnnotation(RequestParam.class);
+            boolean bound = requestParam != null
+                    || (parameter.getParameterAnnotations().length == 0 && BeanUtils.isSimpleProperty(parameter.getParameterType()));
+            if (!bound) {
+                continue;
+            }
+            String name = requestParam == null ? null : requestParam.name();
+            if (StringUtils.isEmpty(name)) {
+                parameter.initParameterNameDiscovery(PARAMETER_NAME_DISCOVERER);
+                name = parameter.getParameterName();
+            }
+            if (name != null) {
+                names.add(name);
+            }
+        }
+        return new ArrayList<>(names);
+    }
+
+    private void writeCachedResponse(HttpServletRequest request, HttpServletResponse response,
+                                     CachedResponse cachedResponse) throws IOException {
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(HttpHeaders.ETAG, cachedResponse.getEtag());
+        if (cachedResponse.getEtag().equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        byte[] body = cachedResponse.getIdentity();
+        if (cachedResponse.getGzip() != null && acceptsGzip(request)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = cachedResponse.getGzip();
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (StringUtils.isBlank(acceptEncoding)) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if ("gzip".equalsIgnoreCase(parts[0].trim())) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,77 @@
+package com.xu.blogapi.common;
+
+import com.xu.blogapi.manager.compression.ContentCompressionManager;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.MappedJdbcTypes;
+import org.apache.ibatis.type.MappedTypes;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * 压缩文本类型处理器
+ * 用于 article/project/travel 的 content 字段：写入时按配置压缩，读取时兼容压缩和未压缩的数据。
+ * 在 {@link com.xu.blogapi.config.MyBatisPlusConfig} 中注册为二进制列到 String 的默认处理器，
+ * 自动映射的查询（SELECT *）也能正确解压
+ *
+ * @author xu
+ */
+@MappedTypes({String.class})
+@MappedJdbcTypes({JdbcType.LONGVARBINARY, JdbcType.VARBINARY, JdbcType.BLOB})
+public class CompressedTextTypeHandler extends BaseTypeHandler<String> {
+
+    private final ContentCompressionManager contentCompressionManager;
+
+    public CompressedTextTypeHandler(ContentCompressionManager contentCompressionManager) {
+        this.contentCompressionManager = contentCompressionManager;
+    }
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, String parameter, JdbcType jdbcType) throws SQLException {
+        byte[] compressed = contentCompressionManager.encode(parameter);
+        if (compressed != null) {
+            ps.setBytes(i, compressed);
+        } else {
+            ps.setString(i, parameter);
+        }
+    }
+
+    @Override
+    public String getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return getNullableResult(rs, rs.findColumn(columnName));
+    }
+
+    @Override
+    public String getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        // 字段还是文本类型时按字符串读取，避免依赖连接字符集
+        if (isTextColumn(rs.getMetaData().getColumnType(columnIndex))) {
+            return rs.getString(columnIndex);
+        }
+        return decode(rs.getBytes(columnIndex));
+    }
+
+    @Override
+    public String getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return decode(cs.getBytes(columnIndex));
+    }
+
+    private String decode(byte[] data) throws SQLException {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return contentCompressionManager.decode(data);
+        } catch (IllegalArgumentException e) {
+            throw new SQLException("decode compressed content failed", e);
+        }
+    }
+
+    private static boolean isTextColumn(int sqlType) {
+        return sqlType == Types.VARCHAR || sqlType == Types.LONGVARCHAR || sqlType == Types.CHAR
+                || sqlType == Types.CLOB || sqlType == Types.NVARCHAR || sqlType == Types.LONGNVARCHAR;
+    }
+}
@@ -28,4 +28,9 @@ public class PageRequest {
      * 排序顺序（默认升序）
      */
     private String sortOrder = CommonConstant.SORT_ORDER_ASC;
+
+    /**
+     * 是否查询总数（默认查询），只需要翻页时传 false，返回的总数为 0
+     */
+    private boolean searchCount = true;
 }
@@ -0,0 +1,41 @@
+package com.xu.blogapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 文章批量导入配置
+ *
+ * @author xu
+ */
+@Configuration
+@ConfigurationProperties(prefix = "blog.article-import")
+@Data
+public class ArticleImportProperties {
+
+    /**
+     * 每批插入条数，同时也是检查点的粒度
+     */
+    private int batchSize = 500;
+
+    /**
+     * 字数统计、别名生成的并行线程数
+     */
+    private int workerThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 并行处理队列容量，队列满时由导入线程自己执行，形成背压
+     */
+    private int queueCapacity = 1000;
+
+    /**
+     * 允许导入的 Markdown 根目录，未配置时禁止按目录导入
+     */
+    private String markdownRoot;
+
+    /**
+     * 检查点保留天数
+     */
+    private int checkpointTtlDays = 7;
+}
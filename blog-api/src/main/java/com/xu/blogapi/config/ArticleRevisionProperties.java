@@ -0,0 +1,26 @@
+package com.xu.blogapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 文章修订历史配置
+ *
+ * @author xu
+ */
+@Configuration
+@ConfigurationProperties(prefix = "blog.article-revision")
+@Data
+public class ArticleRevisionProperties {
+
+    /**
+     * 每隔多少个修订保存一次全量快照，还原任一修订最多应用 snapshotInterval - 1 个增量
+     */
+    private int snapshotInterval = 20;
+
+    /**
+     * 行差异的最大编辑距离，超过时不再计算差异，直接保存快照
+     */
+    private int maxEditDistance = 2000;
+}
@@ -0,0 +1,38 @@
+package com.xu.blogapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 大字段压缩配置
+ * 启用前需先执行 sql/blog_content_compression.sql 将 content 字段改为 LONGBLOB，
+ * 启动时检测到字段仍为文本类型会自动停用压缩写入
+ *
+ * @author xu
+ */
+@Configuration
+@ConfigurationProperties(prefix = "blog.content-compression")
+@Data
+public class ContentCompressionProperties {
+
+    /**
+     * 是否压缩写入；关闭后仍能读取已压缩的数据
+     */
+    private boolean enabled = false;
+
+    /**
+     * 不小于该字节数的内容才压缩
+     */
+    private int minSize = 1024;
+
+    /**
+     * 迁移任务每批处理的行数
+     */
+    private int migrationBatchSize = 200;
+
+    /**
+     * 迁移任务每批之间的停顿（毫秒），减小对线上库的压力
+     */
+    private long migrationPauseMillis = 100;
+}
@@ -0,0 +1,26 @@
+package com.xu.blogapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 内容导出配置
+ *
+ * @author xu
+ */
+@Configuration
+@ConfigurationProperties(prefix = "blog.export")
+@Data
+public class ContentExportProperties {
+
+    /**
+     * Excel 每批写入行数
+     */
+    private int excelBatchSize = 1000;
+
+    /**
+     * 单次下载的最大条数，超过时分块下载；小于等于 0 表示不分块
+     */
+    private int maxChunkSize = 100000;
+}
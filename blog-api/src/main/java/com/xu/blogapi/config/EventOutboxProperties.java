@@ -0,0 +1,46 @@
+package com.xu.blogapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 领域事件发件箱配置
+ *
+ * @author xu
+ */
+@Configuration
+@ConfigurationProperties(prefix = "blog.event-outbox")
+@Data
+public class EventOutboxProperties {
+
+    /**
+     * 每批转发的事件数
+     */
+    private int batchSize = 200;
+
+    /**
+     * 没有新事件通知时的轮询间隔（毫秒），用于接手其他节点宕机后遗留的事件
+     */
+    private long pollIntervalMillis = 1000;
+
+    /**
+     * 转发失败后的重试间隔（毫秒）
+     */
+    private long retryDelayMillis = 5000;
+
+    /**
+     * Redis Stream 保留的大致消息数
+     */
+    private long streamMaxLength = 10000;
+
+    /**
+     * 已发布事件在发件箱中的保留小时数
+     */
+    private int retentionHours = 24;
+
+    /**
+     * 清理已发布事件时每次删除的行数
+     */
+    private int purgeBatchSize = 1000;
+}
@@ -0,0 +1,56 @@
+package com.xu.blogapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 图片缩放代理配置
+ *
+ * @author xu
+ */
+@Configuration
+@ConfigurationProperties(prefix = "blog.image-proxy")
+@Data
+public class ImageProxyProperties {
+
+    /**
+     * 磁盘缓存目录，原图和缩放结果都缓存在这里
+     */
+    private String cacheDir = System.getProperty("java.io.tmpdir") + "/blog-image-cache";
+
+    /**
+     * 磁盘缓存上限（字节），超过时删除最久未访问的文件
+     */
+    private long maxCacheBytes = 1024L * 1024 * 1024;
+
+    /**
+     * 允许请求的最大宽度（像素）
+     */
+    private int maxWidth = 2560;
+
+    /**
+     * 允许请求的最大高度（像素）
+     */
+    private int maxHeight = 2560;
+
+    /**
+     * 请求的宽高向上取整到该步长，限制同一张图片的缓存版本数
+     */
+    private int sizeStep = 10;
+
+    /**
+     * 有损编码质量，0~1
+     */
+    private float quality = 0.8f;
+
+    /**
+     * 允许处理的原图最大像素数
+     */
+    private long maxPixels = 40_000_000L;
+
+    /**
+     * 同时进行缩放的最大数量，缩放占用 CPU 和内存，超过时排队
+     */
+    private int renderConcurrency = Runtime.getRuntime().availableProcessors();
+}
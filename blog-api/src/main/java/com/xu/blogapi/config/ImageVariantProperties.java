@@ -0,0 +1,54 @@
+package com.xu.blogapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 图片缩放版本配置
+ *
+ * @author xu
+ */
+@Configuration
+@ConfigurationProperties(prefix = "blog.image-variant")
+@Data
+public class ImageVariantProperties {
+
+    /**
+     * 是否在上传后生成缩放版本
+     */
+    private boolean enabled = true;
+
+    /**
+     * 缩放版本的宽度（像素），不超过原图宽度的才会生成
+     */
+    private List<Integer> widths = Arrays.asList(320, 640, 1280);
+
+    /**
+     * 有损编码质量，0~1
+     */
+    private float quality = 0.8f;
+
+    /**
+     * 占位图宽度（像素）
+     */
+    private int placeholderWidth = 24;
+
+    /**
+     * 允许处理的最大像素数，超过时只记录尺寸，避免解码超大图片耗尽内存
+     */
+    private long maxPixels = 40_000_000L;
+
+    /**
+     * 处理线程数
+     */
+    private int workerThreads = 2;
+
+    /**
+     * 等待处理的队列容量，队列满时跳过该图片（原图不受影响）
+     */
+    private int queueCapacity = 100;
+}
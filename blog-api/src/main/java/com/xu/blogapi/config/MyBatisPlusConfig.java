@@ -1,8 +1,15 @@
 package com.xu.blogapi.config;
 
 import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.autoconfigure.ConfigurationCustomizer;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.xu.blogapi.common.CompressedTextTypeHandler;
+import com.xu.blogapi.manager.cache.CachedCountPaginationInnerInterceptor;
+import com.xu.blogapi.manager.cache.PageTotalCache;
+import com.xu.blogapi.manager.compression.ContentCompressionManager;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeHandlerRegistry;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -18,13 +25,36 @@ public class MyBatisPlusConfig {
      * MyBatis Plus 拦截器
      * 拦截器配置
      *
+     * @param pageTotalCacheProperties 分页总数缓存配置
+     * @param pageTotalCache           分页总数缓存
      * @return {@link MybatisPlusInterceptor}
      */
     @Bean
-    public MybatisPlusInterceptor mybatisPlusInterceptor() {
+    public MybatisPlusInterceptor mybatisPlusInterceptor(PageTotalCacheProperties pageTotalCacheProperties,
+                                                         PageTotalCache pageTotalCache) {
         MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
-        // 分页插件
-        interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.MYSQL));
+        // 分页插件，启用时缓存各查询条件的总数
+        interceptor.addInnerInterceptor(pageTotalCacheProperties.isEnabled()
+                ? new CachedCountPaginationInnerInterceptor(DbType.MYSQL, pageTotalCache)
+                : new PaginationInnerInterceptor(DbType.MYSQL));
         return interceptor;
     }
+
+    /**
+     * 注册压缩文本类型处理器
+     * 实体和 XML 中引用该处理器时使用同一个实例；同时作为二进制列到 String 的默认处理器
+     *
+     * @param contentCompressionManager 大字段压缩
+     * @return {@link ConfigurationCustomizer}
+     */
+    @Bean
+    public ConfigurationCustomizer compressedTextTypeHandlerCustomizer(ContentCompressionManager contentCompressionManager) {
+        return configuration -> {
+            CompressedTextTypeHandler typeHandler = new CompressedTextTypeHandler(contentCompressionManager);
+            TypeHandlerRegistry registry = configuration.getTypeHandlerRegistry();
+            registry.register(String.class, JdbcType.LONGVARBINARY, typeHandler);
+            registry.register(String.class, JdbcType.VARBINARY, typeHandler);
+            registry.register(String.class, JdbcType.BLOB, typeHandler);
+        };
+    }
 }
\ No newline at end of file
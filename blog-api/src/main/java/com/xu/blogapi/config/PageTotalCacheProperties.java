@@ -0,0 +1,31 @@
+package com.xu.blogapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 分页总数缓存配置
+ *
+ * @author xu
+ */
+@Configuration
+@ConfigurationProperties(prefix = "blog.page-total-cache")
+@Data
+public class PageTotalCacheProperties {
+
+    /**
+     * 是否缓存分页查询的总数
+     */
+    private boolean enabled = true;
+
+    /**
+     * 最大缓存条目数（每种查询条件一条）
+     */
+    private int maxSize = 2048;
+
+    /**
+     * 缓存有效期（秒），兜底其他节点变更事件延迟或丢失的情况
+     */
+    private long ttlSeconds = 300;
+}
@@ -0,0 +1,31 @@
+package com.xu.blogapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 接口限流配置
+ *
+ * @author xu
+ */
+@Configuration
+@ConfigurationProperties(prefix = "blog.rate-limit")
+@Data
+public class RateLimitProperties {
+
+    /**
+     * 是否启用限流
+     */
+    private boolean enabled = true;
+
+    /**
+     * 是否启用 Redis 集群限流；关闭后只使用本机令牌桶
+     */
+    private boolean clusterEnabled = true;
+
+    /**
+     * 本机令牌桶数量上限，超过时立即清理空闲的令牌桶
+     */
+    private int maxLocalBuckets = 100000;
+}
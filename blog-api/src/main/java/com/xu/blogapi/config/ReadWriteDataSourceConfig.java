@@ -0,0 +1,69 @@
+package com.xu.blogapi.config;
+
+import com.xu.blogapi.datasource.ReadWriteRouteInterceptor;
+import com.xu.blogapi.datasource.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离数据源配置
+ * 开启后替换默认数据源：主库使用 spring.datasource 的配置，从库使用 blog.datasource.read-write.replicas，
+ * 均为 HikariCP 连接池
+ *
+ * @author xu
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "blog.datasource.read-write", name = "enabled", havingValue = "true")
+public class ReadWriteDataSourceConfig {
+
+    /**
+     * 路由数据源，负责主库和从库连接池的关闭
+     */
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                                 ReadWriteDataSourceProperties readWriteProperties) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        List<DataSource> replicas = new ArrayList<>(readWriteProperties.getReplicas().size());
+        for (int i = 0; i < readWriteProperties.getReplicas().size(); i++) {
+            ReadWriteDataSourceProperties.Replica replica = readWriteProperties.getReplicas().get(i);
+            HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(StringUtils.defaultIfEmpty(replica.getUsername(), dataSourceProperties.determineUsername()))
+                    .password(StringUtils.defaultIfEmpty(replica.getPassword(), dataSourceProperties.determinePassword()))
+                    .build();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setReadOnly(true);
+            replicas.add(dataSource);
+        }
+        return new ReadWriteRoutingDataSource(primary, replicas, readWriteProperties);
+    }
+
+    /**
+     * 应用使用的数据源
+     * 延迟到执行第一条语句时才获取物理连接，此时事务的只读标记已经生效
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    @Bean
+    public ReadWriteRouteInterceptor readWriteRouteInterceptor(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new ReadWriteRouteInterceptor(readWriteRoutingDataSource);
+    }
+}
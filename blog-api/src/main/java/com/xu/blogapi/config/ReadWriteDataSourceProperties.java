@@ -0,0 +1,63 @@
+package com.xu.blogapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离配置
+ * 主库使用 spring.datasource 的配置，这里只配置从库和路由参数
+ *
+ * @author xu
+ */
+@Configuration
+@ConfigurationProperties(prefix = "blog.datasource.read-write")
+@Data
+public class ReadWriteDataSourceProperties {
+
+    /**
+     * 是否启用读写分离
+     */
+    private boolean enabled = false;
+
+    /**
+     * 从库列表
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * 延迟检测方式：heartbeat-通过 replication_heartbeat 表检测复制延迟，none-只检测连通性
+     */
+    private String lagCheck = "heartbeat";
+
+    /**
+     * 允许的最大复制延迟（毫秒），超过时暂停使用该从库
+     */
+    private long maxLagMillis = 3000;
+
+    /**
+     * 从库检测间隔（毫秒）
+     */
+    private long checkIntervalMillis = 2000;
+
+    /**
+     * 写操作后同一会话的读请求继续走主库的时长（毫秒）
+     */
+    private long stickyMillis = 5000;
+
+    /**
+     * 从库连接配置，用户名和密码为空时使用主库的
+     */
+    @Data
+    public static class Replica {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+    }
+}
@@ -0,0 +1,42 @@
+package com.xu.blogapi.config;
+
+import com.xu.blogapi.manager.redis.RedisCodecFormat;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Redis 值编码配置
+ * 作用于 redisTemplate 和 Sa-Token 的会话存储；无论写入格式如何，读取时都兼容原有的 JSON 数据
+ *
+ * @author xu
+ */
+@Configuration
+@ConfigurationProperties(prefix = "blog.redis-codec")
+@Data
+public class RedisCodecProperties {
+
+    /**
+     * 写入格式：json（原有格式，默认值，滚动升级期间及回退时使用）、smile 或 cbor
+     */
+    private String format = "json";
+
+    /**
+     * 编码后不小于该字节数时再做 LZ4 压缩，小于等于 0 时不压缩
+     */
+    private int compressThreshold = 512;
+
+    /**
+     * 解析写入格式
+     *
+     * @return 写入格式
+     * @throws IllegalStateException 格式不支持
+     */
+    public RedisCodecFormat resolveFormat() {
+        RedisCodecFormat codecFormat = RedisCodecFormat.ofValue(format);
+        if (codecFormat == null) {
+            throw new IllegalStateException("不支持的 Redis 编码格式：" + format);
+        }
+        return codecFormat;
+    }
+}
@@ -2,8 +2,10 @@ package com.xu.blogapi.config;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.xu.blogapi.manager.redis.CompactRedisSerializer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
@@ -20,22 +22,26 @@ public class RedisConfig {
 
     /**
      * 配置RedisTemplate
+     * value 使用 {@link CompactRedisSerializer}：按 blog.redis-codec 配置写入 Smile/CBOR 并在超过阈值时压缩，
+     * 原有的 JSON 数据照常读取
      * 
      * @param connectionFactory Redis连接工厂
+     * @param redisCodecProperties Redis 值编码配置
      * @return RedisTemplate
      */
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                       RedisCodecProperties redisCodecProperties) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
         // 使用Jackson2JsonRedisSerializer来序列化和反序列化redis的value值
         Jackson2JsonRedisSerializer<Object> jackson2JsonRedisSerializer = new Jackson2JsonRedisSerializer<>(Object.class);
-        ObjectMapper om = new ObjectMapper();
-        om.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-        // 启用默认类型，但不使用具体的类名作为类型标识符
-        om.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL);
-        jackson2JsonRedisSerializer.setObjectMapper(om);
+        jackson2JsonRedisSerializer.setObjectMapper(createObjectMapper(new JsonFactory()));
+        // 二进制编码与 JSON 使用相同的 ObjectMapper 配置
+        CompactRedisSerializer valueSerializer = new CompactRedisSerializer(jackson2JsonRedisSerializer,
+                RedisConfig::createObjectMapper, redisCodecProperties.resolveFormat(),
+                redisCodecProperties.getCompressThreshold());
 
         // 使用StringRedisSerializer来序列化和反序列化redis的key值
         StringRedisSerializer stringRedisSerializer = new StringRedisSerializer();
@@ -44,12 +50,26 @@ public class RedisConfig {
         template.setKeySerializer(stringRedisSerializer);
         // hash的key也采用String的序列化方式
         template.setHashKeySerializer(stringRedisSerializer);
-        // value序列化方式采用jackson
-        template.setValueSerializer(jackson2JsonRedisSerializer);
-        // hash的value序列化方式采用jackson
-        template.setHashValueSerializer(jackson2JsonRedisSerializer);
+        // value序列化方式采用紧凑编码
+        template.setValueSerializer(valueSerializer);
+        // hash的value序列化方式采用紧凑编码
+        template.setHashValueSerializer(valueSerializer);
         
         template.afterPropertiesSet();
         return template;
     }
-}
\ No newline at end of file
+
+    /**
+     * redisTemplate 使用的 ObjectMapper
+     *
+     * @param factory 解析工厂（JSON、Smile 或 CBOR）
+     * @return ObjectMapper
+     */
+    static ObjectMapper createObjectMapper(JsonFactory factory) {
+        ObjectMapper om = new ObjectMapper(factory);
+        om.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        // 启用默认类型，但不使用具体的类名作为类型标识符
+        om.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL);
+        return om;
+    }
+}
@@ -0,0 +1,32 @@
+package com.xu.blogapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 数据库结构迁移配置
+ * 迁移脚本放在 db/migration 目录，文件名为 V{版本号}__{说明}.sql，启动时按版本号顺序执行未执行过的脚本
+ *
+ * @author xu
+ */
+@Configuration
+@ConfigurationProperties(prefix = "blog.schema-migration")
+@Data
+public class SchemaMigrationProperties {
+
+    /**
+     * 是否在启动时执行迁移
+     */
+    private boolean enabled = true;
+
+    /**
+     * 迁移脚本位置
+     */
+    private String locations = "classpath:db/migration/V*__*.sql";
+
+    /**
+     * 多个节点同时启动时等待迁移锁的秒数
+     */
+    private int lockTimeoutSeconds = 60;
+}
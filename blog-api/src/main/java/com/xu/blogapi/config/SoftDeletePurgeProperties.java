@@ -0,0 +1,46 @@
+package com.xu.blogapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 逻辑删除数据清理配置
+ *
+ * @author xu
+ */
+@Configuration
+@ConfigurationProperties(prefix = "blog.soft-delete-purge")
+@Data
+public class SoftDeletePurgeProperties {
+
+    /**
+     * 是否定时清理，默认关闭；关闭时仍可通过管理接口手动执行
+     */
+    private boolean enabled = false;
+
+    /**
+     * 逻辑删除超过该天数（按 update_time）的记录才会被物理删除
+     */
+    private int retentionDays = 30;
+
+    /**
+     * 定时清理的间隔（小时）
+     */
+    private int intervalHours = 24;
+
+    /**
+     * 启动后首次清理的延迟（分钟）
+     */
+    private int initialDelayMinutes = 10;
+
+    /**
+     * 每块扫描的主键范围，每块在一个短事务中删除
+     */
+    private int chunkSize = 500;
+
+    /**
+     * 每块之间的停顿（毫秒），减小对线上库的压力
+     */
+    private long pauseMillis = 200;
+}
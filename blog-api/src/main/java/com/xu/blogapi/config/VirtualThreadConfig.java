@@ -0,0 +1,62 @@
+package com.xu.blogapi.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 虚拟线程执行模式
+ * 开启后 Tomcat 请求处理和 @Async 任务都运行在虚拟线程上，阻塞的 COS 上传和数据库调用不再占用平台线程
+ * 使用默认的 Java 17 构建，运行在 Java 21 及以上并设置 blog.virtual-threads.enabled=true 时生效
+ *
+ * @author xu
+ */
+@Slf4j
+@EnableAsync
+@Configuration
+@ConditionalOnProperty(prefix = "blog.virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    /**
+     * 虚拟线程执行器
+     * 通过反射创建，保证默认的 Java 17 构建仍能编译
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        try {
+            ExecutorService executorService = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+            log.info("virtual thread execution mode enabled");
+            return executorService;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("虚拟线程需要 Java 21 及以上运行环境，当前版本："
+                    + System.getProperty("java.version"), e);
+        }
+    }
+
+    /**
+     * Tomcat 请求处理使用虚拟线程
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    /**
+     * 替换默认的 @Async 线程池
+     */
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor(ExecutorService virtualThreadExecutor) {
+        return new TaskExecutorAdapter(virtualThreadExecutor);
+    }
+}
@@ -0,0 +1,32 @@
+package com.xu.blogapi.config;
+
+import com.xu.blogapi.aop.RateLimitInterceptor;
+import com.xu.blogapi.aop.ResponseCacheInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.annotation.Resource;
+
+/**
+ * Spring MVC 拦截器配置
+ *
+ * @author xu
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Resource
+    private RateLimitInterceptor rateLimitInterceptor;
+
+    @Resource
+    private ResponseCacheInterceptor responseCacheInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 接口限流，先于响应体缓存执行
+        registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/**");
+        // 响应体缓存
+        registry.addInterceptor(responseCacheInterceptor).addPathPatterns("/**");
+    }
+}
@@ -0,0 +1,54 @@
+package com.xu.blogapi.constant;
+
+/**
+ * 文章常量
+ *
+ * @author xu
+ */
+public interface ArticleConstant {
+
+    /**
+     * 草稿
+     */
+    int STATUS_DRAFT = 0;
+
+    /**
+     * 已发布
+     */
+    int STATUS_PUBLISHED = 1;
+
+    /**
+     * 已下线
+     */
+    int STATUS_OFFLINE = 2;
+
+    /**
+     * 定时发布（publish_time 为计划发布时间）
+     */
+    int STATUS_SCHEDULED = 3;
+
+    /**
+     * 修订存储类型：全量快照
+     */
+    int REVISION_TYPE_SNAPSHOT = 0;
+
+    /**
+     * 修订存储类型：相对上一修订的增量
+     */
+    int REVISION_TYPE_DELTA = 1;
+
+    /**
+     * 修订来源：保存
+     */
+    int REVISION_SOURCE_SAVE = 0;
+
+    /**
+     * 修订来源：自动保存
+     */
+    int REVISION_SOURCE_AUTOSAVE = 1;
+
+    /**
+     * 修订来源：恢复历史修订
+     */
+    int REVISION_SOURCE_RESTORE = 2;
+}
@@ -14,5 +14,10 @@ public interface CommonConstant {
      * 降序
      */
     String SORT_ORDER_DESC = " descend";
+
+    /**
+     * 批量查询接口单次最多的ID数
+     */
+    int MAX_BATCH_SIZE = 100;
     
 }
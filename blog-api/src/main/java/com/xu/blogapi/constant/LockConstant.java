@@ -0,0 +1,34 @@
+package com.xu.blogapi.constant;
+
+/**
+ * 锁键常量
+ *
+ * @author xu
+ */
+public interface LockConstant {
+
+    /**
+     * 用户注册（账号）
+     */
+    String USER_REGISTER = "user:register:";
+
+    /**
+     * 文章别名
+     */
+    String ARTICLE_SLUG = "article:slug:";
+
+    /**
+     * 项目别名
+     */
+    String PROJECT_SLUG = "project:slug:";
+
+    /**
+     * 分类名称
+     */
+    String CATEGORY_NAME = "category:name:";
+
+    /**
+     * 分类别名
+     */
+    String CATEGORY_SLUG = "category:slug:";
+}
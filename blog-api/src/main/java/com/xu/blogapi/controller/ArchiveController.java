@@ -0,0 +1,64 @@
+package com.xu.blogapi.controller;
+
+import com.xu.blogapi.common.BaseResponse;
+import com.xu.blogapi.common.ResultUtils;
+import com.xu.blogapi.manager.archive.ArchiveManager;
+import com.xu.blogapi.manager.archive.ArchiveType;
+import com.xu.blogapi.model.vo.ArchiveYearVO;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.annotation.Resource;
+import java.util.List;
+
+/**
+ * 归档接口控制器
+ *
+ * @author xu
+ */
+@RestController
+@RequestMapping("/archive")
+@Slf4j
+@Api(tags = "归档接口")
+public class ArchiveController {
+
+    @Resource
+    private ArchiveManager archiveManager;
+
+    /**
+     * 获取文章归档（按发布时间）
+     *
+     * @return 按年月归档的文章数量和ID
+     */
+    @GetMapping("/article")
+    @ApiOperation(value = "获取文章归档")
+    public BaseResponse<List<ArchiveYearVO>> getArticleArchive() {
+        return ResultUtils.success(archiveManager.getArchive(ArchiveType.ARTICLE));
+    }
+
+    /**
+     * 获取想法时间线（按创建时间）
+     *
+     * @return 按年月归档的想法数量和ID
+     */
+    @GetMapping("/thought")
+    @ApiOperation(value = "获取想法时间线")
+    public BaseResponse<List<ArchiveYearVO>> getThoughtArchive() {
+        return ResultUtils.success(archiveManager.getArchive(ArchiveType.THOUGHT));
+    }
+
+    /**
+     * 获取旅行时间线（按出发日期）
+     *
+     * @return 按年月归档的旅行数量和ID
+     */
+    @GetMapping("/travel")
+    @ApiOperation(value = "获取旅行时间线")
+    public BaseResponse<List<ArchiveYearVO>> getTravelArchive() {
+        return ResultUtils.success(archiveManager.getArchive(ArchiveType.TRAVEL));
+    }
+}
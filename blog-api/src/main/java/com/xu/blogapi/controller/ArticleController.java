@@ -1,23 +1,37 @@
 package com.xu.blogapi.controller;
 
+import cn.dev33.satoken.annotation.SaCheckRole;
+import cn.hutool.core.io.FileUtil;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.xu.blogapi.annotation.RateLimit;
+import com.xu.blogapi.annotation.ResponseCache;
 import com.xu.blogapi.common.BaseResponse;
 import com.xu.blogapi.common.ErrorCode;
 import com.xu.blogapi.common.ResultUtils;
+import com.xu.blogapi.constant.UserConstant;
 import com.xu.blogapi.exception.BusinessException;
+import com.xu.blogapi.manager.ArticleImportManager;
 import com.xu.blogapi.model.dto.article.ArticleAddRequest;
 import com.xu.blogapi.model.dto.article.ArticleQueryRequest;
+import com.xu.blogapi.model.dto.article.ArticleScheduleRequest;
 import com.xu.blogapi.model.dto.article.ArticleUpdateRequest;
 import com.xu.blogapi.model.entity.Article;
+import com.xu.blogapi.model.entity.User;
+import com.xu.blogapi.model.vo.ArticleImportProgressVO;
+import com.xu.blogapi.service.ArticleRenderService;
 import com.xu.blogapi.service.ArticleService;
+import com.xu.blogapi.service.UserService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import javax.annotation.Resource;
 import javax.validation.Valid;
+import java.io.File;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -34,6 +48,15 @@ public class ArticleController {
     @Resource
     private ArticleService articleService;
 
+    @Resource
+    private ArticleRenderService articleRenderService;
+
+    @Resource
+    private UserService userService;
+
+    @Resource
+    private ArticleImportManager articleImportManager;
+
     /**
      * 创建文章
      *
@@ -72,8 +95,9 @@ public class ArticleController {
      * 根据ID获取文章
      *
      * @param id 文章ID
-     * @return 文章信息
+     * @return 文章信息（含渲染后的HTML、目录和摘要）
      */
+    @RateLimit(rate = 10, burst = 30)
     @GetMapping("/get/{id}")
     @ApiOperation(value = "获取文章")
     public BaseResponse<Article> getArticleById(@ApiParam(value = "文章ID", required = true) @PathVariable Long id) {
@@ -82,6 +106,7 @@ public class ArticleController {
         }
 
         Article article = articleService.getArticleById(id);
+        articleRenderService.fillRender(article);
         return ResultUtils.success(article);
     }
 
@@ -89,8 +114,9 @@ public class ArticleController {
      * 根据slug获取文章
      *
      * @param slug 文章别名
-     * @return 文章信息
+     * @return 文章信息（含渲染后的HTML、目录和摘要）
      */
+    @RateLimit(rate = 10, burst = 30)
     @GetMapping("/get/slug/{slug}")
     @ApiOperation(value = "根据别名获取文章")
     public BaseResponse<Article> getArticleBySlug(@ApiParam(value = "文章别名", required = true) @PathVariable String slug) {
@@ -99,15 +125,31 @@ public class ArticleController {
         }
 
         Article article = articleService.getArticleBySlug(slug);
+        articleRenderService.fillRender(article);
         return ResultUtils.success(article);
     }
 
+    /**
+     * 根据ID批量获取文章
+     *
+     * @param ids 文章ID列表（最多100个）
+     * @return 存在的文章，按请求顺序排列
+     */
+    @GetMapping("/batch")
+    @ApiOperation(value = "批量获取文章")
+    public BaseResponse<List<Article>> listArticlesByIds(
+            @ApiParam(value = "文章ID列表，逗号分隔", required = true) @RequestParam List<Long> ids) {
+        List<Article> articles = articleService.listArticlesByIds(ids);
+        return ResultUtils.success(articles);
+    }
+
     /**
      * 分页查询文章列表
      *
      * @param articleQueryRequest 查询请求
      * @return 文章列表
      */
+    @RateLimit(rate = 5, burst = 20, windowLimit = 600)
     @PostMapping("/list/page")
     @ApiOperation(value = "分页查询文章")
     public BaseResponse<IPage<Article>> listArticlesByPage(@Valid @RequestBody ArticleQueryRequest articleQueryRequest) {
@@ -204,6 +246,38 @@ public class ArticleController {
         return ResultUtils.success(result);
     }
 
+    /**
+     * 设置定时发布/下线
+     *
+     * @param articleScheduleRequest 定时请求
+     * @return 是否成功
+     */
+    @PostMapping("/schedule")
+    @SaCheckRole(UserConstant.ADMIN_ROLE)
+    @ApiOperation(value = "设置定时发布/下线")
+    public BaseResponse<Boolean> scheduleArticle(@Valid @RequestBody ArticleScheduleRequest articleScheduleRequest) {
+        Boolean result = articleService.scheduleArticle(articleScheduleRequest);
+        return ResultUtils.success(result);
+    }
+
+    /**
+     * 取消定时发布/下线
+     *
+     * @param id 文章ID
+     * @return 是否成功
+     */
+    @PostMapping("/schedule/cancel/{id}")
+    @SaCheckRole(UserConstant.ADMIN_ROLE)
+    @ApiOperation(value = "取消定时发布/下线")
+    public BaseResponse<Boolean> cancelArticleSchedule(@ApiParam(value = "文章ID", required = true) @PathVariable Long id) {
+        if (id == null || id <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR);
+        }
+
+        Boolean result = articleService.cancelArticleSchedule(id);
+        return ResultUtils.success(result);
+    }
+
     /**
      * 设置文章置顶状态
      *
@@ -248,6 +322,8 @@ public class ArticleController {
      * @param limit 限制数量
      * @return 置顶文章列表
      */
+    @ResponseCache(tables = {"article", "tag", "article_tag"})
+    @RateLimit(rate = 10, burst = 30)
     @GetMapping("/top")
     @ApiOperation(value = "获取置顶文章")
     public BaseResponse<List<Article>> getTopArticles(@ApiParam(value = "限制数量") @RequestParam(defaultValue = "5") Integer limit) {
@@ -261,10 +337,69 @@ public class ArticleController {
      * @param limit 限制数量
      * @return 精选文章列表
      */
+    @ResponseCache(tables = {"article", "tag", "article_tag"})
+    @RateLimit(rate = 10, burst = 30)
     @GetMapping("/featured")
     @ApiOperation(value = "获取精选文章")
     public BaseResponse<List<Article>> getFeaturedArticles(@ApiParam(value = "限制数量") @RequestParam(defaultValue = "5") Integer limit) {
         List<Article> articles = articleService.getFeaturedArticles(limit);
         return ResultUtils.success(articles);
     }
-}
\ No newline at end of file
+
+    /**
+     * 从 Excel 批量导入文章
+     * 表头：标题、别名、摘要、内容、封面、分类ID、状态、置顶、精选、发布时间
+     *
+     * @param multipartFile Excel 文件
+     * @return 导入任务ID
+     */
+    @PostMapping("/import/excel")
+    @SaCheckRole(UserConstant.ADMIN_ROLE)
+    @ApiOperation(value = "从 Excel 批量导入文章")
+    public BaseResponse<String> importArticlesFromExcel(@RequestPart("file") MultipartFile multipartFile) {
+        String suffix = FileUtil.getSuffix(multipartFile.getOriginalFilename());
+        if (!"xlsx".equalsIgnoreCase(suffix) && !"xls".equalsIgnoreCase(suffix)) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "文件类型错误");
+        }
+        User loginUser = userService.getLoginUser();
+        File file;
+        try {
+            // 导入异步执行，临时文件由导入任务结束后删除
+            file = File.createTempFile("article-import-", "." + suffix);
+            multipartFile.transferTo(file);
+        } catch (IOException e) {
+            log.error("article import file save error", e);
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "上传失败");
+        }
+        String taskId = articleImportManager.importExcel(file, loginUser.getId());
+        return ResultUtils.success(taskId);
+    }
+
+    /**
+     * 从 Markdown 目录批量导入文章
+     *
+     * @param directory 相对于导入根目录的目录
+     * @return 导入任务ID
+     */
+    @PostMapping("/import/markdown")
+    @SaCheckRole(UserConstant.ADMIN_ROLE)
+    @ApiOperation(value = "从 Markdown 目录批量导入文章")
+    public BaseResponse<String> importArticlesFromMarkdown(@ApiParam(value = "目录") @RequestParam(defaultValue = "") String directory) {
+        User loginUser = userService.getLoginUser();
+        String taskId = articleImportManager.importMarkdown(directory, loginUser.getId());
+        return ResultUtils.success(taskId);
+    }
+
+    /**
+     * 获取导入进度
+     *
+     * @param taskId 导入任务ID
+     * @return 导入进度
+     */
+    @GetMapping("/import/progress/{taskId}")
+    @SaCheckRole(UserConstant.ADMIN_ROLE)
+    @ApiOperation(value = "获取导入进度")
+    public BaseResponse<ArticleImportProgressVO> getImportProgress(@ApiParam(value = "任务ID", required = true) @PathVariable String taskId) {
+        return ResultUtils.success(articleImportManager.getProgress(taskId));
+    }
+}
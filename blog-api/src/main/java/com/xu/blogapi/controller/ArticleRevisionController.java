@@ -0,0 +1,134 @@
+package com.xu.blogapi.controller;
+
+import cn.dev33.satoken.annotation.SaCheckRole;
+import com.xu.blogapi.common.BaseResponse;
+import com.xu.blogapi.common.ErrorCode;
+import com.xu.blogapi.common.ResultUtils;
+import com.xu.blogapi.constant.UserConstant;
+import com.xu.blogapi.exception.BusinessException;
+import com.xu.blogapi.model.dto.revision.ArticleRevisionAutosaveRequest;
+import com.xu.blogapi.model.dto.revision.ArticleRevisionRestoreRequest;
+import com.xu.blogapi.model.vo.ArticleRevisionDiffVO;
+import com.xu.blogapi.model.vo.ArticleRevisionVO;
+import com.xu.blogapi.service.ArticleRevisionService;
+import com.xu.blogapi.service.ArticleService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+import javax.annotation.Resource;
+import javax.validation.Valid;
+import java.util.List;
+
+/**
+ * 文章修订历史接口控制器
+ *
+ * @author xu
+ */
+@RestController
+@RequestMapping("/article-revision")
+@Slf4j
+@Api(tags = "文章修订历史接口")
+public class ArticleRevisionController {
+
+    @Resource
+    private ArticleRevisionService articleRevisionService;
+
+    @Resource
+    private ArticleService articleService;
+
+    /**
+     * 获取文章的修订列表
+     *
+     * @param articleId 文章ID
+     * @return 修订列表（不含内容）
+     */
+    @GetMapping("/list/{articleId}")
+    @SaCheckRole(UserConstant.ADMIN_ROLE)
+    @ApiOperation(value = "获取文章的修订列表")
+    public BaseResponse<List<ArticleRevisionVO>> listRevisions(
+            @ApiParam(value = "文章ID", required = true) @PathVariable Long articleId) {
+        if (articleId == null || articleId <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR);
+        }
+
+        List<ArticleRevisionVO> revisions = articleRevisionService.listRevisions(articleId);
+        return ResultUtils.success(revisions);
+    }
+
+    /**
+     * 获取指定修订的完整内容，不指定修订号时返回最新修订（编辑器以此作为自动保存的基准）
+     *
+     * @param articleId  文章ID
+     * @param revisionNo 修订号
+     * @return 修订
+     */
+    @GetMapping("/get")
+    @SaCheckRole(UserConstant.ADMIN_ROLE)
+    @ApiOperation(value = "获取指定修订")
+    public BaseResponse<ArticleRevisionVO> getRevision(
+            @ApiParam(value = "文章ID", required = true) @RequestParam Long articleId,
+            @ApiParam(value = "修订号，不传为最新修订") @RequestParam(required = false) Integer revisionNo) {
+        if (articleId == null || articleId <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR);
+        }
+
+        ArticleRevisionVO revision = articleRevisionService.getRevision(articleId, revisionNo);
+        return ResultUtils.success(revision);
+    }
+
+    /**
+     * 对比两个修订
+     *
+     * @param articleId 文章ID
+     * @param from      旧修订号
+     * @param to        新修订号
+     * @return 逐行对比结果
+     */
+    @GetMapping("/diff")
+    @SaCheckRole(UserConstant.ADMIN_ROLE)
+    @ApiOperation(value = "对比两个修订")
+    public BaseResponse<ArticleRevisionDiffVO> diffRevisions(
+            @ApiParam(value = "文章ID", required = true) @RequestParam Long articleId,
+            @ApiParam(value = "旧修订号", required = true) @RequestParam Integer from,
+            @ApiParam(value = "新修订号", required = true) @RequestParam Integer to) {
+        if (articleId == null || articleId <= 0 || from == null || to == null) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR);
+        }
+
+        ArticleRevisionDiffVO diff = articleRevisionService.diffRevisions(articleId, from, to);
+        return ResultUtils.success(diff);
+    }
+
+    /**
+     * 将文章恢复为指定修订
+     *
+     * @param articleRevisionRestoreRequest 恢复请求
+     * @return 是否成功
+     */
+    @PostMapping("/restore")
+    @SaCheckRole(UserConstant.ADMIN_ROLE)
+    @ApiOperation(value = "恢复到指定修订")
+    public BaseResponse<Boolean> restoreRevision(
+            @Valid @RequestBody ArticleRevisionRestoreRequest articleRevisionRestoreRequest) {
+        Boolean result = articleService.restoreArticleRevision(articleRevisionRestoreRequest);
+        return ResultUtils.success(result);
+    }
+
+    /**
+     * 自动保存，只提交相对最新修订的增量
+     *
+     * @param articleRevisionAutosaveRequest 自动保存请求
+     * @return 新修订（不含内容）
+     */
+    @PostMapping("/autosave")
+    @SaCheckRole(UserConstant.ADMIN_ROLE)
+    @ApiOperation(value = "自动保存")
+    public BaseResponse<ArticleRevisionVO> autosave(
+            @Valid @RequestBody ArticleRevisionAutosaveRequest articleRevisionAutosaveRequest) {
+        ArticleRevisionVO revision = articleRevisionService.autosave(articleRevisionAutosaveRequest);
+        return ResultUtils.success(revision);
+    }
+}
@@ -0,0 +1,74 @@
+package com.xu.blogapi.controller;
+
+import com.xu.blogapi.annotation.RateLimit;
+import com.xu.blogapi.common.BaseResponse;
+import com.xu.blogapi.common.ErrorCode;
+import com.xu.blogapi.common.ResultUtils;
+import com.xu.blogapi.exception.ThrowUtils;
+import com.xu.blogapi.manager.ratelimit.RateLimitType;
+import com.xu.blogapi.manager.suggest.AutocompleteManager;
+import com.xu.blogapi.manager.suggest.SuggestType;
+import com.xu.blogapi.model.vo.SuggestionVO;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.annotation.Resource;
+import java.util.List;
+
+/**
+ * 自动补全接口控制器
+ *
+ * @author xu
+ */
+@RestController
+@RequestMapping("/autocomplete")
+@Slf4j
+@Api(tags = "自动补全接口")
+public class AutocompleteController {
+
+    /**
+     * 最多返回数量
+     */
+    private static final int MAX_LIMIT = 20;
+
+    /**
+     * 关键词最大长度
+     */
+    private static final int MAX_KEYWORD_LENGTH = 50;
+
+    @Resource
+    private AutocompleteManager autocompleteManager;
+
+    /**
+     * 标签和分类自动补全，按名称、别名或拼音首字母前缀匹配
+     *
+     * @param keyword 关键词
+     * @param type    类型：tag-标签，category-分类，为空时都查询
+     * @param limit   最多返回数量
+     * @return 按使用次数（分类为文章数量）降序排列的候选项
+     */
+    @RateLimit(type = RateLimitType.USER, rate = 20, burst = 40)
+    @GetMapping
+    @ApiOperation(value = "标签和分类自动补全")
+    public BaseResponse<List<SuggestionVO>> suggest(
+            @ApiParam(value = "关键词", required = true) @RequestParam String keyword,
+            @ApiParam(value = "类型：tag-标签，category-分类", example = "tag") @RequestParam(required = false) String type,
+            @ApiParam(value = "最多返回数量", example = "10") @RequestParam(defaultValue = "10") Integer limit) {
+        ThrowUtils.throwIf(keyword.length() > MAX_KEYWORD_LENGTH, ErrorCode.PARAMS_ERROR, "关键词过长");
+        ThrowUtils.throwIf(limit == null || limit <= 0 || limit > MAX_LIMIT, ErrorCode.PARAMS_ERROR,
+                "返回数量须在1到" + MAX_LIMIT + "之间");
+        SuggestType suggestType = null;
+        if (StringUtils.isNotBlank(type)) {
+            suggestType = SuggestType.ofValue(type);
+            ThrowUtils.throwIf(suggestType == null, ErrorCode.PARAMS_ERROR, "类型错误");
+        }
+        return ResultUtils.success(autocompleteManager.suggest(keyword, suggestType, limit));
+    }
+}
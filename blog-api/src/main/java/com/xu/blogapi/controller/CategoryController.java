@@ -1,6 +1,7 @@
 package com.xu.blogapi.controller;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.xu.blogapi.annotation.ResponseCache;
 import com.xu.blogapi.common.BaseResponse;
 import com.xu.blogapi.common.ErrorCode;
 import com.xu.blogapi.common.ResultUtils;
@@ -152,6 +153,7 @@ public class CategoryController {
      *
      * @return 分类列表
      */
+    @ResponseCache(tables = {"category", "article"})
     @GetMapping("/list/enabled")
     @ApiOperation(value = "获取所有启用的分类")
     public BaseResponse<List<CategoryVO>> listEnabledCategories() {
@@ -0,0 +1,83 @@
+package com.xu.blogapi.controller;
+
+import cn.dev33.satoken.annotation.SaCheckRole;
+import com.xu.blogapi.common.BaseResponse;
+import com.xu.blogapi.common.ResultUtils;
+import com.xu.blogapi.constant.UserConstant;
+import com.xu.blogapi.manager.compression.ContentCompressionManager;
+import com.xu.blogapi.manager.compression.ContentCompressionMigrator;
+import com.xu.blogapi.model.vo.ContentCompressionMigrationVO;
+import com.xu.blogapi.model.vo.ContentCompressionStatsVO;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+import javax.annotation.Resource;
+
+/**
+ * 大字段压缩管理接口控制器
+ *
+ * @author xu
+ */
+@RestController
+@RequestMapping("/content-compression")
+@Slf4j
+@Api(tags = "大字段压缩管理接口")
+public class ContentCompressionController {
+
+    @Resource
+    private ContentCompressionManager contentCompressionManager;
+
+    @Resource
+    private ContentCompressionMigrator contentCompressionMigrator;
+
+    /**
+     * 获取压缩统计（压缩率、解压耗时）
+     *
+     * @return 压缩统计
+     */
+    @GetMapping("/stats")
+    @SaCheckRole(UserConstant.ADMIN_ROLE)
+    @ApiOperation(value = "获取压缩统计")
+    public BaseResponse<ContentCompressionStatsVO> getStats() {
+        return ResultUtils.success(contentCompressionManager.getStats());
+    }
+
+    /**
+     * 启动迁移任务，压缩已有数据
+     *
+     * @return 是否启动（已在运行时返回 false）
+     */
+    @PostMapping("/migration/start")
+    @SaCheckRole(UserConstant.ADMIN_ROLE)
+    @ApiOperation(value = "启动压缩迁移")
+    public BaseResponse<Boolean> startMigration() {
+        return ResultUtils.success(contentCompressionMigrator.start());
+    }
+
+    /**
+     * 停止迁移任务
+     *
+     * @return 是否成功
+     */
+    @PostMapping("/migration/stop")
+    @SaCheckRole(UserConstant.ADMIN_ROLE)
+    @ApiOperation(value = "停止压缩迁移")
+    public BaseResponse<Boolean> stopMigration() {
+        contentCompressionMigrator.stop();
+        return ResultUtils.success(true);
+    }
+
+    /**
+     * 获取迁移进度
+     *
+     * @return 迁移进度
+     */
+    @GetMapping("/migration")
+    @SaCheckRole(UserConstant.ADMIN_ROLE)
+    @ApiOperation(value = "获取压缩迁移进度")
+    public BaseResponse<ContentCompressionMigrationVO> getMigrationProgress() {
+        return ResultUtils.success(contentCompressionMigrator.getProgress());
+    }
+}
@@ -0,0 +1,43 @@
+package com.xu.blogapi.controller;
+
+import cn.dev33.satoken.annotation.SaCheckRole;
+import com.xu.blogapi.common.BaseResponse;
+import com.xu.blogapi.common.ResultUtils;
+import com.xu.blogapi.constant.UserConstant;
+import com.xu.blogapi.manager.stats.DashboardStatsManager;
+import com.xu.blogapi.model.vo.DashboardStatsVO;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.annotation.Resource;
+
+/**
+ * 仪表盘接口控制器
+ *
+ * @author xu
+ */
+@RestController
+@RequestMapping("/dashboard")
+@Slf4j
+@Api(tags = "仪表盘接口")
+public class DashboardController {
+
+    @Resource
+    private DashboardStatsManager dashboardStatsManager;
+
+    /**
+     * 获取仪表盘统计（一次返回各模块的计数）
+     *
+     * @return 仪表盘统计
+     */
+    @GetMapping("/stats")
+    @SaCheckRole(UserConstant.ADMIN_ROLE)
+    @ApiOperation(value = "获取仪表盘统计")
+    public BaseResponse<DashboardStatsVO> getDashboardStats() {
+        return ResultUtils.success(dashboardStatsManager.getStats());
+    }
+}
@@ -0,0 +1,63 @@
+package com.xu.blogapi.controller;
+
+import cn.dev33.satoken.annotation.SaCheckRole;
+import com.xu.blogapi.common.ErrorCode;
+import com.xu.blogapi.constant.UserConstant;
+import com.xu.blogapi.exception.ThrowUtils;
+import com.xu.blogapi.manager.export.ContentExportManager;
+import com.xu.blogapi.model.enums.ExportContentTypeEnum;
+import com.xu.blogapi.model.enums.ExportFormatEnum;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.annotation.Resource;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 内容导出接口
+ *
+ * @author xu
+ */
+@RestController
+@RequestMapping("/export")
+@Slf4j
+@Api(tags = "内容导出")
+public class ExportController {
+
+    @Resource
+    private ContentExportManager contentExportManager;
+
+    /**
+     * 导出内容
+     * 数据量超过单次上限时分块下载：响应头 X-Export-Next-After-Id 为下一块的 afterId，没有该响应头表示已导出完毕
+     *
+     * @param contentType 内容类型：article、travel、thought、project
+     * @param format      导出格式：excel、ndjson、markdown
+     * @param afterId     起始ID（不包含）
+     * @param limit       本次最多导出条数
+     * @param response    响应
+     * @throws IOException 写出失败
+     */
+    @GetMapping("/{contentType}")
+    @SaCheckRole(UserConstant.ADMIN_ROLE)
+    @ApiOperation(value = "导出内容")
+    public void exportContent(@ApiParam(value = "内容类型", required = true) @PathVariable String contentType,
+                              @ApiParam(value = "导出格式") @RequestParam(defaultValue = "ndjson") String format,
+                              @ApiParam(value = "起始ID（不包含）") @RequestParam(required = false) Long afterId,
+                              @ApiParam(value = "本次最多导出条数") @RequestParam(required = false) Integer limit,
+                              HttpServletResponse response) throws IOException {
+        ExportContentTypeEnum contentTypeEnum = ExportContentTypeEnum.getEnumByValue(contentType);
+        ThrowUtils.throwIf(contentTypeEnum == null, ErrorCode.PARAMS_ERROR, "不支持的内容类型");
+        ExportFormatEnum formatEnum = ExportFormatEnum.getEnumByValue(format);
+        ThrowUtils.throwIf(formatEnum == null, ErrorCode.PARAMS_ERROR, "不支持的导出格式");
+        contentExportManager.export(contentTypeEnum, formatEnum, afterId, limit, response);
+    }
+}
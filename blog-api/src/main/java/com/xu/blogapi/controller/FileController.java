@@ -7,19 +7,24 @@ import com.xu.blogapi.common.ResultUtils;
 import com.xu.blogapi.constant.FileConstant;
 import com.xu.blogapi.exception.BusinessException;
 import com.xu.blogapi.manager.CosManager;
+import com.xu.blogapi.manager.image.ImageVariantManager;
 import com.xu.blogapi.model.dto.file.UploadFileRequest;
 import com.xu.blogapi.model.entity.User;
 import com.xu.blogapi.model.enums.FileUploadBizEnum;
+import com.xu.blogapi.model.vo.ImageAssetVO;
 import com.xu.blogapi.service.UserService;
 import java.io.File;
 import java.util.Arrays;
 import javax.annotation.Resource;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
@@ -39,6 +44,9 @@ public class FileController {
     @Resource
     private CosManager cosManager;
 
+    @Resource
+    private ImageVariantManager imageVariantManager;
+
     /**
      * 上传文件
      * 文件上传
@@ -68,14 +76,16 @@ public class FileController {
             file = File.createTempFile(filepath, null);
             multipartFile.transferTo(file);
             cosManager.putObject(filepath, file);
+            // 图片的缩放版本在后台生成，不影响上传耗时
+            imageVariantManager.submit(filepath, file);
             // 返回可访问地址
             return ResultUtils.success(FileConstant.COS_HOST + filepath);
         } catch (Exception e) {
             log.error("file upload error, filepath = " + filepath, e);
             throw new BusinessException(ErrorCode.SYSTEM_ERROR, "上传失败");
         } finally {
-            if (file != null) {
-                // 删除临时文件
+            if (file != null && file.exists()) {
+                // 删除临时文件（已交给缩放版本处理的由后台线程删除）
                 boolean delete = file.delete();
                 if (!delete) {
                     log.error("file delete error, filepath = {}", filepath);
@@ -84,6 +94,19 @@ public class FileController {
         }
     }
 
+    /**
+     * 获取图片尺寸、占位图和缩放版本
+     *
+     * @param url 上传接口返回的图片地址
+     * @return {@link BaseResponse}<{@link ImageAssetVO}>
+     */
+    @GetMapping("/image")
+    @ApiOperation(value = "获取图片缩放版本")
+    public BaseResponse<ImageAssetVO> getImageAsset(
+            @ApiParam(value = "图片地址", required = true) @RequestParam String url) {
+        return ResultUtils.success(imageVariantManager.getImageAsset(url));
+    }
+
     /**
      * 校验文件
      *
@@ -104,6 +127,9 @@ public class FileController {
             if (!Arrays.asList("jpeg", "jpg", "svg", "png", "webp").contains(fileSuffix)) {
                 throw new BusinessException(ErrorCode.PARAMS_ERROR, "文件类型错误");
             }
+        } else if (!Arrays.asList("jpeg", "jpg", "png", "webp", "gif").contains(fileSuffix)) {
+            // 封面、旅行和项目图片
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "文件类型错误");
         }
     }
 }
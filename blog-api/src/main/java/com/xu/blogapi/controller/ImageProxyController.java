@@ -0,0 +1,59 @@
+package com.xu.blogapi.controller;
+
+import com.xu.blogapi.manager.image.ImageProxyManager;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.annotation.Resource;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 图片缩放接口
+ *
+ * @author xu
+ */
+@RestController
+@RequestMapping("/img")
+@Slf4j
+@Api(tags = "图片缩放")
+public class ImageProxyController {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    @Resource
+    private ImageProxyManager imageProxyManager;
+
+    /**
+     * 获取缩放后的图片
+     * 路径为上传接口返回地址中的对象键，如 /img/travel_image/1/abc-photo.jpg?w=640&fmt=webp；
+     * 按宽高等比缩放到不超过指定尺寸，不放大
+     *
+     * @param w        最大宽度
+     * @param h        最大高度
+     * @param fmt      输出格式：jpeg、png、webp，默认与原图一致
+     * @param request  请求
+     * @param response 响应
+     * @throws IOException 读取或写出失败
+     */
+    @GetMapping("/**")
+    @ApiOperation(value = "获取缩放后的图片")
+    public void getImage(@ApiParam(value = "最大宽度") @RequestParam(required = false) Integer w,
+                         @ApiParam(value = "最大高度") @RequestParam(required = false) Integer h,
+                         @ApiParam(value = "输出格式：jpeg、png、webp") @RequestParam(required = false) String fmt,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String path = (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
+        String key = "/" + PATH_MATCHER.extractPathWithinPattern(pattern, path);
+        imageProxyManager.write(key, w, h, fmt, response);
+    }
+}
@@ -1,10 +1,12 @@
 package com.xu.blogapi.controller;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.xu.blogapi.annotation.RateLimit;
 import com.xu.blogapi.common.BaseResponse;
 import com.xu.blogapi.common.DeleteRequest;
 import com.xu.blogapi.common.ErrorCode;
 import com.xu.blogapi.common.ResultUtils;
+import com.xu.blogapi.converter.ProjectConverter;
 import com.xu.blogapi.exception.BusinessException;
 import com.xu.blogapi.model.dto.project.ProjectAddRequest;
 import com.xu.blogapi.model.dto.project.ProjectQueryRequest;
@@ -17,7 +19,6 @@ import com.xu.blogapi.service.UserService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
 import org.springframework.web.bind.annotation.*;
 
 import javax.annotation.Resource;
@@ -116,8 +117,7 @@ public class ProjectController {
         }
         User loginUser = userService.getLoginUser();
         Project project = projectService.getProjectById(id, loginUser);
-        ProjectResponse projectResponse = new ProjectResponse();
-        BeanUtils.copyProperties(project, projectResponse);
+        ProjectResponse projectResponse = ProjectConverter.toProjectResponse(project);
         return ResultUtils.success(projectResponse);
     }
 
@@ -137,11 +137,27 @@ public class ProjectController {
         }
         User loginUser = userService.getLoginUser();
         Project project = projectService.getProjectBySlug(slug, loginUser);
-        ProjectResponse projectResponse = new ProjectResponse();
-        BeanUtils.copyProperties(project, projectResponse);
+        ProjectResponse projectResponse = ProjectConverter.toProjectResponse(project);
         return ResultUtils.success(projectResponse);
     }
 
+    /**
+     * 根据ID批量获取项目
+     *
+     * @param ids 项目ID列表（最多100个）
+     * @return 存在的项目，按请求顺序排列
+     */
+    @GetMapping("/batch")
+    @ApiOperation(value = "批量获取项目")
+    public BaseResponse<List<ProjectResponse>> listProjectsByIds(@RequestParam("ids") List<Long> ids) {
+        // 与 /get 相同，需要登录
+        userService.getLoginUser();
+        List<ProjectResponse> projectResponseList = projectService.listProjectsByIds(ids).stream()
+                .map(ProjectConverter::toProjectResponse)
+                .collect(Collectors.toList());
+        return ResultUtils.success(projectResponseList);
+    }
+
     /**
      * 分页获取项目列表
      *
@@ -149,6 +165,7 @@ public class ProjectController {
      * @param request             HTTP请求
      * @return 分页结果
      */
+    @RateLimit(rate = 5, burst = 20, windowLimit = 600)
     @PostMapping("/list/page")
     @ApiOperation(value = "分页获取项目列表")
     public BaseResponse<Page<ProjectResponse>> listProjectsByPage(@RequestBody ProjectQueryRequest projectQueryRequest,
@@ -166,11 +183,7 @@ public class ProjectController {
                 projectPage.getTotal()
         );
         List<ProjectResponse> projectResponseList = projectPage.getRecords().stream()
-                .map(project -> {
-                    ProjectResponse projectResponse = new ProjectResponse();
-                    BeanUtils.copyProperties(project, projectResponse);
-                    return projectResponse;
-                })
+                .map(ProjectConverter::toProjectResponse)
                 .collect(Collectors.toList());
         projectResponsePage.setRecords(projectResponseList);
         
@@ -183,17 +196,14 @@ public class ProjectController {
      * @param request HTTP请求
      * @return 精选项目列表
      */
+    @RateLimit(rate = 10, burst = 30)
     @GetMapping("/list/featured")
     @ApiOperation(value = "获取精选项目列表")
     public BaseResponse<List<ProjectResponse>> listFeaturedProjects(HttpServletRequest request) {
         User loginUser = userService.getLoginUser();
         List<Project> projectList = projectService.listFeaturedProjects(loginUser);
         List<ProjectResponse> projectResponseList = projectList.stream()
-                .map(project -> {
-                    ProjectResponse projectResponse = new ProjectResponse();
-                    BeanUtils.copyProperties(project, projectResponse);
-                    return projectResponse;
-                })
+                .map(ProjectConverter::toProjectResponse)
                 .collect(Collectors.toList());
         return ResultUtils.success(projectResponseList);
     }
@@ -204,17 +214,14 @@ public class ProjectController {
      * @param request HTTP请求
      * @return 开源项目列表
      */
+    @RateLimit(rate = 10, burst = 30)
     @GetMapping("/list/opensource")
     @ApiOperation(value = "获取开源项目列表")
     public BaseResponse<List<ProjectResponse>> listOpenSourceProjects(HttpServletRequest request) {
         User loginUser = userService.getLoginUser();
         List<Project> projectList = projectService.listOpenSourceProjects(loginUser);
         List<ProjectResponse> projectResponseList = projectList.stream()
-                .map(project -> {
-                    ProjectResponse projectResponse = new ProjectResponse();
-                    BeanUtils.copyProperties(project, projectResponse);
-                    return projectResponse;
-                })
+                .map(ProjectConverter::toProjectResponse)
                 .collect(Collectors.toList());
         return ResultUtils.success(projectResponseList);
     }
@@ -236,11 +243,7 @@ public class ProjectController {
         User loginUser = userService.getLoginUser();
         List<Project> projectList = projectService.listProjectsByAuthor(authorId, loginUser);
         List<ProjectResponse> projectResponseList = projectList.stream()
-                .map(project -> {
-                    ProjectResponse projectResponse = new ProjectResponse();
-                    BeanUtils.copyProperties(project, projectResponse);
-                    return projectResponse;
-                })
+                .map(ProjectConverter::toProjectResponse)
                 .collect(Collectors.toList());
         return ResultUtils.success(projectResponseList);
     }
@@ -262,11 +265,7 @@ public class ProjectController {
         User loginUser = userService.getLoginUser();
         List<Project> projectList = projectService.listProjectsByType(projectType, loginUser);
         List<ProjectResponse> projectResponseList = projectList.stream()
-                .map(project -> {
-                    ProjectResponse projectResponse = new ProjectResponse();
-                    BeanUtils.copyProperties(project, projectResponse);
-                    return projectResponse;
-                })
+                .map(ProjectConverter::toProjectResponse)
                 .collect(Collectors.toList());
         return ResultUtils.success(projectResponseList);
     }
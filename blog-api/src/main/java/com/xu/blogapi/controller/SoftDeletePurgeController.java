@@ -0,0 +1,66 @@
+package com.xu.blogapi.controller;
+
+import cn.dev33.satoken.annotation.SaCheckRole;
+import com.xu.blogapi.common.BaseResponse;
+import com.xu.blogapi.common.ResultUtils;
+import com.xu.blogapi.constant.UserConstant;
+import com.xu.blogapi.manager.purge.SoftDeletePurgeManager;
+import com.xu.blogapi.model.vo.SoftDeletePurgeProgressVO;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+import javax.annotation.Resource;
+
+/**
+ * 逻辑删除数据清理管理接口控制器
+ *
+ * @author xu
+ */
+@RestController
+@RequestMapping("/soft-delete-purge")
+@Slf4j
+@Api(tags = "逻辑删除数据清理管理接口")
+public class SoftDeletePurgeController {
+
+    @Resource
+    private SoftDeletePurgeManager softDeletePurgeManager;
+
+    /**
+     * 立即执行一次清理
+     *
+     * @return 是否启动（已在运行时返回 false）
+     */
+    @PostMapping("/start")
+    @SaCheckRole(UserConstant.ADMIN_ROLE)
+    @ApiOperation(value = "启动清理")
+    public BaseResponse<Boolean> start() {
+        return ResultUtils.success(softDeletePurgeManager.start());
+    }
+
+    /**
+     * 停止清理
+     *
+     * @return 是否成功
+     */
+    @PostMapping("/stop")
+    @SaCheckRole(UserConstant.ADMIN_ROLE)
+    @ApiOperation(value = "停止清理")
+    public BaseResponse<Boolean> stop() {
+        softDeletePurgeManager.stop();
+        return ResultUtils.success(true);
+    }
+
+    /**
+     * 获取清理进度
+     *
+     * @return 清理进度
+     */
+    @GetMapping
+    @SaCheckRole(UserConstant.ADMIN_ROLE)
+    @ApiOperation(value = "获取清理进度")
+    public BaseResponse<SoftDeletePurgeProgressVO> getProgress() {
+        return ResultUtils.success(softDeletePurgeManager.getProgress());
+    }
+}
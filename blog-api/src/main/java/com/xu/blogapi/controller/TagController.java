@@ -1,6 +1,7 @@
 package com.xu.blogapi.controller;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.xu.blogapi.annotation.ResponseCache;
 import com.xu.blogapi.common.BaseResponse;
 import com.xu.blogapi.common.ErrorCode;
 import com.xu.blogapi.common.ResultUtils;
@@ -118,6 +119,20 @@ public class TagController {
         return ResultUtils.success(tagVO);
     }
 
+    /**
+     * 根据ID批量获取标签
+     *
+     * @param ids 标签ID列表（最多100个）
+     * @return 存在的标签，按请求顺序排列
+     */
+    @GetMapping("/batch")
+    @ApiOperation(value = "批量获取标签")
+    public BaseResponse<List<TagVO>> listTagsByIds(
+            @ApiParam(value = "标签ID列表，逗号分隔", required = true) @RequestParam List<Long> ids) {
+        List<TagVO> tagVOList = tagService.listTagsByIds(ids);
+        return ResultUtils.success(tagVOList);
+    }
+
     /**
      * 分页获取标签列表
      *
@@ -143,6 +158,7 @@ public class TagController {
      *
      * @return 标签列表
      */
+    @ResponseCache(tables = "tag")
     @GetMapping("/list/all")
     @ApiOperation(value = "获取所有标签")
     public BaseResponse<List<TagVO>> listAllTags() {
@@ -156,6 +172,7 @@ public class TagController {
      * @param limit 限制数量
      * @return 热门标签列表
      */
+    @ResponseCache(tables = "tag")
     @GetMapping("/list/popular")
     @ApiOperation(value = "获取热门标签")
     public BaseResponse<List<TagVO>> listPopularTags(
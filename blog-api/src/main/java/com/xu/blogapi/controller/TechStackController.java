@@ -1,6 +1,7 @@
 package com.xu.blogapi.controller;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.xu.blogapi.annotation.ResponseCache;
 import com.xu.blogapi.common.BaseResponse;
 import com.xu.blogapi.common.ResultUtils;
 import com.xu.blogapi.model.dto.techstack.TechStackAddRequest;
@@ -140,6 +141,7 @@ public class TechStackController {
      *
      * @return 技术栈列表
      */
+    @ResponseCache(tables = "tech_stack")
     @GetMapping("/list/all")
     @ApiOperation(value = "获取所有技术栈")
     public BaseResponse<List<TechStackResponse>> listAllTechStacks() {
@@ -153,6 +155,7 @@ public class TechStackController {
      * @param category 技术分类
      * @return 技术栈列表
      */
+    @ResponseCache(tables = "tech_stack")
     @GetMapping("/list/category")
     @ApiOperation(value = "根据分类获取技术栈列表")
     public BaseResponse<List<TechStackResponse>> listTechStacksByCategory(
@@ -169,6 +172,7 @@ public class TechStackController {
      *
      * @return 分类列表
      */
+    @ResponseCache(tables = "tech_stack")
     @GetMapping("/list/categories")
     @ApiOperation(value = "获取所有技术分类")
     public BaseResponse<List<String>> listAllCategories() {
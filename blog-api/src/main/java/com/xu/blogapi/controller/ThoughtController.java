@@ -1,10 +1,12 @@
 package com.xu.blogapi.controller;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.xu.blogapi.annotation.RateLimit;
 import com.xu.blogapi.common.BaseResponse;
 import com.xu.blogapi.common.DeleteRequest;
 import com.xu.blogapi.common.ErrorCode;
 import com.xu.blogapi.common.ResultUtils;
+import com.xu.blogapi.converter.ThoughtConverter;
 import com.xu.blogapi.exception.BusinessException;
 import com.xu.blogapi.model.dto.thought.ThoughtAddRequest;
 import com.xu.blogapi.model.dto.thought.ThoughtQueryRequest;
@@ -17,7 +19,6 @@ import com.xu.blogapi.service.UserService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
 import org.springframework.web.bind.annotation.*;
 
 import javax.annotation.Resource;
@@ -137,8 +138,7 @@ public class ThoughtController {
         Thought thought = thoughtService.getThoughtById(id, loginUser);
         
         // 转换为响应对象
-        ThoughtResponse thoughtResponse = new ThoughtResponse();
-        BeanUtils.copyProperties(thought, thoughtResponse);
+        ThoughtResponse thoughtResponse = ThoughtConverter.toThoughtResponse(thought);
         
         return ResultUtils.success(thoughtResponse);
     }
@@ -150,6 +150,7 @@ public class ThoughtController {
      * @param request             HTTP请求
      * @return 分页结果
      */
+    @RateLimit(rate = 5, burst = 20, windowLimit = 600)
     @PostMapping("/list/page")
     @ApiOperation(value = "分页获取想法列表")
     public BaseResponse<Page<ThoughtResponse>> listThoughtsByPage(@RequestBody ThoughtQueryRequest thoughtQueryRequest,
@@ -172,11 +173,7 @@ public class ThoughtController {
         );
         
         List<ThoughtResponse> thoughtResponseList = thoughtPage.getRecords().stream()
-                .map(thought -> {
-                    ThoughtResponse thoughtResponse = new ThoughtResponse();
-                    BeanUtils.copyProperties(thought, thoughtResponse);
-                    return thoughtResponse;
-                })
+                .map(ThoughtConverter::toThoughtResponse)
                 .collect(Collectors.toList());
         
         thoughtResponsePage.setRecords(thoughtResponseList);
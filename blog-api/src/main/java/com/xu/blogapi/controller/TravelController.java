@@ -1,6 +1,8 @@
 package com.xu.blogapi.controller;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.xu.blogapi.annotation.RateLimit;
+import com.xu.blogapi.annotation.ResponseCache;
 import com.xu.blogapi.common.BaseResponse;
 import com.xu.blogapi.common.DeleteRequest;
 import com.xu.blogapi.common.ErrorCode;
@@ -123,6 +125,7 @@ public class TravelController {
      * @param request            HTTP请求
      * @return 分页旅行记录列表
      */
+    @RateLimit(rate = 5, burst = 20, windowLimit = 600)
     @PostMapping("/list/page")
     @ApiOperation(value = "分页获取旅行记录列表")
     public BaseResponse<Page<Travel>> listTravelsByPage(@RequestBody TravelQueryRequest travelQueryRequest,
@@ -141,6 +144,8 @@ public class TravelController {
      * @param request HTTP请求
      * @return 公开旅行记录列表
      */
+    @ResponseCache(tables = "travel")
+    @RateLimit(rate = 10, burst = 30)
     @GetMapping("/list/public")
     @ApiOperation(value = "获取公开旅行记录列表")
     public BaseResponse<List<Travel>> listPublicTravels(HttpServletRequest request) {
@@ -7,6 +7,7 @@ import com.xu.blogapi.common.DeleteRequest;
 import com.xu.blogapi.common.ErrorCode;
 import com.xu.blogapi.common.ResultUtils;
 import com.xu.blogapi.constant.UserConstant;
+import com.xu.blogapi.converter.UserConverter;
 import com.xu.blogapi.exception.BusinessException;
 import com.xu.blogapi.exception.ThrowUtils;
 import com.xu.blogapi.model.dto.user.UserAddRequest;
@@ -28,7 +29,6 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.beans.BeanUtils;
 import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -140,8 +140,7 @@ public class UserController {
         if (userAddRequest == null) {
             throw new BusinessException(ErrorCode.PARAMS_ERROR);
         }
-        User user = new User();
-        BeanUtils.copyProperties(userAddRequest, user);
+        User user = UserConverter.toUser(userAddRequest);
         // 如果没有提供email，设置默认邮箱
         if (StringUtils.isBlank(user.getEmail())) {
             user.setEmail(user.getUsername() + "@admin.com");
@@ -185,8 +184,7 @@ public class UserController {
         if (userUpdateRequest == null || userUpdateRequest.getId() == null) {
             throw new BusinessException(ErrorCode.PARAMS_ERROR);
         }
-        User user = new User();
-        BeanUtils.copyProperties(userUpdateRequest, user);
+        User user = UserConverter.toUser(userUpdateRequest);
         boolean result = userService.updateById(user);
         ThrowUtils.throwIf(!result, ErrorCode.OPERATION_ERROR);
         return ResultUtils.success(true);
@@ -224,6 +222,18 @@ public class UserController {
         return ResultUtils.success(userService.getUserVO(user));
     }
 
+    /**
+     * 根据 id 批量获取包装类
+     *
+     * @param ids 编号列表（最多100个）
+     * @return {@link BaseResponse}<{@link List}<{@link UserVO}>>
+     */
+    @GetMapping("/batch/vo")
+    @ApiOperation(value = "根据 id 批量获取包装类")
+    public BaseResponse<List<UserVO>> listUserVoByIds(@RequestParam List<Long> ids) {
+        return ResultUtils.success(userService.listUserVOByIds(ids));
+    }
+
     /**
      * 分页获取用户列表（仅管理员）
      *
@@ -236,7 +246,7 @@ public class UserController {
     public BaseResponse<Page<User>> listUserByPage(@RequestBody UserQueryRequest userQueryRequest) {
         long current = userQueryRequest.getCurrent();
         long size = userQueryRequest.getPageSize();
-        Page<User> userPage = userService.page(new Page<>(current, size),
+        Page<User> userPage = userService.page(new Page<>(current, size, userQueryRequest.isSearchCount()),
                 userService.getQueryWrapper(userQueryRequest));
         return ResultUtils.success(userPage);
     }
@@ -257,7 +267,7 @@ public class UserController {
         long size = userQueryRequest.getPageSize();
         // 限制爬虫
         ThrowUtils.throwIf(size > 20, ErrorCode.PARAMS_ERROR);
-        Page<User> userPage = userService.page(new Page<>(current, size),
+        Page<User> userPage = userService.page(new Page<>(current, size, userQueryRequest.isSearchCount()),
                 userService.getQueryWrapper(userQueryRequest));
         Page<UserVO> userVoPage = new Page<>(current, size, userPage.getTotal());
         List<UserVO> userVO = userService.getUserVO(userPage.getRecords());
@@ -280,8 +290,7 @@ public class UserController {
             throw new BusinessException(ErrorCode.PARAMS_ERROR);
         }
         User loginUser = userService.getLoginUser();
-        User user = new User();
-        BeanUtils.copyProperties(userUpdateMyRequest, user);
+        User user = UserConverter.toUser(userUpdateMyRequest);
         user.setId(loginUser.getId());
         boolean result = userService.updateById(user);
         ThrowUtils.throwIf(!result, ErrorCode.OPERATION_ERROR);
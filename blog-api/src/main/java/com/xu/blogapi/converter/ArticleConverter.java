@@ -0,0 +1,69 @@
+package com.xu.blogapi.converter;
+
+import com.xu.blogapi.model.dto.article.ArticleAddRequest;
+import com.xu.blogapi.model.dto.article.ArticleUpdateRequest;
+import com.xu.blogapi.model.entity.Article;
+
+/**
+ * 文章对象转换器
+ * 由 GenerateProcessor 生成，直接调用 getter/setter，请勿手动修改
+ *
+ * @author xu
+ */
+public final class ArticleConverter {
+
+    private ArticleConverter() {
+    }
+
+    /**
+     * ArticleAddRequest 转 Article
+     *
+     * @param source 源对象
+     * @return {@link Article }
+     */
+    public static Article toArticle(ArticleAddRequest source) {
+        if (source == null) {
+            return null;
+        }
+        Article target = new Article();
+        target.setTitle(source.getTitle());
+        target.setSlug(source.getSlug());
+        target.setSummary(source.getSummary());
+        target.setContent(source.getContent());
+        target.setCoverImage(source.getCoverImage());
+        target.setCategoryId(source.getCategoryId());
+        target.setAuthorId(source.getAuthorId());
+        target.setStatus(source.getStatus());
+        target.setIsTop(source.getIsTop());
+        target.setIsFeatured(source.getIsFeatured());
+        target.setPublishTime(source.getPublishTime());
+        target.setUnpublishTime(source.getUnpublishTime());
+        return target;
+    }
+
+    /**
+     * ArticleUpdateRequest 转 Article
+     *
+     * @param source 源对象
+     * @return {@link Article }
+     */
+    public static Article toArticle(ArticleUpdateRequest source) {
+        if (source == null) {
+            return null;
+        }
+        Article target = new Article();
+        target.setId(source.getId());
+        target.setTitle(source.getTitle());
+        target.setSlug(source.getSlug());
+        target.setSummary(source.getSummary());
+        target.setContent(source.getContent());
+        target.setCoverImage(source.getCoverImage());
+        target.setCategoryId(source.getCategoryId());
+        target.setStatus(source.getStatus());
+        target.setIsTop(source.getIsTop());
+        target.setIsFeatured(source.getIsFeatured());
+        target.setPublishTime(source.getPublishTime());
+        target.setUnpublishTime(source.getUnpublishTime());
+        return target;
+    }
+}
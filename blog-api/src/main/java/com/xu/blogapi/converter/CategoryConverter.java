@@ -0,0 +1,85 @@
+package com.xu.blogapi.converter;
+
+import com.xu.blogapi.model.dto.category.CategoryAddRequest;
+import com.xu.blogapi.model.dto.category.CategoryUpdateRequest;
+import com.xu.blogapi.model.entity.Category;
+import com.xu.blogapi.model.vo.CategoryVO;
+
+/**
+ * 分类对象转换器
+ * 由 GenerateProcessor 生成，直接调用 getter/setter，请勿手动修改
+ *
+ * @author xu
+ */
+public final class CategoryConverter {
+
+    private CategoryConverter() {
+    }
+
+    /**
+     * CategoryAddRequest 转 Category
+     *
+     * @param source 源对象
+     * @return {@link Category }
+     */
+    public static Category toCategory(CategoryAddRequest source) {
+        if (source == null) {
+            return null;
+        }
+        Category target = new Category();
+        target.setName(source.getName());
+        target.setSlug(source.getSlug());
+        target.setDescription(source.getDescription());
+        target.setIcon(source.getIcon());
+        target.setColor(source.getColor());
+        target.setSortOrder(source.getSortOrder());
+        target.setStatus(source.getStatus());
+        return target;
+    }
+
+    /**
+     * CategoryUpdateRequest 转 Category
+     *
+     * @param source 源对象
+     * @return {@link Category }
+     */
+    public static Category toCategory(CategoryUpdateRequest source) {
+        if (source == null) {
+            return null;
+        }
+        Category target = new Category();
+        target.setId(source.getId());
+        target.setName(source.getName());
+        target.setSlug(source.getSlug());
+        target.setDescription(source.getDescription());
+        target.setIcon(source.getIcon());
+        target.setColor(source.getColor());
+        target.setSortOrder(source.getSortOrder());
+        target.setStatus(source.getStatus());
+        return target;
+    }
+
+    /**
+     * Category 转 CategoryVO
+     *
+     * @param source 源对象
+     * @return {@link CategoryVO }
+     */
+    public static CategoryVO toCategoryVO(Category source) {
+        if (source == null) {
+            return null;
+        }
+        CategoryVO target = new CategoryVO();
+        target.setId(source.getId());
+        target.setName(source.getName());
+        target.setSlug(source.getSlug());
+        target.setDescription(source.getDescription());
+        target.setIcon(source.getIcon());
+        target.setColor(source.getColor());
+        target.setSortOrder(source.getSortOrder());
+        target.setStatus(source.getStatus());
+        target.setCreateTime(source.getCreateTime());
+        target.setUpdateTime(source.getUpdateTime());
+        return target;
+    }
+}
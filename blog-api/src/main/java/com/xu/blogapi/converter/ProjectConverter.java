@@ -0,0 +1,119 @@
+package com.xu.blogapi.converter;
+
+import com.xu.blogapi.model.dto.project.ProjectAddRequest;
+import com.xu.blogapi.model.dto.project.ProjectResponse;
+import com.xu.blogapi.model.dto.project.ProjectUpdateRequest;
+import com.xu.blogapi.model.entity.Project;
+
+/**
+ * 项目对象转换器
+ * 由 GenerateProcessor 生成，直接调用 getter/setter，请勿手动修改
+ *
+ * @author xu
+ */
+public final class ProjectConverter {
+
+    private ProjectConverter() {
+    }
+
+    /**
+     * ProjectAddRequest 转 Project
+     *
+     * @param source 源对象
+     * @return {@link Project }
+     */
+    public static Project toProject(ProjectAddRequest source) {
+        if (source == null) {
+            return null;
+        }
+        Project target = new Project();
+        target.setName(source.getName());
+        target.setSlug(source.getSlug());
+        target.setDescription(source.getDescription());
+        target.setContent(source.getContent());
+        target.setCoverImage(source.getCoverImage());
+        target.setImages(source.getImages());
+        target.setDemoUrl(source.getDemoUrl());
+        target.setGithubUrl(source.getGithubUrl());
+        target.setDownloadUrl(source.getDownloadUrl());
+        target.setTechStack(source.getTechStack());
+        target.setFeatures(source.getFeatures());
+        target.setProjectType(source.getProjectType());
+        target.setStatus(source.getStatus());
+        target.setIsFeatured(source.getIsFeatured());
+        target.setIsOpenSource(source.getIsOpenSource());
+        target.setStartDate(source.getStartDate());
+        target.setEndDate(source.getEndDate());
+        target.setSortOrder(source.getSortOrder());
+        return target;
+    }
+
+    /**
+     * ProjectUpdateRequest 转 Project
+     *
+     * @param source 源对象
+     * @return {@link Project }
+     */
+    public static Project toProject(ProjectUpdateRequest source) {
+        if (source == null) {
+            return null;
+        }
+        Project target = new Project();
+        target.setId(source.getId());
+        target.setName(source.getName());
+        target.setSlug(source.getSlug());
+        target.setDescription(source.getDescription());
+        target.setContent(source.getContent());
+        target.setCoverImage(source.getCoverImage());
+        target.setImages(source.getImages());
+        target.setDemoUrl(source.getDemoUrl());
+        target.setGithubUrl(source.getGithubUrl());
+        target.setDownloadUrl(source.getDownloadUrl());
+        target.setTechStack(source.getTechStack());
+        target.setFeatures(source.getFeatures());
+        target.setProjectType(source.getProjectType());
+        target.setStatus(source.getStatus());
+        target.setIsFeatured(source.getIsFeatured());
+        target.setIsOpenSource(source.getIsOpenSource());
+        target.setStartDate(source.getStartDate());
+        target.setEndDate(source.getEndDate());
+        target.setSortOrder(source.getSortOrder());
+        return target;
+    }
+
+    /**
+     * Project 转 ProjectResponse
+     *
+     * @param source 源对象
+     * @return {@link ProjectResponse }
+     */
+    public static ProjectResponse toProjectResponse(Project source) {
+        if (source == null) {
+            return null;
+        }
+        ProjectResponse target = new ProjectResponse();
+        target.setId(source.getId());
+        target.setName(source.getName());
+        target.setSlug(source.getSlug());
+        target.setDescription(source.getDescription());
+        target.setContent(source.getContent());
+        target.setCoverImage(source.getCoverImage());
+        target.setImages(source.getImages());
+        target.setDemoUrl(source.getDemoUrl());
+        target.setGithubUrl(source.getGithubUrl());
+        target.setDownloadUrl(source.getDownloadUrl());
+        target.setTechStack(source.getTechStack());
+        target.setFeatures(source.getFeatures());
+        target.setProjectType(source.getProjectType());
+        target.setStatus(source.getStatus());
+        target.setIsFeatured(source.getIsFeatured());
+        target.setIsOpenSource(source.getIsOpenSource());
+        target.setStartDate(source.getStartDate());
+        target.setEndDate(source.getEndDate());
+        target.setSortOrder(source.getSortOrder());
+        target.setAuthorId(source.getAuthorId());
+        target.setCreateTime(source.getCreateTime());
+        target.setUpdateTime(source.getUpdateTime());
+        return target;
+    }
+}
@@ -0,0 +1,74 @@
+package com.xu.blogapi.converter;
+
+import com.xu.blogapi.model.dto.tag.TagAddRequest;
+import com.xu.blogapi.model.dto.tag.TagUpdateRequest;
+import com.xu.blogapi.model.entity.Tag;
+import com.xu.blogapi.model.vo.TagVO;
+
+/**
+ * 标签对象转换器
+ * 由 GenerateProcessor 生成，直接调用 getter/setter，请勿手动修改
+ *
+ * @author xu
+ */
+public final class TagConverter {
+
+    private TagConverter() {
+    }
+
+    /**
+     * TagAddRequest 转 Tag
+     *
+     * @param source 源对象
+     * @return {@link Tag }
+     */
+    public static Tag toTag(TagAddRequest source) {
+        if (source == null) {
+            return null;
+        }
+        Tag target = new Tag();
+        target.setName(source.getName());
+        target.setSlug(source.getSlug());
+        target.setColor(source.getColor());
+        return target;
+    }
+
+    /**
+     * TagUpdateRequest 转 Tag
+     *
+     * @param source 源对象
+     * @return {@link Tag }
+     */
+    public static Tag toTag(TagUpdateRequest source) {
+        if (source == null) {
+            return null;
+        }
+        Tag target = new Tag();
+        target.setId(source.getId());
+        target.setName(source.getName());
+        target.setSlug(source.getSlug());
+        target.setColor(source.getColor());
+        return target;
+    }
+
+    /**
+     * Tag 转 TagVO
+     *
+     * @param source 源对象
+     * @return {@link TagVO }
+     */
+    public static TagVO toTagVO(Tag source) {
+        if (source == null) {
+            return null;
+        }
+        TagVO target = new TagVO();
+        target.setId(source.getId());
+        target.setName(source.getName());
+        target.setSlug(source.getSlug());
+        target.setColor(source.getColor());
+        target.setUseCount(source.getUseCount());
+        target.setCreateTime(source.getCreateTime());
+        target.setUpdateTime(source.getUpdateTime());
+        return target;
+    }
+}
@@ -0,0 +1,85 @@
+package com.xu.blogapi.converter;
+
+import com.xu.blogapi.model.dto.techstack.TechStackAddRequest;
+import com.xu.blogapi.model.dto.techstack.TechStackResponse;
+import com.xu.blogapi.model.dto.techstack.TechStackUpdateRequest;
+import com.xu.blogapi.model.entity.TechStack;
+
+/**
+ * 技术栈对象转换器
+ * 由 GenerateProcessor 生成，直接调用 getter/setter，请勿手动修改
+ *
+ * @author xu
+ */
+public final class TechStackConverter {
+
+    private TechStackConverter() {
+    }
+
+    /**
+     * TechStackAddRequest 转 TechStack
+     *
+     * @param source 源对象
+     * @return {@link TechStack }
+     */
+    public static TechStack toTechStack(TechStackAddRequest source) {
+        if (source == null) {
+            return null;
+        }
+        TechStack target = new TechStack();
+        target.setName(source.getName());
+        target.setCategory(source.getCategory());
+        target.setDescription(source.getDescription());
+        target.setIcon(source.getIcon());
+        target.setOfficialUrl(source.getOfficialUrl());
+        target.setSortOrder(source.getSortOrder());
+        target.setStatus(source.getStatus());
+        return target;
+    }
+
+    /**
+     * TechStackUpdateRequest 转 TechStack
+     *
+     * @param source 源对象
+     * @return {@link TechStack }
+     */
+    public static TechStack toTechStack(TechStackUpdateRequest source) {
+        if (source == null) {
+            return null;
+        }
+        TechStack target = new TechStack();
+        target.setId(source.getId());
+        target.setName(source.getName());
+        target.setCategory(source.getCategory());
+        target.setDescription(source.getDescription());
+        target.setIcon(source.getIcon());
+        target.setOfficialUrl(source.getOfficialUrl());
+        target.setSortOrder(source.getSortOrder());
+        target.setStatus(source.getStatus());
+        return target;
+    }
+
+    /**
+     * TechStack 转 TechStackResponse
+     *
+     * @param source 源对象
+     * @return {@link TechStackResponse }
+     */
+    public static TechStackResponse toTechStackResponse(TechStack source) {
+        if (source == null) {
+            return null;
+        }
+        TechStackResponse target = new TechStackResponse();
+        target.setId(source.getId());
+        target.setName(source.getName());
+        target.setCategory(source.getCategory());
+        target.setDescription(source.getDescription());
+        target.setIcon(source.getIcon());
+        target.setOfficialUrl(source.getOfficialUrl());
+        target.setSortOrder(source.getSortOrder());
+        target.setStatus(source.getStatus());
+        target.setCreateTime(source.getCreateTime());
+        target.setUpdateTime(source.getUpdateTime());
+        return target;
+    }
+}
@@ -0,0 +1,83 @@
+package com.xu.blogapi.converter;
+
+import com.xu.blogapi.model.dto.thought.ThoughtAddRequest;
+import com.xu.blogapi.model.dto.thought.ThoughtResponse;
+import com.xu.blogapi.model.dto.thought.ThoughtUpdateRequest;
+import com.xu.blogapi.model.entity.Thought;
+
+/**
+ * 想法对象转换器
+ * 由 GenerateProcessor 生成，直接调用 getter/setter，请勿手动修改
+ *
+ * @author xu
+ */
+public final class ThoughtConverter {
+
+    private ThoughtConverter() {
+    }
+
+    /**
+     * ThoughtAddRequest 转 Thought
+     *
+     * @param source 源对象
+     * @return {@link Thought }
+     */
+    public static Thought toThought(ThoughtAddRequest source) {
+        if (source == null) {
+            return null;
+        }
+        Thought target = new Thought();
+        target.setContent(source.getContent());
+        target.setImages(source.getImages());
+        target.setMood(source.getMood());
+        target.setLocation(source.getLocation());
+        target.setWeather(source.getWeather());
+        target.setStatus(source.getStatus());
+        return target;
+    }
+
+    /**
+     * ThoughtUpdateRequest 转 Thought
+     *
+     * @param source 源对象
+     * @return {@link Thought }
+     */
+    public static Thought toThought(ThoughtUpdateRequest source) {
+        if (source == null) {
+            return null;
+        }
+        Thought target = new Thought();
+        target.setId(source.getId());
+        target.setContent(source.getContent());
+        target.setImages(source.getImages());
+        target.setMood(source.getMood());
+        target.setLocation(source.getLocation());
+        target.setWeather(source.getWeather());
+        target.setStatus(source.getStatus());
+        return target;
+    }
+
+    /**
+     * Thought 转 ThoughtResponse
+     *
+     * @param source 源对象
+     * @return {@link ThoughtResponse }
+     */
+    public static ThoughtResponse toThoughtResponse(Thought source) {
+        if (source == null) {
+            return null;
+        }
+        ThoughtResponse target = new ThoughtResponse();
+        target.setId(source.getId());
+        target.setContent(source.getContent());
+        target.setImages(source.getImages());
+        target.setMood(source.getMood());
+        target.setLocation(source.getLocation());
+        target.setWeather(source.getWeather());
+        target.setAuthorId(source.getAuthorId());
+        target.setStatus(source.getStatus());
+        target.setCreateTime(source.getCreateTime());
+        target.setUpdateTime(source.getUpdateTime());
+        return target;
+    }
+}
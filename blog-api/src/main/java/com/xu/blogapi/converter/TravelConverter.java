@@ -0,0 +1,89 @@
+package com.xu.blogapi.converter;
+
+import com.xu.blogapi.model.dto.travel.TravelAddRequest;
+import com.xu.blogapi.model.dto.travel.TravelUpdateRequest;
+import com.xu.blogapi.model.entity.Travel;
+
+/**
+ * 旅行记录对象转换器
+ * 由 GenerateProcessor 生成，直接调用 getter/setter，请勿手动修改
+ *
+ * @author xu
+ */
+public final class TravelConverter {
+
+    private TravelConverter() {
+    }
+
+    /**
+     * TravelAddRequest 转 Travel
+     *
+     * @param source 源对象
+     * @return {@link Travel }
+     */
+    public static Travel toTravel(TravelAddRequest source) {
+        if (source == null) {
+            return null;
+        }
+        Travel target = new Travel();
+        target.setTitle(source.getTitle());
+        target.setDestination(source.getDestination());
+        target.setCountry(source.getCountry());
+        target.setCity(source.getCity());
+        target.setDescription(source.getDescription());
+        target.setContent(source.getContent());
+        target.setCoverImage(source.getCoverImage());
+        target.setImages(source.getImages());
+        target.setStartDate(source.getStartDate());
+        target.setEndDate(source.getEndDate());
+        target.setDuration(source.getDuration());
+        target.setBudget(source.getBudget());
+        target.setCompanions(source.getCompanions());
+        target.setTransportation(source.getTransportation());
+        target.setAccommodation(source.getAccommodation());
+        target.setHighlights(source.getHighlights());
+        target.setLatitude(source.getLatitude());
+        target.setLongitude(source.getLongitude());
+        target.setWeather(source.getWeather());
+        target.setRating(source.getRating());
+        target.setStatus(source.getStatus());
+        target.setAuthorId(source.getAuthorId());
+        return target;
+    }
+
+    /**
+     * TravelUpdateRequest 转 Travel
+     *
+     * @param source 源对象
+     * @return {@link Travel }
+     */
+    public static Travel toTravel(TravelUpdateRequest source) {
+        if (source == null) {
+            return null;
+        }
+        Travel target = new Travel();
+        target.setId(source.getId());
+        target.setTitle(source.getTitle());
+        target.setDestination(source.getDestination());
+        target.setCountry(source.getCountry());
+        target.setCity(source.getCity());
+        target.setDescription(source.getDescription());
+        target.setContent(source.getContent());
+        target.setCoverImage(source.getCoverImage());
+        target.setImages(source.getImages());
+        target.setStartDate(source.getStartDate());
+        target.setEndDate(source.getEndDate());
+        target.setDuration(source.getDuration());
+        target.setBudget(source.getBudget());
+        target.setCompanions(source.getCompanions());
+        target.setTransportation(source.getTransportation());
+        target.setAccommodation(source.getAccommodation());
+        target.setHighlights(source.getHighlights());
+        target.setLatitude(source.getLatitude());
+        target.setLongitude(source.getLongitude());
+        target.setWeather(source.getWeather());
+        target.setRating(source.getRating());
+        target.setStatus(source.getStatus());
+        return target;
+    }
+}
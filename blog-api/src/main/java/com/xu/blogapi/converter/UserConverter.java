@@ -0,0 +1,156 @@
+package com.xu.blogapi.converter;
+
+import com.xu.blogapi.model.dto.user.UserAddRequest;
+import com.xu.blogapi.model.dto.user.UserUpdateMyRequest;
+import com.xu.blogapi.model.dto.user.UserUpdateRequest;
+import com.xu.blogapi.model.entity.User;
+import com.xu.blogapi.model.vo.LoginUserVO;
+import com.xu.blogapi.model.vo.TokenLoginUserVo;
+import com.xu.blogapi.model.vo.UserVO;
+
+/**
+ * 用户对象转换器
+ * 由 GenerateProcessor 生成，直接调用 getter/setter，请勿手动修改
+ *
+ * @author xu
+ */
+public final class UserConverter {
+
+    private UserConverter() {
+    }
+
+    /**
+     * UserAddRequest 转 User
+     *
+     * @param source 源对象
+     * @return {@link User }
+     */
+    public static User toUser(UserAddRequest source) {
+        if (source == null) {
+            return null;
+        }
+        User target = new User();
+        target.setUsername(source.getUsername());
+        target.setEmail(source.getEmail());
+        target.setNickname(source.getNickname());
+        target.setAvatar(source.getAvatar());
+        target.setBio(source.getBio());
+        target.setRole(source.getRole());
+        return target;
+    }
+
+    /**
+     * UserUpdateRequest 转 User
+     *
+     * @param source 源对象
+     * @return {@link User }
+     */
+    public static User toUser(UserUpdateRequest source) {
+        if (source == null) {
+            return null;
+        }
+        User target = new User();
+        target.setId(source.getId());
+        target.setUsername(source.getUsername());
+        target.setEmail(source.getEmail());
+        target.setNickname(source.getNickname());
+        target.setAvatar(source.getAvatar());
+        target.setBio(source.getBio());
+        target.setRole(source.getRole());
+        return target;
+    }
+
+    /**
+     * UserUpdateMyRequest 转 User
+     *
+     * @param source 源对象
+     * @return {@link User }
+     */
+    public static User toUser(UserUpdateMyRequest source) {
+        if (source == null) {
+            return null;
+        }
+        User target = new User();
+        target.setNickname(source.getNickname());
+        target.setAvatar(source.getAvatar());
+        target.setBio(source.getBio());
+        return target;
+    }
+
+    /**
+     * User 转 UserVO
+     *
+     * @param source 源对象
+     * @return {@link UserVO }
+     */
+    public static UserVO toUserVO(User source) {
+        if (source == null) {
+            return null;
+        }
+        UserVO target = new UserVO();
+        target.setId(source.getId());
+        target.setUsername(source.getUsername());
+        target.setNickname(source.getNickname());
+        target.setAvatar(source.getAvatar());
+        target.setBio(source.getBio());
+        target.setWebsite(source.getWebsite());
+        target.setGithub(source.getGithub());
+        target.setRole(source.getRole());
+        target.setCreateTime(source.getCreateTime());
+        return target;
+    }
+
+    /**
+     * User 转 LoginUserVO
+     *
+     * @param source 源对象
+     * @return {@link LoginUserVO }
+     */
+    public static LoginUserVO toLoginUserVO(User source) {
+        if (source == null) {
+            return null;
+        }
+        LoginUserVO target = new LoginUserVO();
+        target.setId(source.getId());
+        target.setUsername(source.getUsername());
+        target.setEmail(source.getEmail());
+        target.setNickname(source.getNickname());
+        target.setAvatar(source.getAvatar());
+        target.setBio(source.getBio());
+        target.setWebsite(source.getWebsite());
+        target.setGithub(source.getGithub());
+        target.setRole(source.getRole());
+        target.setStatus(source.getStatus());
+        target.setLastLoginTime(source.getLastLoginTime());
+        target.setCreateTime(source.getCreateTime());
+        target.setUpdateTime(source.getUpdateTime());
+        return target;
+    }
+
+    /**
+     * User 转 TokenLoginUserVo
+     *
+     * @param source 源对象
+     * @return {@link TokenLoginUserVo }
+     */
+    public static TokenLoginUserVo toTokenLoginUserVo(User source) {
+        if (source == null) {
+            return null;
+        }
+        TokenLoginUserVo target = new TokenLoginUserVo();
+        target.setId(source.getId());
+        target.setUsername(source.getUsername());
+        target.setEmail(source.getEmail());
+        target.setNickname(source.getNickname());
+        target.setAvatar(source.getAvatar());
+        target.setBio(source.getBio());
+        target.setWebsite(source.getWebsite());
+        target.setGithub(source.getGithub());
+        target.setRole(source.getRole());
+        target.setStatus(source.getStatus());
+        target.setLastLoginTime(source.getLastLoginTime());
+        target.setCreateTime(source.getCreateTime());
+        target.setUpdateTime(source.getUpdateTime());
+        return target;
+    }
+}
@@ -0,0 +1,75 @@
+package com.xu.blogapi.datasource;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 读写路由拦截器
+ * 执行语句期间标记语句类型，供 {@link ReadWriteRoutingDataSource} 在事务外选择主库或从库；
+ * 写语句执行后标记当前会话，之后一段时间的读请求走主库
+ *
+ * @author xu
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class,
+                        BoundSql.class}),
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})})
+public class ReadWriteRouteInterceptor implements Interceptor {
+
+    private final ReadWriteRoutingDataSource routingDataSource;
+
+    /**
+     * MappedStatement ID -> 是否可以在从库执行
+     */
+    private final Map<String, Boolean> readableCache = new ConcurrentHashMap<>();
+
+    public ReadWriteRouteInterceptor(ReadWriteRoutingDataSource routingDataSource) {
+        this.routingDataSource = routingDataSource;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+        boolean read = isReadable(ms, invocation.getArgs()[1]);
+        Boolean previous = ReadWriteRoutingDataSource.markStatement(read);
+        try {
+            Object result = invocation.proceed();
+            if (!read) {
+                routingDataSource.markWrite();
+            }
+            return result;
+        } finally {
+            ReadWriteRoutingDataSource.restoreStatement(previous);
+        }
+    }
+
+    /**
+     * 判断语句能否在从库执行
+     * 部分 Mapper 用 @Select 执行更新语句（如标签使用次数加一），因此除了命令类型还要检查 SQL 本身
+     */
+    private boolean isReadable(MappedStatement ms, Object parameter) {
+        if (ms.getSqlCommandType() != SqlCommandType.SELECT) {
+            return false;
+        }
+        return readableCache.computeIfAbsent(ms.getId(), id -> {
+            String sql = ms.getBoundSql(parameter).getSql().trim().toLowerCase(Locale.ROOT);
+            return sql.startsWith("select") && !sql.contains("for update") && !sql.contains("lock in share mode");
+        });
+    }
+}
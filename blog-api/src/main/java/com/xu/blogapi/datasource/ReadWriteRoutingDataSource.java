@@ -0,0 +1,340 @@
+package com.xu.blogapi.datasource;
+
+import com.xu.blogapi.config.ReadWriteDataSourceProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 读写分离数据源
+ * 以下情况使用从库（多个从库轮询），其余一律使用主库：
+ * 1. 只读事务（@Transactional(readOnly = true)）；
+ * 2. 事务外、Web 请求中的查询语句（由 {@link ReadWriteRouteInterceptor} 标记）。
+ * 同一会话写操作后的 stickyMillis 内读请求仍走主库，保证能读到自己的修改；后台线程的事务外查询
+ * （如数据变更后重新加载缓存）也走主库；请求线程上的缓存加载通过 {@link #executeOnPrimary(Supplier)} 强制走主库，
+ * 避免失效后立即从延迟的从库把旧数据加载进缓存。
+ * 从库定时检测复制延迟，延迟过大或连接失败时暂停使用，读请求回到主库。
+ * 需要配合 LazyConnectionDataSourceProxy 使用，使只读事务的标记在获取物理连接前生效
+ *
+ * @author xu
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements InitializingBean, DisposableBean {
+
+    /**
+     * 写操作后走主库的截止时间（毫秒时间戳），通过 Cookie 在多个节点间传递
+     */
+    public static final String STICKY_COOKIE = "blog_primary_until";
+
+    private static final String STICKY_ATTRIBUTE = ReadWriteRoutingDataSource.class.getName() + ".STICKY";
+
+    private static final String LAG_CHECK_NONE = "none";
+
+    private static final String HEARTBEAT_SQL = "INSERT INTO replication_heartbeat (id, beat_time) VALUES (1, NOW(3)) "
+            + "ON DUPLICATE KEY UPDATE beat_time = VALUES(beat_time)";
+
+    private static final String LAG_SQL = "SELECT TIMESTAMPDIFF(MICROSECOND, beat_time, NOW(3)) DIV 1000 "
+            + "FROM replication_heartbeat WHERE id = 1";
+
+    /**
+     * 当前语句是否为查询，由 {@link ReadWriteRouteInterceptor} 在执行语句期间设置
+     */
+    private static final ThreadLocal<Boolean> READ_STATEMENT = new ThreadLocal<>();
+
+    /**
+     * 当前线程是否强制走主库，由 {@link #markPrimary(boolean)} 设置
+     */
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private final DataSource primary;
+
+    private final List<ReplicaNode> replicas;
+
+    private final ReadWriteDataSourceProperties properties;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private ScheduledExecutorService checkExecutor;
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources,
+                                      ReadWriteDataSourceProperties properties) {
+        this.primary = primary;
+        this.properties = properties;
+        this.replicas = new ArrayList<>(replicaDataSources.size());
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            replicas.add(new ReplicaNode("replica-" + i, replicaDataSources.get(i)));
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (replicas.isEmpty()) {
+            log.warn("read-write routing enabled but no replica configured, all statements use primary");
+            return;
+        }
+        checkExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checkExecutor.scheduleWithFixedDelay(this::checkReplicas, 0, properties.getCheckIntervalMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (checkExecutor != null) {
+            checkExecutor.shutdownNow();
+        }
+        close(primary);
+        replicas.forEach(replica -> close(replica.dataSource));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        ReplicaNode replica = shouldUseReplica() ? nextHealthyReplica() : null;
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException e) {
+            replica.markUnhealthy("get connection failed: " + e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * 标记当前语句类型
+     *
+     * @param read 是否为查询
+     * @return 之前的标记，语句结束后通过 {@link #restoreStatement(Boolean)} 恢复
+     */
+    public static Boolean markStatement(boolean read) {
+        Boolean previous = READ_STATEMENT.get();
+        READ_STATEMENT.set(read);
+        return previous;
+    }
+
+    public static void restoreStatement(Boolean previous) {
+        if (previous == null) {
+            READ_STATEMENT.remove();
+        } else {
+            READ_STATEMENT.set(previous);
+        }
+    }
+
+    /**
+     * 标记当前线程之后的语句是否强制走主库（包括只读事务中的语句）
+     *
+     * @param primary 是否强制走主库
+     * @return 之前的标记，结束后通过 {@link #restorePrimary(Boolean)} 恢复
+     */
+    public static Boolean markPrimary(boolean primary) {
+        Boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(primary);
+        return previous;
+    }
+
+    public static void restorePrimary(Boolean previous) {
+        if (previous == null) {
+            FORCE_PRIMARY.remove();
+        } else {
+            FORCE_PRIMARY.set(previous);
+        }
+    }
+
+    /**
+     * 强制走主库执行操作，用于缓存加载
+     *
+     * @param action 操作
+     * @return 操作结果
+     */
+    public static <T> T executeOnPrimary(Supplier<T> action) {
+        Boolean previous = markPrimary(true);
+        try {
+            return action.get();
+        } finally {
+            restorePrimary(previous);
+        }
+    }
+
+    /**
+     * 记录写操作，当前请求剩余的查询和同一会话之后 stickyMillis 内的查询都走主库
+     */
+    public void markWrite() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)
+                || attributes.getAttribute(STICKY_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return;
+        }
+        attributes.setAttribute(STICKY_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        HttpServletResponse response = ((ServletRequestAttributes) attributes).getResponse();
+        if (response != null && !response.isCommitted()) {
+            Cookie cookie = new Cookie(STICKY_COOKIE,
+                    String.valueOf(System.currentTimeMillis() + properties.getStickyMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(properties.getStickyMillis() + 999)));
+            response.addCookie(cookie);
+        }
+    }
+
+    private boolean shouldUseReplica() {
+        if (replicas.isEmpty() || Boolean.TRUE.equals(FORCE_PRIMARY.get())) {
+            return false;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !isStickyToPrimary();
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return Boolean.TRUE.equals(READ_STATEMENT.get()) && attributes instanceof ServletRequestAttributes
+                && !isStickyToPrimary();
+    }
+
+    private boolean isStickyToPrimary() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return false;
+        }
+        if (attributes.getAttribute(STICKY_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return true;
+        }
+        HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (STICKY_COOKIE.equals(cookie.getName())) {
+                return NumberUtils.toLong(cookie.getValue()) > System.currentTimeMillis();
+            }
+        }
+        return false;
+    }
+
+    private ReplicaNode nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            ReplicaNode replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 在主库写入心跳，再检测各从库的延迟
+     */
+    private void checkReplicas() {
+        boolean heartbeat = !LAG_CHECK_NONE.equalsIgnoreCase(properties.getLagCheck());
+        if (heartbeat) {
+            try (Connection connection = primary.getConnection(); Statement statement = connection.createStatement()) {
+                statement.executeUpdate(HEARTBEAT_SQL);
+            } catch (Exception e) {
+                log.warn("write replication heartbeat failed", e);
+            }
+        }
+        for (ReplicaNode replica : replicas) {
+            try {
+                replica.check(heartbeat);
+            } catch (Exception e) {
+                replica.markUnhealthy("check failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private static void close(DataSource dataSource) {
+        if (dataSource instanceof Closeable) {
+            try {
+                ((Closeable) dataSource).close();
+            } catch (IOException e) {
+                log.warn("close datasource failed", e);
+            }
+        }
+    }
+
+    /**
+     * 从库及其状态，首次检测通过前不使用
+     */
+    private class ReplicaNode {
+
+        private final String name;
+
+        private final DataSource dataSource;
+
+        private volatile boolean healthy;
+
+        private ReplicaNode(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private void check(boolean heartbeat) throws SQLException {
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                if (!heartbeat) {
+                    statement.execute("SELECT 1");
+                    markHealthy();
+                    return;
+                }
+                try (ResultSet resultSet = statement.executeQuery(LAG_SQL)) {
+                    if (!resultSet.next()) {
+                        markUnhealthy("no heartbeat");
+                        return;
+                    }
+                    long lagMillis = resultSet.getLong(1);
+                    if (lagMillis > properties.getMaxLagMillis()) {
+                        markUnhealthy("lag " + lagMillis + " ms");
+                    } else {
+                        markHealthy();
+                    }
+                }
+            }
+        }
+
+        private void markHealthy() {
+            if (!healthy) {
+                healthy = true;
+                log.info("{} is available for reads", name);
+            }
+        }
+
+        private void markUnhealthy(String reason) {
+            if (healthy) {
+                healthy = false;
+                log.warn("{} is removed from reads, {}", name, reason);
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.xu.blogapi.event;
+
+import cn.hutool.core.util.IdUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 领域事件发件箱
+ * 数据表变更在业务事务提交前写入 domain_event_outbox，与业务数据一起提交或回滚，
+ * 再由 {@link EventOutboxRelay} 异步转发，写操作不等待任何下游处理。
+ * 直接使用当前事务绑定的连接执行 JDBC，不经过 MyBatis，发件箱自身的写入不会再产生变更事件
+ *
+ * @author xu
+ */
+@Slf4j
+@Component
+public class EventOutbox {
+
+    /**
+     * 本节点ID，订阅方据此跳过本节点已在提交后直接处理过的事件
+     */
+    public static final String NODE_ID = IdUtil.fastSimpleUUID();
+
+    /**
+     * row_ids 列的长度，超过时按整表变更记录
+     */
+    private static final int MAX_IDS_LENGTH = 2000;
+
+    private static final String INSERT_SQL = "INSERT INTO domain_event_outbox (event_key, table_name, row_ids, node_id) "
+            + "VALUES (?, ?, ?, ?)";
+
+    @Resource
+    private DataSource dataSource;
+
+    /**
+     * 新事件通知，转发线程据此提前结束等待
+     */
+    private final Semaphore appended = new Semaphore(0);
+
+    /**
+     * 没有事务时写入失败的事件，按表合并（空集合表示整表），由转发线程重试写入
+     */
+    private final Map<String, Set<Long>> failedChanges = new LinkedHashMap<>();
+
+    /**
+     * 在当前事务中写入事件，没有事务时直接提交
+     *
+     * @param changes 表名 -> 主键ID（null 或空集合表示整表）
+     * @throws IllegalStateException 写入失败，事务中调用时会导致事务回滚
+     */
+    public void append(Map<String, Set<Long>> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+            for (Map.Entry<String, Set<Long>> change : changes.entrySet()) {
+                statement.setString(1, IdUtil.fastSimpleUUID());
+                statement.setString(2, change.getKey());
+                statement.setString(3, formatIds(change.getValue()));
+                statement.setString(4, NODE_ID);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        } catch (SQLException e) {
+            throw new IllegalStateException("写入领域事件发件箱失败", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * 写入事件，失败时记录日志并放入重试队列，由 {@link EventOutboxRelay} 重试写入
+     * 用于没有事务的写操作：数据已自动提交，写入失败不能再影响写操作本身
+     *
+     * @param changes 表名 -> 主键ID（null 或空集合表示整表）
+     */
+    public void appendOrQueue(Map<String, Set<Long>> changes) {
+        try {
+            append(changes);
+        } catch (RuntimeException e) {
+            log.error("append domain events to outbox failed, queued for retry, tables = {}", changes.keySet(), e);
+            queue(changes);
+        }
+    }
+
+    /**
+     * 重试写入此前失败的事件，再次失败时放回重试队列
+     *
+     * @throws RuntimeException 写入失败
+     */
+    void retryFailed() {
+        Map<String, Set<Long>> changes;
+        synchronized (failedChanges) {
+            if (failedChanges.isEmpty()) {
+                return;
+            }
+            changes = new LinkedHashMap<>(failedChanges);
+            failedChanges.clear();
+        }
+        try {
+            append(changes);
+        } catch (RuntimeException e) {
+            queue(changes);
+            throw e;
+        }
+        log.info("appended queued domain events to outbox, tables = {}", changes.keySet());
+    }
+
+    private void queue(Map<String, Set<Long>> changes) {
+        synchronized (failedChanges) {
+            changes.forEach((table, ids) -> {
+                Set<Long> existing = failedChanges.get(table);
+                if (existing == null) {
+                    failedChanges.put(table, ids == null ? new HashSet<>() : new HashSet<>(ids));
+                } else if (!existing.isEmpty()) {
+                    if (ids == null || ids.isEmpty()) {
+                        existing.clear();
+                    } else {
+                        existing.addAll(ids);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * 通知转发线程有新事件（事务提交后调用）
+     */
+    public void signal() {
+        appended.release();
+    }
+
+    /**
+     * 等待新事件通知
+     *
+     * @param timeoutMillis 最长等待时间
+     * @throws InterruptedException 等待时被中断
+     */
+    void awaitSignal(long timeoutMillis) throws InterruptedException {
+        if (appended.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+            // 一批会处理所有已提交的事件，合并等待期间的多次通知
+            appended.drainPermits();
+        }
+    }
+
+    /**
+     * 主键ID 转为逗号分隔的字符串
+     *
+     * @return 为空或过长时返回 null，表示整表
+     */
+    static String formatIds(Set<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return null;
+        }
+        String value = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        return value.length() > MAX_IDS_LENGTH ? null : value;
+    }
+
+    /**
+     * 解析逗号分隔的主键ID
+     *
+     * @return 主键ID，为空或无法解析时返回空集合，表示整表
+     */
+    static Set<Long> parseIds(String value) {
+        Set<Long> ids = new HashSet<>();
+        for (String id : StringUtils.split(StringUtils.defaultString(value), ',')) {
+            if (!NumberUtils.isDigits(id)) {
+                ids.clear();
+                break;
+            }
+            ids.add(Long.parseLong(id));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,198 @@
+package com.xu.blogapi.event;
+
+import com.xu.blogapi.config.EventOutboxProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 领域事件转发
+ * 后台线程按批读取发件箱中待发布的事件，以管道方式写入 Redis Stream 后标记为已发布，两步在同一个数据库事务中：
+ * 写入 Stream 后、提交前失败时事件会被再次转发（至少一次），订阅方按幂等键去重。
+ * 读取使用 FOR UPDATE SKIP LOCKED，多个节点同时转发时各取不同的事件，宕机节点遗留的事件由其他节点接手。
+ * 没有事务的写操作写入发件箱失败时，由转发线程在每批之前重试写入；已发布的事件保留一段时间后分批删除
+ *
+ * @author xu
+ */
+@Slf4j
+@Component
+public class EventOutboxRelay {
+
+    /**
+     * 事件流
+     */
+    public static final String STREAM_KEY = "blog:domain:events";
+
+    public static final String FIELD_KEY = "key";
+
+    public static final String FIELD_NODE = "node";
+
+    public static final String FIELD_TABLE = "table";
+
+    public static final String FIELD_IDS = "ids";
+
+    private static final String SELECT_PENDING_SQL = "SELECT id, event_key, table_name, row_ids, node_id "
+            + "FROM domain_event_outbox WHERE status = 0 ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String PURGE_SQL = "DELETE FROM domain_event_outbox WHERE status = 1 AND publish_time < ? LIMIT ?";
+
+    /**
+     * 清理已发布事件的间隔
+     */
+    private static final long PURGE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    @Resource
+    private DataSource dataSource;
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Resource
+    private EventOutbox eventOutbox;
+
+    @Resource
+    private EventOutboxProperties eventOutboxProperties;
+
+    private ExecutorService relayExecutor;
+
+    @PostConstruct
+    public void init() {
+        relayExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        relayExecutor.execute(this::run);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        relayExecutor.shutdownNow();
+    }
+
+    private void run() {
+        long nextPurgeMillis = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                eventOutbox.retryFailed();
+                int relayed = relayBatch();
+                if (System.currentTimeMillis() >= nextPurgeMillis) {
+                    purgePublished();
+                    nextPurgeMillis = System.currentTimeMillis() + PURGE_INTERVAL_MILLIS;
+                }
+                if (relayed < eventOutboxProperties.getBatchSize()) {
+                    eventOutbox.awaitSignal(eventOutboxProperties.getPollIntervalMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.warn("relay domain events failed, retry in {} ms", eventOutboxProperties.getRetryDelayMillis(), e);
+                try {
+                    Thread.sleep(eventOutboxProperties.getRetryDelayMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * 转发一批事件
+     *
+     * @return 转发的事件数
+     */
+    int relayBatch() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                List<Long> ids = new ArrayList<>();
+                List<Map<String, String>> records = new ArrayList<>();
+                try (PreparedStatement statement = connection.prepareStatement(SELECT_PENDING_SQL)) {
+                    statement.setInt(1, eventOutboxProperties.getBatchSize());
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            ids.add(resultSet.getLong(1));
+                            Map<String, String> record = new HashMap<>(8);
+                            record.put(FIELD_KEY, resultSet.getString(2));
+                            record.put(FIELD_TABLE, resultSet.getString(3));
+                            record.put(FIELD_IDS, StringUtils.defaultString(resultSet.getString(4)));
+                            record.put(FIELD_NODE, resultSet.getString(5));
+                            records.add(record);
+                        }
+                    }
+                }
+                if (!ids.isEmpty()) {
+                    stringRedisTemplate.executePipelined((RedisCallback<Object>) redisConnection -> {
+                        StringRedisConnection stringRedisConnection = (StringRedisConnection) redisConnection;
+                        for (Map<String, String> record : records) {
+                            stringRedisConnection.xAdd(STREAM_KEY, record);
+                        }
+                        return null;
+                    });
+                    stringRedisTemplate.opsForStream().trim(STREAM_KEY, eventOutboxProperties.getStreamMaxLength(), true);
+                    try (Statement statement = connection.createStatement()) {
+                        statement.executeUpdate("UPDATE domain_event_outbox SET status = 1, publish_time = NOW(3) WHERE id IN ("
+                                + StringUtils.join(ids, ',') + ")");
+                    }
+                }
+                connection.commit();
+                return ids.size();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * 分批删除超过保留时间的已发布事件，每批单独提交，避免长时间持有锁
+     */
+    private void purgePublished() throws SQLException {
+        Timestamp before = new Timestamp(System.currentTimeMillis()
+                - TimeUnit.HOURS.toMillis(eventOutboxProperties.getRetentionHours()));
+        int purgeBatchSize = Math.max(1, eventOutboxProperties.getPurgeBatchSize());
+        int total = 0;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(PURGE_SQL)) {
+            statement.setTimestamp(1, before);
+            statement.setInt(2, purgeBatchSize);
+            int deleted;
+            do {
+                deleted = statement.executeUpdate();
+                total += deleted;
+            } while (deleted == purgeBatchSize && !Thread.currentThread().isInterrupted());
+        }
+        if (total > 0) {
+            log.info("purged {} published domain events", total);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.xu.blogapi.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisZSetCommands.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.StreamListener;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 领域事件订阅
+ * 读取 {@link EventOutboxRelay} 写入的 Redis Stream，把其他节点的数据表变更以 remote = true 重新发布为
+ * {@link TableChangedEvent}，各类本地缓存和定时任务据此同步。每个节点独立读取全部消息（不使用消费组），
+ * 从启动时的流末尾开始；本节点写入的事件已在事务提交后直接发布，跳过；同一幂等键只处理一次
+ *
+ * @author xu
+ */
+@Slf4j
+@Component
+public class EventStreamSubscriber implements StreamListener<String, MapRecord<String, String, String>> {
+
+    /**
+     * 记录最近处理过的幂等键数量，覆盖转发重试可能产生的重复消息
+     */
+    private static final int MAX_SEEN_KEYS = 10000;
+
+    @Resource
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Resource
+    private ApplicationEventPublisher eventPublisher;
+
+    private final Map<String, Boolean> seenKeys = new LinkedHashMap<String, Boolean>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_SEEN_KEYS;
+        }
+    };
+
+    private StreamMessageListenerContainer<String, MapRecord<String, String, String>> container;
+
+    @PostConstruct
+    public void init() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("event-stream-");
+        executor.setDaemon(true);
+        container = StreamMessageListenerContainer.create(redisConnectionFactory,
+                StreamMessageListenerContainer.StreamMessageListenerContainerOptions.builder()
+                        .pollTimeout(Duration.ofSeconds(2))
+                        .batchSize(100)
+                        .executor(executor)
+                        .errorHandler(e -> log.warn("read domain event stream failed", e))
+                        .build());
+        // Redis 暂时不可用时不取消订阅，恢复后从上次读到的位置继续
+        container.register(StreamMessageListenerContainer.StreamReadRequest
+                .builder(StreamOffset.create(EventOutboxRelay.STREAM_KEY, ReadOffset.from(lastId())))
+                .cancelOnError(e -> false)
+                .build(), this);
+        container.start();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        container.stop();
+    }
+
+    @Override
+    public void onMessage(MapRecord<String, String, String> message) {
+        Map<String, String> body = message.getValue();
+        String table = body.get(EventOutboxRelay.FIELD_TABLE);
+        if (EventOutbox.NODE_ID.equals(body.get(EventOutboxRelay.FIELD_NODE)) || StringUtils.isBlank(table)) {
+            return;
+        }
+        String eventKey = body.get(EventOutboxRelay.FIELD_KEY);
+        if (eventKey != null && seenKeys.put(eventKey, Boolean.TRUE) != null) {
+            return;
+        }
+        eventPublisher.publishEvent(new TableChangedEvent(this, table,
+                EventOutbox.parseIds(body.get(EventOutboxRelay.FIELD_IDS)), true));
+    }
+
+    /**
+     * 流末尾的消息ID，之后的消息都会被读到；"$" 只在每次轮询时取当时的末尾，两次轮询之间的消息会丢失
+     */
+    private String lastId() {
+        try {
+            List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream()
+                    .reverseRange(EventOutboxRelay.STREAM_KEY, Range.unbounded(), Limit.limit().count(1));
+            return records == null || records.isEmpty() ? "0-0" : records.get(0).getId().getValue();
+        } catch (Exception e) {
+            log.warn("read domain event stream tail failed, read from beginning", e);
+            return "0-0";
+        }
+    }
+}
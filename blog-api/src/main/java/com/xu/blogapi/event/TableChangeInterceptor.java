@@ -0,0 +1,267 @@
+package com.xu.blogapi.event;
+
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.delete.Delete;
+import net.sf.jsqlparser.statement.insert.Insert;
+import net.sf.jsqlparser.statement.update.Update;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.Resource;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 数据表变更拦截器
+ * 拦截所有 insert/update/delete 语句，从语句 SQL 解析出写入的表名，从参数解析出主键，在事务提交前写入 {@link EventOutbox}（与业务数据同事务），
+ * 提交后在本节点发布 {@link TableChangedEvent}；其他节点通过 {@link EventStreamSubscriber} 收到
+ *
+ * @author xu
+ */
+@Slf4j
+@Component
+@Intercepts({@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})})
+public class TableChangeInterceptor implements Interceptor {
+
+    @Resource
+    private ApplicationEventPublisher eventPublisher;
+
+    @Resource
+    private EventOutbox eventOutbox;
+
+    /**
+     * 缓存的语句 SQL 数量上限
+     */
+    private static final int MAX_CACHED_STATEMENTS = 1024;
+
+    /**
+     * Mapper 命名空间 -> 表信息
+     */
+    private final Map<String, Optional<TableInfo>> tableInfoCache = new ConcurrentHashMap<>();
+
+    /**
+     * 语句 SQL -> 写入的表名，按 SQL 文本缓存（同一语句的动态 SQL 可能写入不同的表）
+     */
+    private final Map<String, Optional<String>> statementTableCache =
+            new LinkedHashMap<String, Optional<String>>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Optional<String>> eldest) {
+                    return size() > MAX_CACHED_STATEMENTS;
+                }
+            };
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        try {
+            MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+            Object parameter = invocation.getArgs()[1];
+            TableInfo tableInfo = resolveTableInfo(ms);
+            String table = resolveTable(ms.getBoundSql(parameter).getSql(), tableInfo);
+            if (table != null) {
+                // 写入的不是命名空间对应的表时（如在 CategoryMapper 中更新 article），参数中的ID不属于该表，按整表处理
+                boolean ownTable = tableInfo != null && table.equalsIgnoreCase(tableInfo.getTableName());
+                onChange(table, ownTable ? resolveIds(tableInfo, parameter) : new HashSet<>());
+            }
+        } catch (Exception e) {
+            // 事件只用于缓存失效，不能影响写操作本身
+            log.warn("resolve table change failed", e);
+        }
+        return result;
+    }
+
+    /**
+     * 记录变更，有事务时合并到事务提交后统一发布
+     *
+     * @param table 表名
+     * @param ids   主键ID
+     */
+    void onChange(String table, Set<Long> ids) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eventPublisher.publishEvent(new TableChangedEvent(this, table, ids, false));
+            // 没有事务时写操作已自动提交，发件箱只能单独写入，失败时由转发线程重试
+            eventOutbox.appendOrQueue(Collections.singletonMap(table, ids));
+            eventOutbox.signal();
+            return;
+        }
+        PendingChanges pendingChanges = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pendingChanges == null) {
+            pendingChanges = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pendingChanges);
+            TransactionSynchronizationManager.registerSynchronization(pendingChanges);
+        }
+        pendingChanges.add(table, ids);
+    }
+
+    /**
+     * 当前事务是否修改过指定的表（尚未提交，变更事件还未发布）
+     * 依赖变更事件刷新的内存缓存据此判断是否需要直接读取数据库，保证事务内能读到自己的修改
+     *
+     * @param table 表名
+     * @return 是否有未提交的修改
+     */
+    public boolean hasPendingChanges(String table) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        PendingChanges pendingChanges = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        return pendingChanges != null && pendingChanges.changes.containsKey(table);
+    }
+
+    private TableInfo resolveTableInfo(MappedStatement ms) {
+        String id = ms.getId();
+        String namespace = id.substring(0, id.lastIndexOf('.'));
+        return tableInfoCache.computeIfAbsent(namespace, key -> TableInfoHelper.getTableInfos().stream()
+                .filter(tableInfo -> key.equals(tableInfo.getCurrentNamespace()))
+                .findFirst()).orElse(null);
+    }
+
+    /**
+     * 从语句 SQL 解析写入的表名，解析失败时回退为 Mapper 命名空间对应的表
+     *
+     * @param sql       语句 SQL
+     * @param tableInfo 命名空间对应的表信息，可能为 null
+     * @return 表名，无法确定时返回 null
+     */
+    private String resolveTable(String sql, TableInfo tableInfo) {
+        Optional<String> table;
+        synchronized (statementTableCache) {
+            table = statementTableCache.get(sql);
+        }
+        if (table == null) {
+            table = Optional.ofNullable(parseTable(sql));
+            synchronized (statementTableCache) {
+                statementTableCache.put(sql, table);
+            }
+        }
+        return table.orElse(tableInfo == null ? null : tableInfo.getTableName());
+    }
+
+    private String parseTable(String sql) {
+        Table table;
+        try {
+            Statement statement = CCJSqlParserUtil.parse(sql);
+            if (statement instanceof Update) {
+                table = ((Update) statement).getTable();
+            } else if (statement instanceof Delete) {
+                table = ((Delete) statement).getTable();
+            } else if (statement instanceof Insert) {
+                table = ((Insert) statement).getTable();
+            } else {
+                return null;
+            }
+        } catch (JSQLParserException e) {
+            log.debug("parse statement table failed, fall back to mapper namespace: {}", sql, e);
+            return null;
+        }
+        return table == null || table.getName() == null ? null : table.getName().replace("`", "");
+    }
+
+    /**
+     * 从语句参数中解析主键ID，解析不到返回空集合
+     */
+    private Set<Long> resolveIds(TableInfo tableInfo, Object parameter) {
+        Set<Long> ids = new HashSet<>();
+        if (parameter instanceof Number) {
+            // deleteById / removeById
+            ids.add(((Number) parameter).longValue());
+        } else if (tableInfo.getEntityType().isInstance(parameter)) {
+            // insert / updateById
+            addId(ids, tableInfo, parameter);
+        } else if (parameter instanceof Map) {
+            Map<?, ?> paramMap = (Map<?, ?>) parameter;
+            if (paramMap.containsKey(Constants.ENTITY) && paramMap.get(Constants.ENTITY) != null
+                    && !paramMap.containsKey(Constants.WRAPPER)) {
+                addId(ids, tableInfo, paramMap.get(Constants.ENTITY));
+            } else if (paramMap.containsKey(Constants.COLL)) {
+                for (Object item : (Collection<?>) paramMap.get(Constants.COLL)) {
+                    if (item instanceof Number) {
+                        ids.add(((Number) item).longValue());
+                    } else if (tableInfo.getEntityType().isInstance(item)) {
+                        addId(ids, tableInfo, item);
+                    }
+                }
+            } else if (paramMap.containsKey("id") && paramMap.get("id") instanceof Number) {
+                ids.add(((Number) paramMap.get("id")).longValue());
+            }
+        }
+        // 任一元素解析失败都按整表处理
+        ids.remove(null);
+        return ids;
+    }
+
+    private void addId(Set<Long> ids, TableInfo tableInfo, Object entity) {
+        if (tableInfo.getKeyProperty() == null) {
+            return;
+        }
+        Object id = tableInfo.getPropertyValue(entity, tableInfo.getKeyProperty());
+        if (id instanceof Number) {
+            ids.add(((Number) id).longValue());
+        }
+    }
+
+    /**
+     * 事务内累积的变更，提交后按表合并发布
+     */
+    private class PendingChanges implements TransactionSynchronization {
+
+        /**
+         * 表名 -> 主键ID（null 表示整表）
+         */
+        private final Map<String, Set<Long>> changes = new LinkedHashMap<>();
+
+        void add(String table, Set<Long> ids) {
+            if (!changes.containsKey(table)) {
+                changes.put(table, ids.isEmpty() ? null : new HashSet<>(ids));
+                return;
+            }
+            Set<Long> existing = changes.get(table);
+            if (existing == null) {
+                return;
+            }
+            if (ids.isEmpty()) {
+                changes.put(table, null);
+            } else {
+                existing.addAll(ids);
+            }
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // 写入失败时抛出异常，业务事务随之回滚
+            eventOutbox.append(changes);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TableChangeInterceptor.this);
+            if (status != STATUS_COMMITTED) {
+                return;
+            }
+            eventOutbox.signal();
+            changes.forEach((table, ids) -> eventPublisher.publishEvent(
+                    new TableChangedEvent(TableChangeInterceptor.this, table, ids, false)));
+        }
+    }
+}
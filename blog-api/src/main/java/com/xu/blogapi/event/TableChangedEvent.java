@@ -0,0 +1,50 @@
+package com.xu.blogapi.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * 数据表变更事件
+ * 由 {@link TableChangeInterceptor} 在写操作（事务提交后）发布，供各类缓存失效使用
+ *
+ * @author xu
+ */
+@Getter
+public class TableChangedEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 数据表名
+     */
+    private final String table;
+
+    /**
+     * 受影响的主键ID（为空表示无法确定具体行，按整表变更处理）
+     */
+    private final Set<Long> ids;
+
+    /**
+     * 是否来自其他节点
+     */
+    private final boolean remote;
+
+    public TableChangedEvent(Object source, String table, Set<Long> ids, boolean remote) {
+        super(source);
+        this.table = table;
+        this.ids = ids == null ? Collections.emptySet() : Collections.unmodifiableSet(ids);
+        this.remote = remote;
+    }
+
+    /**
+     * 是否为整表变更
+     *
+     * @return 是否无法确定具体行
+     */
+    public boolean isWholeTable() {
+        return ids.isEmpty();
+    }
+}
@@ -1,6 +1,38 @@
 package com.xu.blogapi.generate;
 
+import com.xu.blogapi.model.dto.article.ArticleAddRequest;
+import com.xu.blogapi.model.dto.article.ArticleUpdateRequest;
+import com.xu.blogapi.model.dto.category.CategoryAddRequest;
+import com.xu.blogapi.model.dto.category.CategoryUpdateRequest;
+import com.xu.blogapi.model.dto.project.ProjectAddRequest;
+import com.xu.blogapi.model.dto.project.ProjectResponse;
+import com.xu.blogapi.model.dto.project.ProjectUpdateRequest;
+import com.xu.blogapi.model.dto.tag.TagAddRequest;
+import com.xu.blogapi.model.dto.tag.TagUpdateRequest;
+import com.xu.blogapi.model.dto.techstack.TechStackAddRequest;
+import com.xu.blogapi.model.dto.techstack.TechStackResponse;
+import com.xu.blogapi.model.dto.techstack.TechStackUpdateRequest;
+import com.xu.blogapi.model.dto.thought.ThoughtAddRequest;
+import com.xu.blogapi.model.dto.thought.ThoughtResponse;
+import com.xu.blogapi.model.dto.thought.ThoughtUpdateRequest;
+import com.xu.blogapi.model.dto.travel.TravelAddRequest;
+import com.xu.blogapi.model.dto.travel.TravelUpdateRequest;
+import com.xu.blogapi.model.dto.user.UserAddRequest;
+import com.xu.blogapi.model.dto.user.UserUpdateMyRequest;
+import com.xu.blogapi.model.dto.user.UserUpdateRequest;
+import com.xu.blogapi.model.entity.Article;
+import com.xu.blogapi.model.entity.Category;
+import com.xu.blogapi.model.entity.Project;
+import com.xu.blogapi.model.entity.Tag;
+import com.xu.blogapi.model.entity.TechStack;
+import com.xu.blogapi.model.entity.Thought;
+import com.xu.blogapi.model.entity.Travel;
 import com.xu.blogapi.model.entity.User;
+import com.xu.blogapi.model.vo.CategoryVO;
+import com.xu.blogapi.model.vo.LoginUserVO;
+import com.xu.blogapi.model.vo.TagVO;
+import com.xu.blogapi.model.vo.TokenLoginUserVo;
+import com.xu.blogapi.model.vo.UserVO;
 
 /**
  * 代码生成器
@@ -21,5 +53,42 @@ public class CodeGenerator {
                 // 继续追加process(数据类.class, "数据别名")
                 .process(User.class, "用户");
 
+        // 对象转换器，追加processConverter(转换器类名, "数据别名", 源类型, 目标类型, ...)
+        new GenerateProcessor()
+                .packageName("com.xu.blogapi")
+                .processConverter("ArticleConverter", "文章",
+                        ArticleAddRequest.class, Article.class,
+                        ArticleUpdateRequest.class, Article.class)
+                .processConverter("CategoryConverter", "分类",
+                        CategoryAddRequest.class, Category.class,
+                        CategoryUpdateRequest.class, Category.class,
+                        Category.class, CategoryVO.class)
+                .processConverter("TagConverter", "标签",
+                        TagAddRequest.class, Tag.class,
+                        TagUpdateRequest.class, Tag.class,
+                        Tag.class, TagVO.class)
+                .processConverter("UserConverter", "用户",
+                        UserAddRequest.class, User.class,
+                        UserUpdateRequest.class, User.class,
+                        UserUpdateMyRequest.class, User.class,
+                        User.class, UserVO.class,
+                        User.class, LoginUserVO.class,
+                        User.class, TokenLoginUserVo.class)
+                .processConverter("TravelConverter", "旅行记录",
+                        TravelAddRequest.class, Travel.class,
+                        TravelUpdateRequest.class, Travel.class)
+                .processConverter("ThoughtConverter", "想法",
+                        ThoughtAddRequest.class, Thought.class,
+                        ThoughtUpdateRequest.class, Thought.class,
+                        Thought.class, ThoughtResponse.class)
+                .processConverter("ProjectConverter", "项目",
+                        ProjectAddRequest.class, Project.class,
+                        ProjectUpdateRequest.class, Project.class,
+                        Project.class, ProjectResponse.class)
+                .processConverter("TechStackConverter", "技术栈",
+                        TechStackAddRequest.class, TechStack.class,
+                        TechStackUpdateRequest.class, TechStack.class,
+                        TechStack.class, TechStackResponse.class);
+
     }
 }
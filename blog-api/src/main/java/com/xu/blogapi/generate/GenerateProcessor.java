@@ -8,12 +8,17 @@ import freemarker.template.TemplateException;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.util.ClassUtils;
 
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.Writer;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -131,6 +136,122 @@ public class GenerateProcessor {
         return this;
     }
 
+    /**
+     * 生成对象转换器
+     * 为每组（源类型, 目标类型）生成直接调用 getter/setter 的静态转换方法，替代运行时反射的 BeanUtils.copyProperties；
+     * 只复制同名、类型兼容的属性，规则与 BeanUtils.copyProperties 一致
+     *
+     * @param converterName 转换器类名
+     * @param dataName      数据名称
+     * @param pairs         依次排列的源类型和目标类型
+     * @return {@link GenerateProcessor }
+     */
+    @SneakyThrows
+    public GenerateProcessor processConverter(String converterName, String dataName, Class<?>... pairs) {
+        if (StringUtils.isBlank(packageName)) {
+            log.error("packageName 不能为空");
+        }
+        if (pairs.length == 0 || pairs.length % 2 != 0) {
+            throw new IllegalArgumentException("源类型和目标类型必须成对出现");
+        }
+        Set<String> imports = new TreeSet<>();
+        List<Map<String, Object>> methods = new ArrayList<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            Class<?> sourceClass = pairs[i];
+            Class<?> targetClass = pairs[i + 1];
+            imports.add(sourceClass.getName());
+            imports.add(targetClass.getName());
+            Map<String, Object> method = new HashMap<>();
+            method.put("sourceType", sourceClass.getSimpleName());
+            method.put("targetType", targetClass.getSimpleName());
+            method.put("methodName", "to" + targetClass.getSimpleName());
+            method.put("properties", getCopyableProperties(sourceClass, targetClass));
+            methods.add(method);
+        }
+        // 封装生成参数
+        Map<String, Object> dataModel = new HashMap<>();
+        dataModel.put("packageName", packageName);
+        dataModel.put("dataName", dataName);
+        dataModel.put("converterName", converterName);
+        dataModel.put("imports", imports);
+        dataModel.put("methods", methods);
+        // 转换器直接生成到源码目录，参与编译
+        String projectPath = System.getProperty("user.dir");
+        String inputPath = projectPath + File.separator + "src/main/resources/templates/TemplateConverter.java.ftl";
+        String outputPath = String.format("%s/src/main/java/%s/converter/%s.java", projectPath,
+                packageName.replace('.', '/'), converterName);
+        doGenerate(inputPath, outputPath, dataModel);
+        log.info("生成转换器成功，文件路径：{}", outputPath);
+        return this;
+    }
+
+    /**
+     * 获取可复制的属性，按目标类字段声明顺序（父类在前）排列
+     *
+     * @param sourceClass 源类型
+     * @param targetClass 目标类型
+     * @return 属性的 setter、getter 方法名
+     */
+    private List<Map<String, String>> getCopyableProperties(Class<?> sourceClass, Class<?> targetClass)
+            throws IntrospectionException {
+        Map<String, PropertyDescriptor> sourceProperties = new HashMap<>();
+        for (PropertyDescriptor descriptor : Introspector.getBeanInfo(sourceClass).getPropertyDescriptors()) {
+            sourceProperties.put(descriptor.getName(), descriptor);
+        }
+        Map<String, PropertyDescriptor> targetProperties = new LinkedHashMap<>();
+        for (PropertyDescriptor descriptor : Introspector.getBeanInfo(targetClass).getPropertyDescriptors()) {
+            targetProperties.put(descriptor.getName(), descriptor);
+        }
+        List<Map<String, String>> properties = new ArrayList<>();
+        for (String name : getDeclaredFieldNames(targetClass)) {
+            PropertyDescriptor targetDescriptor = targetProperties.get(name);
+            PropertyDescriptor sourceDescriptor = sourceProperties.get(name);
+            if (targetDescriptor == null || sourceDescriptor == null) {
+                continue;
+            }
+            Method writeMethod = targetDescriptor.getWriteMethod();
+            Method readMethod = sourceDescriptor.getReadMethod();
+            if (writeMethod == null || readMethod == null) {
+                continue;
+            }
+            Type writeType = writeMethod.getGenericParameterTypes()[0];
+            Type readType = readMethod.getGenericReturnType();
+            boolean assignable = writeType instanceof ParameterizedType || readType instanceof ParameterizedType
+                    ? writeType.equals(readType)
+                    : ClassUtils.isAssignable(readMethod.getReturnType(), writeMethod.getParameterTypes()[0]);
+            if (!assignable) {
+                continue;
+            }
+            Map<String, String> property = new HashMap<>();
+            property.put("setter", writeMethod.getName());
+            property.put("getter", readMethod.getName());
+            properties.add(property);
+        }
+        return properties;
+    }
+
+    /**
+     * 获取类及其父类声明的实例字段名，父类在前
+     *
+     * @param clazz 类
+     * @return 字段名
+     */
+    private List<String> getDeclaredFieldNames(Class<?> clazz) {
+        Deque<Class<?>> hierarchy = new ArrayDeque<>();
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            hierarchy.push(current);
+        }
+        List<String> names = new ArrayList<>();
+        for (Class<?> current : hierarchy) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !names.contains(field.getName())) {
+                    names.add(field.getName());
+                }
+            }
+        }
+        return names;
+    }
+
     public void doGenerate(String inputPath, String outputPath, Object model) throws IOException, TemplateException {
         // new 出 Configuration 对象，参数为 FreeMarker 版本号
         Configuration configuration = new Configuration(Configuration.VERSION_2_3_31);
@@ -0,0 +1,593 @@
+package com.xu.blogapi.manager;
+
+import cn.hutool.core.util.IdUtil;
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.context.AnalysisContext;
+import com.alibaba.excel.exception.ExcelDataConvertException;
+import com.alibaba.excel.read.listener.ReadListener;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.xu.blogapi.common.ErrorCode;
+import com.xu.blogapi.config.ArticleImportProperties;
+import com.xu.blogapi.exception.BusinessException;
+import com.xu.blogapi.model.dto.article.ArticleImportRow;
+import com.xu.blogapi.model.entity.Article;
+import com.xu.blogapi.model.vo.ArticleImportProgressVO;
+import com.xu.blogapi.service.ArticleService;
+import com.xu.blogapi.utils.ArticleContentUtils;
+import com.xu.blogapi.utils.ArticleContentUtils.FrontMatter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 文章批量导入
+ * 流式读取 Excel 行或 Markdown 文件，按批并行计算字数和别名，再按批 JDBC 批量插入，
+ * 与创建接口相同处理定时发布、记录第一个修订并生成渲染结果；
+ * 每批完成后把已处理的行号写入 Redis 检查点，同一来源再次导入时从检查点之后继续
+ *
+ * @author xu
+ */
+@Slf4j
+@Component
+public class ArticleImportManager {
+
+    /**
+     * 检查点键前缀
+     */
+    private static final String CHECKPOINT_KEY_PREFIX = "blog:article:import:checkpoint:";
+
+    /**
+     * 最多保留的错误信息条数
+     */
+    private static final int MAX_ERRORS = 100;
+
+    /**
+     * 已结束任务的进度保留时长
+     */
+    private static final Duration PROGRESS_RETENTION = Duration.ofHours(1);
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Resource
+    private ArticleService articleService;
+
+    @Resource
+    private ArticleImportProperties articleImportProperties;
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+
+    private final Map<String, ImportProgress> progressMap = new ConcurrentHashMap<>();
+
+    /**
+     * 导入任务线程，同一时间只运行一个导入任务
+     */
+    private ExecutorService importExecutor;
+
+    /**
+     * 字数统计、别名生成的有界线程池
+     */
+    private ThreadPoolExecutor transformExecutor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        importExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "article-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+        int workerThreads = Math.max(1, articleImportProperties.getWorkerThreads());
+        transformExecutor = new ThreadPoolExecutor(workerThreads, workerThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, articleImportProperties.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "article-import-worker-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void destroy() {
+        importExecutor.shutdownNow();
+        transformExecutor.shutdownNow();
+    }
+
+    /**
+     * 从 Excel 导入，导入结束后删除文件
+     *
+     * @param file     Excel 文件
+     * @param authorId 作者ID
+     * @return 任务ID
+     */
+    public String importExcel(File file, Long authorId) {
+        String sourceKey;
+        try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+            sourceKey = "excel:" + DigestUtils.md5DigestAsHex(inputStream);
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "读取导入文件失败");
+        }
+        ImportTask task = createTask(sourceKey, authorId, "行");
+        importExecutor.execute(() -> {
+            try {
+                EasyExcel.read(file, ArticleImportRow.class, new ArticleImportReadListener(task))
+                        .sheet()
+                        .doRead();
+                task.complete();
+            } catch (Exception e) {
+                task.fail(e);
+            } finally {
+                deleteQuietly(file);
+            }
+        });
+        return task.progress.taskId;
+    }
+
+    /**
+     * 从 Markdown 目录导入，文件按路径排序，头信息映射为文章字段
+     *
+     * @param directory 目录（必须位于配置的 Markdown 根目录下）
+     * @param authorId  作者ID
+     * @return 任务ID
+     */
+    public String importMarkdown(String directory, Long authorId) {
+        if (StringUtils.isBlank(articleImportProperties.getMarkdownRoot())) {
+            throw new BusinessException(ErrorCode.FORBIDDEN_ERROR, "未配置 Markdown 导入根目录");
+        }
+        Path root = Paths.get(articleImportProperties.getMarkdownRoot()).toAbsolutePath().normalize();
+        Path dir = root.resolve(StringUtils.defaultString(directory)).toAbsolutePath().normalize();
+        if (!dir.startsWith(root) || !Files.isDirectory(dir)) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "导入目录不存在");
+        }
+        ImportTask task = createTask("markdown:" + DigestUtils.md5DigestAsHex(
+                dir.toString().getBytes(StandardCharsets.UTF_8)), authorId, "个文件");
+        importExecutor.execute(() -> {
+            try {
+                // 只收集路径，文件内容按批逐个读取
+                List<Path> files;
+                try (Stream<Path> stream = Files.walk(dir)) {
+                    files = stream.filter(Files::isRegularFile)
+                            .filter(path -> path.getFileName().toString().toLowerCase().endsWith(".md"))
+                            .sorted()
+                            .collect(Collectors.toList());
+                }
+                task.progress.total.set(files.size());
+                for (int i = 0; i < files.size(); i++) {
+                    if (task.isBeforeCheckpoint(i)) {
+                        continue;
+                    }
+                    try {
+                        String markdown = new String(Files.readAllBytes(files.get(i)), StandardCharsets.UTF_8);
+                        task.accept(i, toImportRow(ArticleContentUtils.parseFrontMatter(markdown), files.get(i)));
+                    } catch (IOException e) {
+                        task.recordFailure(i, "读取文件失败：" + dir.relativize(files.get(i)));
+                    }
+                }
+                task.flush();
+                task.complete();
+            } catch (Exception e) {
+                task.fail(e);
+            }
+        });
+        return task.progress.taskId;
+    }
+
+    /**
+     * 获取导入进度
+     *
+     * @param taskId 任务ID
+     * @return 导入进度
+     */
+    public ArticleImportProgressVO getProgress(String taskId) {
+        ImportProgress progress = progressMap.get(taskId);
+        if (progress == null) {
+            throw new BusinessException(ErrorCode.NOT_FOUND_ERROR, "导入任务不存在");
+        }
+        return progress.toVO();
+    }
+
+    private ImportTask createTask(String sourceKey, Long authorId, String unit) {
+        // 清理已结束的旧任务
+        LocalDateTime expireBefore = LocalDateTime.now().minus(PROGRESS_RETENTION);
+        progressMap.values().removeIf(progress -> progress.finishTime != null
+                && progress.finishTime.isBefore(expireBefore));
+
+        String checkpointKey = CHECKPOINT_KEY_PREFIX + sourceKey;
+        String checkpoint = stringRedisTemplate.opsForValue().get(checkpointKey);
+        long resumeFrom = NumberUtils.toLong(checkpoint, -1);
+        ImportProgress progress = new ImportProgress(IdUtil.fastSimpleUUID(), sourceKey, resumeFrom);
+        progressMap.put(progress.taskId, progress);
+        if (resumeFrom >= 0) {
+            log.info("article import resume from checkpoint, source = {}, row = {}", sourceKey, resumeFrom);
+        }
+        return new ImportTask(progress, checkpointKey, authorId, unit);
+    }
+
+    private ArticleImportRow toImportRow(FrontMatter frontMatter, Path file) {
+        ArticleImportRow row = new ArticleImportRow();
+        String fileName = file.getFileName().toString();
+        row.setTitle(StringUtils.defaultIfBlank(frontMatter.get("title"),
+                fileName.substring(0, fileName.length() - ".md".length())));
+        row.setSlug(frontMatter.get("slug"));
+        row.setSummary(frontMatter.get("summary", "description", "excerpt"));
+        row.setContent(frontMatter.getBody());
+        row.setCoverImage(frontMatter.get("coverImage", "cover", "image"));
+        row.setCategoryId(parseLong(frontMatter.get("categoryId", "category_id")));
+        row.setStatus(parseInteger(frontMatter.get("status")));
+        row.setIsTop(parseInteger(frontMatter.get("isTop", "top")));
+        row.setIsFeatured(parseInteger(frontMatter.get("isFeatured", "featured")));
+        row.setPublishTime(frontMatter.get("publishTime", "date"));
+        if (row.getStatus() == null && "false".equalsIgnoreCase(frontMatter.get("draft"))) {
+            row.setStatus(1);
+        }
+        return row;
+    }
+
+    /**
+     * 导入行转文章，在工作线程中执行
+     */
+    private Article toArticle(ArticleImportRow row, Long authorId) {
+        Article article = new Article();
+        article.setTitle(StringUtils.trim(row.getTitle()));
+        article.setSlug(StringUtils.trimToNull(row.getSlug()));
+        article.setSummary(row.getSummary());
+        article.setContent(row.getContent());
+        article.setCoverImage(row.getCoverImage());
+        article.setCategoryId(row.getCategoryId());
+        article.setAuthorId(authorId);
+        article.setStatus(row.getStatus() == null ? 0 : row.getStatus());
+        article.setIsTop(row.getIsTop() == null ? 0 : row.getIsTop());
+        article.setIsFeatured(row.getIsFeatured() == null ? 0 : row.getIsFeatured());
+        article.setPublishTime(parseDateTime(row.getPublishTime()));
+        if (article.getStatus() == 1 && article.getPublishTime() == null) {
+            article.setPublishTime(LocalDateTime.now());
+        }
+        if (article.getSlug() == null) {
+            String slug = ArticleContentUtils.generateSlug(article.getTitle());
+            // 标题中没有可用字符（如纯中文标题）时用标题摘要作为别名
+            article.setSlug(StringUtils.isNotBlank(slug) ? slug : "post-" + DigestUtils.md5DigestAsHex(
+                    StringUtils.defaultString(article.getTitle()).getBytes(StandardCharsets.UTF_8)).substring(0, 12));
+        }
+        int wordCount = ArticleContentUtils.countWords(article.getContent());
+        article.setWordCount(wordCount);
+        article.setReadingTime(ArticleContentUtils.calculateReadingTime(wordCount));
+        articleService.normalizeSchedule(article);
+        articleService.validArticle(article);
+        return article;
+    }
+
+    private LocalDateTime parseDateTime(String value) {
+        if (StringUtils.isBlank(value)) {
+            return null;
+        }
+        String text = value.trim();
+        try {
+            if (text.length() <= 10) {
+                return LocalDate.parse(text).atStartOfDay();
+            }
+            return LocalDateTime.parse(text.replace('T', ' '), DATE_TIME_FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "发布时间格式不正确：" + value);
+        }
+    }
+
+    private Long parseLong(String value) {
+        return NumberUtils.isDigits(value) ? Long.valueOf(value) : null;
+    }
+
+    private Integer parseInteger(String value) {
+        if ("true".equalsIgnoreCase(value)) {
+            return 1;
+        }
+        if ("false".equalsIgnoreCase(value)) {
+            return 0;
+        }
+        return NumberUtils.isDigits(value) ? Integer.valueOf(value) : null;
+    }
+
+    private void deleteQuietly(File file) {
+        if (file != null && file.exists() && !file.delete()) {
+            log.error("file delete error, filepath = {}", file.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Excel 行监听器，逐行交给导入任务，不在内存中保留整张表
+     */
+    private static class ArticleImportReadListener implements ReadListener<ArticleImportRow> {
+
+        private final ImportTask task;
+
+        private boolean totalInitialized;
+
+        ArticleImportReadListener(ImportTask task) {
+            this.task = task;
+        }
+
+        @Override
+        public void invoke(ArticleImportRow row, AnalysisContext context) {
+            if (!totalInitialized) {
+                Integer approximateTotal = context.readSheetHolder().getApproximateTotalRowNumber();
+                if (approximateTotal != null) {
+                    task.progress.total.set(Math.max(0, approximateTotal - 1));
+                }
+                totalInitialized = true;
+            }
+            // 行索引从 0 开始且包含表头，检查点按索引记录
+            int rowIndex = context.readRowHolder().getRowIndex();
+            if (!task.isBeforeCheckpoint(rowIndex)) {
+                task.accept(rowIndex, row);
+            }
+        }
+
+        @Override
+        public void onException(Exception exception, AnalysisContext context) throws Exception {
+            // 单元格格式错误只记录该行失败，继续读取
+            if (exception instanceof ExcelDataConvertException) {
+                ExcelDataConvertException convertException = (ExcelDataConvertException) exception;
+                int rowIndex = convertException.getRowIndex();
+                if (!task.isBeforeCheckpoint(rowIndex)) {
+                    task.recordFailure(rowIndex, "第 " + (convertException.getColumnIndex() + 1) + " 列格式错误");
+                }
+                return;
+            }
+            throw exception;
+        }
+
+        @Override
+        public void doAfterAllAnalysed(AnalysisContext context) {
+            task.flush();
+        }
+    }
+
+    /**
+     * 导入任务：缓冲一批行，批满后并行转换、去重、批量插入并写检查点
+     */
+    private class ImportTask {
+
+        private final ImportProgress progress;
+
+        private final String checkpointKey;
+
+        private final Long authorId;
+
+        /**
+         * 错误信息中的计数单位：行或个文件
+         */
+        private final String unit;
+
+        private final List<Integer> bufferRowIndexes = new ArrayList<>();
+
+        private final List<ArticleImportRow> bufferRows = new ArrayList<>();
+
+        /**
+         * 本次导入已使用的别名，用于批内和批间去重
+         */
+        private final Set<String> usedSlugs = new HashSet<>();
+
+        ImportTask(ImportProgress progress, String checkpointKey, Long authorId, String unit) {
+            this.progress = progress;
+            this.checkpointKey = checkpointKey;
+            this.authorId = authorId;
+            this.unit = unit;
+        }
+
+        boolean isBeforeCheckpoint(long rowIndex) {
+            if (rowIndex <= progress.resumedFromRow) {
+                progress.processed.incrementAndGet();
+                progress.skipped.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        void accept(int rowIndex, ArticleImportRow row) {
+            bufferRowIndexes.add(rowIndex);
+            bufferRows.add(row);
+            if (bufferRows.size() >= Math.max(1, articleImportProperties.getBatchSize())) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (bufferRows.isEmpty()) {
+                return;
+            }
+            // 1. 并行转换（有界队列，满时由当前线程执行）
+            List<Future<Article>> futures = new ArrayList<>(bufferRows.size());
+            for (ArticleImportRow row : bufferRows) {
+                futures.add(transformExecutor.submit(() -> toArticle(row, authorId)));
+            }
+            List<Article> articles = new ArrayList<>(bufferRows.size());
+            List<Integer> articleRowIndexes = new ArrayList<>(bufferRows.size());
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    articles.add(futures.get(i).get());
+                    articleRowIndexes.add(bufferRowIndexes.get(i));
+                } catch (ExecutionException e) {
+                    recordFailure(bufferRowIndexes.get(i), e.getCause().getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new BusinessException(ErrorCode.OPERATION_ERROR, "导入被中断");
+                }
+            }
+            // 2. 别名去重：本次导入内重复的追加序号，数据库中已存在的跳过
+            for (Article article : articles) {
+                String slug = article.getSlug();
+                for (int suffix = 2; usedSlugs.contains(slug); suffix++) {
+                    slug = article.getSlug() + "-" + suffix;
+                }
+                article.setSlug(slug);
+                usedSlugs.add(slug);
+            }
+            Set<String> existingSlugs = articles.isEmpty() ? Collections.emptySet()
+                    : articleService.list(new QueryWrapper<Article>().select("slug")
+                            .in("slug", articles.stream().map(Article::getSlug).collect(Collectors.toList())))
+                    .stream().map(Article::getSlug).collect(Collectors.toSet());
+            List<Article> toInsert = new ArrayList<>(articles.size());
+            List<Integer> toInsertRowIndexes = new ArrayList<>(articles.size());
+            for (int i = 0; i < articles.size(); i++) {
+                if (existingSlugs.contains(articles.get(i).getSlug())) {
+                    progress.skipped.incrementAndGet();
+                } else {
+                    toInsert.add(articles.get(i));
+                    toInsertRowIndexes.add(articleRowIndexes.get(i));
+                }
+            }
+            // 3. 批量插入，失败时逐条插入定位问题行
+            if (!toInsert.isEmpty()) {
+                try {
+                    articleService.saveImportedArticles(toInsert, articleImportProperties.getBatchSize());
+                    progress.succeeded.addAndGet(toInsert.size());
+                } catch (Exception e) {
+                    log.warn("article import batch insert failed, fallback to single insert", e);
+                    for (int i = 0; i < toInsert.size(); i++) {
+                        Article article = toInsert.get(i);
+                        try {
+                            article.setId(null);
+                            articleService.saveImportedArticles(Collections.singletonList(article), 1);
+                            progress.succeeded.incrementAndGet();
+                        } catch (Exception singleException) {
+                            recordError(toInsertRowIndexes.get(i), "保存失败：" + article.getSlug());
+                        }
+                    }
+                }
+            }
+            // 4. 写检查点
+            int lastRowIndex = bufferRowIndexes.get(bufferRowIndexes.size() - 1);
+            stringRedisTemplate.opsForValue().set(checkpointKey, String.valueOf(lastRowIndex),
+                    Duration.ofDays(articleImportProperties.getCheckpointTtlDays()));
+            // 转换失败的行已在 recordFailure 中计入
+            progress.processed.addAndGet(articles.size());
+            bufferRowIndexes.clear();
+            bufferRows.clear();
+            log.info("article import progress, task = {}, processed = {}, succeeded = {}, skipped = {}, failed = {}",
+                    progress.taskId, progress.processed.get(), progress.succeeded.get(), progress.skipped.get(),
+                    progress.failed.get());
+        }
+
+        void recordFailure(long rowIndex, String message) {
+            progress.processed.incrementAndGet();
+            recordError(rowIndex, message);
+        }
+
+        void recordError(long rowIndex, String message) {
+            progress.failed.incrementAndGet();
+            if (progress.errors.size() < MAX_ERRORS) {
+                // 索引从 0 开始，按表格行号（含表头）或文件序号报告，从 1 开始
+                progress.errors.add("第 " + (rowIndex + 1) + " " + unit + "：" + message);
+            }
+        }
+
+        void complete() {
+            stringRedisTemplate.delete(checkpointKey);
+            progress.status = "COMPLETED";
+            progress.finishTime = LocalDateTime.now();
+            log.info("article import completed, task = {}, succeeded = {}, skipped = {}, failed = {}",
+                    progress.taskId, progress.succeeded.get(), progress.skipped.get(), progress.failed.get());
+        }
+
+        void fail(Exception e) {
+            log.error("article import failed, task = {}, checkpoint kept for resume", progress.taskId, e);
+            progress.status = "FAILED";
+            progress.finishTime = LocalDateTime.now();
+            if (progress.errors.size() < MAX_ERRORS) {
+                progress.errors.add("导入中断：" + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 导入进度，由导入线程写入，接口线程读取
+     */
+    private static class ImportProgress {
+
+        private final String taskId;
+
+        private final String source;
+
+        private final long resumedFromRow;
+
+        private final AtomicLong total = new AtomicLong();
+
+        private final AtomicLong processed = new AtomicLong();
+
+        private final AtomicLong succeeded = new AtomicLong();
+
+        private final AtomicLong skipped = new AtomicLong();
+
+        private final AtomicLong failed = new AtomicLong();
+
+        private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+        private final LocalDateTime startTime = LocalDateTime.now();
+
+        private volatile String status = "RUNNING";
+
+        private volatile LocalDateTime finishTime;
+
+        ImportProgress(String taskId, String source, long resumedFromRow) {
+            this.taskId = taskId;
+            this.source = source;
+            this.resumedFromRow = resumedFromRow;
+        }
+
+        ArticleImportProgressVO toVO() {
+            ArticleImportProgressVO progressVO = new ArticleImportProgressVO();
+            progressVO.setTaskId(taskId);
+            progressVO.setSource(source);
+            progressVO.setStatus(status);
+            progressVO.setTotal(total.get());
+            progressVO.setProcessed(processed.get());
+            progressVO.setSucceeded(succeeded.get());
+            progressVO.setSkipped(skipped.get());
+            progressVO.setFailed(failed.get());
+            progressVO.setResumedFromRow(resumedFromRow);
+            synchronized (errors) {
+                progressVO.setErrors(new ArrayList<>(errors));
+            }
+            progressVO.setStartTime(startTime);
+            progressVO.setFinishTime(finishTime);
+            return progressVO;
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.xu.blogapi.manager;
 
 import com.qcloud.cos.COSClient;
+import com.qcloud.cos.model.GetObjectRequest;
+import com.qcloud.cos.model.ObjectMetadata;
 import com.qcloud.cos.model.PutObjectRequest;
 import com.qcloud.cos.model.PutObjectResult;
 import com.xu.blogapi.config.CosClientConfig;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import javax.annotation.Resource;
 import org.springframework.stereotype.Component;
@@ -45,4 +48,33 @@ public class CosManager {
                 file);
         return cosClient.putObject(putObjectRequest);
     }
+
+    /**
+     * 上传对象
+     *
+     * @param key         唯一键
+     * @param data        内容
+     * @param contentType 内容类型
+     * @return {@link PutObjectResult}
+     */
+    public PutObjectResult putObject(String key, byte[] data, String contentType) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(data.length);
+        metadata.setContentType(contentType);
+        PutObjectRequest putObjectRequest = new PutObjectRequest(cosClientConfig.getBucket(), key,
+                new ByteArrayInputStream(data), metadata);
+        return cosClient.putObject(putObjectRequest);
+    }
+
+    /**
+     * 下载对象到本地文件
+     *
+     * @param key  唯一键
+     * @param file 目标文件
+     * @return {@link ObjectMetadata}
+     */
+    public ObjectMetadata getObject(String key, File file) {
+        GetObjectRequest getObjectRequest = new GetObjectRequest(cosClientConfig.getBucket(), key);
+        return cosClient.getObject(getObjectRequest, file);
+    }
 }
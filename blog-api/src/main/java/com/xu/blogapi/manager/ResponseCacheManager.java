@@ -0,0 +1,180 @@
+package com.xu.blogapi.manager;
+
+import com.xu.blogapi.event.TableChangedEvent;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 响应体缓存
+ * 缓存已序列化的 JSON 字节及其 gzip 压缩结果，命中时直接写出，跳过 Jackson 序列化和压缩；
+ * 容量有限，超出时淘汰最久未访问的条目
+ *
+ * @author xu
+ */
+@Slf4j
+@Component
+public class ResponseCacheManager {
+
+    /**
+     * 最大缓存条目数
+     */
+    private static final int MAX_ENTRIES = 1024;
+
+    /**
+     * 小于该大小的响应不做压缩
+     */
+    private static final int MIN_COMPRESS_SIZE = 256;
+
+    private final Map<String, CachedResponse> cache = new LinkedHashMap<String, CachedResponse>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * 失效代数，每次失效加一，用于丢弃失效前读取到的旧数据
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * 获取缓存
+     *
+     * @param key 缓存键
+     * @return 缓存的响应，不存在或已过期返回 null
+     */
+    public CachedResponse get(String key) {
+        synchronized (cache) {
+            CachedResponse cachedResponse = cache.get(key);
+            if (cachedResponse == null) {
+                return null;
+            }
+            if (cachedResponse.getExpireAt() < System.currentTimeMillis()) {
+                cache.remove(key);
+                return null;
+            }
+            return cachedResponse;
+        }
+    }
+
+    /**
+     * 写入缓存
+     *
+     * @param key             缓存键
+     * @param body            序列化后的响应体
+     * @param tables          依赖的数据表
+     * @param ttlSeconds      过期时间（秒）
+     * @param readGeneration  读取数据前的失效代数
+     */
+    public void put(String key, byte[] body, String[] tables, long ttlSeconds, long readGeneration) {
+        CachedResponse cachedResponse = new CachedResponse(body, gzip(body), new HashSet<>(Arrays.asList(tables)),
+                System.currentTimeMillis() + ttlSeconds * 1000);
+        synchronized (cache) {
+            // 读取期间发生过失效，数据可能已过时，不写入；检查和写入在同一把锁内，失效不会插在两者之间
+            if (generation.get() != readGeneration) {
+                return;
+            }
+            cache.put(key, cachedResponse);
+        }
+    }
+
+    /**
+     * 当前失效代数
+     *
+     * @return 失效代数
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * 数据表变更时使相关缓存失效
+     *
+     * @param event 数据表变更事件
+     */
+    @EventListener
+    public void onTableChanged(TableChangedEvent event) {
+        synchronized (cache) {
+            generation.incrementAndGet();
+            cache.values().removeIf(cachedResponse -> cachedResponse.getTables().contains(event.getTable()));
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        synchronized (cache) {
+            generation.incrementAndGet();
+            cache.clear();
+        }
+    }
+
+    private byte[] gzip(byte[] body) {
+        if (body.length < MIN_COMPRESS_SIZE) {
+            return null;
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(body);
+        } catch (IOException e) {
+            log.warn("gzip response body failed", e);
+            return null;
+        }
+        byte[] compressed = outputStream.toByteArray();
+        return compressed.length < body.length ? compressed : null;
+    }
+
+    /**
+     * 缓存的响应
+     */
+    @Getter
+    public static class CachedResponse {
+
+        /**
+         * 原始 JSON 字节
+         */
+        private final byte[] identity;
+
+        /**
+         * gzip 压缩后的字节（压缩无收益时为 null）
+         */
+        private final byte[] gzip;
+
+        /**
+         * 依赖的数据表
+         */
+        private final Set<String> tables;
+
+        /**
+         * 过期时间戳（毫秒）
+         */
+        private final long expireAt;
+
+        /**
+         * 实体标签
+         */
+        private final String etag;
+
+        CachedResponse(byte[] identity, byte[] gzip, Set<String> tables, long expireAt) {
+            this.identity = identity;
+            this.gzip = gzip;
+            this.tables = tables;
+            this.expireAt = expireAt;
+            this.etag = "\"" + DigestUtils.md5DigestAsHex(identity) + "\"";
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.xu.blogapi.manager.archive;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 归档时读取的记录
+ *
+ * @author xu
+ */
+@Data
+public class ArchiveEntry {
+
+    private Long id;
+
+    /**
+     * 归档时间：文章为发布时间，想法为创建时间，旅行为出发日期
+     */
+    private LocalDateTime archiveTime;
+}
@@ -0,0 +1,161 @@
+package com.xu.blogapi.manager.archive;
+
+import com.xu.blogapi.event.TableChangedEvent;
+import com.xu.blogapi.mapper.ArchiveMapper;
+import com.xu.blogapi.model.vo.ArchiveYearVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 归档/时间线
+ * 文章、想法、旅行按年月归档的数量和ID列表常驻内存，读取不访问数据库；
+ * 启动时全量加载，之后根据 {@link TableChangedEvent}（包括其他节点广播的）只重新查询变更的记录。
+ * 所有更新都在同一个线程上串行执行
+ *
+ * @author xu
+ */
+@Slf4j
+@Component
+public class ArchiveManager {
+
+    /**
+     * 加载失败后的重试间隔
+     */
+    private static final long RETRY_DELAY_MILLIS = 5_000;
+
+    @Resource
+    private ArchiveMapper archiveMapper;
+
+    private final Map<ArchiveType, ArchiveRollup> rollups = new EnumMap<>(ArchiveType.class);
+
+    private ScheduledExecutorService archiveExecutor;
+
+    @PostConstruct
+    public void init() {
+        for (ArchiveType type : ArchiveType.values()) {
+            rollups.put(type, new ArchiveRollup());
+        }
+        archiveExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "archive-rollup");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void destroy() {
+        archiveExecutor.shutdownNow();
+    }
+
+    /**
+     * 应用启动完成后全量加载
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (ArchiveType type : ArchiveType.values()) {
+            submit(() -> rebuild(type));
+        }
+    }
+
+    /**
+     * 数据变更后增量更新归档
+     */
+    @EventListener
+    public void onTableChanged(TableChangedEvent event) {
+        ArchiveType type = ArchiveType.ofTable(event.getTable());
+        if (type == null) {
+            return;
+        }
+        if (event.isWholeTable()) {
+            submit(() -> rebuild(type));
+        } else {
+            Set<Long> ids = new HashSet<>(event.getIds());
+            submit(() -> reload(type, ids));
+        }
+    }
+
+    /**
+     * 获取归档
+     *
+     * @param type 归档类型
+     * @return 按年份倒序的归档，每年按月份倒序
+     */
+    public List<ArchiveYearVO> getArchive(ArchiveType type) {
+        return rollups.get(type).getSnapshot();
+    }
+
+    private void rebuild(ArchiveType type) {
+        List<ArchiveEntry> entries;
+        try {
+            entries = selectEntries(type, null);
+        } catch (Exception e) {
+            log.error("load {} archive failed, retry later", type, e);
+            schedule(() -> rebuild(type));
+            return;
+        }
+        ArchiveRollup rollup = rollups.get(type);
+        rollup.reset(entries);
+        log.info("{} archive loaded, size = {}", type, rollup.size());
+    }
+
+    private void reload(ArchiveType type, Set<Long> ids) {
+        List<ArchiveEntry> entries;
+        try {
+            entries = selectEntries(type, ids);
+        } catch (Exception e) {
+            log.error("reload {} archive failed, ids = {}", type, ids, e);
+            schedule(() -> reload(type, ids));
+            return;
+        }
+        // 查不到的是已删除或不再可见的记录
+        rollups.get(type).update(ids, entries);
+    }
+
+    private List<ArchiveEntry> selectEntries(ArchiveType type, Collection<Long> ids) {
+        switch (type) {
+            case ARTICLE:
+                return archiveMapper.selectArticleEntries(ids);
+            case THOUGHT:
+                return archiveMapper.selectThoughtEntries(ids);
+            case TRAVEL:
+                return archiveMapper.selectTravelEntries(ids);
+            default:
+                throw new IllegalArgumentException("unknown archive type: " + type);
+        }
+    }
+
+    private void submit(Runnable task) {
+        if (archiveExecutor.isShutdown()) {
+            return;
+        }
+        archiveExecutor.execute(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.error("archive task failed", e);
+            }
+        });
+    }
+
+    private void schedule(Runnable task) {
+        if (archiveExecutor.isShutdown()) {
+            return;
+        }
+        archiveExecutor.schedule(() -> submit(task), RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+}
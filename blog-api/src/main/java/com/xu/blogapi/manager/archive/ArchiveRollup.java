@@ -0,0 +1,184 @@
+package com.xu.blogapi.manager.archive;
+
+import com.xu.blogapi.model.vo.ArchiveMonthVO;
+import com.xu.blogapi.model.vo.ArchiveYearVO;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 按年月归档的物化汇总
+ * 记录变化时只重建受影响月份的视图，再按月份组装年度列表；
+ * 写入只能由单个线程进行，读取直接返回不可变的快照
+ *
+ * @author xu
+ */
+public class ArchiveRollup {
+
+    private static final Comparator<Item> ITEM_ORDER = Comparator.comparing((Item item) -> item.time)
+            .thenComparingLong(item -> item.id).reversed();
+
+    /**
+     * 记录ID -> 归档项
+     */
+    private final Map<Long, Item> items = new HashMap<>();
+
+    /**
+     * 月份 -> 该月的归档项，按时间倒序
+     */
+    private final NavigableMap<YearMonth, TreeSet<Item>> months = new TreeMap<>(Comparator.reverseOrder());
+
+    /**
+     * 月份 -> 该月的视图
+     */
+    private final NavigableMap<YearMonth, ArchiveMonthVO> monthViews = new TreeMap<>(Comparator.reverseOrder());
+
+    private volatile List<ArchiveYearVO> snapshot = Collections.emptyList();
+
+    private static final class Item {
+
+        private final long id;
+
+        private final LocalDateTime time;
+
+        private Item(long id, LocalDateTime time) {
+            this.id = id;
+            this.time = time;
+        }
+    }
+
+    /**
+     * 当前归档，按年份倒序
+     *
+     * @return 不可变的归档快照
+     */
+    public List<ArchiveYearVO> getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 记录总数
+     *
+     * @return 参与归档的记录数
+     */
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * 用全量数据重建
+     *
+     * @param entries 全部可见记录
+     */
+    public void reset(Collection<ArchiveEntry> entries) {
+        items.clear();
+        months.clear();
+        monthViews.clear();
+        Set<YearMonth> dirtyMonths = new HashSet<>();
+        for (ArchiveEntry entry : entries) {
+            add(entry, dirtyMonths);
+        }
+        refresh(dirtyMonths);
+    }
+
+    /**
+     * 增量更新指定记录
+     *
+     * @param ids     变更的记录ID
+     * @param entries 这些记录的最新数据，不可见（已删除、未发布等）的记录不在其中
+     */
+    public void update(Collection<Long> ids, Collection<ArchiveEntry> entries) {
+        Set<YearMonth> dirtyMonths = new HashSet<>();
+        for (Long id : ids) {
+            remove(id, dirtyMonths);
+        }
+        for (ArchiveEntry entry : entries) {
+            remove(entry.getId(), dirtyMonths);
+            add(entry, dirtyMonths);
+        }
+        refresh(dirtyMonths);
+    }
+
+    private void add(ArchiveEntry entry, Set<YearMonth> dirtyMonths) {
+        if (entry.getId() == null || entry.getArchiveTime() == null) {
+            return;
+        }
+        Item item = new Item(entry.getId(), entry.getArchiveTime());
+        items.put(item.id, item);
+        YearMonth month = YearMonth.from(item.time);
+        months.computeIfAbsent(month, key -> new TreeSet<>(ITEM_ORDER)).add(item);
+        dirtyMonths.add(month);
+    }
+
+    private void remove(Long id, Set<YearMonth> dirtyMonths) {
+        Item item = items.remove(id);
+        if (item == null) {
+            return;
+        }
+        YearMonth month = YearMonth.from(item.time);
+        TreeSet<Item> monthItems = months.get(month);
+        if (monthItems != null) {
+            monthItems.remove(item);
+            if (monthItems.isEmpty()) {
+                months.remove(month);
+            }
+        }
+        dirtyMonths.add(month);
+    }
+
+    /**
+     * 重建变化月份的视图并发布新快照
+     */
+    private void refresh(Set<YearMonth> dirtyMonths) {
+        if (dirtyMonths.isEmpty()) {
+            return;
+        }
+        for (YearMonth month : dirtyMonths) {
+            TreeSet<Item> monthItems = months.get(month);
+            if (monthItems == null) {
+                monthViews.remove(month);
+                continue;
+            }
+            List<Long> ids = new ArrayList<>(monthItems.size());
+            for (Item item : monthItems) {
+                ids.add(item.id);
+            }
+            ArchiveMonthVO monthVO = new ArchiveMonthVO();
+            monthVO.setYear(month.getYear());
+            monthVO.setMonth(month.getMonthValue());
+            monthVO.setCount(ids.size());
+            monthVO.setIds(Collections.unmodifiableList(ids));
+            monthViews.put(month, monthVO);
+        }
+
+        List<ArchiveYearVO> years = new ArrayList<>();
+        ArchiveYearVO current = null;
+        for (ArchiveMonthVO monthVO : monthViews.values()) {
+            if (current == null || !current.getYear().equals(monthVO.getYear())) {
+                current = new ArchiveYearVO();
+                current.setYear(monthVO.getYear());
+                current.setCount(0);
+                current.setMonths(new ArrayList<>());
+                years.add(current);
+            }
+            current.setCount(current.getCount() + monthVO.getCount());
+            current.getMonths().add(monthVO);
+        }
+        for (ArchiveYearVO yearVO : years) {
+            yearVO.setMonths(Collections.unmodifiableList(yearVO.getMonths()));
+        }
+        snapshot = Collections.unmodifiableList(years);
+    }
+}
@@ -0,0 +1,51 @@
+package com.xu.blogapi.manager.archive;
+
+import lombok.Getter;
+
+/**
+ * 归档类型
+ *
+ * @author xu
+ */
+@Getter
+public enum ArchiveType {
+
+    /**
+     * 文章，按发布时间归档
+     */
+    ARTICLE("article"),
+
+    /**
+     * 想法，按创建时间归档
+     */
+    THOUGHT("thought"),
+
+    /**
+     * 旅行，按出发日期归档
+     */
+    TRAVEL("travel");
+
+    /**
+     * 数据表名
+     */
+    private final String table;
+
+    ArchiveType(String table) {
+        this.table = table;
+    }
+
+    /**
+     * 根据表名获取归档类型
+     *
+     * @param table 表名
+     * @return 归档类型，不参与归档的表返回 null
+     */
+    public static ArchiveType ofTable(String table) {
+        for (ArchiveType type : values()) {
+            if (type.table.equals(table)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,96 @@
+package com.xu.blogapi.manager.cache;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.ParameterUtils;
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.xu.blogapi.datasource.ReadWriteRoutingDataSource;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.util.TablesNamesFinder;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 缓存总数的分页插件
+ * 分页查询先按查询语句和参数值（即规范化后的查询条件，不含分页参数）查找缓存的总数，命中时跳过 COUNT，只执行一次分页查询；
+ * 未命中时由父类执行 COUNT 并写入缓存。调用方通过 searchCount = false 不查询总数时不经过缓存。
+ * 读写事务中的查询可能看到本事务未提交的修改，不读写缓存；
+ * 未命中时的 COUNT 结果会被缓存，强制走主库，避免失效后立即从延迟的从库缓存旧的总数
+ *
+ * @author xu
+ */
+@Slf4j
+public class CachedCountPaginationInnerInterceptor extends PaginationInnerInterceptor {
+
+    private final PageTotalCache pageTotalCache;
+
+    public CachedCountPaginationInnerInterceptor(DbType dbType, PageTotalCache pageTotalCache) {
+        super(dbType);
+        this.pageTotalCache = pageTotalCache;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public boolean willDoQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds,
+                               ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
+        IPage<?> page = ParameterUtils.findPage(parameter).orElse(null);
+        if (page == null || page.getSize() < 0 || !page.searchCount() || inReadWriteTransaction()) {
+            return super.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+        }
+        Object key = executor.createCacheKey(ms, parameter, rowBounds, boundSql);
+        Long total = pageTotalCache.get(key);
+        if (total != null) {
+            page.setTotal(total);
+            return continuePage(page);
+        }
+        long readGeneration = pageTotalCache.getGeneration();
+        boolean continued;
+        Boolean previous = ReadWriteRoutingDataSource.markPrimary(true);
+        try {
+            continued = super.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+        } finally {
+            ReadWriteRoutingDataSource.restorePrimary(previous);
+        }
+        Set<String> tables = parseTables(boundSql.getSql());
+        if (tables != null) {
+            pageTotalCache.put(key, tables, page.getTotal(), readGeneration);
+        }
+        return continued;
+    }
+
+    private static boolean inReadWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    /**
+     * 解析查询涉及的表名
+     *
+     * @param sql 查询语句
+     * @return 小写表名，无法解析时返回 null（不缓存）
+     */
+    static Set<String> parseTables(String sql) {
+        try {
+            Set<String> tables = new HashSet<>();
+            for (String name : new TablesNamesFinder().getTableList(CCJSqlParserUtil.parse(sql))) {
+                String table = StringUtils.substringAfterLast(name, ".");
+                table = StringUtils.isEmpty(table) ? name : table;
+                tables.add(StringUtils.remove(table, '`').toLowerCase());
+            }
+            return tables.isEmpty() ? null : tables;
+        } catch (Exception e) {
+            log.warn("parse tables of page query failed, total not cached: {}", sql, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.xu.blogapi.manager.cache;
+
+import com.xu.blogapi.datasource.ReadWriteRoutingDataSource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 按主键缓存的实体
+ * 容量有限，超出时淘汰最久未访问的条目；条目在过期时间后失效。
+ * 未命中的主键由调用方一次批量加载，加载走主库；加载期间发生过失效时不写入缓存，避免缓存旧数据。
+ * 缓存的实体会被多个请求共享，调用方不能修改
+ *
+ * @param <T> 实体类型
+ * @author xu
+ */
+public class EntityCache<T> {
+
+    private final int maxSize;
+
+    private final long ttlMillis;
+
+    private final Map<Long, Entry<T>> entries;
+
+    /**
+     * 失效代数，每次失效加一
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private static final class Entry<T> {
+
+        private final T value;
+
+        private final long expireAt;
+
+        private Entry(T value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+
+    public EntityCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<Long, Entry<T>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry<T>> eldest) {
+                return size() > EntityCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * 批量获取，按请求顺序返回
+     *
+     * @param ids      主键（重复的只返回一次）
+     * @param loader   批量加载未命中的主键
+     * @param idGetter 获取实体主键
+     * @return 存在的实体，按主键在请求中第一次出现的顺序排列
+     */
+    public List<T> getAll(Collection<Long> ids, Function<Collection<Long>, Collection<T>> loader,
+                          Function<T, Long> idGetter) {
+        Set<Long> orderedIds = new LinkedHashSet<>(ids);
+        orderedIds.remove(null);
+        Map<Long, T> found = new HashMap<>(orderedIds.size() * 2);
+        List<Long> missingIds = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            for (Long id : orderedIds) {
+                Entry<T> entry = entries.get(id);
+                if (entry != null && entry.expireAt > now) {
+                    found.put(id, entry.value);
+                } else {
+                    missingIds.add(id);
+                }
+            }
+        }
+        hitCount.add(found.size());
+        missCount.add(missingIds.size());
+
+        if (!missingIds.isEmpty()) {
+            long readGeneration = generation.get();
+            // 从库可能还没有同步刚失效的修改，加载结果会写入缓存，必须读主库
+            Collection<T> loaded = ReadWriteRoutingDataSource.executeOnPrimary(() -> loader.apply(missingIds));
+            Map<Long, T> loadedById = new HashMap<>(loaded.size() * 2);
+            for (T value : loaded) {
+                loadedById.put(idGetter.apply(value), value);
+            }
+            found.putAll(loadedById);
+            put(loadedById, readGeneration);
+        }
+
+        List<T> result = new ArrayList<>(orderedIds.size());
+        for (Long id : orderedIds) {
+            T value = found.get(id);
+            if (value != null) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 使指定主键失效
+     *
+     * @param ids 主键
+     */
+    public void invalidate(Collection<Long> ids) {
+        generation.incrementAndGet();
+        synchronized (entries) {
+            for (Long id : ids) {
+                entries.remove(id);
+            }
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    private void put(Map<Long, T> values, long readGeneration) {
+        if (values.isEmpty()) {
+            return;
+        }
+        long expireAt = System.currentTimeMillis() + ttlMillis;
+        synchronized (entries) {
+            // 加载期间发生过失效，数据可能已过时，不写入
+            if (generation.get() != readGeneration) {
+                return;
+            }
+            values.forEach((id, value) -> entries.put(id, new Entry<>(value, expireAt)));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.xu.blogapi.manager.cache;
+
+import com.xu.blogapi.event.TableChangedEvent;
+import com.xu.blogapi.model.entity.Article;
+import com.xu.blogapi.model.entity.Project;
+import com.xu.blogapi.model.entity.User;
+import lombok.Getter;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 实体缓存（标签由 {@link com.xu.blogapi.manager.tag.TagDictionaryManager} 全量缓存，不在此处）
+ * 批量查询接口先读缓存，未命中的再一次性查询数据库；
+ * 数据表变更（{@link TableChangedEvent}，包括其他节点广播的）时按主键失效，无法确定主键时清空整张表的缓存
+ *
+ * @author xu
+ */
+@Component
+public class EntityCacheManager {
+
+    /**
+     * 缓存有效期
+     */
+    private static final long TTL_MILLIS = 10 * 60 * 1000L;
+
+    @Getter
+    private final EntityCache<Article> articleCache = new EntityCache<>(256, TTL_MILLIS);
+
+    @Getter
+    private final EntityCache<Project> projectCache = new EntityCache<>(256, TTL_MILLIS);
+
+    @Getter
+    private final EntityCache<User> userCache = new EntityCache<>(1024, TTL_MILLIS);
+
+    private final Map<String, EntityCache<?>> cachesByTable = new HashMap<>();
+
+    public EntityCacheManager() {
+        cachesByTable.put("article", articleCache);
+        cachesByTable.put("project", projectCache);
+        cachesByTable.put("user", userCache);
+    }
+
+    /**
+     * 数据表变更时使相关缓存失效
+     *
+     * @param event 数据表变更事件
+     */
+    @EventListener
+    public void onTableChanged(TableChangedEvent event) {
+        EntityCache<?> cache = cachesByTable.get(event.getTable());
+        if (cache == null) {
+            return;
+        }
+        if (event.isWholeTable()) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(event.getIds());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.xu.blogapi.manager.cache;
+
+import com.xu.blogapi.config.PageTotalCacheProperties;
+import com.xu.blogapi.event.TableChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 分页总数缓存
+ * 以查询语句和参数值为键缓存 COUNT 结果，翻页时只需执行一次分页查询；
+ * 条目记录查询涉及的表，任一表变更（{@link TableChangedEvent}，包括其他节点广播的）时失效。
+ * 容量有限，超出时淘汰最久未访问的条目；条目在过期时间后失效
+ *
+ * @author xu
+ */
+@Component
+public class PageTotalCache {
+
+    private final int maxSize;
+
+    private final long ttlMillis;
+
+    private final Map<Object, Entry> entries;
+
+    /**
+     * 失效代数，每次失效加一
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private static final class Entry {
+
+        private final long total;
+
+        private final Set<String> tables;
+
+        private final long expireAt;
+
+        private Entry(long total, Set<String> tables, long expireAt) {
+            this.total = total;
+            this.tables = tables;
+            this.expireAt = expireAt;
+        }
+    }
+
+    public PageTotalCache(PageTotalCacheProperties pageTotalCacheProperties) {
+        this.maxSize = Math.max(1, pageTotalCacheProperties.getMaxSize());
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(pageTotalCacheProperties.getTtlSeconds());
+        this.entries = new LinkedHashMap<Object, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                return size() > PageTotalCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * 获取缓存的总数
+     *
+     * @param key 查询键
+     * @return 总数，不存在或已过期返回 null
+     */
+    public Long get(Object key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expireAt > System.currentTimeMillis()) {
+                hitCount.increment();
+                return entry.total;
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+        }
+        missCount.increment();
+        return null;
+    }
+
+    /**
+     * 当前失效代数，查询总数前读取，写入时传回
+     *
+     * @return 失效代数
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * 写入总数，查询期间发生过失效时不写入，避免缓存旧数据
+     *
+     * @param key            查询键
+     * @param tables         查询涉及的表
+     * @param total          总数
+     * @param readGeneration 查询前读取的失效代数
+     */
+    public void put(Object key, Set<String> tables, long total, long readGeneration) {
+        Entry entry = new Entry(total, tables, System.currentTimeMillis() + ttlMillis);
+        synchronized (entries) {
+            if (generation.get() != readGeneration) {
+                return;
+            }
+            entries.put(key, entry);
+        }
+    }
+
+    /**
+     * 数据表变更时使涉及该表的总数失效，行的任何修改都可能改变是否满足查询条件，不区分主键
+     *
+     * @param event 数据表变更事件
+     */
+    @EventListener
+    public void onTableChanged(TableChangedEvent event) {
+        generation.incrementAndGet();
+        synchronized (entries) {
+            entries.values().removeIf(entry -> entry.tables.contains(event.getTable()));
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+}
@@ -0,0 +1,19 @@
+package com.xu.blogapi.manager.compression;
+
+import lombok.Data;
+
+/**
+ * 迁移时读取的原始字段
+ *
+ * @author xu
+ */
+@Data
+public class ContentBlob {
+
+    private Long id;
+
+    /**
+     * content 原始字节
+     */
+    private byte[] content;
+}
@@ -0,0 +1,177 @@
+package com.xu.blogapi.manager.compression;
+
+import com.xu.blogapi.config.ContentCompressionProperties;
+import com.xu.blogapi.model.vo.ContentCompressionStatsVO;
+import com.xu.blogapi.utils.Lz4Utils;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 大字段压缩
+ * 压缩后的数据以魔数开头：第一个字节为 0x00（正常文本不会以 NUL 开头），最后一个字节为编码方式，
+ * 其后是 LZ4 数据；不以魔数开头的按 UTF-8 文本读取，压缩前写入的数据无需迁移也能正常读取。
+ * 同时统计压缩率和解压耗时
+ *
+ * @author xu
+ */
+@Component
+public class ContentCompressionManager {
+
+    /**
+     * 编码方式：LZ4
+     */
+    static final byte CODEC_LZ4 = 1;
+
+    static final byte[] MAGIC = {0x00, 'B', 'Z', CODEC_LZ4};
+
+    /**
+     * 压缩后至少节省该比例才保存压缩结果
+     */
+    private static final double MIN_SAVING_RATIO = 0.1;
+
+    @Resource
+    private ContentCompressionProperties contentCompressionProperties;
+
+    /**
+     * content 字段是否已改为二进制类型，由迁移任务在启动时检测
+     */
+    private volatile boolean binaryColumnsReady;
+
+    private final LongAdder writeCount = new LongAdder();
+
+    private final LongAdder compressedWriteCount = new LongAdder();
+
+    private final LongAdder writeRawBytes = new LongAdder();
+
+    private final LongAdder writeStoredBytes = new LongAdder();
+
+    private final LongAdder plainReadCount = new LongAdder();
+
+    private final LongAdder decodeCount = new LongAdder();
+
+    private final LongAdder decodeNanos = new LongAdder();
+
+    private final LongAccumulator decodeMaxNanos = new LongAccumulator(Math::max, 0);
+
+    private final LongAdder decodeRawBytes = new LongAdder();
+
+    private final LongAdder decodeStoredBytes = new LongAdder();
+
+    /**
+     * 是否压缩写入：配置开启且字段已改为二进制类型
+     *
+     * @return 是否压缩写入
+     */
+    public boolean isEnabled() {
+        return contentCompressionProperties.isEnabled() && binaryColumnsReady;
+    }
+
+    public boolean isBinaryColumnsReady() {
+        return binaryColumnsReady;
+    }
+
+    public void setBinaryColumnsReady(boolean binaryColumnsReady) {
+        this.binaryColumnsReady = binaryColumnsReady;
+    }
+
+    /**
+     * 按配置压缩内容
+     *
+     * @param content 内容
+     * @return 压缩结果；未启用、内容过短或压缩收益不足时返回 null，按文本写入
+     */
+    public byte[] encode(String content) {
+        if (!isEnabled()) {
+            return null;
+        }
+        byte[] raw = content.getBytes(StandardCharsets.UTF_8);
+        writeCount.increment();
+        writeRawBytes.add(raw.length);
+        byte[] compressed = raw.length < contentCompressionProperties.getMinSize() ? null : Lz4Utils.compress(raw, MAGIC);
+        if (compressed == null || compressed.length > raw.length * (1 - MIN_SAVING_RATIO)) {
+            writeStoredBytes.add(raw.length);
+            return null;
+        }
+        compressedWriteCount.increment();
+        writeStoredBytes.add(compressed.length);
+        return compressed;
+    }
+
+    /**
+     * 读取字段内容，兼容压缩和未压缩的数据
+     *
+     * @param data 字段的原始字节
+     * @return 内容
+     * @throws IllegalArgumentException 压缩数据损坏
+     */
+    public String decode(byte[] data) {
+        if (!isCompressed(data)) {
+            plainReadCount.increment();
+            return new String(data, StandardCharsets.UTF_8);
+        }
+        if (data[MAGIC.length - 1] != CODEC_LZ4) {
+            throw new IllegalArgumentException("unsupported content codec: " + data[MAGIC.length - 1]);
+        }
+        long start = System.nanoTime();
+        byte[] raw = Lz4Utils.decompress(data, MAGIC.length);
+        long elapsed = System.nanoTime() - start;
+        decodeCount.increment();
+        decodeNanos.add(elapsed);
+        decodeMaxNanos.accumulate(elapsed);
+        decodeRawBytes.add(raw.length);
+        decodeStoredBytes.add(data.length);
+        return new String(raw, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 是否为压缩数据（只比较魔数的前 3 个字节，最后一个字节为编码方式）
+     *
+     * @param data 字段的原始字节
+     * @return 是否压缩
+     */
+    public static boolean isCompressed(byte[] data) {
+        if (data == null || data.length < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length - 1; i++) {
+            if (data[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 压缩统计
+     *
+     * @return 统计快照
+     */
+    public ContentCompressionStatsVO getStats() {
+        ContentCompressionStatsVO statsVO = new ContentCompressionStatsVO();
+        statsVO.setEnabled(isEnabled());
+        statsVO.setConfigEnabled(contentCompressionProperties.isEnabled());
+        statsVO.setBinaryColumnsReady(binaryColumnsReady);
+        statsVO.setWriteCount(writeCount.sum());
+        statsVO.setCompressedWriteCount(compressedWriteCount.sum());
+        long rawBytes = writeRawBytes.sum();
+        long storedBytes = writeStoredBytes.sum();
+        statsVO.setWriteRawBytes(rawBytes);
+        statsVO.setWriteStoredBytes(storedBytes);
+        statsVO.setWriteCompressionRatio(rawBytes == 0 ? null : (double) storedBytes / rawBytes);
+        statsVO.setPlainReadCount(plainReadCount.sum());
+        long decodes = decodeCount.sum();
+        statsVO.setDecodeCount(decodes);
+        statsVO.setDecodeAvgMicros(decodes == 0 ? null : decodeNanos.sum() / 1000.0 / decodes);
+        statsVO.setDecodeMaxMicros(decodeMaxNanos.get() / 1000.0);
+        long decodedRawBytes = decodeRawBytes.sum();
+        long decodedStoredBytes = decodeStoredBytes.sum();
+        statsVO.setReadRawBytes(decodedRawBytes);
+        statsVO.setReadStoredBytes(decodedStoredBytes);
+        statsVO.setReadCompressionRatio(decodedRawBytes == 0 ? null : (double) decodedStoredBytes / decodedRawBytes);
+        return statsVO;
+    }
+}
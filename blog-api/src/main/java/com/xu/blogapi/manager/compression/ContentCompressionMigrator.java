@@ -0,0 +1,225 @@
+package com.xu.blogapi.manager.compression;
+
+import com.xu.blogapi.common.ErrorCode;
+import com.xu.blogapi.config.ContentCompressionProperties;
+import com.xu.blogapi.exception.BusinessException;
+import com.xu.blogapi.mapper.ContentCompressionMapper;
+import com.xu.blogapi.model.vo.ContentCompressionMigrationVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 大字段压缩迁移
+ * 启动时检测 content 字段是否已改为二进制类型，决定是否压缩写入；
+ * 迁移任务在后台按ID分批压缩已有数据，每批之间停顿，写入时以原内容为条件，不会覆盖并发的修改
+ *
+ * @author xu
+ */
+@Slf4j
+@Component
+public class ContentCompressionMigrator {
+
+    /**
+     * 参与压缩的表
+     */
+    static final List<String> TABLES = Arrays.asList("article", "project", "travel");
+
+    @Resource
+    private ContentCompressionMapper contentCompressionMapper;
+
+    @Resource
+    private ContentCompressionManager contentCompressionManager;
+
+    @Resource
+    private ContentCompressionProperties contentCompressionProperties;
+
+    private ExecutorService migrationExecutor;
+
+    private volatile boolean running;
+
+    private volatile boolean stopRequested;
+
+    private volatile String currentTable;
+
+    private volatile long lastId;
+
+    private volatile LocalDateTime startTime;
+
+    private volatile LocalDateTime finishTime;
+
+    private volatile String message;
+
+    private final AtomicLong scannedCount = new AtomicLong();
+
+    private final AtomicLong compressedCount = new AtomicLong();
+
+    private final AtomicLong skippedCount = new AtomicLong();
+
+    private final AtomicLong conflictCount = new AtomicLong();
+
+    private final AtomicLong savedBytes = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        migrationExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "content-compression-migration");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void destroy() {
+        stopRequested = true;
+        migrationExecutor.shutdownNow();
+    }
+
+    /**
+     * 检测字段类型，全部改为二进制类型后才压缩写入
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkColumns() {
+        boolean ready;
+        try {
+            ready = new HashSet<>(contentCompressionMapper.selectBinaryContentTables(TABLES)).containsAll(TABLES);
+        } catch (Exception e) {
+            log.warn("check content column types failed, compression disabled", e);
+            ready = false;
+        }
+        contentCompressionManager.setBinaryColumnsReady(ready);
+        if (contentCompressionProperties.isEnabled() && !ready) {
+            log.warn("content compression is enabled but content columns are not LONGBLOB, "
+                    + "run sql/blog_content_compression.sql first; writing plain text for now");
+        }
+    }
+
+    /**
+     * 启动迁移任务
+     *
+     * @return 是否启动（已在运行时返回 false）
+     */
+    public synchronized boolean start() {
+        if (!contentCompressionManager.isEnabled()) {
+            throw new BusinessException(ErrorCode.OPERATION_ERROR, "内容压缩未启用或字段尚未改为二进制类型");
+        }
+        if (running) {
+            return false;
+        }
+        running = true;
+        stopRequested = false;
+        currentTable = null;
+        lastId = 0;
+        startTime = LocalDateTime.now();
+        finishTime = null;
+        message = null;
+        scannedCount.set(0);
+        compressedCount.set(0);
+        skippedCount.set(0);
+        conflictCount.set(0);
+        savedBytes.set(0);
+        migrationExecutor.execute(this::migrate);
+        return true;
+    }
+
+    /**
+     * 停止迁移任务，当前批处理完后退出
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    public ContentCompressionMigrationVO getProgress() {
+        ContentCompressionMigrationVO migrationVO = new ContentCompressionMigrationVO();
+        migrationVO.setRunning(running);
+        migrationVO.setCurrentTable(currentTable);
+        migrationVO.setLastId(lastId);
+        migrationVO.setScannedCount(scannedCount.get());
+        migrationVO.setCompressedCount(compressedCount.get());
+        migrationVO.setSkippedCount(skippedCount.get());
+        migrationVO.setConflictCount(conflictCount.get());
+        migrationVO.setSavedBytes(savedBytes.get());
+        migrationVO.setStartTime(startTime);
+        migrationVO.setFinishTime(finishTime);
+        migrationVO.setMessage(message);
+        return migrationVO;
+    }
+
+    private void migrate() {
+        try {
+            for (String table : TABLES) {
+                currentTable = table;
+                lastId = 0;
+                migrateTable(table);
+                if (stopRequested) {
+                    message = "已停止";
+                    return;
+                }
+            }
+            message = "已完成";
+            log.info("content compression migration finished, compressed = {}, saved bytes = {}",
+                    compressedCount.get(), savedBytes.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            message = "已中断";
+        } catch (Exception e) {
+            log.error("content compression migration failed, table = {}, lastId = {}", currentTable, lastId, e);
+            message = "迁移失败：" + e.getMessage();
+        } finally {
+            finishTime = LocalDateTime.now();
+            running = false;
+        }
+    }
+
+    private void migrateTable(String table) throws InterruptedException {
+        int batchSize = Math.max(1, contentCompressionProperties.getMigrationBatchSize());
+        while (!stopRequested && contentCompressionManager.isEnabled()) {
+            List<ContentBlob> rows = contentCompressionMapper.selectContentBatch(table, lastId, batchSize);
+            if (rows.isEmpty()) {
+                return;
+            }
+            for (ContentBlob row : rows) {
+                migrateRow(table, row);
+                lastId = row.getId();
+            }
+            if (rows.size() < batchSize) {
+                return;
+            }
+            Thread.sleep(contentCompressionProperties.getMigrationPauseMillis());
+        }
+    }
+
+    private void migrateRow(String table, ContentBlob row) {
+        scannedCount.incrementAndGet();
+        byte[] raw = row.getContent();
+        if (raw == null || ContentCompressionManager.isCompressed(raw)) {
+            skippedCount.incrementAndGet();
+            return;
+        }
+        byte[] compressed = contentCompressionManager.encode(new String(raw, StandardCharsets.UTF_8));
+        if (compressed == null) {
+            skippedCount.incrementAndGet();
+            return;
+        }
+        if (contentCompressionMapper.updateCompressedContent(table, row.getId(), compressed, raw) > 0) {
+            compressedCount.incrementAndGet();
+            savedBytes.addAndGet(raw.length - compressed.length);
+        } else {
+            // 读取后内容已被修改，新内容写入时已按配置压缩
+            conflictCount.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.xu.blogapi.manager.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xu.blogapi.common.ErrorCode;
+import com.xu.blogapi.config.ContentExportProperties;
+import com.xu.blogapi.exception.BusinessException;
+import com.xu.blogapi.mapper.ArticleMapper;
+import com.xu.blogapi.mapper.ProjectMapper;
+import com.xu.blogapi.mapper.ThoughtMapper;
+import com.xu.blogapi.mapper.TravelMapper;
+import com.xu.blogapi.model.entity.Article;
+import com.xu.blogapi.model.entity.Project;
+import com.xu.blogapi.model.entity.Thought;
+import com.xu.blogapi.model.entity.Travel;
+import com.xu.blogapi.model.enums.ExportContentTypeEnum;
+import com.xu.blogapi.model.enums.ExportFormatEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 内容导出
+ * 按ID游标流式读取（MySQL 逐行返回），边读边写到响应输出流，内存占用与数据量无关；
+ * 超过单次上限时按ID分块，响应头 X-Export-Next-After-Id 给出下一块的起始ID，下载中断后可从上一块继续
+ *
+ * @author xu
+ */
+@Slf4j
+@Component
+public class ContentExportManager {
+
+    /**
+     * 下一块起始ID响应头，没有下一块时不返回
+     */
+    public static final String NEXT_AFTER_ID_HEADER = "X-Export-Next-After-Id";
+
+    /**
+     * Markdown 文件名中标题部分的最大长度
+     */
+    private static final int MAX_FILE_NAME_LENGTH = 50;
+
+    @Resource
+    private ArticleMapper articleMapper;
+
+    @Resource
+    private TravelMapper travelMapper;
+
+    @Resource
+    private ThoughtMapper thoughtMapper;
+
+    @Resource
+    private ProjectMapper projectMapper;
+
+    @Resource
+    private ObjectMapper objectMapper;
+
+    @Resource
+    private ContentExportProperties contentExportProperties;
+
+    private final Map<ExportContentTypeEnum, ExportSource<?>> sources = new EnumMap<>(ExportContentTypeEnum.class);
+
+    @PostConstruct
+    public void init() {
+        // 文章的表头和头信息键名与批量导入一致，导出文件可直接再导入
+        sources.put(ExportContentTypeEnum.ARTICLE,
+                new ExportSource<Article>("article", Article::getId,
+                        articleMapper::streamByIdRange, articleMapper::selectChunkEndId)
+                        .column("id", "ID", Article::getId)
+                        .column("title", "标题", Article::getTitle)
+                        .column("slug", "别名", Article::getSlug)
+                        .column("summary", "摘要", Article::getSummary)
+                        .column("content", "内容", Article::getContent)
+                        .column("coverImage", "封面", Article::getCoverImage)
+                        .column("categoryId", "分类ID", Article::getCategoryId)
+                        .column("status", "状态", Article::getStatus)
+                        .column("isTop", "置顶", Article::getIsTop)
+                        .column("isFeatured", "精选", Article::getIsFeatured)
+                        .column("publishTime", "发布时间", Article::getPublishTime)
+                        .column("unpublishTime", "下线时间", Article::getUnpublishTime)
+                        .column("authorId", "作者ID", Article::getAuthorId)
+                        .column("createTime", "创建时间", Article::getCreateTime)
+                        .column("updateTime", "更新时间", Article::getUpdateTime)
+                        .markdown(article -> article.getId() + "-" + article.getSlug(), "content", Article::getContent));
+        sources.put(ExportContentTypeEnum.TRAVEL,
+                new ExportSource<Travel>("travel", Travel::getId,
+                        travelMapper::streamByIdRange, travelMapper::selectChunkEndId)
+                        .column("id", "ID", Travel::getId)
+                        .column("title", "标题", Travel::getTitle)
+                        .column("destination", "目的地", Travel::getDestination)
+                        .column("country", "国家", Travel::getCountry)
+                        .column("city", "城市", Travel::getCity)
+                        .column("description", "描述", Travel::getDescription)
+                        .column("content", "游记", Travel::getContent)
+                        .column("coverImage", "封面", Travel::getCoverImage)
+                        .column("images", "相册", Travel::getImages)
+                        .column("startDate", "开始日期", Travel::getStartDate)
+                        .column("endDate", "结束日期", Travel::getEndDate)
+                        .column("duration", "天数", Travel::getDuration)
+                        .column("budget", "花费", Travel::getBudget)
+                        .column("companions", "同行人员", Travel::getCompanions)
+                        .column("transportation", "交通方式", Travel::getTransportation)
+                        .column("accommodation", "住宿", Travel::getAccommodation)
+                        .column("highlights", "亮点", Travel::getHighlights)
+                        .column("latitude", "纬度", Travel::getLatitude)
+                        .column("longitude", "经度", Travel::getLongitude)
+                        .column("weather", "天气", Travel::getWeather)
+                        .column("rating", "评分", Travel::getRating)
+                        .column("status", "状态", Travel::getStatus)
+                        .column("authorId", "作者ID", Travel::getAuthorId)
+                        .column("createTime", "创建时间", Travel::getCreateTime)
+                        .column("updateTime", "更新时间", Travel::getUpdateTime)
+                        .markdown(travel -> travel.getId() + "-" + toFileName(travel.getTitle()), "content", Travel::getContent));
+        sources.put(ExportContentTypeEnum.THOUGHT,
+                new ExportSource<Thought>("thought", Thought::getId,
+                        thoughtMapper::streamByIdRange, thoughtMapper::selectChunkEndId)
+                        .column("id", "ID", Thought::getId)
+                        .column("content", "内容", Thought::getContent)
+                        .column("images", "图片", Thought::getImages)
+                        .column("mood", "心情", Thought::getMood)
+                        .column("location", "位置", Thought::getLocation)
+                        .column("weather", "天气", Thought::getWeather)
+                        .column("status", "状态", Thought::getStatus)
+                        .column("authorId", "作者ID", Thought::getAuthorId)
+                        .column("createTime", "创建时间", Thought::getCreateTime)
+                        .column("updateTime", "更新时间", Thought::getUpdateTime)
+                        .markdown(thought -> String.valueOf(thought.getId()), "content", Thought::getContent));
+        sources.put(ExportContentTypeEnum.PROJECT,
+                new ExportSource<Project>("project", Project::getId,
+                        projectMapper::streamByIdRange, projectMapper::selectChunkEndId)
+                        .column("id", "ID", Project::getId)
+                        .column("name", "名称", Project::getName)
+                        .column("slug", "别名", Project::getSlug)
+                        .column("description", "描述", Project::getDescription)
+                        .column("content", "介绍", Project::getContent)
+                        .column("coverImage", "封面", Project::getCoverImage)
+                        .column("images", "截图", Project::getImages)
+                        .column("demoUrl", "演示地址", Project::getDemoUrl)
+                        .column("githubUrl", "GitHub地址", Project::getGithubUrl)
+                        .column("downloadUrl", "下载地址", Project::getDownloadUrl)
+                        .column("techStack", "技术栈", Project::getTechStack)
+                        .column("features", "主要功能", Project::getFeatures)
+                        .column("projectType", "项目类型", Project::getProjectType)
+                        .column("status", "状态", Project::getStatus)
+                        .column("isFeatured", "精选", Project::getIsFeatured)
+                        .column("isOpenSource", "开源", Project::getIsOpenSource)
+                        .column("startDate", "开始日期", Project::getStartDate)
+                        .column("endDate", "完成日期", Project::getEndDate)
+                        .column("sortOrder", "排序", Project::getSortOrder)
+                        .column("authorId", "作者ID", Project::getAuthorId)
+                        .column("createTime", "创建时间", Project::getCreateTime)
+                        .column("updateTime", "更新时间", Project::getUpdateTime)
+                        .markdown(project -> project.getId() + "-" + toFileName(project.getSlug()), "content", Project::getContent));
+    }
+
+    /**
+     * 导出内容到响应输出流
+     *
+     * @param contentType 内容类型
+     * @param format      导出格式
+     * @param afterId     起始ID（不包含），为空时从头开始
+     * @param limit       本次最多导出条数，为空时使用配置的上限
+     * @param response    响应
+     * @throws IOException 写出失败
+     */
+    public void export(ExportContentTypeEnum contentType, ExportFormatEnum format, Long afterId, Integer limit,
+                       HttpServletResponse response) throws IOException {
+        ExportSource<?> source = sources.get(contentType);
+        if (source == null || format == null) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "不支持的导出类型");
+        }
+        doExport(source, format, afterId == null ? 0L : Math.max(0L, afterId), limit, response);
+    }
+
+    private <T> void doExport(ExportSource<T> source, ExportFormatEnum format, long afterId, Integer limit,
+                              HttpServletResponse response) throws IOException {
+        int chunkSize = resolveChunkSize(limit);
+        // 先确定本块的结束ID，本块的范围固定为 (afterId, maxId]，续传时不会重复或遗漏
+        Long maxId = null;
+        Long nextAfterId = null;
+        if (chunkSize > 0) {
+            maxId = source.findChunkEndId(afterId, chunkSize - 1);
+            if (maxId != null && source.findChunkEndId(maxId, 0) != null) {
+                nextAfterId = maxId;
+            }
+        }
+
+        response.setContentType(getContentType(format));
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=" + source.getName() + "-" + afterId
+                + "." + getExtension(format));
+        response.setHeader("Cache-Control", "no-store");
+        if (nextAfterId != null) {
+            response.setHeader(NEXT_AFTER_ID_HEADER, String.valueOf(nextAfterId));
+        }
+
+        long startTime = System.currentTimeMillis();
+        AtomicLong count = new AtomicLong();
+        IOException[] writeError = new IOException[1];
+        OutputStream outputStream = response.getOutputStream();
+        try (ExportWriter<T> writer = createWriter(source, format, outputStream)) {
+            source.stream(afterId, maxId, context -> {
+                try {
+                    writer.write(context.getResultObject());
+                    count.incrementAndGet();
+                } catch (IOException e) {
+                    // 客户端断开，停止读取，不再把异常抛进 MyBatis
+                    writeError[0] = e;
+                    context.stop();
+                }
+            });
+            if (writeError[0] != null) {
+                throw writeError[0];
+            }
+        } catch (IOException e) {
+            log.warn("content export aborted, source = {}, afterId = {}, exported = {}",
+                    source.getName(), afterId, count.get(), e);
+            return;
+        }
+        outputStream.flush();
+        log.info("content export finished, source = {}, format = {}, afterId = {}, maxId = {}, count = {}, cost = {}ms",
+                source.getName(), format.getValue(), afterId, maxId, count.get(), System.currentTimeMillis() - startTime);
+    }
+
+    private int resolveChunkSize(Integer limit) {
+        int maxChunkSize = contentExportProperties.getMaxChunkSize();
+        if (limit == null || limit <= 0) {
+            return maxChunkSize;
+        }
+        return maxChunkSize > 0 ? Math.min(limit, maxChunkSize) : limit;
+    }
+
+    private <T> ExportWriter<T> createWriter(ExportSource<T> source, ExportFormatEnum format,
+                                             OutputStream outputStream) throws IOException {
+        switch (format) {
+            case EXCEL:
+                return new ExcelExportWriter<>(source, outputStream, contentExportProperties.getExcelBatchSize());
+            case MARKDOWN:
+                return new MarkdownZipExportWriter<>(source, outputStream);
+            case NDJSON:
+            default:
+                return new NdjsonExportWriter<>(objectMapper, outputStream);
+        }
+    }
+
+    private static String getContentType(ExportFormatEnum format) {
+        switch (format) {
+            case EXCEL:
+                return "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+            case MARKDOWN:
+                return "application/zip";
+            case NDJSON:
+            default:
+                return "application/x-ndjson";
+        }
+    }
+
+    private static String getExtension(ExportFormatEnum format) {
+        switch (format) {
+            case EXCEL:
+                return "xlsx";
+            case MARKDOWN:
+                return "zip";
+            case NDJSON:
+            default:
+                return "ndjson";
+        }
+    }
+
+    /**
+     * 去掉文件名中的非法字符
+     */
+    static String toFileName(String text) {
+        if (StringUtils.isBlank(text)) {
+            return "untitled";
+        }
+        String fileName = text.trim().replaceAll("[\\\\/:*?\"<>|\\s]+", "-");
+        return StringUtils.left(fileName, MAX_FILE_NAME_LENGTH);
+    }
+}
@@ -0,0 +1,94 @@
+package com.xu.blogapi.manager.export;
+
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.ExcelWriter;
+import com.alibaba.excel.write.metadata.WriteSheet;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Excel 导出写入器
+ * 攒够一批后写入 EasyExcel（底层为 SXSSF，只在内存中保留滑动窗口内的行），超过单表行数上限时换新表
+ *
+ * @author xu
+ */
+public class ExcelExportWriter<T> implements ExportWriter<T> {
+
+    /**
+     * 单个工作表最多写入的数据行数（xlsx 上限为 1048576 行，含表头）
+     */
+    static final int MAX_ROWS_PER_SHEET = 1_000_000;
+
+    /**
+     * 单元格文本长度上限，超出部分截断（完整内容请使用 NDJSON 或 Markdown 导出）
+     */
+    static final int MAX_CELL_LENGTH = 32767;
+
+    private final ExportSource<T> source;
+
+    private final int batchSize;
+
+    private final ExcelWriter excelWriter;
+
+    private final List<List<Object>> buffer;
+
+    private WriteSheet sheet;
+
+    private int sheetNo;
+
+    private int sheetRows;
+
+    public ExcelExportWriter(ExportSource<T> source, OutputStream outputStream, int batchSize) {
+        this.source = source;
+        this.batchSize = Math.max(1, batchSize);
+        this.buffer = new ArrayList<>(this.batchSize);
+        this.excelWriter = EasyExcel.write(outputStream)
+                .head(source.getExcelHead())
+                .autoCloseStream(false)
+                .build();
+        this.sheet = newSheet();
+    }
+
+    @Override
+    public void write(T record) {
+        if (sheetRows >= MAX_ROWS_PER_SHEET) {
+            flush();
+            sheet = newSheet();
+        }
+        List<Object> row = source.getExcelRow(record);
+        for (int i = 0; i < row.size(); i++) {
+            Object value = row.get(i);
+            if (value instanceof String && ((String) value).length() > MAX_CELL_LENGTH) {
+                row.set(i, ((String) value).substring(0, MAX_CELL_LENGTH));
+            }
+        }
+        buffer.add(row);
+        sheetRows++;
+        if (buffer.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+        excelWriter.finish();
+    }
+
+    private void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        excelWriter.write(buffer, sheet);
+        buffer.clear();
+    }
+
+    private WriteSheet newSheet() {
+        sheetNo++;
+        sheetRows = 0;
+        String sheetName = sheetNo == 1 ? source.getName() : source.getName() + "-" + sheetNo;
+        return EasyExcel.writerSheet(sheetNo - 1, sheetName).build();
+    }
+}
@@ -0,0 +1,169 @@
+package com.xu.blogapi.manager.export;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 导出数据源
+ * 描述一种内容的流式查询方式、Excel 列和 Markdown 文件内容
+ *
+ * @author xu
+ */
+public class ExportSource<T> {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * 与批量导入的发布时间格式一致，导出的文件可以直接再导入
+     */
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * 按ID范围流式查询：起始ID（不包含）、结束ID（包含，可为 null）、行处理器
+     */
+    @FunctionalInterface
+    public interface RangeStreamer<T> {
+
+        void stream(Long afterId, Long maxId, ResultHandler<T> handler);
+    }
+
+    private final String name;
+
+    private final Function<T, Long> idGetter;
+
+    private final RangeStreamer<T> streamer;
+
+    private final BiFunction<Long, Integer, Long> chunkEndFinder;
+
+    private final List<String> headers = new ArrayList<>();
+
+    private final List<Function<T, Object>> getters = new ArrayList<>();
+
+    private final Map<String, Function<T, Object>> frontMatterGetters = new LinkedHashMap<>();
+
+    private Function<T, String> fileNameGetter;
+
+    private Function<T, String> bodyGetter;
+
+    /**
+     * @param name           名称，用作导出文件名和压缩包内目录
+     * @param idGetter       取记录ID
+     * @param streamer       按ID范围流式查询
+     * @param chunkEndFinder 查询起始ID之后第 offset 条记录的ID
+     */
+    public ExportSource(String name, Function<T, Long> idGetter, RangeStreamer<T> streamer,
+                        BiFunction<Long, Integer, Long> chunkEndFinder) {
+        this.name = name;
+        this.idGetter = idGetter;
+        this.streamer = streamer;
+        this.chunkEndFinder = chunkEndFinder;
+    }
+
+    /**
+     * 添加 Excel 列，同时作为 Markdown 头信息（第一个参数为头信息键名）
+     *
+     * @param key    头信息键名
+     * @param header Excel 表头
+     * @param getter 取值
+     * @return this
+     */
+    public ExportSource<T> column(String key, String header, Function<T, Object> getter) {
+        headers.add(header);
+        getters.add(getter);
+        frontMatterGetters.put(key, getter);
+        return this;
+    }
+
+    /**
+     * 设置 Markdown 文件名和正文，正文字段不进入头信息
+     *
+     * @param fileNameGetter 文件名（不含扩展名）
+     * @param bodyKey        正文对应的头信息键名
+     * @param bodyGetter     正文
+     * @return this
+     */
+    public ExportSource<T> markdown(Function<T, String> fileNameGetter, String bodyKey, Function<T, String> bodyGetter) {
+        this.fileNameGetter = fileNameGetter;
+        this.bodyGetter = bodyGetter;
+        frontMatterGetters.remove(bodyKey);
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Long getId(T record) {
+        return idGetter.apply(record);
+    }
+
+    public void stream(Long afterId, Long maxId, ResultHandler<T> handler) {
+        streamer.stream(afterId, maxId, handler);
+    }
+
+    public Long findChunkEndId(Long afterId, int offset) {
+        return chunkEndFinder.apply(afterId, offset);
+    }
+
+    public List<List<String>> getExcelHead() {
+        List<List<String>> head = new ArrayList<>(headers.size());
+        for (String header : headers) {
+            head.add(Collections.singletonList(header));
+        }
+        return head;
+    }
+
+    public List<Object> getExcelRow(T record) {
+        List<Object> row = new ArrayList<>(getters.size());
+        for (Function<T, Object> getter : getters) {
+            row.add(formatValue(getter.apply(record)));
+        }
+        return row;
+    }
+
+    public Map<String, Object> getFrontMatter(T record) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        frontMatterGetters.forEach((key, getter) -> attributes.put(key, formatValue(getter.apply(record))));
+        return attributes;
+    }
+
+    public String getFileName(T record) {
+        return fileNameGetter.apply(record);
+    }
+
+    public String getBody(T record) {
+        return bodyGetter.apply(record);
+    }
+
+    /**
+     * 时间转为导入可识别的格式，列表转为 JSON 数组，其余原样输出
+     */
+    static Object formatValue(Object value) {
+        if (value instanceof LocalDateTime) {
+            return ((LocalDateTime) value).format(DATE_TIME_FORMATTER);
+        }
+        if (value instanceof Collection) {
+            try {
+                return OBJECT_MAPPER.writeValueAsString(value);
+            } catch (JsonProcessingException e) {
+                return String.valueOf(value);
+            }
+        }
+        if (value != null && !(value instanceof Number) && !(value instanceof String)) {
+            return value.toString();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,21 @@
+package com.xu.blogapi.manager.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * 导出写入器
+ * 逐条写入记录，关闭时补齐文件结尾；不关闭底层输出流，由调用方负责
+ *
+ * @author xu
+ */
+public interface ExportWriter<T> extends Closeable {
+
+    /**
+     * 写入一条记录
+     *
+     * @param record 记录
+     * @throws IOException 写出失败（通常是客户端断开）
+     */
+    void write(T record) throws IOException;
+}
@@ -0,0 +1,41 @@
+package com.xu.blogapi.manager.export;
+
+import com.xu.blogapi.utils.ArticleContentUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Markdown 压缩包导出写入器
+ * 每条记录生成一个带头信息的 Markdown 文件，边生成边写入压缩流
+ *
+ * @author xu
+ */
+public class MarkdownZipExportWriter<T> implements ExportWriter<T> {
+
+    private final ExportSource<T> source;
+
+    private final ZipOutputStream zipOutputStream;
+
+    public MarkdownZipExportWriter(ExportSource<T> source, OutputStream outputStream) {
+        this.source = source;
+        this.zipOutputStream = new ZipOutputStream(outputStream, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void write(T record) throws IOException {
+        String markdown = ArticleContentUtils.formatFrontMatter(source.getFrontMatter(record), source.getBody(record));
+        zipOutputStream.putNextEntry(new ZipEntry(source.getName() + "/" + source.getFileName(record) + ".md"));
+        zipOutputStream.write(markdown.getBytes(StandardCharsets.UTF_8));
+        zipOutputStream.closeEntry();
+    }
+
+    @Override
+    public void close() throws IOException {
+        // finish 只写入中央目录，不关闭底层输出流
+        zipOutputStream.finish();
+    }
+}
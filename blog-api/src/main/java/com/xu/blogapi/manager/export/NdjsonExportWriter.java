@@ -0,0 +1,39 @@
+package com.xu.blogapi.manager.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * NDJSON 导出写入器
+ * 每条记录序列化为一行 JSON，直接写入输出流
+ *
+ * @author xu
+ */
+public class NdjsonExportWriter<T> implements ExportWriter<T> {
+
+    private final ObjectMapper objectMapper;
+
+    private final JsonGenerator generator;
+
+    public NdjsonExportWriter(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+        this.objectMapper = objectMapper;
+        this.generator = objectMapper.getFactory().createGenerator(outputStream);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // 默认在根值之间插入空格，改为由 write 自己写换行
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(T record) throws IOException {
+        objectMapper.writeValue(generator, record);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,230 @@
+package com.xu.blogapi.manager.image;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.DigestUtils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+
+/**
+ * 按总大小淘汰的磁盘 LRU 缓存
+ * 文件名为键的 MD5，访问顺序保存在内存中，启动时按文件修改时间重建；超过上限时删除最久未访问的文件。
+ * 同一个键同时未命中时只有一个线程加载，其余线程等待其结果。
+ * 加载先写入临时文件再原子替换，读取方不会看到写了一半的文件
+ *
+ * @author xu
+ */
+@Slf4j
+public class DiskLruCache {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final int NAME_LENGTH = 32;
+
+    private final Path directory;
+
+    private final long maxBytes;
+
+    /**
+     * 文件名 -> 文件大小，按访问顺序排列
+     */
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    private long totalBytes;
+
+    /**
+     * 正在加载的键
+     */
+    private final Map<String, CompletableFuture<Path>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * 加载缓存内容
+     */
+    @FunctionalInterface
+    public interface Loader {
+
+        /**
+         * 把内容写入目标文件
+         *
+         * @param target 目标文件（已创建的空文件）
+         * @throws IOException 加载失败
+         */
+        void load(Path target) throws IOException;
+    }
+
+    public DiskLruCache(Path directory, long maxBytes) throws IOException {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(directory);
+        rebuild();
+    }
+
+    /**
+     * 获取缓存文件，未命中时加载
+     * 返回的文件可能在读取前被淘汰，读取时遇到 {@link java.nio.file.NoSuchFileException} 应重新获取
+     *
+     * @param key    键
+     * @param loader 未命中时的加载方法
+     * @return 缓存文件
+     * @throws IOException 加载失败
+     */
+    public Path get(String key, Loader loader) throws IOException {
+        String name = fileName(key);
+        Path cached = lookup(name);
+        if (cached != null) {
+            return cached;
+        }
+        CompletableFuture<Path> future = new CompletableFuture<>();
+        CompletableFuture<Path> existing = loading.putIfAbsent(name, future);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            // 上一个加载者可能在本次查找之后、登记之前刚刚完成
+            cached = lookup(name);
+            if (cached == null) {
+                cached = load(name, loader);
+            }
+            future.complete(cached);
+            return cached;
+        } catch (IOException | RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(name, future);
+        }
+    }
+
+    /**
+     * 移除缓存
+     *
+     * @param key 键
+     */
+    public synchronized void remove(String key) {
+        String name = fileName(key);
+        Long size = entries.remove(name);
+        if (size != null) {
+            totalBytes -= size;
+            delete(path(name));
+        }
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized Path lookup(String name) {
+        return entries.get(name) == null ? null : path(name);
+    }
+
+    private Path load(String name, Loader loader) throws IOException {
+        Path target = path(name);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), name, TEMP_SUFFIX);
+        try {
+            loader.load(temp);
+            long size = Files.size(temp);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            add(name, size);
+            return target;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private synchronized void add(String name, long size) {
+        Long previous = entries.put(name, size);
+        totalBytes += size - (previous == null ? 0 : previous);
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        // 保留刚加入的文件，即使它本身超过上限
+        while (totalBytes > maxBytes && entries.size() > 1 && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            iterator.remove();
+            totalBytes -= eldest.getValue();
+            delete(path(eldest.getKey()));
+        }
+    }
+
+    private void rebuild() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> stream = Files.walk(directory)) {
+            stream.filter(Files::isRegularFile).forEach(files::add);
+        }
+        List<Map.Entry<Path, BasicFileAttributes>> cached = new ArrayList<>(files.size());
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (name.endsWith(TEMP_SUFFIX)) {
+                // 上次退出时未完成的加载
+                delete(file);
+                continue;
+            }
+            if (name.length() != NAME_LENGTH) {
+                continue;
+            }
+            cached.add(new AbstractMap.SimpleEntry<>(file,
+                    Files.readAttributes(file, BasicFileAttributes.class)));
+        }
+        cached.sort(Comparator.comparing(entry -> entry.getValue().lastModifiedTime()));
+        for (Map.Entry<Path, BasicFileAttributes> entry : cached) {
+            add(entry.getKey().getFileName().toString(), entry.getValue().size());
+        }
+        log.info("disk cache {} loaded, {} files, {} bytes", directory, entries.size(), totalBytes);
+    }
+
+    private Path path(String name) {
+        return directory.resolve(name.substring(0, 2)).resolve(name);
+    }
+
+    private static String fileName(String key) {
+        return DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Path await(CompletableFuture<Path> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for cache load");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("delete cache file failed: {}", file, e);
+        }
+    }
+}
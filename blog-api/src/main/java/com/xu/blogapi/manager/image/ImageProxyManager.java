@@ -0,0 +1,258 @@
+package com.xu.blogapi.manager.image;
+
+import cn.hutool.core.io.FileUtil;
+import com.qcloud.cos.exception.CosServiceException;
+import com.xu.blogapi.common.ErrorCode;
+import com.xu.blogapi.config.ImageProxyProperties;
+import com.xu.blogapi.exception.BusinessException;
+import com.xu.blogapi.exception.ThrowUtils;
+import com.xu.blogapi.manager.CosManager;
+import com.xu.blogapi.model.enums.FileUploadBizEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import javax.imageio.ImageIO;
+import javax.servlet.http.HttpServletResponse;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 图片缩放代理
+ * 按请求的宽高和格式缩放对象存储中的图片，用于响应式图片的 srcset。
+ * 原图和缩放结果都放在磁盘 LRU 缓存中，同一原图的多个尺寸只下载一次，同一尺寸的并发请求只缩放一次；
+ * 宽高按步长向上取整，避免任意尺寸把缓存撑满。上传的对象键带随机前缀、内容不会变化，响应允许长期缓存
+ *
+ * @author xu
+ */
+@Slf4j
+@Component
+public class ImageProxyManager {
+
+    private static final List<String> SUPPORTED_SUFFIXES = Arrays.asList("jpg", "jpeg", "png", "bmp", "webp");
+
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private static final String ORIGINAL_PREFIX = "original:";
+
+    private static final String FORMAT_PNG = "png";
+
+    @Resource
+    private ImageProxyProperties imageProxyProperties;
+
+    @Resource
+    private CosManager cosManager;
+
+    private DiskLruCache cache;
+
+    private Semaphore renderPermits;
+
+    private boolean webpSupported;
+
+    @PostConstruct
+    public void init() {
+        try {
+            cache = new DiskLruCache(Paths.get(imageProxyProperties.getCacheDir()),
+                    imageProxyProperties.getMaxCacheBytes());
+        } catch (IOException e) {
+            throw new IllegalStateException("图片缓存目录不可用：" + imageProxyProperties.getCacheDir(), e);
+        }
+        renderPermits = new Semaphore(Math.max(1, imageProxyProperties.getRenderConcurrency()));
+        webpSupported = ImageIO.getImageWritersByFormatName(ImageVariantGenerator.FORMAT_WEBP).hasNext();
+    }
+
+    /**
+     * 输出缩放后的图片
+     *
+     * @param key      原图对象键
+     * @param width    最大宽度，为空时不限制
+     * @param height   最大高度，为空时不限制
+     * @param format   输出格式：jpeg、png、webp，为空时与原图一致
+     * @param response 响应
+     * @throws IOException 读取或写出失败
+     */
+    public void write(String key, Integer width, Integer height, String format, HttpServletResponse response)
+            throws IOException {
+        ThrowUtils.throwIf(!isAllowedKey(key), ErrorCode.PARAMS_ERROR, "图片地址错误");
+        String outputFormat = resolveFormat(key, format);
+        Integer boundWidth = normalize(width, imageProxyProperties.getMaxWidth());
+        Integer boundHeight = normalize(height, imageProxyProperties.getMaxHeight());
+        // 不缩放且格式相同时直接返回原图
+        boolean useOriginal = boundWidth == null && boundHeight == null && outputFormat.equals(suffixFormat(key));
+        String cacheKey = key + "?w=" + boundWidth + "&h=" + boundHeight + "&fmt=" + outputFormat;
+        // 文件可能在获取之后、打开之前被淘汰，重新获取一次
+        for (int attempt = 0; ; attempt++) {
+            Path path = useOriginal ? original(key)
+                    : cache.get(cacheKey, target -> render(key, boundWidth, boundHeight, outputFormat, target));
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                transfer(channel, outputFormat, response);
+                return;
+            } catch (NoSuchFileException e) {
+                if (attempt > 0) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private Path original(String key) throws IOException {
+        return cache.get(ORIGINAL_PREFIX + key, target -> {
+            try {
+                cosManager.getObject(key, target.toFile());
+            } catch (CosServiceException e) {
+                if (e.getStatusCode() == HttpServletResponse.SC_NOT_FOUND) {
+                    throw new BusinessException(ErrorCode.NOT_FOUND_ERROR, "图片不存在");
+                }
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * 打开原图；文件可能在获取之后、打开之前被淘汰，重新获取一次。打开后即使被淘汰删除也能继续读取
+     */
+    private FileChannel openOriginal(String key) throws IOException {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return FileChannel.open(original(key), StandardOpenOption.READ);
+            } catch (NoSuchFileException e) {
+                if (attempt > 0) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void render(String key, Integer width, Integer height, String format, Path target) throws IOException {
+        // 等待许可前先下载原图，下载不占用缩放许可
+        original(key);
+        try {
+            renderPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for render permit");
+        }
+        // 等待许可期间原图可能已被淘汰，取得许可后再打开，缩放期间一直持有打开的文件
+        try (FileChannel channel = openOriginal(key)) {
+            InputStream input = Channels.newInputStream(channel);
+            int[] size = ImageVariantGenerator.readSize(input);
+            ThrowUtils.throwIf(size == null, ErrorCode.PARAMS_ERROR, "无法识别的图片");
+            ThrowUtils.throwIf((long) size[0] * size[1] > imageProxyProperties.getMaxPixels(),
+                    ErrorCode.PARAMS_ERROR, "图片尺寸过大");
+            double scale = 1;
+            if (width != null) {
+                scale = Math.min(scale, (double) width / size[0]);
+            }
+            if (height != null) {
+                scale = Math.min(scale, (double) height / size[1]);
+            }
+            int targetWidth = Math.max(1, (int) Math.round(size[0] * scale));
+            channel.position(0);
+            BufferedImage image = ImageIO.read(input);
+            ThrowUtils.throwIf(image == null, ErrorCode.PARAMS_ERROR, "无法识别的图片");
+            if (targetWidth < image.getWidth()) {
+                image = ImageVariantGenerator.resize(image, targetWidth);
+            }
+            Files.write(target, ImageVariantGenerator.encode(image, format, imageProxyProperties.getQuality()));
+        } finally {
+            renderPermits.release();
+        }
+    }
+
+    private static void transfer(FileChannel channel, String format, HttpServletResponse response) throws IOException {
+        long size = channel.size();
+        response.setContentType("image/" + format);
+        response.setContentLengthLong(size);
+        response.setHeader("Cache-Control", CACHE_CONTROL);
+        WritableByteChannel output = Channels.newChannel(response.getOutputStream());
+        long position = 0;
+        while (position < size) {
+            position += channel.transferTo(position, size - position, output);
+        }
+    }
+
+    /**
+     * 只代理上传接口生成的图片，键形如 /{业务}/{用户ID}/{文件名}
+     */
+    static boolean isAllowedKey(String key) {
+        if (StringUtils.isBlank(key) || key.contains("..") || key.contains("\\")
+                || !SUPPORTED_SUFFIXES.contains(StringUtils.lowerCase(FileUtil.getSuffix(key)))) {
+            return false;
+        }
+        for (String biz : FileUploadBizEnum.getValues()) {
+            if (key.startsWith("/" + biz + "/")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String resolveFormat(String key, String format) {
+        if (StringUtils.isBlank(format)) {
+            return originalFormat(key);
+        }
+        String lowerFormat = "jpg".equalsIgnoreCase(format) ? ImageVariantGenerator.FORMAT_JPEG : format.toLowerCase();
+        switch (lowerFormat) {
+            case ImageVariantGenerator.FORMAT_JPEG:
+            case FORMAT_PNG:
+                return lowerFormat;
+            case ImageVariantGenerator.FORMAT_WEBP:
+                // 没有 WebP 编码器时返回 JPEG，Content-Type 如实标注，浏览器照常显示
+                return webpSupported ? lowerFormat : ImageVariantGenerator.FORMAT_JPEG;
+            default:
+                throw new BusinessException(ErrorCode.PARAMS_ERROR, "不支持的图片格式");
+        }
+    }
+
+    /**
+     * 不指定格式时的输出格式：与原图一致，原图格式无法编码时用 JPEG
+     */
+    private String originalFormat(String key) {
+        String format = suffixFormat(key);
+        if (format == null || ImageVariantGenerator.FORMAT_WEBP.equals(format) && !webpSupported) {
+            return ImageVariantGenerator.FORMAT_JPEG;
+        }
+        return format;
+    }
+
+    /**
+     * 原图后缀对应的格式，没有对应的输出格式时返回 null
+     */
+    private static String suffixFormat(String key) {
+        String suffix = StringUtils.lowerCase(FileUtil.getSuffix(key));
+        if ("jpg".equals(suffix) || ImageVariantGenerator.FORMAT_JPEG.equals(suffix)) {
+            return ImageVariantGenerator.FORMAT_JPEG;
+        }
+        if (FORMAT_PNG.equals(suffix) || ImageVariantGenerator.FORMAT_WEBP.equals(suffix)) {
+            return suffix;
+        }
+        return null;
+    }
+
+    /**
+     * 宽高按步长向上取整并限制上限
+     */
+    private Integer normalize(Integer value, int max) {
+        if (value == null) {
+            return null;
+        }
+        ThrowUtils.throwIf(value <= 0, ErrorCode.PARAMS_ERROR, "图片尺寸错误");
+        int step = Math.max(1, imageProxyProperties.getSizeStep());
+        return Math.min(max, (value + step - 1) / step * step);
+    }
+}
@@ -0,0 +1,26 @@
+package com.xu.blogapi.manager.image;
+
+import lombok.Data;
+
+/**
+ * 已上传的缩放版本，以 JSON 数组保存在 image_asset.variants
+ *
+ * @author xu
+ */
+@Data
+public class ImageVariant {
+
+    private Integer width;
+
+    private Integer height;
+
+    /**
+     * 格式：webp、jpeg
+     */
+    private String format;
+
+    /**
+     * 对象键
+     */
+    private String key;
+}
@@ -0,0 +1,259 @@
+package com.xu.blogapi.manager.image;
+
+import com.xu.blogapi.config.ImageVariantProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * 图片缩放版本生成
+ * 按配置的宽度等比缩小原图（不放大），每个宽度编码为 JPEG，类路径中有 ImageIO 的 WebP 插件时另编码一份 WebP；
+ * 同时生成几十像素宽的 JPEG 占位图，以 data URI 形式随尺寸一起保存
+ *
+ * @author xu
+ */
+public class ImageVariantGenerator {
+
+    public static final String FORMAT_JPEG = "jpeg";
+
+    public static final String FORMAT_WEBP = "webp";
+
+    private static final float PLACEHOLDER_QUALITY = 0.5f;
+
+    private final TreeSet<Integer> widths;
+
+    private final float quality;
+
+    private final int placeholderWidth;
+
+    private final long maxPixels;
+
+    private final boolean webpSupported;
+
+    public ImageVariantGenerator(ImageVariantProperties properties) {
+        this.widths = new TreeSet<>(properties.getWidths());
+        this.quality = properties.getQuality();
+        this.placeholderWidth = properties.getPlaceholderWidth();
+        this.maxPixels = properties.getMaxPixels();
+        this.webpSupported = ImageIO.getImageWritersByFormatName(FORMAT_WEBP).hasNext();
+    }
+
+    public boolean isWebpSupported() {
+        return webpSupported;
+    }
+
+    /**
+     * 生成缩放版本和占位图
+     *
+     * @param file 原图
+     * @return 生成结果，无法识别的图片格式返回 null
+     * @throws IOException 读取或编码失败
+     */
+    public Result generate(File file) throws IOException {
+        int[] size = readSize(file);
+        if (size == null) {
+            return null;
+        }
+        Result result = new Result(size[0], size[1], null, new ArrayList<>());
+        if ((long) size[0] * size[1] > maxPixels) {
+            return result;
+        }
+        BufferedImage source = ImageIO.read(file);
+        if (source == null) {
+            return null;
+        }
+        result.setPlaceholder("data:image/jpeg;base64," + Base64.getEncoder().encodeToString(
+                encode(resize(source, Math.min(placeholderWidth, source.getWidth())), FORMAT_JPEG, PLACEHOLDER_QUALITY)));
+        for (int width : widths) {
+            if (width <= 0 || width >= source.getWidth()) {
+                continue;
+            }
+            BufferedImage scaled = resize(source, width);
+            if (webpSupported) {
+                result.getVariants().add(new EncodedImage(scaled.getWidth(), scaled.getHeight(), FORMAT_WEBP,
+                        encode(scaled, FORMAT_WEBP, quality)));
+            }
+            result.getVariants().add(new EncodedImage(scaled.getWidth(), scaled.getHeight(), FORMAT_JPEG,
+                    encode(scaled, FORMAT_JPEG, quality)));
+        }
+        return result;
+    }
+
+    /**
+     * 只读取头部获取尺寸，不解码像素
+     *
+     * @return {宽度, 高度}，无法识别时返回 null
+     */
+    static int[] readSize(File file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file)) {
+            return readSize(input);
+        }
+    }
+
+    /**
+     * 从输入流读取尺寸，不关闭传入的流
+     *
+     * @return {宽度, 高度}，无法识别时返回 null
+     */
+    static int[] readSize(InputStream stream) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(stream)) {
+            return readSize(input);
+        }
+    }
+
+    private static int[] readSize(ImageInputStream input) throws IOException {
+        if (input == null) {
+            return null;
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        if (!readers.hasNext()) {
+            return null;
+        }
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(input, true, true);
+            return new int[]{reader.getWidth(0), reader.getHeight(0)};
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    /**
+     * 等比缩放到指定宽度
+     * 逐次减半再缩放到目标尺寸，单次双线性插值缩小倍数过大时会丢失细节、产生锯齿
+     */
+    static BufferedImage resize(BufferedImage source, int width) {
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+
+    /**
+     * 有损编码
+     */
+    static byte[] encode(BufferedImage image, String format, float quality) throws IOException {
+        if (FORMAT_JPEG.equals(format) && image.getColorModel().hasAlpha()) {
+            // JPEG 不支持透明通道，铺白色背景
+            BufferedImage opaque = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = opaque.createGraphics();
+            try {
+                graphics.drawImage(image, 0, 0, Color.WHITE, null);
+            } finally {
+                graphics.dispose();
+            }
+            image = opaque;
+        }
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) {
+            throw new IOException("No image writer for " + format);
+        }
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(imageOutput);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                String[] types = param.getCompressionTypes();
+                if (types != null && types.length > 0) {
+                    param.setCompressionType(lossyType(types));
+                }
+                param.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    private static String lossyType(String[] types) {
+        for (String type : types) {
+            if (type.toLowerCase().contains("lossy")) {
+                return type;
+            }
+        }
+        return types[0];
+    }
+
+    /**
+     * 生成结果
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Result {
+
+        /**
+         * 原图宽度
+         */
+        private int width;
+
+        /**
+         * 原图高度
+         */
+        private int height;
+
+        /**
+         * 占位图 data URI，原图超过像素上限时为空
+         */
+        private String placeholder;
+
+        /**
+         * 缩放版本，按宽度升序，同一宽度 WebP 在前
+         */
+        private List<EncodedImage> variants;
+    }
+
+    /**
+     * 编码后的缩放版本
+     */
+    @Data
+    @AllArgsConstructor
+    public static class EncodedImage {
+
+        private int width;
+
+        private int height;
+
+        private String format;
+
+        private byte[] data;
+    }
+}
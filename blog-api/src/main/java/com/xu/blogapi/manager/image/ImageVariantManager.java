@@ -0,0 +1,214 @@
+package com.xu.blogapi.manager.image;
+
+import cn.hutool.core.io.FileUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xu.blogapi.common.ErrorCode;
+import com.xu.blogapi.config.ImageVariantProperties;
+import com.xu.blogapi.constant.FileConstant;
+import com.xu.blogapi.exception.BusinessException;
+import com.xu.blogapi.manager.CosManager;
+import com.xu.blogapi.mapper.ImageAssetMapper;
+import com.xu.blogapi.model.entity.ImageAsset;
+import com.xu.blogapi.model.vo.ImageAssetVO;
+import com.xu.blogapi.model.vo.ImageVariantVO;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 图片缩放版本
+ * 上传接口保存原图后把临时文件交给有界线程池，由后台线程生成缩放版本和占位图、上传到对象存储并记录尺寸，
+ * 上传接口的耗时不变；队列满或处理失败时只有原图，前端按原图显示。
+ * 缩放版本的对象键为原图键加宽度后缀，如 /travel_image/1/abc-photo_640w.webp
+ *
+ * @author xu
+ */
+@Slf4j
+@Component
+public class ImageVariantManager {
+
+    private static final List<String> SUPPORTED_SUFFIXES = Arrays.asList("jpg", "jpeg", "png", "bmp", "webp");
+
+    private static final TypeReference<List<ImageVariant>> VARIANTS_TYPE = new TypeReference<List<ImageVariant>>() {
+    };
+
+    @Resource
+    private ImageVariantProperties imageVariantProperties;
+
+    @Resource
+    private CosManager cosManager;
+
+    @Resource
+    private ImageAssetMapper imageAssetMapper;
+
+    @Resource
+    private ObjectMapper objectMapper;
+
+    private ImageVariantGenerator generator;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        generator = new ImageVariantGenerator(imageVariantProperties);
+        if (!generator.isWebpSupported()) {
+            log.info("no ImageIO WebP writer on classpath, image variants are encoded as JPEG only");
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        int workerThreads = Math.max(1, imageVariantProperties.getWorkerThreads());
+        executor = new ThreadPoolExecutor(workerThreads, workerThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, imageVariantProperties.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variant-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 提交原图生成缩放版本
+     * 接受时临时文件被移走，由后台线程处理完后删除；调用方仍需清理未被接受的文件
+     *
+     * @param key  原图对象键
+     * @param file 原图临时文件
+     * @return 是否已接受
+     */
+    public boolean submit(String key, File file) {
+        if (!imageVariantProperties.isEnabled()
+                || !SUPPORTED_SUFFIXES.contains(StringUtils.lowerCase(FileUtil.getSuffix(key)))) {
+            return false;
+        }
+        File owned;
+        try {
+            owned = File.createTempFile("image-variant", null);
+            Files.move(file.toPath(), owned.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("image variant skipped, move temp file failed, key = {}", key, e);
+            return false;
+        }
+        try {
+            executor.execute(() -> process(key, owned));
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("image variant queue is full, key = {}", key);
+            FileUtil.del(owned);
+            return false;
+        }
+    }
+
+    /**
+     * 获取图片资源
+     *
+     * @param url 原图访问地址或对象键
+     * @return 图片资源
+     */
+    public ImageAssetVO getImageAsset(String url) {
+        if (StringUtils.isBlank(url)) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "图片地址不能为空");
+        }
+        String key = StringUtils.removeStart(url, FileConstant.COS_HOST);
+        ImageAsset asset = imageAssetMapper.selectOne(new LambdaQueryWrapper<ImageAsset>()
+                .eq(ImageAsset::getObjectKey, key));
+        if (asset == null) {
+            throw new BusinessException(ErrorCode.NOT_FOUND_ERROR, "图片尚未处理或不存在");
+        }
+        ImageAssetVO imageAssetVO = new ImageAssetVO();
+        imageAssetVO.setUrl(FileConstant.COS_HOST + asset.getObjectKey());
+        imageAssetVO.setWidth(asset.getWidth());
+        imageAssetVO.setHeight(asset.getHeight());
+        imageAssetVO.setPlaceholder(asset.getPlaceholder());
+        List<ImageVariantVO> variantVOList = new ArrayList<>();
+        for (ImageVariant variant : readVariants(asset.getVariants())) {
+            ImageVariantVO variantVO = new ImageVariantVO();
+            variantVO.setWidth(variant.getWidth());
+            variantVO.setHeight(variant.getHeight());
+            variantVO.setFormat(variant.getFormat());
+            variantVO.setUrl(FileConstant.COS_HOST + variant.getKey());
+            variantVOList.add(variantVO);
+        }
+        imageAssetVO.setVariants(variantVOList);
+        return imageAssetVO;
+    }
+
+    private void process(String key, File file) {
+        long startMillis = System.currentTimeMillis();
+        try {
+            ImageVariantGenerator.Result result = generator.generate(file);
+            if (result == null) {
+                log.info("image variant skipped, unreadable image, key = {}", key);
+                return;
+            }
+            List<ImageVariant> variants = new ArrayList<>(result.getVariants().size());
+            for (ImageVariantGenerator.EncodedImage image : result.getVariants()) {
+                String variantKey = variantKey(key, image.getWidth(), image.getFormat());
+                cosManager.putObject(variantKey, image.getData(), "image/" + image.getFormat());
+                ImageVariant variant = new ImageVariant();
+                variant.setWidth(image.getWidth());
+                variant.setHeight(image.getHeight());
+                variant.setFormat(image.getFormat());
+                variant.setKey(variantKey);
+                variants.add(variant);
+            }
+            ImageAsset asset = new ImageAsset();
+            asset.setObjectKey(key);
+            asset.setWidth(result.getWidth());
+            asset.setHeight(result.getHeight());
+            asset.setPlaceholder(result.getPlaceholder());
+            asset.setVariants(objectMapper.writeValueAsString(variants));
+            imageAssetMapper.upsert(asset);
+            log.info("image variants generated, key = {}, variants = {}, cost = {} ms", key, variants.size(),
+                    System.currentTimeMillis() - startMillis);
+        } catch (Exception e) {
+            log.error("image variant failed, key = {}", key, e);
+        } finally {
+            FileUtil.del(file);
+        }
+    }
+
+    /**
+     * 缩放版本的对象键：原图键去掉后缀，加上宽度和格式
+     */
+    static String variantKey(String key, int width, String format) {
+        String extension = ImageVariantGenerator.FORMAT_JPEG.equals(format) ? "jpg" : format;
+        return StringUtils.substringBeforeLast(key, ".") + "_" + width + "w." + extension;
+    }
+
+    private List<ImageVariant> readVariants(String json) {
+        if (StringUtils.isBlank(json)) {
+            return Collections.emptyList();
+        }
+        try {
+            return objectMapper.readValue(json, VARIANTS_TYPE);
+        } catch (JsonProcessingException e) {
+            log.warn("invalid image variants json: {}", json, e);
+            return Collections.emptyList();
+        }
+    }
+}
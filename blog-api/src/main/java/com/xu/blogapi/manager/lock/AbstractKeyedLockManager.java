@@ -0,0 +1,59 @@
+package com.xu.blogapi.manager.lock;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 按键加锁的公共流程：键去重排序、加锁、按事务边界释放
+ *
+ * @author xu
+ */
+public abstract class AbstractKeyedLockManager implements KeyedLockManager {
+
+    @Override
+    public <T> T executeWithLock(Collection<String> keys, Supplier<T> action) {
+        List<String> sortedKeys = keys.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+        if (sortedKeys.isEmpty()) {
+            return action.get();
+        }
+        Runnable release = acquire(sortedKeys);
+        // 事务中持锁到事务结束，否则锁释放后、提交前其他请求仍查不到新数据
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        release.run();
+                    }
+                });
+            } catch (RuntimeException e) {
+                release.run();
+                throw e;
+            }
+            return action.get();
+        }
+        try {
+            return action.get();
+        } finally {
+            release.run();
+        }
+    }
+
+    /**
+     * 按顺序获取所有键的锁
+     *
+     * @param sortedKeys 已排序的锁键
+     * @return 释放全部锁的操作
+     */
+    protected abstract Runnable acquire(List<String> sortedKeys);
+}
@@ -0,0 +1,35 @@
+package com.xu.blogapi.manager.lock;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.function.Supplier;
+
+/**
+ * 按键加锁
+ * 用于保护“先查重再写入”的唯一性校验，多个键按字典序加锁避免死锁；
+ * 在事务中调用时锁会持有到事务结束，保证其他请求看到的是已提交的数据
+ *
+ * @author xu
+ */
+public interface KeyedLockManager {
+
+    /**
+     * 持有单个键的锁执行操作
+     *
+     * @param key    锁键
+     * @param action 操作
+     * @return 操作结果
+     */
+    default <T> T executeWithLock(String key, Supplier<T> action) {
+        return executeWithLock(Collections.singletonList(key), action);
+    }
+
+    /**
+     * 同时持有多个键的锁执行操作
+     *
+     * @param keys   锁键
+     * @param action 操作
+     * @return 操作结果
+     */
+    <T> T executeWithLock(Collection<String> keys, Supplier<T> action);
+}
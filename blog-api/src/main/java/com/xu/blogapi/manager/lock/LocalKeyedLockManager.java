@@ -0,0 +1,49 @@
+package com.xu.blogapi.manager.lock;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 单机按键加锁
+ * 键哈希到固定数量的 ReentrantLock 分段上，不会像 intern 字符串那样占用常量池，也不会钉住虚拟线程
+ *
+ * @author xu
+ */
+@Component
+@ConditionalOnProperty(prefix = "blog.lock", name = "type", havingValue = "local", matchIfMissing = true)
+public class LocalKeyedLockManager extends AbstractKeyedLockManager {
+
+    /**
+     * 分段数
+     */
+    private static final int STRIPES = 256;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    public LocalKeyedLockManager() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    protected Runnable acquire(List<String> sortedKeys) {
+        // 不同键可能落在同一分段，按分段下标去重排序后加锁
+        TreeSet<Integer> stripes = new TreeSet<>();
+        for (String key : sortedKeys) {
+            stripes.add(Math.floorMod(key.hashCode(), STRIPES));
+        }
+        for (Integer stripe : stripes) {
+            locks[stripe].lock();
+        }
+        return () -> {
+            for (Integer stripe : stripes.descendingSet()) {
+                locks[stripe].unlock();
+            }
+        };
+    }
+}
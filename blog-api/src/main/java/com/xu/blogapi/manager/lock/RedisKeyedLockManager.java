@@ -0,0 +1,101 @@
+package com.xu.blogapi.manager.lock;
+
+import cn.hutool.core.util.IdUtil;
+import com.xu.blogapi.common.ErrorCode;
+import com.xu.blogapi.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 集群按键加锁
+ * 基于 Redis SET NX PX 的租约锁，释放时用 Lua 脚本校验持有者令牌，避免误删其他节点的锁
+ *
+ * @author xu
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "blog.lock", name = "type", havingValue = "redis")
+public class RedisKeyedLockManager extends AbstractKeyedLockManager {
+
+    private static final String KEY_PREFIX = "blog:lock:";
+
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 租约时长（毫秒），超过后锁自动失效，防止节点宕机导致死锁
+     */
+    @Value("${blog.lock.lease-millis:10000}")
+    private long leaseMillis;
+
+    /**
+     * 最长等待时间（毫秒）
+     */
+    @Value("${blog.lock.wait-millis:3000}")
+    private long waitMillis;
+
+    @Override
+    protected Runnable acquire(List<String> sortedKeys) {
+        String token = IdUtil.fastSimpleUUID();
+        List<String> acquired = new ArrayList<>(sortedKeys.size());
+        Runnable release = () -> {
+            List<String> reversed = new ArrayList<>(acquired);
+            Collections.reverse(reversed);
+            for (String redisKey : reversed) {
+                try {
+                    stringRedisTemplate.execute(RELEASE_SCRIPT, Collections.singletonList(redisKey), token);
+                } catch (Exception e) {
+                    log.warn("release redis lock failed, key = {}", redisKey, e);
+                }
+            }
+        };
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        try {
+            for (String key : sortedKeys) {
+                String redisKey = KEY_PREFIX + key;
+                tryLock(redisKey, token, deadline);
+                acquired.add(redisKey);
+            }
+        } catch (RuntimeException e) {
+            release.run();
+            throw e;
+        }
+        return release;
+    }
+
+    private void tryLock(String redisKey, String token, long deadline) {
+        long backoffMillis = 10;
+        while (true) {
+            Boolean success = stringRedisTemplate.opsForValue()
+                    .setIfAbsent(redisKey, token, Duration.ofMillis(leaseMillis));
+            if (Boolean.TRUE.equals(success)) {
+                return;
+            }
+            if (System.nanoTime() >= deadline) {
+                throw new BusinessException(ErrorCode.OPERATION_ERROR, "操作过于频繁，请稍后重试");
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(backoffMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BusinessException(ErrorCode.OPERATION_ERROR, "获取锁被中断");
+            }
+            backoffMillis = Math.min(backoffMillis * 2, 200);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.xu.blogapi.manager.migration;
+
+import lombok.Getter;
+import org.springframework.core.io.Resource;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * 迁移脚本
+ * 文件名格式为 V{版本号}__{说明}.sql，说明中的下划线显示为空格
+ *
+ * @author xu
+ */
+@Getter
+public final class SchemaMigration implements Comparable<SchemaMigration> {
+
+    private static final Pattern FILE_NAME_PATTERN = Pattern.compile("V(\\d+)__(.+)\\.sql");
+
+    private final int version;
+
+    private final String description;
+
+    private final Resource resource;
+
+    /**
+     * 脚本内容的 CRC32，用于发现已执行的脚本被修改
+     */
+    private final long checksum;
+
+    private SchemaMigration(int version, String description, Resource resource, long checksum) {
+        this.version = version;
+        this.description = description;
+        this.resource = resource;
+        this.checksum = checksum;
+    }
+
+    /**
+     * 从脚本文件创建
+     *
+     * @param resource 脚本文件
+     * @return 迁移脚本
+     * @throws IOException 读取失败
+     */
+    public static SchemaMigration of(Resource resource) throws IOException {
+        String fileName = resource.getFilename();
+        Matcher matcher = FILE_NAME_PATTERN.matcher(fileName == null ? "" : fileName);
+        if (!matcher.matches()) {
+            throw new IllegalStateException("迁移脚本文件名格式应为 V{版本号}__{说明}.sql：" + fileName);
+        }
+        String content;
+        try (InputStream inputStream = resource.getInputStream()) {
+            content = StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
+        }
+        // 忽略换行符差异，避免不同系统检出的同一脚本校验值不同
+        CRC32 crc32 = new CRC32();
+        crc32.update(content.replace("\r", "").getBytes(StandardCharsets.UTF_8));
+        return new SchemaMigration(Integer.parseInt(matcher.group(1)), matcher.group(2).replace('_', ' '),
+                resource, crc32.getValue());
+    }
+
+    @Override
+    public int compareTo(SchemaMigration other) {
+        return Integer.compare(version, other.version);
+    }
+
+    @Override
+    public String toString() {
+        return "V" + version + " " + description;
+    }
+}
@@ -0,0 +1,172 @@
+package com.xu.blogapi.manager.migration;
+
+import com.xu.blogapi.config.SchemaMigrationProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 数据库结构迁移
+ * 启动时按版本号顺序执行 db/migration 下未执行过的脚本，执行记录保存在 schema_migration 表；
+ * 多个节点同时启动时通过 MySQL 命名锁保证只有一个节点执行。
+ * 迁移失败或已执行的脚本被修改时中止启动，避免应用在结构不一致的库上运行
+ *
+ * @author xu
+ */
+@Slf4j
+@Component
+public class SchemaMigrationManager {
+
+    private static final String LOCK_NAME = "blog_schema_migration";
+
+    private static final String CREATE_HISTORY_TABLE_SQL = "CREATE TABLE IF NOT EXISTS `schema_migration` ("
+            + "`version` INT NOT NULL COMMENT '版本号', "
+            + "`description` VARCHAR(200) NOT NULL COMMENT '说明', "
+            + "`checksum` BIGINT DEFAULT NULL COMMENT '脚本CRC32，建表脚本中已包含的版本为空', "
+            + "`execution_millis` BIGINT DEFAULT NULL COMMENT '执行耗时（毫秒）', "
+            + "`installed_time` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '执行时间', "
+            + "PRIMARY KEY (`version`)"
+            + ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='数据库结构迁移记录表'";
+
+    @Resource
+    private DataSource dataSource;
+
+    @Resource
+    private SchemaMigrationProperties schemaMigrationProperties;
+
+    @PostConstruct
+    public void init() {
+        if (!schemaMigrationProperties.isEnabled()) {
+            return;
+        }
+        List<SchemaMigration> migrations = loadMigrations();
+        try (Connection connection = dataSource.getConnection()) {
+            acquireLock(connection);
+            try {
+                migrate(connection, migrations);
+            } finally {
+                releaseLock(connection);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("数据库结构迁移失败", e);
+        }
+    }
+
+    /**
+     * 加载迁移脚本，按版本号排序
+     */
+    List<SchemaMigration> loadMigrations() {
+        try {
+            org.springframework.core.io.Resource[] resources = new PathMatchingResourcePatternResolver()
+                    .getResources(schemaMigrationProperties.getLocations());
+            List<SchemaMigration> migrations = new ArrayList<>(resources.length);
+            for (org.springframework.core.io.Resource resource : resources) {
+                migrations.add(SchemaMigration.of(resource));
+            }
+            Collections.sort(migrations);
+            for (int i = 1; i < migrations.size(); i++) {
+                if (migrations.get(i).getVersion() == migrations.get(i - 1).getVersion()) {
+                    throw new IllegalStateException("迁移脚本版本号重复：" + migrations.get(i - 1) + "，"
+                            + migrations.get(i));
+                }
+            }
+            return migrations;
+        } catch (IOException e) {
+            throw new IllegalStateException("读取迁移脚本失败", e);
+        }
+    }
+
+    private void migrate(Connection connection, List<SchemaMigration> migrations) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_HISTORY_TABLE_SQL);
+        }
+        Map<Integer, Long> applied = loadApplied(connection);
+        int appliedCount = 0;
+        for (SchemaMigration migration : migrations) {
+            if (applied.containsKey(migration.getVersion())) {
+                Long checksum = applied.remove(migration.getVersion());
+                if (checksum != null && checksum != migration.getChecksum()) {
+                    throw new IllegalStateException("迁移脚本 " + migration + " 执行后被修改，请改为新增脚本");
+                }
+                continue;
+            }
+            log.info("applying schema migration {}", migration);
+            long startMillis = System.currentTimeMillis();
+            try {
+                ScriptUtils.executeSqlScript(connection,
+                        new EncodedResource(migration.getResource(), StandardCharsets.UTF_8));
+            } catch (Exception e) {
+                // MySQL 的 DDL 会隐式提交，失败前已执行的语句不会回滚，需要人工处理后再启动
+                throw new IllegalStateException("迁移脚本 " + migration + " 执行失败，请检查后手动修复", e);
+            }
+            long executionMillis = System.currentTimeMillis() - startMillis;
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO schema_migration (version, description, checksum, execution_millis) VALUES (?, ?, ?, ?)")) {
+                statement.setInt(1, migration.getVersion());
+                statement.setString(2, migration.getDescription());
+                statement.setLong(3, migration.getChecksum());
+                statement.setLong(4, executionMillis);
+                statement.executeUpdate();
+            }
+            appliedCount++;
+            log.info("schema migration {} applied in {} ms", migration, executionMillis);
+        }
+        if (!applied.isEmpty()) {
+            log.warn("database has schema migrations unknown to this version: {}", applied.keySet());
+        }
+        if (appliedCount == 0) {
+            log.info("schema is up to date, {} migrations", migrations.size());
+        }
+    }
+
+    private Map<Integer, Long> loadApplied(Connection connection) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT version, checksum FROM schema_migration")) {
+            while (resultSet.next()) {
+                long checksum = resultSet.getLong(2);
+                applied.put(resultSet.getInt(1), resultSet.wasNull() ? null : checksum);
+            }
+        }
+        return applied;
+    }
+
+    private void acquireLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            statement.setString(1, LOCK_NAME);
+            statement.setInt(2, schemaMigrationProperties.getLockTimeoutSeconds());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next() || resultSet.getInt(1) != 1) {
+                    throw new IllegalStateException("等待数据库结构迁移锁超时，可能有其他节点正在迁移");
+                }
+            }
+        }
+    }
+
+    private void releaseLock(Connection connection) {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, LOCK_NAME);
+            statement.execute();
+        } catch (SQLException e) {
+            log.warn("release schema migration lock failed", e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.xu.blogapi.manager.purge;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 逻辑删除数据清理目标
+ * 按顺序清理：先清理文章，分类被引用检查才能看到已删除文章释放的引用
+ *
+ * @author xu
+ */
+@Getter
+public enum PurgeTarget {
+
+    ARTICLE("article", null,
+            new ChildTable("article_tag", "article_id"),
+            new ChildTable("article_revision", "article_id"),
+            new ChildTable("article_render", "article_id")),
+
+    TAG("tag", null, new ChildTable("article_tag", "tag_id")),
+
+    /**
+     * 外键为 ON DELETE SET NULL，仍被文章（包括保留期内的已删除文章）引用的分类暂不清理，避免文章丢失分类
+     */
+    CATEGORY("category", "NOT EXISTS (SELECT 1 FROM article WHERE article.category_id = category.id)"),
+
+    TECH_STACK("tech_stack", null),
+
+    THOUGHT("thought", null),
+
+    TRAVEL("travel", null),
+
+    PROJECT("project", null);
+
+    /**
+     * 不参与清理的逻辑删除表：user 被内容表以 ON DELETE CASCADE 引用，物理删除会连带删除其全部内容
+     */
+    public static final List<String> EXCLUDED_TABLES = Collections.singletonList("user");
+
+    private final String table;
+
+    /**
+     * 附加条件，满足时才清理，null 表示无
+     */
+    private final String referenceSql;
+
+    /**
+     * 关联表，先于主表按主键删除
+     */
+    private final List<ChildTable> children;
+
+    PurgeTarget(String table, String referenceSql, ChildTable... children) {
+        this.table = table;
+        this.referenceSql = referenceSql;
+        this.children = Arrays.asList(children);
+    }
+
+    /**
+     * 关联表
+     */
+    @Getter
+    public static class ChildTable {
+
+        private final String table;
+
+        private final String column;
+
+        ChildTable(String table, String column) {
+            this.table = table;
+            this.column = column;
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.xu.blogapi.manager.purge;
+
+import cn.hutool.core.util.IdUtil;
+import com.xu.blogapi.config.SoftDeletePurgeProperties;
+import com.xu.blogapi.mapper.SoftDeletePurgeMapper;
+import com.xu.blogapi.model.vo.SoftDeletePurgeProgressVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 逻辑删除数据清理
+ * 后台按主键范围分块扫描逻辑删除超过保留天数的记录，每块在一个短事务中先删除关联表再删除主表，
+ * 块之间停顿；删除前以 FOR UPDATE 按主键重新确认清理条件，扫描后被恢复或修改的记录不会被删除。
+ * 扫描只按主键范围进行，不做整表的条件扫描，每个事务只锁定一块内的少量行。
+ * 直接执行 SQL，不经过实体 Mapper，被清理的记录早已不可见，不产生数据表变更事件。
+ * 集群中通过 Redis 租约保证同一时间只有一个节点在清理
+ *
+ * @author xu
+ */
+@Slf4j
+@Component
+public class SoftDeletePurgeManager {
+
+    /**
+     * 清理租约键
+     */
+    private static final String LEASE_KEY = "blog:soft-delete-purge:lease";
+
+    /**
+     * 租约时长
+     */
+    private static final long LEASE_MILLIS = 60_000;
+
+    /**
+     * 续约间隔，每块处理后检查，距上次续约超过该时长即续约；空块也会检查，长时间的空扫描不会让租约过期
+     */
+    private static final long RENEW_INTERVAL_MILLIS = LEASE_MILLIS / 3;
+
+    private static final DefaultRedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+            Long.class);
+
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    @Resource
+    private SoftDeletePurgeMapper softDeletePurgeMapper;
+
+    @Resource
+    private SoftDeletePurgeProperties softDeletePurgeProperties;
+
+    @Resource
+    private TransactionTemplate transactionTemplate;
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+
+    private final String nodeToken = IdUtil.fastSimpleUUID();
+
+    private ScheduledExecutorService purgeExecutor;
+
+    private volatile boolean running;
+
+    private volatile boolean stopRequested;
+
+    private volatile String currentTable;
+
+    private volatile long lastId;
+
+    private volatile long maxId;
+
+    private volatile LocalDateTime cutoffTime;
+
+    private volatile LocalDateTime startTime;
+
+    private volatile LocalDateTime finishTime;
+
+    private volatile String message;
+
+    private long lastRenewNanos;
+
+    private final Map<String, AtomicLong> purgedCounts = new ConcurrentHashMap<>();
+
+    private final AtomicLong childRowCount = new AtomicLong();
+
+    private final AtomicLong chunkCount = new AtomicLong();
+
+    private final AtomicLong conflictCount = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        purgeExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "soft-delete-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 应用启动完成后开始定时清理
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void schedule() {
+        if (!softDeletePurgeProperties.isEnabled()) {
+            return;
+        }
+        long intervalMinutes = TimeUnit.HOURS.toMinutes(Math.max(1, softDeletePurgeProperties.getIntervalHours()));
+        purgeExecutor.scheduleWithFixedDelay(() -> {
+            if (begin()) {
+                purge();
+            }
+        }, softDeletePurgeProperties.getInitialDelayMinutes(), intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        stopRequested = true;
+        purgeExecutor.shutdownNow();
+    }
+
+    /**
+     * 立即执行一次清理
+     *
+     * @return 是否启动（已在运行时返回 false）
+     */
+    public boolean start() {
+        if (!begin()) {
+            return false;
+        }
+        purgeExecutor.execute(this::purge);
+        return true;
+    }
+
+    /**
+     * 停止清理，当前块处理完后退出
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    public SoftDeletePurgeProgressVO getProgress() {
+        SoftDeletePurgeProgressVO progressVO = new SoftDeletePurgeProgressVO();
+        progressVO.setRunning(running);
+        progressVO.setCurrentTable(currentTable);
+        progressVO.setLastId(lastId);
+        progressVO.setMaxId(maxId);
+        progressVO.setCutoffTime(cutoffTime);
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (PurgeTarget target : PurgeTarget.values()) {
+            AtomicLong count = purgedCounts.get(target.getTable());
+            counts.put(target.getTable(), count == null ? 0 : count.get());
+        }
+        progressVO.setPurgedCounts(counts);
+        progressVO.setChildRowCount(childRowCount.get());
+        progressVO.setChunkCount(chunkCount.get());
+        progressVO.setConflictCount(conflictCount.get());
+        progressVO.setStartTime(startTime);
+        progressVO.setFinishTime(finishTime);
+        progressVO.setMessage(message);
+        return progressVO;
+    }
+
+    private synchronized boolean begin() {
+        if (running) {
+            return false;
+        }
+        running = true;
+        stopRequested = false;
+        currentTable = null;
+        lastId = 0;
+        maxId = 0;
+        cutoffTime = LocalDateTime.now().minusDays(Math.max(1, softDeletePurgeProperties.getRetentionDays()));
+        startTime = LocalDateTime.now();
+        finishTime = null;
+        message = null;
+        purgedCounts.clear();
+        childRowCount.set(0);
+        chunkCount.set(0);
+        conflictCount.set(0);
+        return true;
+    }
+
+    private void purge() {
+        boolean leased = false;
+        try {
+            leased = Boolean.TRUE.equals(stringRedisTemplate.opsForValue()
+                    .setIfAbsent(LEASE_KEY, nodeToken, Duration.ofMillis(LEASE_MILLIS)));
+            if (!leased) {
+                message = "其他节点正在清理";
+                return;
+            }
+            lastRenewNanos = System.nanoTime();
+            Date before = Date.from(cutoffTime.atZone(ZoneId.systemDefault()).toInstant());
+            for (PurgeTarget target : PurgeTarget.values()) {
+                currentTable = target.getTable();
+                lastId = 0;
+                purgeTable(target, before);
+                if (stopRequested) {
+                    message = "已停止";
+                    return;
+                }
+            }
+            message = "已完成";
+            log.info("soft delete purge finished, purged = {}, child rows = {}", purgedCounts, childRowCount.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            message = "已中断";
+        } catch (Exception e) {
+            log.error("soft delete purge failed, table = {}, lastId = {}", currentTable, lastId, e);
+            message = "清理失败：" + e.getMessage();
+        } finally {
+            if (leased) {
+                releaseLease();
+            }
+            finishTime = LocalDateTime.now();
+            running = false;
+        }
+    }
+
+    private void purgeTable(PurgeTarget target, Date before) throws InterruptedException {
+        String table = target.getTable();
+        // 只清理本次开始时已存在的记录，新插入的记录不可能满足保留期条件
+        maxId = softDeletePurgeMapper.selectMaxId(table);
+        int chunkSize = Math.max(1, softDeletePurgeProperties.getChunkSize());
+        while (!stopRequested && lastId < maxId) {
+            long toId = Math.min(lastId + chunkSize, maxId);
+            List<Long> ids = softDeletePurgeMapper.selectPurgeableIds(table, lastId, toId, before, target.getReferenceSql());
+            if (!ids.isEmpty()) {
+                purgeChunk(target, ids, before);
+                chunkCount.incrementAndGet();
+                Thread.sleep(softDeletePurgeProperties.getPauseMillis());
+            }
+            lastId = toId;
+            renewLeaseIfDue();
+        }
+    }
+
+    /**
+     * 在一个短事务中删除一块记录及其关联表数据
+     */
+    private void purgeChunk(PurgeTarget target, List<Long> ids, Date before) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> lockedIds = softDeletePurgeMapper.lockPurgeableIds(target.getTable(), ids, before,
+                    target.getReferenceSql());
+            conflictCount.addAndGet(ids.size() - lockedIds.size());
+            if (lockedIds.isEmpty()) {
+                return;
+            }
+            for (PurgeTarget.ChildTable child : target.getChildren()) {
+                childRowCount.addAndGet(softDeletePurgeMapper.deleteByColumn(child.getTable(), child.getColumn(), lockedIds));
+            }
+            int deleted = softDeletePurgeMapper.deleteByColumn(target.getTable(), "id", lockedIds);
+            purgedCounts.computeIfAbsent(target.getTable(), key -> new AtomicLong()).addAndGet(deleted);
+        });
+    }
+
+    private void renewLeaseIfDue() {
+        long now = System.nanoTime();
+        if (TimeUnit.NANOSECONDS.toMillis(now - lastRenewNanos) < RENEW_INTERVAL_MILLIS) {
+            return;
+        }
+        lastRenewNanos = now;
+        Long renewed = stringRedisTemplate.execute(RENEW_SCRIPT, Collections.singletonList(LEASE_KEY), nodeToken,
+                String.valueOf(LEASE_MILLIS));
+        if (renewed == null || renewed == 0) {
+            // 租约已过期并可能被其他节点取得，停止本次清理，剩余部分由下次清理继续
+            log.warn("soft delete purge lease lost, stop");
+            stopRequested = true;
+        }
+    }
+
+    private void releaseLease() {
+        try {
+            stringRedisTemplate.execute(RELEASE_SCRIPT, Collections.singletonList(LEASE_KEY), nodeToken);
+        } catch (Exception e) {
+            log.warn("release soft delete purge lease failed", e);
+        }
+    }
+}
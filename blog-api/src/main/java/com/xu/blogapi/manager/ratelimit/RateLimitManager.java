@@ -0,0 +1,161 @@
+package com.xu.blogapi.manager.ratelimit;
+
+import cn.hutool.core.util.IdUtil;
+import com.xu.blogapi.annotation.RateLimit;
+import com.xu.blogapi.config.RateLimitProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 接口限流
+ * 本机令牌桶（{@link TokenBucket}）无锁判断，挡住单节点上的突发请求；
+ * 通过后再用 Redis 有序集合做滑动窗口，统计整个集群内的请求数。
+ * Redis 不可用时跳过集群限流，不影响正常请求
+ *
+ * @author xu
+ */
+@Slf4j
+@Component
+public class RateLimitManager {
+
+    private static final String KEY_PREFIX = "blog:rate-limit:";
+
+    /**
+     * 空闲令牌桶清理间隔
+     */
+    private static final long CLEANUP_INTERVAL_SECONDS = 60;
+
+    /**
+     * 滑动窗口：移除窗口外的记录，未超限时记录本次请求并返回 0，超限时返回需要等待的毫秒数
+     */
+    private static final DefaultRedisScript<Long> SLIDING_WINDOW_SCRIPT = new DefaultRedisScript<>(
+            "local now = tonumber(ARGV[1]) "
+                    + "local window = tonumber(ARGV[2]) "
+                    + "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window) "
+                    + "if redis.call('ZCARD', KEYS[1]) < tonumber(ARGV[3]) then "
+                    + "redis.call('ZADD', KEYS[1], now, ARGV[4]) "
+                    + "redis.call('PEXPIRE', KEYS[1], window) "
+                    + "return 0 "
+                    + "end "
+                    + "local oldest = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES') "
+                    + "return math.max(1, tonumber(oldest[2]) + window - now)",
+            Long.class);
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Resource
+    private RateLimitProperties rateLimitProperties;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean cleaning = new AtomicBoolean();
+
+    /**
+     * 滑动窗口成员的唯一标识：节点ID + 序号
+     */
+    private final String nodeId = IdUtil.fastSimpleUUID();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ScheduledExecutorService cleanupExecutor;
+
+    @PostConstruct
+    public void init() {
+        cleanupExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-limit-cleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        cleanupExecutor.scheduleWithFixedDelay(this::cleanup, CLEANUP_INTERVAL_SECONDS, CLEANUP_INTERVAL_SECONDS,
+                TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        cleanupExecutor.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return rateLimitProperties.isEnabled();
+    }
+
+    /**
+     * 尝试通过限流
+     *
+     * @param key       限流键（接口 + 客户端）
+     * @param rateLimit 限流配置
+     * @return 0 表示通过，否则为建议的重试等待毫秒数
+     */
+    public long tryAcquire(String key, RateLimit rateLimit) {
+        long nowNanos = System.nanoTime();
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= rateLimitProperties.getMaxLocalBuckets()) {
+                cleanup();
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(rateLimit.rate(), rateLimit.burst(), nowNanos));
+        }
+        long waitNanos = bucket.tryAcquire(nowNanos);
+        if (waitNanos > 0) {
+            return Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        }
+        if (rateLimit.windowLimit() <= 0 || !rateLimitProperties.isClusterEnabled()) {
+            return 0;
+        }
+        return tryAcquireCluster(key, rateLimit);
+    }
+
+    /**
+     * 当前本机令牌桶数量
+     *
+     * @return 令牌桶数量
+     */
+    public int getLocalBucketCount() {
+        return buckets.size();
+    }
+
+    private long tryAcquireCluster(String key, RateLimit rateLimit) {
+        try {
+            Long waitMillis = stringRedisTemplate.execute(SLIDING_WINDOW_SCRIPT,
+                    Collections.singletonList(KEY_PREFIX + key),
+                    String.valueOf(System.currentTimeMillis()),
+                    String.valueOf(TimeUnit.SECONDS.toMillis(rateLimit.windowSeconds())),
+                    String.valueOf(rateLimit.windowLimit()),
+                    nodeId + ":" + sequence.incrementAndGet());
+            return waitMillis == null ? 0 : waitMillis;
+        } catch (Exception e) {
+            log.warn("cluster rate limit failed, key = {}", key, e);
+            return 0;
+        }
+    }
+
+    /**
+     * 丢弃已满的令牌桶，下次请求时按新桶创建，结果相同
+     */
+    private void cleanup() {
+        if (!cleaning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long nowNanos = System.nanoTime();
+            buckets.values().removeIf(bucket -> bucket.isIdle(nowNanos));
+        } finally {
+            cleaning.set(false);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.xu.blogapi.manager.ratelimit;
+
+/**
+ * 限流维度
+ *
+ * @author xu
+ */
+public enum RateLimitType {
+
+    /**
+     * 按客户端 IP
+     */
+    IP,
+
+    /**
+     * 按登录用户，未登录时按 IP
+     */
+    USER
+}
@@ -0,0 +1,66 @@
+package com.xu.blogapi.manager.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 无锁令牌桶
+ * 采用 GCRA 算法：只记录"理论到达时间"，每个请求把它向后推一个发放间隔，
+ * 超出当前时间一个桶容量以上时拒绝；一次 CAS 完成判断和扣减，不需要加锁
+ *
+ * @author xu
+ */
+public final class TokenBucket {
+
+    /**
+     * 发放一个令牌的间隔（纳秒）
+     */
+    private final long intervalNanos;
+
+    /**
+     * 允许提前消耗的时长（纳秒），对应桶容量
+     */
+    private final long toleranceNanos;
+
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param rate     每秒补充的令牌数
+     * @param burst    桶容量
+     * @param nowNanos 当前时间（纳秒），新建的桶是满的
+     */
+    public TokenBucket(double rate, int burst, long nowNanos) {
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / rate));
+        this.toleranceNanos = intervalNanos * (Math.max(burst, 1) - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * 尝试获取一个令牌
+     *
+     * @param nowNanos 当前时间（纳秒）
+     * @return 0 表示获取成功，否则为需要等待的纳秒数
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long base = arrival - nowNanos > 0 ? arrival : nowNanos;
+            long waitNanos = base - nowNanos - toleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, base + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 桶是否已满（一段时间没有请求），满的桶可以丢弃，下次按新桶创建
+     *
+     * @param nowNanos 当前时间（纳秒）
+     * @return 是否已满
+     */
+    public boolean isIdle(long nowNanos) {
+        return theoreticalArrival.get() - nowNanos <= 0;
+    }
+}
@@ -0,0 +1,119 @@
+package com.xu.blogapi.manager.redis;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xu.blogapi.utils.Lz4Utils;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 紧凑的 Redis 值序列化器
+ * 二进制格式的数据以 3 字节头部开头：魔数 0xB1（UTF-8 文本不会以该字节开头）、格式编号、标志位，
+ * 编码后超过阈值时再做 LZ4 压缩（节省不到 10% 时保留原数据）。
+ * 不以魔数开头的数据交给原有的 JSON 序列化器读取，切换格式前写入的数据无需迁移
+ *
+ * @author xu
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xB1;
+
+    static final int HEADER_LENGTH = 3;
+
+    /**
+     * 标志位：LZ4 压缩
+     */
+    static final byte FLAG_LZ4 = 1;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final RedisSerializer<Object> jsonSerializer;
+
+    private final Map<RedisCodecFormat, ObjectMapper> binaryMappers = new EnumMap<>(RedisCodecFormat.class);
+
+    private final RedisCodecFormat writeFormat;
+
+    private final int compressThreshold;
+
+    /**
+     * @param jsonSerializer    原有的 JSON 序列化器，用于读取旧数据和 json 格式的写入
+     * @param mapperFactory     按解析工厂创建 ObjectMapper，配置（类型信息、模块等）应与 JSON 序列化器一致
+     * @param writeFormat       写入格式
+     * @param compressThreshold 压缩阈值（字节），小于等于 0 时不压缩
+     */
+    public CompactRedisSerializer(RedisSerializer<Object> jsonSerializer,
+                                  Function<JsonFactory, ObjectMapper> mapperFactory,
+                                  RedisCodecFormat writeFormat, int compressThreshold) {
+        this.jsonSerializer = jsonSerializer;
+        this.writeFormat = writeFormat;
+        this.compressThreshold = compressThreshold;
+        for (RedisCodecFormat format : RedisCodecFormat.values()) {
+            JsonFactory factory = format.createFactory();
+            if (factory != null) {
+                binaryMappers.put(format, mapperFactory.apply(factory));
+            }
+        }
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return EMPTY;
+        }
+        ObjectMapper mapper = binaryMappers.get(writeFormat);
+        if (mapper == null) {
+            return jsonSerializer.serialize(value);
+        }
+        byte[] encoded;
+        try {
+            encoded = mapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write " + writeFormat.getValue() + ": " + e.getMessage(), e);
+        }
+        if (compressThreshold > 0 && encoded.length >= compressThreshold) {
+            byte[] compressed = Lz4Utils.compress(encoded, header(FLAG_LZ4));
+            if (compressed.length < encoded.length * 0.9) {
+                return compressed;
+            }
+        }
+        byte[] result = new byte[HEADER_LENGTH + encoded.length];
+        System.arraycopy(header((byte) 0), 0, result, 0, HEADER_LENGTH);
+        System.arraycopy(encoded, 0, result, HEADER_LENGTH, encoded.length);
+        return result;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return jsonSerializer.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_LENGTH) {
+            throw new SerializationException("Malformed redis value: header truncated");
+        }
+        RedisCodecFormat format = RedisCodecFormat.ofCode(bytes[1]);
+        ObjectMapper mapper = format == null ? null : binaryMappers.get(format);
+        if (mapper == null) {
+            throw new SerializationException("Unknown redis value format: " + bytes[1]);
+        }
+        try {
+            if ((bytes[2] & FLAG_LZ4) != 0) {
+                return mapper.readValue(Lz4Utils.decompress(bytes, HEADER_LENGTH), Object.class);
+            }
+            return mapper.readValue(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH, Object.class);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new SerializationException("Could not read " + format.getValue() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private byte[] header(byte flags) {
+        return new byte[]{MAGIC, writeFormat.getCode(), flags};
+    }
+}
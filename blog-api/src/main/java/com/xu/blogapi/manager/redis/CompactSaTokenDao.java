@@ -0,0 +1,209 @@
+package com.xu.blogapi.manager.redis;
+
+import cn.dev33.satoken.dao.SaSessionForJacksonCustomized;
+import cn.dev33.satoken.dao.SaTokenDao;
+import cn.dev33.satoken.dao.SaTokenDaoRedisJackson;
+import cn.dev33.satoken.strategy.SaStrategy;
+import cn.dev33.satoken.util.SaFoxUtil;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.TypeResolverBuilder;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalTimeDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalTimeSerializer;
+import com.xu.blogapi.config.RedisCodecProperties;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sa-Token 持久层
+ * 替换 sa-token-redis-jackson 的 JSON 存储：会话等对象使用 {@link CompactRedisSerializer} 编码，
+ * 类型信息和 JSON 配置与原实现一致，升级前写入的 JSON 会话照常读取；token 等字符串值不变
+ *
+ * @author xu
+ */
+@Primary
+@Component
+public class CompactSaTokenDao implements SaTokenDao {
+
+    @Resource
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Resource
+    private RedisCodecProperties redisCodecProperties;
+
+    private RedisTemplate<String, Object> objectRedisTemplate;
+
+    @PostConstruct
+    public void init() {
+        // 与 sa-token-redis-jackson 相同：会话反序列化为忽略 timeout 属性的子类
+        SaStrategy.instance.createSession = SaSessionForJacksonCustomized::new;
+        objectRedisTemplate = new RedisTemplate<>();
+        objectRedisTemplate.setConnectionFactory(redisConnectionFactory);
+        objectRedisTemplate.setKeySerializer(new StringRedisSerializer());
+        objectRedisTemplate.setValueSerializer(createSerializer(redisCodecProperties));
+        objectRedisTemplate.afterPropertiesSet();
+    }
+
+    /**
+     * 创建会话序列化器，JSON 部分与 sa-token-redis-jackson 的配置一致
+     *
+     * @param redisCodecProperties 编码配置
+     * @return 序列化器
+     */
+    static CompactRedisSerializer createSerializer(RedisCodecProperties redisCodecProperties) {
+        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer();
+        Field mapperField = ReflectionUtils.findField(GenericJackson2JsonRedisSerializer.class, "mapper");
+        ReflectionUtils.makeAccessible(mapperField);
+        ObjectMapper jsonMapper = (ObjectMapper) ReflectionUtils.getField(mapperField, jsonSerializer);
+        configure(jsonMapper);
+        TypeResolverBuilder<?> typer = jsonMapper.getSerializationConfig().getDefaultTyper(null);
+        return new CompactRedisSerializer(jsonSerializer, (JsonFactory factory) -> {
+            ObjectMapper mapper = new ObjectMapper(factory);
+            mapper.setDefaultTyping(typer);
+            configure(mapper);
+            return mapper;
+        }, redisCodecProperties.resolveFormat(), redisCodecProperties.getCompressThreshold());
+    }
+
+    private static void configure(ObjectMapper mapper) {
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        JavaTimeModule timeModule = new JavaTimeModule();
+        timeModule.addSerializer(new LocalDateTimeSerializer(SaTokenDaoRedisJackson.DATE_TIME_FORMATTER));
+        timeModule.addDeserializer(LocalDateTime.class,
+                new LocalDateTimeDeserializer(SaTokenDaoRedisJackson.DATE_TIME_FORMATTER));
+        timeModule.addSerializer(new LocalDateSerializer(SaTokenDaoRedisJackson.DATE_FORMATTER));
+        timeModule.addDeserializer(LocalDate.class, new LocalDateDeserializer(SaTokenDaoRedisJackson.DATE_FORMATTER));
+        timeModule.addSerializer(new LocalTimeSerializer(SaTokenDaoRedisJackson.TIME_FORMATTER));
+        timeModule.addDeserializer(LocalTime.class, new LocalTimeDeserializer(SaTokenDaoRedisJackson.TIME_FORMATTER));
+        mapper.registerModule(timeModule);
+    }
+
+    @Override
+    public String get(String key) {
+        return stringRedisTemplate.opsForValue().get(key);
+    }
+
+    @Override
+    public void set(String key, String value, long timeout) {
+        if (timeout == 0 || timeout <= NOT_VALUE_EXPIRE) {
+            return;
+        }
+        if (timeout == NEVER_EXPIRE) {
+            stringRedisTemplate.opsForValue().set(key, value);
+        } else {
+            stringRedisTemplate.opsForValue().set(key, value, timeout, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    public void update(String key, String value) {
+        long expire = getTimeout(key);
+        if (expire == NOT_VALUE_EXPIRE) {
+            return;
+        }
+        set(key, value, expire);
+    }
+
+    @Override
+    public void delete(String key) {
+        stringRedisTemplate.delete(key);
+    }
+
+    @Override
+    public long getTimeout(String key) {
+        Long expire = stringRedisTemplate.getExpire(key);
+        return expire == null ? NOT_VALUE_EXPIRE : expire;
+    }
+
+    @Override
+    public void updateTimeout(String key, long timeout) {
+        if (timeout == NEVER_EXPIRE) {
+            if (getTimeout(key) != NEVER_EXPIRE) {
+                set(key, get(key), timeout);
+            }
+            return;
+        }
+        stringRedisTemplate.expire(key, timeout, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public Object getObject(String key) {
+        return objectRedisTemplate.opsForValue().get(key);
+    }
+
+    @Override
+    public void setObject(String key, Object object, long timeout) {
+        if (timeout == 0 || timeout <= NOT_VALUE_EXPIRE) {
+            return;
+        }
+        if (timeout == NEVER_EXPIRE) {
+            objectRedisTemplate.opsForValue().set(key, object);
+        } else {
+            objectRedisTemplate.opsForValue().set(key, object, timeout, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    public void updateObject(String key, Object object) {
+        long expire = getObjectTimeout(key);
+        if (expire == NOT_VALUE_EXPIRE) {
+            return;
+        }
+        setObject(key, object, expire);
+    }
+
+    @Override
+    public void deleteObject(String key) {
+        objectRedisTemplate.delete(key);
+    }
+
+    @Override
+    public long getObjectTimeout(String key) {
+        Long expire = objectRedisTemplate.getExpire(key);
+        return expire == null ? NOT_VALUE_EXPIRE : expire;
+    }
+
+    @Override
+    public void updateObjectTimeout(String key, long timeout) {
+        if (timeout == NEVER_EXPIRE) {
+            if (getObjectTimeout(key) != NEVER_EXPIRE) {
+                setObject(key, getObject(key), timeout);
+            }
+            return;
+        }
+        objectRedisTemplate.expire(key, timeout, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public List<String> searchData(String prefix, String keyword, int start, int size, boolean sortType) {
+        Set<String> keys = stringRedisTemplate.keys(prefix + "*" + keyword + "*");
+        List<String> list = keys == null ? new ArrayList<>() : new ArrayList<>(keys);
+        return SaFoxUtil.searchList(list, start, size, sortType);
+    }
+}
@@ -0,0 +1,76 @@
+package com.xu.blogapi.manager.redis;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import lombok.Getter;
+
+/**
+ * Redis 值的编码格式
+ *
+ * @author xu
+ */
+@Getter
+public enum RedisCodecFormat {
+
+    /**
+     * 原有的 JSON 文本，不加头部，升级前的节点也能读取
+     */
+    JSON("json", (byte) 0),
+
+    /**
+     * Jackson Smile，属性名和重复的字符串（如类名）只写一次
+     */
+    SMILE("smile", (byte) 1),
+
+    CBOR("cbor", (byte) 2);
+
+    private final String value;
+
+    /**
+     * 写在数据头部的格式编号
+     */
+    private final byte code;
+
+    RedisCodecFormat(String value, byte code) {
+        this.value = value;
+        this.code = code;
+    }
+
+    /**
+     * 二进制格式的解析工厂
+     *
+     * @return JsonFactory，JSON 格式返回 null
+     */
+    public JsonFactory createFactory() {
+        switch (this) {
+            case SMILE:
+                return SmileFactory.builder()
+                        .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                        .build();
+            case CBOR:
+                return new CBORFactory();
+            default:
+                return null;
+        }
+    }
+
+    public static RedisCodecFormat ofCode(byte code) {
+        for (RedisCodecFormat format : values()) {
+            if (format.code == code) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    public static RedisCodecFormat ofValue(String value) {
+        for (RedisCodecFormat format : values()) {
+            if (format.value.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,283 @@
+package com.xu.blogapi.manager.render;
+
+import com.xu.blogapi.model.vo.ArticleTocItemVO;
+import org.commonmark.Extension;
+import org.commonmark.ext.gfm.strikethrough.StrikethroughExtension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.ext.task.list.items.TaskListItemMarker;
+import org.commonmark.ext.task.list.items.TaskListItemsExtension;
+import org.commonmark.node.AbstractVisitor;
+import org.commonmark.node.Code;
+import org.commonmark.node.Document;
+import org.commonmark.node.HardLineBreak;
+import org.commonmark.node.Heading;
+import org.commonmark.node.Image;
+import org.commonmark.node.Link;
+import org.commonmark.node.ListItem;
+import org.commonmark.node.Node;
+import org.commonmark.node.Paragraph;
+import org.commonmark.node.SoftLineBreak;
+import org.commonmark.node.Text;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.AttributeProvider;
+import org.commonmark.renderer.html.HtmlRenderer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Markdown 渲染器
+ * 基于 commonmark-java 解析 CommonMark 及 GFM 的表格、删除线和任务列表。
+ * 原始 HTML 一律转义输出，链接只允许 http/https/mailto 和相对地址，输出即为安全的 HTML；
+ * 同时为标题生成锚点并提取目录和摘要
+ *
+ * @author xu
+ */
+public class MarkdownRenderer {
+
+    /**
+     * 渲染规则变化时递增，已保存的渲染结果会重新生成
+     */
+    public static final int VERSION = 2;
+
+    /**
+     * 摘要长度（字符）
+     */
+    private static final int EXCERPT_LENGTH = 200;
+
+    private static final Pattern SCHEME_PATTERN = Pattern.compile("^([a-zA-Z][a-zA-Z0-9+.-]*):");
+
+    private static final List<Extension> EXTENSIONS = Arrays.asList(TablesExtension.create(),
+            StrikethroughExtension.create(), TaskListItemsExtension.create());
+
+    /**
+     * 解析器线程安全，可复用
+     */
+    private final Parser parser = Parser.builder().extensions(EXTENSIONS).build();
+
+    /**
+     * 渲染结果
+     */
+    public static final class RenderResult {
+
+        private final String html;
+
+        private final List<ArticleTocItemVO> toc;
+
+        private final String excerpt;
+
+        RenderResult(String html, List<ArticleTocItemVO> toc, String excerpt) {
+            this.html = html;
+            this.toc = Collections.unmodifiableList(toc);
+            this.excerpt = excerpt;
+        }
+
+        public String getHtml() {
+            return html;
+        }
+
+        public List<ArticleTocItemVO> getToc() {
+            return toc;
+        }
+
+        public String getExcerpt() {
+            return excerpt;
+        }
+    }
+
+    /**
+     * 渲染 Markdown
+     *
+     * @param markdown Markdown 文本，可为 null
+     * @return 安全的 HTML、目录和摘要
+     */
+    public RenderResult render(String markdown) {
+        if (markdown == null || markdown.isEmpty()) {
+            return new RenderResult("", Collections.emptyList(), "");
+        }
+        Node document = parser.parse(markdown);
+        Outline outline = new Outline();
+        document.accept(outline);
+
+        HtmlRenderer htmlRenderer = HtmlRenderer.builder()
+                .extensions(EXTENSIONS)
+                .escapeHtml(true)
+                .attributeProviderFactory(context -> new SafeAttributeProvider(outline.anchors))
+                .build();
+        String html = htmlRenderer.render(document);
+
+        String excerpt = outline.excerpt.toString();
+        if (excerpt.length() > EXCERPT_LENGTH) {
+            excerpt = excerpt.substring(0, EXCERPT_LENGTH) + "…";
+        }
+        return new RenderResult(html, outline.toc, excerpt);
+    }
+
+    /**
+     * 遍历文档收集标题锚点、目录和摘要（只取顶层段落）
+     */
+    private static final class Outline extends AbstractVisitor {
+
+        private final Map<Heading, String> anchors = new IdentityHashMap<>();
+
+        private final Map<String, Integer> anchorCounts = new HashMap<>();
+
+        private final List<ArticleTocItemVO> toc = new ArrayList<>();
+
+        private final StringBuilder excerpt = new StringBuilder();
+
+        @Override
+        public void visit(Heading heading) {
+            String text = plainText(heading).trim();
+            String base = slugify(text);
+            Integer count = anchorCounts.get(base);
+            anchorCounts.put(base, count == null ? 1 : count + 1);
+            String anchor = count == null ? base : base + "-" + count;
+            anchors.put(heading, anchor);
+
+            ArticleTocItemVO item = new ArticleTocItemVO();
+            item.setLevel(heading.getLevel());
+            item.setId(anchor);
+            item.setText(text);
+            toc.add(item);
+        }
+
+        @Override
+        public void visit(Paragraph paragraph) {
+            if (!(paragraph.getParent() instanceof Document) || excerpt.length() >= EXCERPT_LENGTH) {
+                return;
+            }
+            String text = plainText(paragraph).trim();
+            if (text.isEmpty()) {
+                return;
+            }
+            if (excerpt.length() > 0) {
+                excerpt.append(' ');
+            }
+            excerpt.append(text);
+        }
+    }
+
+    /**
+     * 为标题加锚点，任务列表项加样式类，清除不安全的链接和图片地址，外链加 rel，图片延迟加载
+     */
+    private static final class SafeAttributeProvider implements AttributeProvider {
+
+        private final Map<Heading, String> anchors;
+
+        SafeAttributeProvider(Map<Heading, String> anchors) {
+            this.anchors = anchors;
+        }
+
+        @Override
+        public void setAttributes(Node node, String tagName, Map<String, String> attributes) {
+            if (node instanceof Heading) {
+                attributes.put("id", anchors.get(node));
+            } else if (node instanceof ListItem && node.getFirstChild() instanceof TaskListItemMarker) {
+                attributes.put("class", "task-list-item");
+            } else if (node instanceof Link) {
+                String url = sanitizeUrl(((Link) node).getDestination(), false);
+                if (url == null) {
+                    attributes.remove("href");
+                    return;
+                }
+                attributes.put("href", url);
+                if (url.startsWith("http://") || url.startsWith("https://")) {
+                    attributes.put("rel", "noopener noreferrer");
+                }
+            } else if (node instanceof Image) {
+                String url = sanitizeUrl(((Image) node).getDestination(), true);
+                if (url == null) {
+                    attributes.remove("src");
+                } else {
+                    attributes.put("src", url);
+                }
+                attributes.put("loading", "lazy");
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------- 工具方法
+
+    /**
+     * 只允许 http/https/mailto（图片只允许 http/https）和不带协议的相对地址
+     *
+     * @return 安全的地址，不安全时返回 null
+     */
+    static String sanitizeUrl(String url, boolean image) {
+        String trimmed = url.trim();
+        // 去掉空白和控制字符后再判断协议，防止 "java\tscript:" 之类的绕过
+        StringBuilder normalized = new StringBuilder(trimmed.length());
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c > ' ' && c != 0x7F) {
+                normalized.append(c);
+            }
+        }
+        Matcher scheme = SCHEME_PATTERN.matcher(normalized);
+        if (!scheme.find()) {
+            return normalized.toString().startsWith("//") ? null : trimmed.replace(" ", "%20");
+        }
+        String protocol = scheme.group(1).toLowerCase(Locale.ROOT);
+        boolean allowed = "http".equals(protocol) || "https".equals(protocol) || (!image && "mailto".equals(protocol));
+        return allowed ? normalized.toString() : null;
+    }
+
+    /**
+     * 标题锚点：保留字母（含中文）和数字，空白和连字符合并为 -
+     */
+    static String slugify(String text) {
+        StringBuilder slug = new StringBuilder();
+        boolean pendingDash = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingDash && slug.length() > 0) {
+                    slug.append('-');
+                }
+                pendingDash = false;
+                slug.append(Character.toLowerCase(c));
+            } else if (Character.isWhitespace(c) || c == '-' || c == '_') {
+                pendingDash = true;
+            }
+        }
+        return slug.length() == 0 ? "section" : slug.toString();
+    }
+
+    /**
+     * 节点的纯文本，换行按空格处理
+     */
+    static String plainText(Node node) {
+        StringBuilder text = new StringBuilder();
+        node.accept(new AbstractVisitor() {
+            @Override
+            public void visit(Text textNode) {
+                text.append(textNode.getLiteral());
+            }
+
+            @Override
+            public void visit(Code code) {
+                text.append(code.getLiteral());
+            }
+
+            @Override
+            public void visit(SoftLineBreak softLineBreak) {
+                text.append(' ');
+            }
+
+            @Override
+            public void visit(HardLineBreak hardLineBreak) {
+                text.append(' ');
+            }
+        });
+        return text.toString();
+    }
+}
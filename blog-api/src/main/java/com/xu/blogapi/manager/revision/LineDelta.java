@@ -0,0 +1,469 @@
+package com.xu.blogapi.manager.revision;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按行计算的增量
+ * 由“复制基准内容中的若干行”和“插入新行”两种操作组成，未被复制的基准行即为删除的行。
+ * 差异使用 Myers 算法计算，先去掉相同的首尾行缩小范围；编辑距离超过上限时退化为整段替换
+ *
+ * @author xu
+ */
+public class LineDelta {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final byte OP_COPY = 0;
+
+    private static final byte OP_INSERT = 1;
+
+    /**
+     * 增量操作
+     */
+    public static final class Op {
+
+        /**
+         * 复制的起始行（从0开始），插入操作为 -1
+         */
+        private final int start;
+
+        /**
+         * 复制的行数，插入操作为插入行数
+         */
+        private final int count;
+
+        /**
+         * 插入的行，复制操作为 null
+         */
+        private final List<String> lines;
+
+        private Op(int start, int count, List<String> lines) {
+            this.start = start;
+            this.count = count;
+            this.lines = lines;
+        }
+
+        public static Op copy(int start, int count) {
+            return new Op(start, count, null);
+        }
+
+        public static Op insert(List<String> lines) {
+            return new Op(-1, lines.size(), Collections.unmodifiableList(new ArrayList<>(lines)));
+        }
+
+        public boolean isCopy() {
+            return lines == null;
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public List<String> getLines() {
+            return lines;
+        }
+    }
+
+    /**
+     * 差异片段，用于展示两个版本的对比
+     */
+    public static final class Chunk {
+
+        public static final String EQUAL = "equal";
+
+        public static final String DELETE = "delete";
+
+        public static final String INSERT = "insert";
+
+        private final String type;
+
+        private final List<String> lines;
+
+        private Chunk(String type, List<String> lines) {
+            this.type = type;
+            this.lines = lines;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public List<String> getLines() {
+            return lines;
+        }
+    }
+
+    private final int baseLineCount;
+
+    private final List<Op> ops;
+
+    public LineDelta(int baseLineCount, List<Op> ops) {
+        this.baseLineCount = baseLineCount;
+        this.ops = Collections.unmodifiableList(new ArrayList<>(ops));
+    }
+
+    public int getBaseLineCount() {
+        return baseLineCount;
+    }
+
+    public List<Op> getOps() {
+        return ops;
+    }
+
+    /**
+     * 按换行符拆分，与 {@link #joinLines(List)} 互逆（保留 \r 和末尾空行）
+     *
+     * @param text 文本
+     * @return 行列表
+     */
+    public static List<String> splitLines(String text) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(text.split("\n", -1));
+    }
+
+    public static String joinLines(List<String> lines) {
+        return String.join("\n", lines);
+    }
+
+    /**
+     * 计算从 base 到 target 的增量
+     *
+     * @param base            基准行
+     * @param target          目标行
+     * @param maxEditDistance 最大编辑距离，超过时中间部分整段替换
+     * @return 增量
+     */
+    public static LineDelta diff(List<String> base, List<String> target, int maxEditDistance) {
+        int prefix = 0;
+        int minSize = Math.min(base.size(), target.size());
+        while (prefix < minSize && base.get(prefix).equals(target.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < minSize - prefix
+                && base.get(base.size() - 1 - suffix).equals(target.get(target.size() - 1 - suffix))) {
+            suffix++;
+        }
+
+        Builder builder = new Builder(target);
+        builder.copy(0, 0, prefix);
+        int baseEnd = base.size() - suffix;
+        int targetEnd = target.size() - suffix;
+        if (!myers(base, prefix, baseEnd, target, prefix, targetEnd, maxEditDistance, builder)) {
+            builder.insert(prefix, targetEnd - prefix);
+        }
+        builder.copy(baseEnd, targetEnd, suffix);
+        return new LineDelta(base.size(), builder.build());
+    }
+
+    /**
+     * 在基准行上应用增量
+     *
+     * @param base 基准行
+     * @return 目标行
+     * @throws IllegalArgumentException 增量与基准不匹配
+     */
+    public List<String> apply(List<String> base) {
+        if (base.size() != baseLineCount) {
+            throw new IllegalArgumentException("base line count mismatch, expect " + baseLineCount + " but " + base.size());
+        }
+        List<String> target = new ArrayList<>(base.size());
+        for (Op op : ops) {
+            if (op.isCopy()) {
+                if (op.start < 0 || op.count < 0 || op.start + op.count > base.size()) {
+                    throw new IllegalArgumentException("copy out of range: " + op.start + "+" + op.count);
+                }
+                target.addAll(base.subList(op.start, op.start + op.count));
+            } else {
+                target.addAll(op.lines);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * 转换为对比片段：复制为相同行，两次复制之间跳过的基准行为删除行，插入为新增行（删除排在新增之前）
+     *
+     * @param base 基准行
+     * @return 对比片段
+     */
+    public List<Chunk> toChunks(List<String> base) {
+        List<Chunk> chunks = new ArrayList<>();
+        int position = 0;
+        for (int i = 0; i < ops.size(); i++) {
+            Op op = ops.get(i);
+            if (op.isCopy()) {
+                position = addDeleteChunk(chunks, base, position, op.start);
+                chunks.add(new Chunk(Chunk.EQUAL, base.subList(op.start, op.start + op.count)));
+                position = op.start + op.count;
+            } else {
+                int nextCopyStart = base.size();
+                for (int j = i + 1; j < ops.size(); j++) {
+                    if (ops.get(j).isCopy()) {
+                        nextCopyStart = ops.get(j).start;
+                        break;
+                    }
+                }
+                position = addDeleteChunk(chunks, base, position, nextCopyStart);
+                chunks.add(new Chunk(Chunk.INSERT, op.lines));
+            }
+        }
+        addDeleteChunk(chunks, base, position, base.size());
+        return chunks;
+    }
+
+    private static int addDeleteChunk(List<Chunk> chunks, List<String> base, int from, int to) {
+        if (to > from) {
+            chunks.add(new Chunk(Chunk.DELETE, base.subList(from, to)));
+            return to;
+        }
+        return from;
+    }
+
+    /**
+     * 序列化为二进制：版本、基准行数、操作数，随后逐个写入操作
+     *
+     * @return 二进制内容
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(baseLineCount);
+            out.writeInt(ops.size());
+            for (Op op : ops) {
+                if (op.isCopy()) {
+                    out.writeByte(OP_COPY);
+                    out.writeInt(op.start);
+                    out.writeInt(op.count);
+                } else {
+                    out.writeByte(OP_INSERT);
+                    out.writeInt(op.count);
+                    for (String line : op.lines) {
+                        byte[] data = line.getBytes(StandardCharsets.UTF_8);
+                        out.writeInt(data.length);
+                        out.write(data);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 反序列化
+     *
+     * @param data 二进制内容
+     * @return 增量
+     * @throws IllegalArgumentException 格式错误
+     */
+    public static LineDelta decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("unsupported delta version: " + version);
+            }
+            int baseLineCount = in.readInt();
+            int opCount = in.readInt();
+            List<Op> ops = new ArrayList<>(Math.min(opCount, 1024));
+            for (int i = 0; i < opCount; i++) {
+                byte type = in.readByte();
+                if (type == OP_COPY) {
+                    ops.add(Op.copy(in.readInt(), in.readInt()));
+                } else if (type == OP_INSERT) {
+                    int count = in.readInt();
+                    List<String> lines = new ArrayList<>(Math.min(count, 1024));
+                    for (int j = 0; j < count; j++) {
+                        byte[] line = new byte[in.readInt()];
+                        in.readFully(line);
+                        lines.add(new String(line, StandardCharsets.UTF_8));
+                    }
+                    ops.add(Op.insert(lines));
+                } else {
+                    throw new IllegalArgumentException("unknown delta op: " + type);
+                }
+            }
+            return new LineDelta(baseLineCount, ops);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("malformed delta", e);
+        }
+    }
+
+    /**
+     * Myers 差异算法，记录每一步的 V 数组后回溯出编辑路径
+     *
+     * @return 编辑距离未超过上限时返回 true 并写入 builder
+     */
+    private static boolean myers(List<String> base, int baseFrom, int baseTo, List<String> target, int targetFrom,
+                                 int targetTo, int maxEditDistance, Builder builder) {
+        int n = baseTo - baseFrom;
+        int m = targetTo - targetFrom;
+        if (n == 0 && m == 0) {
+            return true;
+        }
+        // 行内容转为整数，比较时不再逐字符比较字符串
+        Map<String, Integer> symbols = new HashMap<>();
+        int[] a = new int[n];
+        int[] b = new int[m];
+        for (int i = 0; i < n; i++) {
+            a[i] = symbols.computeIfAbsent(base.get(baseFrom + i), key -> symbols.size());
+        }
+        for (int i = 0; i < m; i++) {
+            b[i] = symbols.computeIfAbsent(target.get(targetFrom + i), key -> symbols.size());
+        }
+
+        int max = Math.min(n + m, maxEditDistance);
+        int offset = n + m + 1;
+        int[] v = new int[2 * offset + 1];
+        List<int[]> trace = new ArrayList<>();
+        int editDistance = -1;
+        for (int d = 0; d <= max && editDistance < 0; d++) {
+            trace.add(Arrays.copyOfRange(v, offset - d, offset + d + 1));
+            for (int k = -d; k <= d; k += 2) {
+                int x = (k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1]))
+                        ? v[offset + k + 1] : v[offset + k - 1] + 1;
+                int y = x - k;
+                while (x < n && y < m && a[x] == b[y]) {
+                    x++;
+                    y++;
+                }
+                v[offset + k] = x;
+                if (x >= n && y >= m) {
+                    editDistance = d;
+                    break;
+                }
+            }
+        }
+        if (editDistance < 0) {
+            return false;
+        }
+
+        // 回溯得到逆序的编辑步骤：0-相同，1-删除，2-插入
+        int[] steps = new int[n + m];
+        int stepCount = 0;
+        int x = n;
+        int y = m;
+        for (int d = editDistance; d > 0; d--) {
+            int[] previous = trace.get(d);
+            int k = x - y;
+            int previousK = (k == -d || (k != d && previous[k - 1 + d] < previous[k + 1 + d])) ? k + 1 : k - 1;
+            int previousX = previous[previousK + d];
+            int previousY = previousX - previousK;
+            while (x > previousX && y > previousY) {
+                steps[stepCount++] = 0;
+                x--;
+                y--;
+            }
+            steps[stepCount++] = x == previousX ? 2 : 1;
+            x = previousX;
+            y = previousY;
+        }
+        while (x > 0 && y > 0) {
+            steps[stepCount++] = 0;
+            x--;
+            y--;
+        }
+
+        int baseIndex = baseFrom;
+        int targetIndex = targetFrom;
+        for (int i = stepCount - 1; i >= 0; i--) {
+            if (steps[i] == 0) {
+                builder.copy(baseIndex++, targetIndex++, 1);
+            } else if (steps[i] == 1) {
+                baseIndex++;
+            } else {
+                builder.insert(targetIndex++, 1);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 合并相邻的同类操作
+     */
+    private static final class Builder {
+
+        private final List<String> target;
+
+        private final List<Op> ops = new ArrayList<>();
+
+        private int copyStart = -1;
+
+        private int copyCount;
+
+        private int insertStart = -1;
+
+        private int insertCount;
+
+        Builder(List<String> target) {
+            this.target = target;
+        }
+
+        void copy(int baseStart, int targetStart, int count) {
+            if (count <= 0) {
+                return;
+            }
+            flushInsert();
+            if (copyStart >= 0 && copyStart + copyCount == baseStart) {
+                copyCount += count;
+                return;
+            }
+            flushCopy();
+            copyStart = baseStart;
+            copyCount = count;
+        }
+
+        void insert(int targetStart, int count) {
+            if (count <= 0) {
+                return;
+            }
+            flushCopy();
+            if (insertStart < 0) {
+                insertStart = targetStart;
+            }
+            insertCount += count;
+        }
+
+        List<Op> build() {
+            flushCopy();
+            flushInsert();
+            return ops;
+        }
+
+        private void flushCopy() {
+            if (copyStart >= 0) {
+                ops.add(Op.copy(copyStart, copyCount));
+                copyStart = -1;
+                copyCount = 0;
+            }
+        }
+
+        private void flushInsert() {
+            if (insertStart >= 0) {
+                ops.add(Op.insert(target.subList(insertStart, insertStart + insertCount)));
+                insertStart = -1;
+                insertCount = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.xu.blogapi.manager.revision;
+
+import com.xu.blogapi.utils.Lz4Utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 修订内容编解码
+ * 快照为 UTF-8 文本，增量为 {@link LineDelta#encode()} 的结果，两者都以“原始长度 + LZ4 块”的形式存储
+ *
+ * @author xu
+ */
+public final class RevisionCodec {
+
+    private static final byte[] EMPTY_HEADER = new byte[0];
+
+    private RevisionCodec() {
+    }
+
+    public static byte[] encodeSnapshot(String content) {
+        return compress(content == null ? new byte[0] : content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decodeSnapshot(byte[] data) {
+        return new String(decompress(data), StandardCharsets.UTF_8);
+    }
+
+    public static byte[] encodeDelta(LineDelta delta) {
+        return compress(delta.encode());
+    }
+
+    public static LineDelta decodeDelta(byte[] data) {
+        return LineDelta.decode(decompress(data));
+    }
+
+    /**
+     * 在快照内容上依次应用增量
+     *
+     * @param snapshot 快照（已压缩）
+     * @param deltas   增量（已压缩），按修订号升序
+     * @return 最后一个修订的内容
+     */
+    public static String restore(byte[] snapshot, List<byte[]> deltas) {
+        String content = decodeSnapshot(snapshot);
+        if (deltas.isEmpty()) {
+            return content;
+        }
+        List<String> lines = LineDelta.splitLines(content);
+        for (byte[] delta : deltas) {
+            lines = decodeDelta(delta).apply(lines);
+        }
+        return LineDelta.joinLines(lines);
+    }
+
+    private static byte[] compress(byte[] raw) {
+        return Lz4Utils.compress(raw, EMPTY_HEADER);
+    }
+
+    private static byte[] decompress(byte[] data) {
+        return Lz4Utils.decompress(data, 0);
+    }
+}
@@ -0,0 +1,331 @@
+package com.xu.blogapi.manager.schedule;
+
+import cn.hutool.core.util.IdUtil;
+import com.xu.blogapi.constant.ArticleConstant;
+import com.xu.blogapi.event.TableChangedEvent;
+import com.xu.blogapi.mapper.ArticleMapper;
+import com.xu.blogapi.model.entity.Article;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文章定时发布/下线
+ * 待执行的定时任务放在进程内的哈希时间轮上，到点触发，不需要定时轮询数据库；
+ * 集群中通过 Redis 租约选出一个节点负责触发，成为负责节点时从 MySQL 恢复全部待执行任务，
+ * 之后根据 {@link TableChangedEvent}（包括其他节点广播的）增量更新。
+ * 触发时使用带状态条件的 UPDATE，即使多个节点同时触发也只生效一次；
+ * 更新本身会产生 TableChangedEvent，响应缓存随之失效
+ *
+ * @author xu
+ */
+@Slf4j
+@Component
+public class ArticleScheduleManager {
+
+    /**
+     * 负责节点租约键
+     */
+    private static final String LEADER_KEY = "blog:article:schedule:leader";
+
+    /**
+     * 租约时长
+     */
+    private static final long LEASE_MILLIS = 30_000;
+
+    /**
+     * 续约/竞选间隔
+     */
+    private static final long RENEW_INTERVAL_MILLIS = 10_000;
+
+    /**
+     * 触发失败后的重试间隔
+     */
+    private static final long RETRY_DELAY_MILLIS = 5_000;
+
+    /**
+     * 时间轮刻度
+     */
+    private static final long TICK_MILLIS = 100;
+
+    private static final int TICKS_PER_WHEEL = 512;
+
+    private static final DefaultRedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+            Long.class);
+
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private enum Action {
+        PUBLISH, UNPUBLISH
+    }
+
+    @Resource
+    private ArticleMapper articleMapper;
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+
+    private final String nodeToken = IdUtil.fastSimpleUUID();
+
+    private HashedWheelTimer timer;
+
+    /**
+     * 所有状态变更和数据库操作都在这个线程上串行执行，时间轮线程只负责投递
+     */
+    private ExecutorService scheduleExecutor;
+
+    private final Map<Long, Timeout> publishTimeouts = new ConcurrentHashMap<>();
+
+    private final Map<Long, Timeout> unpublishTimeouts = new ConcurrentHashMap<>();
+
+    private volatile boolean leader;
+
+    private volatile boolean running;
+
+    @PostConstruct
+    public void init() {
+        timer = new HashedWheelTimer(new DefaultThreadFactory("article-schedule-wheel", true),
+                TICK_MILLIS, TimeUnit.MILLISECONDS, TICKS_PER_WHEEL);
+        scheduleExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "article-schedule");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 应用启动完成后开始竞选
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        submit(this::checkLease);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        running = false;
+        timer.stop();
+        scheduleExecutor.shutdownNow();
+        if (leader) {
+            try {
+                stringRedisTemplate.execute(RELEASE_SCRIPT, Collections.singletonList(LEADER_KEY), nodeToken);
+            } catch (Exception e) {
+                log.warn("release article schedule lease failed", e);
+            }
+        }
+    }
+
+    /**
+     * 文章变更后同步定时任务
+     */
+    @EventListener
+    public void onTableChanged(TableChangedEvent event) {
+        if (!leader || !"article".equals(event.getTable())) {
+            return;
+        }
+        if (event.isWholeTable()) {
+            submit(this::recover);
+        } else {
+            Set<Long> ids = new HashSet<>(event.getIds());
+            submit(() -> reload(ids));
+        }
+    }
+
+    /**
+     * 是否为负责触发的节点
+     *
+     * @return 是否为负责节点
+     */
+    public boolean isLeader() {
+        return leader;
+    }
+
+    /**
+     * 待触发的任务数
+     *
+     * @return 定时发布和定时下线任务数之和
+     */
+    public int getPendingCount() {
+        return publishTimeouts.size() + unpublishTimeouts.size();
+    }
+
+    /**
+     * 竞选或续约，成为负责节点时恢复全部任务，失去负责权时清空本地任务
+     */
+    private void checkLease() {
+        boolean acquired = tryAcquireLease();
+        if (acquired && !leader) {
+            leader = true;
+            log.info("article schedule leader acquired, node = {}", nodeToken);
+            recover();
+        } else if (!acquired && leader) {
+            leader = false;
+            log.info("article schedule leader lost, node = {}", nodeToken);
+            cancelAll();
+        }
+        if (running) {
+            timer.newTimeout(timeout -> submit(this::checkLease), RENEW_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private boolean tryAcquireLease() {
+        try {
+            Long renewed = stringRedisTemplate.execute(RENEW_SCRIPT, Collections.singletonList(LEADER_KEY),
+                    nodeToken, String.valueOf(LEASE_MILLIS));
+            if (renewed != null && renewed > 0) {
+                return true;
+            }
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForValue()
+                    .setIfAbsent(LEADER_KEY, nodeToken, Duration.ofMillis(LEASE_MILLIS)));
+        } catch (Exception e) {
+            // Redis 不可用时各节点都自行触发，条件更新保证不会重复生效
+            log.warn("article schedule lease unavailable, fire locally", e);
+            return true;
+        }
+    }
+
+    /**
+     * 从数据库恢复全部待执行任务
+     */
+    private void recover() {
+        if (!leader) {
+            return;
+        }
+        List<Article> articles;
+        try {
+            articles = articleMapper.selectPendingSchedules();
+        } catch (Exception e) {
+            log.error("load article schedules failed, retry later", e);
+            timer.newTimeout(timeout -> submit(this::recover), RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            return;
+        }
+        cancelAll();
+        articles.forEach(this::schedule);
+        log.info("article schedules recovered, publish = {}, unpublish = {}",
+                publishTimeouts.size(), unpublishTimeouts.size());
+    }
+
+    /**
+     * 重新加载指定文章的任务
+     */
+    private void reload(Set<Long> ids) {
+        if (!leader || ids.isEmpty()) {
+            return;
+        }
+        List<Article> articles;
+        try {
+            articles = articleMapper.selectScheduleByIds(ids);
+        } catch (Exception e) {
+            log.error("reload article schedules failed, ids = {}", ids, e);
+            timer.newTimeout(timeout -> submit(() -> reload(ids)), RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            return;
+        }
+        // 查不到的是已删除的文章
+        ids.forEach(this::cancel);
+        articles.forEach(this::schedule);
+    }
+
+    private void schedule(Article article) {
+        Long id = article.getId();
+        cancel(id);
+        Integer status = article.getStatus();
+        if (status == null) {
+            return;
+        }
+        if (status == ArticleConstant.STATUS_SCHEDULED && article.getPublishTime() != null) {
+            publishTimeouts.put(id, newTimeout(id, Action.PUBLISH, article.getPublishTime()));
+        }
+        if (article.getUnpublishTime() != null
+                && (status == ArticleConstant.STATUS_PUBLISHED || status == ArticleConstant.STATUS_SCHEDULED)) {
+            unpublishTimeouts.put(id, newTimeout(id, Action.UNPUBLISH, article.getUnpublishTime()));
+        }
+    }
+
+    private Timeout newTimeout(Long id, Action action, LocalDateTime fireTime) {
+        long delayMillis = Math.max(0, Duration.between(LocalDateTime.now(), fireTime).toMillis());
+        return newTimeout(id, action, delayMillis);
+    }
+
+    private Timeout newTimeout(Long id, Action action, long delayMillis) {
+        return timer.newTimeout(timeout -> submit(() -> fire(timeout, id, action)), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void fire(Timeout timeout, Long id, Action action) {
+        Map<Long, Timeout> timeouts = action == Action.PUBLISH ? publishTimeouts : unpublishTimeouts;
+        // 已被新任务替换或取消
+        if (!timeouts.remove(id, timeout) || !leader) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int rows = action == Action.PUBLISH
+                    ? articleMapper.updateScheduledToPublished(id, now)
+                    : articleMapper.updateToOffline(id, now);
+            if (rows > 0) {
+                log.info("article scheduled {} fired, id = {}", action, id);
+            } else {
+                // 条件不满足（已被修改，或数据库时间精度导致未到点），按最新数据重新安排
+                reload(Collections.singleton(id));
+            }
+        } catch (Exception e) {
+            log.error("article scheduled {} failed, id = {}, retry later", action, id, e);
+            timeouts.put(id, newTimeout(id, action, RETRY_DELAY_MILLIS));
+        }
+    }
+
+    private void cancel(Long id) {
+        Timeout publishTimeout = publishTimeouts.remove(id);
+        if (publishTimeout != null) {
+            publishTimeout.cancel();
+        }
+        Timeout unpublishTimeout = unpublishTimeouts.remove(id);
+        if (unpublishTimeout != null) {
+            unpublishTimeout.cancel();
+        }
+    }
+
+    private void cancelAll() {
+        publishTimeouts.values().forEach(Timeout::cancel);
+        unpublishTimeouts.values().forEach(Timeout::cancel);
+        publishTimeouts.clear();
+        unpublishTimeouts.clear();
+    }
+
+    private void submit(Runnable task) {
+        if (scheduleExecutor.isShutdown()) {
+            return;
+        }
+        scheduleExecutor.execute(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.error("article schedule task failed", e);
+            }
+        });
+    }
+}
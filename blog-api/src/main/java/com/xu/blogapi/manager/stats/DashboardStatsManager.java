@@ -0,0 +1,208 @@
+package com.xu.blogapi.manager.stats;
+
+import com.xu.blogapi.common.ErrorCode;
+import com.xu.blogapi.event.TableChangedEvent;
+import com.xu.blogapi.exception.BusinessException;
+import com.xu.blogapi.mapper.DashboardStatsMapper;
+import com.xu.blogapi.model.vo.DashboardStatsVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 仪表盘统计
+ * 各表的计数在固定大小的线程池上并行查询，结果作为快照缓存在内存中；
+ * 相关表发生变更（{@link TableChangedEvent}，包括其他节点广播的）时快照失效，下次读取时重新统计。
+ * 并发的读取只会触发一次统计，统计期间发生的变更会使本次结果在下次读取时失效
+ *
+ * @author xu
+ */
+@Slf4j
+@Component
+public class DashboardStatsManager {
+
+    /**
+     * 影响统计结果的表
+     */
+    private static final Set<String> TABLES = new HashSet<>(
+            Arrays.asList("article", "thought", "travel", "tag", "project", "tech_stack"));
+
+    /**
+     * 快照最长有效期，兜底绕过应用直接修改数据库的情况
+     */
+    private static final long MAX_AGE_MILLIS = 10 * 60 * 1000L;
+
+    /**
+     * 统计线程数
+     */
+    private static final int POOL_SIZE = 4;
+
+    /**
+     * 单次统计的超时时间
+     */
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Resource
+    private DashboardStatsMapper dashboardStatsMapper;
+
+    private ThreadPoolExecutor statsExecutor;
+
+    /**
+     * 失效代数，相关表每次变更加一
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    private static final class Snapshot {
+
+        private final long generation;
+
+        private final long createMillis;
+
+        private final DashboardStatsVO stats;
+
+        private Snapshot(long generation, long createMillis, DashboardStatsVO stats) {
+            this.generation = generation;
+            this.createMillis = createMillis;
+            this.stats = stats;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        // 队列有界，排满时由调用线程执行，不会无限堆积
+        statsExecutor = new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(64), runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-stats-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        statsExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        statsExecutor.shutdownNow();
+    }
+
+    /**
+     * 相关表变更后使快照失效
+     */
+    @EventListener
+    public void onTableChanged(TableChangedEvent event) {
+        if (TABLES.contains(event.getTable())) {
+            generation.incrementAndGet();
+        }
+    }
+
+    /**
+     * 获取统计，快照有效时直接返回
+     *
+     * @return 仪表盘统计
+     */
+    public DashboardStatsVO getStats() {
+        Snapshot current = snapshot;
+        if (isValid(current)) {
+            return current.stats;
+        }
+        loadLock.lock();
+        try {
+            current = snapshot;
+            if (isValid(current)) {
+                return current.stats;
+            }
+            // 先记录代数再查询，查询期间的变更会让这个快照立即过期
+            long readGeneration = generation.get();
+            DashboardStatsVO stats = compute();
+            snapshot = new Snapshot(readGeneration, System.currentTimeMillis(), stats);
+            return stats;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private boolean isValid(Snapshot current) {
+        return current != null && current.generation == generation.get()
+                && System.currentTimeMillis() - current.createMillis < MAX_AGE_MILLIS;
+    }
+
+    private DashboardStatsVO compute() {
+        CompletableFuture<DashboardStatsVO.ArticleStats> article = async(dashboardStatsMapper::selectArticleStats);
+        CompletableFuture<DashboardStatsVO.ThoughtStats> thought = async(dashboardStatsMapper::selectThoughtStats);
+        CompletableFuture<DashboardStatsVO.TravelStats> travel = async(dashboardStatsMapper::selectTravelStats);
+        CompletableFuture<List<GroupCount>> travelRatings = async(dashboardStatsMapper::selectTravelRatingCounts);
+        CompletableFuture<List<GroupCount>> travelAuthors = async(dashboardStatsMapper::selectTravelAuthorCounts);
+        CompletableFuture<DashboardStatsVO.TagStats> tag = async(dashboardStatsMapper::selectTagStats);
+        CompletableFuture<DashboardStatsVO.ProjectStats> project = async(dashboardStatsMapper::selectProjectStats);
+        CompletableFuture<DashboardStatsVO.TechStackStats> techStack = async(dashboardStatsMapper::selectTechStackStats);
+        CompletableFuture<List<GroupCount>> techStackCategories = async(dashboardStatsMapper::selectTechStackCategoryCounts);
+
+        try {
+            CompletableFuture.allOf(article, thought, travel, travelRatings, travelAuthors, tag, project, techStack,
+                    techStackCategories).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "统计被中断");
+        } catch (Exception e) {
+            log.error("compute dashboard stats failed", e);
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "统计失败");
+        }
+
+        DashboardStatsVO statsVO = new DashboardStatsVO();
+        statsVO.setArticle(article.join());
+        statsVO.setThought(thought.join());
+        DashboardStatsVO.TravelStats travelStats = travel.join();
+        travelStats.setRatingCounts(toMap(travelRatings.join()));
+        travelStats.setAuthorCounts(toMap(travelAuthors.join()));
+        statsVO.setTravel(travelStats);
+        statsVO.setTag(tag.join());
+        statsVO.setProject(project.join());
+        DashboardStatsVO.TechStackStats techStackStats = techStack.join();
+        techStackStats.setCategoryCounts(toMap(techStackCategories.join()));
+        statsVO.setTechStack(techStackStats);
+        statsVO.setGeneratedTime(LocalDateTime.now());
+        return statsVO;
+    }
+
+    private <T> CompletableFuture<T> async(Supplier<T> query) {
+        try {
+            return CompletableFuture.supplyAsync(query, statsExecutor);
+        } catch (Exception e) {
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new CompletionException(e));
+            return failed;
+        }
+    }
+
+    private static Map<String, Long> toMap(List<GroupCount> groupCounts) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (GroupCount groupCount : groupCounts) {
+            counts.put(groupCount.getGroupKey(), groupCount.getCount());
+        }
+        return counts;
+    }
+}
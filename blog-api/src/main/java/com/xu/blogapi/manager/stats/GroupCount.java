@@ -0,0 +1,19 @@
+package com.xu.blogapi.manager.stats;
+
+import lombok.Data;
+
+/**
+ * 分组计数
+ *
+ * @author xu
+ */
+@Data
+public class GroupCount {
+
+    /**
+     * 分组键
+     */
+    private String groupKey;
+
+    private Long count;
+}
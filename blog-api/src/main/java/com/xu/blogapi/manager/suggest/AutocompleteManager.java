@@ -0,0 +1,199 @@
+package com.xu.blogapi.manager.suggest;
+
+import com.xu.blogapi.event.TableChangedEvent;
+import com.xu.blogapi.manager.tag.TagDictionary;
+import com.xu.blogapi.manager.tag.TagDictionaryManager;
+import com.xu.blogapi.mapper.CategoryMapper;
+import com.xu.blogapi.model.entity.Category;
+import com.xu.blogapi.model.vo.SuggestionVO;
+import com.xu.blogapi.model.vo.TagVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 标签和分类自动补全
+ * 候选项放在内存中的前缀索引（{@link SuggestIndex}）里，按键查询不访问数据库。
+ * 标签取自标签字典，字典替换后在下一次查询时于内存中重建索引；
+ * 分类及其文章数量在分类或文章变更后由后台线程重新查询，多次变更合并为一次
+ *
+ * @author xu
+ */
+@Slf4j
+@Component
+public class AutocompleteManager {
+
+    /**
+     * 加载失败后的重试间隔
+     */
+    private static final long RETRY_DELAY_MILLIS = 5_000;
+
+    private static final String TABLE_CATEGORY = "category";
+
+    private static final String TABLE_ARTICLE = "article";
+
+    @Resource
+    private TagDictionaryManager tagDictionaryManager;
+
+    @Resource
+    private CategoryMapper categoryMapper;
+
+    /**
+     * 分类候选项，按引用判断是否需要重建索引
+     */
+    private volatile List<SuggestionVO> categorySuggestions = Collections.emptyList();
+
+    private volatile IndexHolder indexHolder;
+
+    private final AtomicBoolean categoryReloadPending = new AtomicBoolean();
+
+    private ScheduledExecutorService suggestExecutor;
+
+    @PostConstruct
+    public void init() {
+        suggestExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "autocomplete-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void destroy() {
+        suggestExecutor.shutdownNow();
+    }
+
+    /**
+     * 应用启动完成后加载分类
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduleCategoryReload(0);
+    }
+
+    /**
+     * 分类变更或文章变更（影响分类文章数量）后重新加载分类
+     *
+     * @param event 数据表变更事件
+     */
+    @EventListener
+    public void onTableChanged(TableChangedEvent event) {
+        if (TABLE_CATEGORY.equals(event.getTable()) || TABLE_ARTICLE.equals(event.getTable())) {
+            scheduleCategoryReload(0);
+        }
+    }
+
+    /**
+     * 前缀查询
+     *
+     * @param keyword 关键词（名称、别名或拼音首字母的前缀）
+     * @param type    类型，为 null 时同时查询标签和分类
+     * @param limit   最多返回数量
+     * @return 按数量降序排列的候选项
+     */
+    public List<SuggestionVO> suggest(String keyword, SuggestType type, int limit) {
+        return getIndex().search(keyword, type, limit);
+    }
+
+    /**
+     * 获取索引，标签字典或分类变化后重建
+     */
+    SuggestIndex getIndex() {
+        TagDictionary dictionary = tagDictionaryManager.getDictionary();
+        List<SuggestionVO> categories = categorySuggestions;
+        IndexHolder holder = indexHolder;
+        if (holder != null && holder.dictionary == dictionary && holder.categories == categories) {
+            return holder.index;
+        }
+        List<SuggestionVO> suggestionList = new ArrayList<>(dictionary.size() + categories.size());
+        for (TagVO tagVO : dictionary.listAll()) {
+            suggestionList.add(toSuggestion(tagVO));
+        }
+        suggestionList.addAll(categories);
+        holder = new IndexHolder(dictionary, categories, new SuggestIndex(suggestionList));
+        indexHolder = holder;
+        return holder.index;
+    }
+
+    private void scheduleCategoryReload(long delayMillis) {
+        if (suggestExecutor.isShutdown() || !categoryReloadPending.compareAndSet(false, true)) {
+            return;
+        }
+        suggestExecutor.schedule(this::reloadCategories, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void reloadCategories() {
+        // 先清除标记，加载期间的变更会再安排一次加载
+        categoryReloadPending.set(false);
+        try {
+            List<Category> categoryList = categoryMapper.selectEnabledCategories();
+            Map<Long, Long> articleCounts = new HashMap<>(categoryList.size() * 2);
+            if (!categoryList.isEmpty()) {
+                List<Long> categoryIds = categoryList.stream().map(Category::getId).collect(Collectors.toList());
+                for (CategoryMapper.CategoryArticleCount count : categoryMapper.countArticlesByCategoryIds(categoryIds)) {
+                    articleCounts.put(count.getCategoryId(), count.getArticleCount());
+                }
+            }
+            List<SuggestionVO> suggestionList = new ArrayList<>(categoryList.size());
+            for (Category category : categoryList) {
+                suggestionList.add(toSuggestion(category, articleCounts.getOrDefault(category.getId(), 0L)));
+            }
+            categorySuggestions = Collections.unmodifiableList(suggestionList);
+        } catch (Exception e) {
+            log.error("load category suggestions failed, retry later", e);
+            scheduleCategoryReload(RETRY_DELAY_MILLIS);
+        }
+    }
+
+    private static SuggestionVO toSuggestion(TagVO tagVO) {
+        SuggestionVO suggestion = new SuggestionVO();
+        suggestion.setType(SuggestType.TAG.getValue());
+        suggestion.setId(tagVO.getId());
+        suggestion.setName(tagVO.getName());
+        suggestion.setSlug(tagVO.getSlug());
+        suggestion.setColor(tagVO.getColor());
+        suggestion.setCount(tagVO.getUseCount() == null ? 0L : tagVO.getUseCount().longValue());
+        return suggestion;
+    }
+
+    private static SuggestionVO toSuggestion(Category category, Long articleCount) {
+        SuggestionVO suggestion = new SuggestionVO();
+        suggestion.setType(SuggestType.CATEGORY.getValue());
+        suggestion.setId(category.getId());
+        suggestion.setName(category.getName());
+        suggestion.setSlug(category.getSlug());
+        suggestion.setColor(category.getColor());
+        suggestion.setCount(articleCount);
+        return suggestion;
+    }
+
+    private static final class IndexHolder {
+
+        private final TagDictionary dictionary;
+
+        private final List<SuggestionVO> categories;
+
+        private final SuggestIndex index;
+
+        private IndexHolder(TagDictionary dictionary, List<SuggestionVO> categories, SuggestIndex index) {
+            this.dictionary = dictionary;
+            this.categories = categories;
+            this.index = index;
+        }
+    }
+}
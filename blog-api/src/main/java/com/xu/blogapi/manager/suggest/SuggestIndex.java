@@ -0,0 +1,118 @@
+package com.xu.blogapi.manager.suggest;
+
+import com.xu.blogapi.model.vo.SuggestionVO;
+import com.xu.blogapi.utils.PinyinUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 自动补全前缀索引
+ * 每个候选项以名称、别名和名称的拼音首字母作为检索键，所有键排序后存放在数组中，
+ * 前缀查询先二分定位再顺序扫描，构建后不再修改
+ *
+ * @author xu
+ */
+public final class SuggestIndex {
+
+    /**
+     * 结果排序：数量降序，名称短的优先
+     */
+    private static final Comparator<SuggestionVO> RANK_ORDER = Comparator
+            .comparing(SuggestionVO::getCount, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparingInt(suggestion -> suggestion.getName() == null ? 0 : suggestion.getName().length())
+            .thenComparing(SuggestionVO::getName, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final String[] keys;
+
+    private final SuggestionVO[] suggestions;
+
+    public SuggestIndex(Collection<SuggestionVO> suggestionList) {
+        List<Entry> entries = new ArrayList<>(suggestionList.size() * 3);
+        for (SuggestionVO suggestion : suggestionList) {
+            addEntry(entries, suggestion.getName(), suggestion);
+            addEntry(entries, suggestion.getSlug(), suggestion);
+            if (PinyinUtils.containsChinese(suggestion.getName())) {
+                addEntry(entries, PinyinUtils.getInitials(suggestion.getName()), suggestion);
+            }
+        }
+        entries.sort(Comparator.comparing(entry -> entry.key));
+        keys = new String[entries.size()];
+        suggestions = new SuggestionVO[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            keys[i] = entries.get(i).key;
+            suggestions[i] = entries.get(i).suggestion;
+        }
+    }
+
+    /**
+     * 前缀查询
+     *
+     * @param keyword 关键词，忽略大小写和首尾空白
+     * @param type    类型，为 null 时不限
+     * @param limit   最多返回数量
+     * @return 按数量降序排列的候选项
+     */
+    public List<SuggestionVO> search(String keyword, SuggestType type, int limit) {
+        String prefix = normalize(keyword);
+        if (prefix.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        Set<SuggestionVO> matched = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = lowerBound(prefix); i < keys.length && keys[i].startsWith(prefix); i++) {
+            if (type == null || type.getValue().equals(suggestions[i].getType())) {
+                matched.add(suggestions[i]);
+            }
+        }
+        List<SuggestionVO> result = new ArrayList<>(matched);
+        result.sort(RANK_ORDER);
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static void addEntry(List<Entry> entries, String key, SuggestionVO suggestion) {
+        String normalized = normalize(key);
+        if (!normalized.isEmpty()) {
+            entries.add(new Entry(normalized, suggestion));
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Entry {
+
+        private final String key;
+
+        private final SuggestionVO suggestion;
+
+        private Entry(String key, SuggestionVO suggestion) {
+            this.key = key;
+            this.suggestion = suggestion;
+        }
+    }
+}
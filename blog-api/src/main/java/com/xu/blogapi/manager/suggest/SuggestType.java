@@ -0,0 +1,43 @@
+package com.xu.blogapi.manager.suggest;
+
+import lombok.Getter;
+
+/**
+ * 自动补全类型
+ *
+ * @author xu
+ */
+@Getter
+public enum SuggestType {
+
+    /**
+     * 标签，按使用次数排序
+     */
+    TAG("tag"),
+
+    /**
+     * 分类，按文章数量排序
+     */
+    CATEGORY("category");
+
+    private final String value;
+
+    SuggestType(String value) {
+        this.value = value;
+    }
+
+    /**
+     * 根据取值获取类型
+     *
+     * @param value 取值
+     * @return 类型，不存在时返回 null
+     */
+    public static SuggestType ofValue(String value) {
+        for (SuggestType type : values()) {
+            if (type.value.equals(value)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,211 @@
+package com.xu.blogapi.manager.tag;
+
+import com.xu.blogapi.converter.TagConverter;
+import com.xu.blogapi.model.entity.Tag;
+import com.xu.blogapi.model.vo.TagVO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 标签字典快照
+ * 构建后不再修改，整体替换；ID 索引使用 long 数组开放寻址，查询不装箱。
+ * 名称和别名按忽略大小写比较，与数据库的 utf8mb4_unicode_ci 排序规则一致。
+ * 返回的 TagVO 为快照内共享的对象，调用方不能修改
+ *
+ * @author xu
+ */
+public final class TagDictionary {
+
+    /**
+     * 默认排序：使用次数降序，创建时间降序
+     */
+    private static final Comparator<TagVO> POPULAR_ORDER = Comparator
+            .comparing(TagVO::getUseCount, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(TagVO::getCreateTime, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()));
+
+    private final long[] keys;
+
+    private final TagVO[] values;
+
+    private final int mask;
+
+    private final Map<String, List<TagVO>> byName;
+
+    private final Map<String, List<TagVO>> bySlug;
+
+    private final List<TagVO> sortedTags;
+
+    private TagDictionary(List<TagVO> tags) {
+        int capacity = Integer.highestOneBit(Math.max(tags.size(), 1) * 2 - 1) << 1;
+        keys = new long[capacity];
+        values = new TagVO[capacity];
+        mask = capacity - 1;
+        Map<String, List<TagVO>> nameIndex = new HashMap<>(tags.size() * 2);
+        Map<String, List<TagVO>> slugIndex = new HashMap<>(tags.size() * 2);
+        for (TagVO tagVO : tags) {
+            put(tagVO.getId(), tagVO);
+            // 数据库只对别名有唯一约束（且包括已删除的记录），同名或同别名的未删除标签都保留
+            if (tagVO.getName() != null) {
+                nameIndex.computeIfAbsent(normalize(tagVO.getName()), key -> new ArrayList<>(1)).add(tagVO);
+            }
+            if (tagVO.getSlug() != null) {
+                slugIndex.computeIfAbsent(normalize(tagVO.getSlug()), key -> new ArrayList<>(1)).add(tagVO);
+            }
+        }
+        byName = nameIndex;
+        bySlug = slugIndex;
+        List<TagVO> sorted = new ArrayList<>(tags);
+        sorted.sort(POPULAR_ORDER);
+        sortedTags = Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * 由未删除的标签构建快照
+     *
+     * @param tagList 标签列表
+     * @return 快照
+     */
+    public static TagDictionary of(Collection<Tag> tagList) {
+        List<TagVO> tags = new ArrayList<>(tagList.size());
+        for (Tag tag : tagList) {
+            if (tag.getId() != null) {
+                tags.add(TagConverter.toTagVO(tag));
+            }
+        }
+        return new TagDictionary(tags);
+    }
+
+    /**
+     * 根据ID获取标签
+     *
+     * @param id 标签ID
+     * @return 标签，不存在时返回 null
+     */
+    public TagVO get(long id) {
+        int index = indexOf(id);
+        return index < 0 ? null : values[index];
+    }
+
+    /**
+     * 批量获取标签
+     *
+     * @param ids 标签ID
+     * @return 标签ID -> 标签，不存在的标签不包含在内
+     */
+    public Map<Long, TagVO> getAll(Collection<Long> ids) {
+        Map<Long, TagVO> result = new HashMap<>(ids.size() * 2);
+        for (Long id : ids) {
+            TagVO tagVO = id == null ? null : get(id);
+            if (tagVO != null) {
+                result.put(id, tagVO);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 根据别名获取标签
+     *
+     * @param slug 别名
+     * @return 标签，不存在时返回 null
+     */
+    public TagVO getBySlug(String slug) {
+        List<TagVO> tags = slug == null ? null : bySlug.get(normalize(slug));
+        return tags == null ? null : tags.get(0);
+    }
+
+    /**
+     * 名称是否已被其他标签使用
+     *
+     * @param name      标签名称
+     * @param excludeId 排除的标签ID，为 null 时不排除
+     * @return 是否存在
+     */
+    public boolean existsByName(String name, Long excludeId) {
+        return name != null && existsExcept(byName.get(normalize(name)), excludeId);
+    }
+
+    /**
+     * 别名是否已被其他标签使用
+     *
+     * @param slug      标签别名
+     * @param excludeId 排除的标签ID，为 null 时不排除
+     * @return 是否存在
+     */
+    public boolean existsBySlug(String slug, Long excludeId) {
+        return slug != null && existsExcept(bySlug.get(normalize(slug)), excludeId);
+    }
+
+    /**
+     * 全部标签，按使用次数降序、创建时间降序
+     *
+     * @return 不可修改的标签列表
+     */
+    public List<TagVO> listAll() {
+        return sortedTags;
+    }
+
+    /**
+     * 热门标签
+     *
+     * @param limit 数量
+     * @return 使用次数最多的标签
+     */
+    public List<TagVO> listPopular(int limit) {
+        return sortedTags.subList(0, Math.min(limit, sortedTags.size()));
+    }
+
+    public int size() {
+        return sortedTags.size();
+    }
+
+    private void put(long id, TagVO tagVO) {
+        int index = hash(id) & mask;
+        while (values[index] != null && keys[index] != id) {
+            index = (index + 1) & mask;
+        }
+        keys[index] = id;
+        values[index] = tagVO;
+    }
+
+    private int indexOf(long id) {
+        int index = hash(id) & mask;
+        while (values[index] != null) {
+            if (keys[index] == id) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int hash(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static boolean existsExcept(List<TagVO> tags, Long excludeId) {
+        if (tags == null) {
+            return false;
+        }
+        for (TagVO tagVO : tags) {
+            if (!Objects.equals(tagVO.getId(), excludeId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
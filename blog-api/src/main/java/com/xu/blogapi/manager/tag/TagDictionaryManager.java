@@ -0,0 +1,154 @@
+package com.xu.blogapi.manager.tag;
+
+import com.xu.blogapi.datasource.ReadWriteRoutingDataSource;
+import com.xu.blogapi.event.TableChangeInterceptor;
+import com.xu.blogapi.event.TableChangedEvent;
+import com.xu.blogapi.mapper.TagMapper;
+import com.xu.blogapi.model.entity.Tag;
+import com.xu.blogapi.model.vo.TagVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 标签字典
+ * 标签表数据量小且很少修改，全部未删除的标签以不可变快照（{@link TagDictionary}）常驻内存，
+ * 标签的查询和名称、别名唯一性校验都不再访问数据库；
+ * 标签表变更（{@link TableChangedEvent}，本节点在事务提交后发布，其他节点通过广播收到）后重新加载并整体替换快照。
+ * 加载不持有锁，读取始终拿到当前快照；每次加载按开始顺序编号，只有更晚开始的加载才能替换快照，
+ * 先开始、后完成的加载不会用旧数据覆盖新快照。
+ * 快照尚未加载（启动中或上次加载失败）时在读取线程上同步加载；
+ * 当前事务修改过标签表但尚未提交时，直接从数据库构建临时快照，保证事务内能读到自己的修改
+ *
+ * @author xu
+ */
+@Slf4j
+@Component
+public class TagDictionaryManager {
+
+    private static final String TABLE_TAG = "tag";
+
+    @Resource
+    private TagMapper tagMapper;
+
+    @Resource
+    private TableChangeInterceptor tableChangeInterceptor;
+
+    /**
+     * 加载序号
+     */
+    private final AtomicLong loadSequence = new AtomicLong();
+
+    /**
+     * 当前快照及其加载序号，快照为 null 表示尚未加载或上次加载失败
+     */
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(0, null));
+
+    /**
+     * 应用启动完成后加载
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("load tag dictionary failed, retry on first read", e);
+        }
+    }
+
+    /**
+     * 标签表变更后重新加载
+     *
+     * @param event 数据表变更事件
+     */
+    @EventListener
+    public void onTableChanged(TableChangedEvent event) {
+        if (!TABLE_TAG.equals(event.getTable())) {
+            return;
+        }
+        try {
+            reload();
+        } catch (Exception e) {
+            // 加载失败时已丢弃旧快照，下次读取时重新加载，避免一直使用过期数据
+            log.error("reload tag dictionary failed", e);
+        }
+    }
+
+    /**
+     * 获取当前快照
+     *
+     * @return 快照
+     */
+    public TagDictionary getDictionary() {
+        if (tableChangeInterceptor.hasPendingChanges(TABLE_TAG)) {
+            return TagDictionary.of(tagMapper.selectList(null));
+        }
+        TagDictionary current = snapshot.get().dictionary;
+        return current != null ? current : reload();
+    }
+
+    /**
+     * 批量获取标签
+     *
+     * @param ids 标签ID
+     * @return 标签ID -> 标签，不存在或已删除的标签不包含在内
+     */
+    public Map<Long, TagVO> getTags(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return getDictionary().getAll(ids);
+    }
+
+    /**
+     * 重新加载全部标签并替换快照，查询和构建都在锁外进行；加载失败时丢弃当前快照；
+     * 本节点的变更事件在请求线程上处理，强制读主库，避免从库延迟时加载到变更前的数据
+     *
+     * @return 新快照
+     */
+    public TagDictionary reload() {
+        long sequence = loadSequence.incrementAndGet();
+        TagDictionary loaded;
+        try {
+            List<Tag> tagList = ReadWriteRoutingDataSource.executeOnPrimary(() -> tagMapper.selectList(null));
+            loaded = TagDictionary.of(tagList);
+        } catch (RuntimeException e) {
+            install(new Snapshot(sequence, null));
+            throw e;
+        }
+        install(new Snapshot(sequence, loaded));
+        log.info("tag dictionary loaded, size = {}", loaded.size());
+        return loaded;
+    }
+
+    /**
+     * 替换快照，已安装更晚开始的加载结果时忽略
+     */
+    private void install(Snapshot loaded) {
+        snapshot.accumulateAndGet(loaded, (current, next) -> next.sequence > current.sequence ? next : current);
+    }
+
+    /**
+     * 快照及其加载序号
+     */
+    private static final class Snapshot {
+
+        private final long sequence;
+
+        private final TagDictionary dictionary;
+
+        private Snapshot(long sequence, TagDictionary dictionary) {
+            this.sequence = sequence;
+            this.dictionary = dictionary;
+        }
+    }
+}
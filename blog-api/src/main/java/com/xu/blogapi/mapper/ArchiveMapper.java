@@ -0,0 +1,53 @@
+package com.xu.blogapi.mapper;
+
+import com.xu.blogapi.manager.archive.ArchiveEntry;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 归档数据访问层
+ * 只查询前台可见的记录（未删除、已发布/公开）的ID和归档时间
+ *
+ * @author xu
+ */
+public interface ArchiveMapper {
+
+    /**
+     * 查询已发布文章的发布时间
+     *
+     * @param ids 文章ID，为 null 时查询全部
+     * @return 文章ID及发布时间
+     */
+    @Select("<script>SELECT id, publish_time AS archive_time FROM article "
+            + "WHERE is_delete = 0 AND status = 1 AND publish_time IS NOT NULL"
+            + "<if test='ids != null'> AND id IN "
+            + "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach></if></script>")
+    List<ArchiveEntry> selectArticleEntries(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 查询公开想法的创建时间
+     *
+     * @param ids 想法ID，为 null 时查询全部
+     * @return 想法ID及创建时间
+     */
+    @Select("<script>SELECT id, create_time AS archive_time FROM thought "
+            + "WHERE is_delete = 0 AND status = 1 AND create_time IS NOT NULL"
+            + "<if test='ids != null'> AND id IN "
+            + "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach></if></script>")
+    List<ArchiveEntry> selectThoughtEntries(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 查询公开旅行的出发日期
+     *
+     * @param ids 旅行ID，为 null 时查询全部
+     * @return 旅行ID及出发日期
+     */
+    @Select("<script>SELECT id, CAST(start_date AS DATETIME) AS archive_time FROM travel "
+            + "WHERE is_delete = 0 AND status = 1 AND start_date IS NOT NULL"
+            + "<if test='ids != null'> AND id IN "
+            + "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach></if></script>")
+    List<ArchiveEntry> selectTravelEntries(@Param("ids") Collection<Long> ids);
+}
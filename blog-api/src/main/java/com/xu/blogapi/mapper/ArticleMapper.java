@@ -6,6 +6,9 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.xu.blogapi.model.entity.Article;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.time.LocalDateTime;
 
 /**
  * 文章数据访问层
@@ -38,6 +41,22 @@ public interface ArticleMapper extends BaseMapper<Article> {
      */
     Article selectBySlug(@Param("slug") String slug);
 
+    /**
+     * 按ID加锁读取文章，读到最新提交的数据，行锁持有到事务结束
+     *
+     * @param id 文章ID
+     * @return 文章信息
+     */
+    Article selectByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * 锁定文章行（只查询ID），行锁持有到事务结束
+     *
+     * @param id 文章ID
+     * @return 文章ID，文章不存在时返回 null
+     */
+    Long lockById(@Param("id") Long id);
+
     /**
      * 查询置顶文章列表
      *
@@ -65,4 +84,65 @@ public interface ArticleMapper extends BaseMapper<Article> {
     int updateWordCountAndReadingTime(@Param("id") Long id, 
                                     @Param("wordCount") Integer wordCount,
                                     @Param("readingTime") Integer readingTime);
-}
\ No newline at end of file
+
+    /**
+     * 查询待执行的定时任务（只包含ID、状态、发布时间和计划下线时间）
+     *
+     * @return 定时发布的文章和设置了计划下线时间的已发布文章
+     */
+    java.util.List<Article> selectPendingSchedules();
+
+    /**
+     * 按ID查询定时相关字段
+     *
+     * @param ids 文章ID
+     * @return 未删除的文章
+     */
+    java.util.List<Article> selectScheduleByIds(@Param("ids") java.util.Collection<Long> ids);
+
+    /**
+     * 定时发布，仅在文章仍为定时发布状态且已到发布时间时生效
+     *
+     * @param id 文章ID
+     * @param now 当前时间
+     * @return 更新行数
+     */
+    int updateScheduledToPublished(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * 下线文章并清除计划下线时间
+     *
+     * @param id 文章ID
+     * @param now 当前时间，不为空时只对已到计划下线时间的已发布文章生效
+     * @return 更新行数
+     */
+    int updateToOffline(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * 取消定时发布和计划下线
+     *
+     * @param id 文章ID
+     * @return 更新行数
+     */
+    int clearSchedule(@Param("id") Long id);
+
+    /**
+     * 按ID游标流式查询，逐行回调，不在内存中保留结果列表
+     *
+     * @param afterId 起始ID（不包含）
+     * @param maxId 结束ID（包含，可选）
+     * @param handler 行处理器
+     */
+    void streamByIdRange(@Param("afterId") Long afterId,
+                         @Param("maxId") Long maxId,
+                         ResultHandler<Article> handler);
+
+    /**
+     * 查询从起始ID之后第 offset 条记录的ID，用于确定分块导出的结束位置
+     *
+     * @param afterId 起始ID（不包含）
+     * @param offset 偏移量
+     * @return 记录ID，不足 offset + 1 条时返回 null
+     */
+    Long selectChunkEndId(@Param("afterId") Long afterId, @Param("offset") Integer offset);
+}
@@ -0,0 +1,26 @@
+package com.xu.blogapi.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.xu.blogapi.model.entity.ArticleRender;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 文章渲染结果数据访问层
+ *
+ * @author xu
+ */
+public interface ArticleRenderMapper extends BaseMapper<ArticleRender> {
+
+    /**
+     * 保存渲染结果，已存在时覆盖
+     *
+     * @param render 渲染结果
+     * @return 影响行数
+     */
+    @Insert("INSERT INTO article_render (article_id, content_hash, renderer_version, html, toc, excerpt) "
+            + "VALUES (#{render.articleId}, #{render.contentHash}, #{render.rendererVersion}, #{render.html}, "
+            + "#{render.toc}, #{render.excerpt}) ON DUPLICATE KEY UPDATE content_hash = VALUES(content_hash), "
+            + "renderer_version = VALUES(renderer_version), html = VALUES(html), toc = VALUES(toc), excerpt = VALUES(excerpt)")
+    int upsert(@Param("render") ArticleRender render);
+}
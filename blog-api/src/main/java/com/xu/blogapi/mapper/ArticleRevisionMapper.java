@@ -0,0 +1,71 @@
+package com.xu.blogapi.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.xu.blogapi.model.entity.ArticleRevision;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+/**
+ * 文章修订数据访问层
+ *
+ * @author xu
+ */
+public interface ArticleRevisionMapper extends BaseMapper<ArticleRevision> {
+
+    /**
+     * 查询文章的最新修订（不含内容）
+     *
+     * @param articleId 文章ID
+     * @return 最新修订，没有修订时返回 null
+     */
+    @Select("SELECT id, article_id, revision_no, type, source, content_hash, content_length, editor_id, create_time "
+            + "FROM article_revision WHERE article_id = #{articleId} ORDER BY revision_no DESC LIMIT 1")
+    ArticleRevision selectLatest(@Param("articleId") Long articleId);
+
+    /**
+     * 以当前读查询文章的最新修订（不含内容），写入修订前在文章行锁内调用
+     *
+     * @param articleId 文章ID
+     * @return 最新修订，没有修订时返回 null
+     */
+    @Select("SELECT id, article_id, revision_no, type, source, content_hash, content_length, editor_id, create_time "
+            + "FROM article_revision WHERE article_id = #{articleId} ORDER BY revision_no DESC LIMIT 1 FOR SHARE")
+    ArticleRevision selectLatestForShare(@Param("articleId") Long articleId);
+
+    /**
+     * 查询文章的修订列表（不含内容），按修订号倒序
+     *
+     * @param articleId 文章ID
+     * @return 修订列表
+     */
+    @Select("SELECT id, article_id, revision_no, type, source, content_hash, content_length, editor_id, create_time, "
+            + "LENGTH(content) AS stored_size FROM article_revision WHERE article_id = #{articleId} ORDER BY revision_no DESC")
+    List<ArticleRevision> selectRevisionList(@Param("articleId") Long articleId);
+
+    /**
+     * 查询还原指定修订所需的记录：最近一个不晚于该修订的快照，以及之后到该修订为止的增量，按修订号升序
+     *
+     * @param articleId  文章ID
+     * @param revisionNo 修订号
+     * @return 快照及增量，修订不存在时为空
+     */
+    @Select("SELECT * FROM article_revision WHERE article_id = #{articleId} AND revision_no <= #{revisionNo} "
+            + "AND revision_no >= (SELECT MAX(revision_no) FROM article_revision WHERE article_id = #{articleId} "
+            + "AND revision_no <= #{revisionNo} AND type = 0) ORDER BY revision_no")
+    List<ArticleRevision> selectRestoreChain(@Param("articleId") Long articleId, @Param("revisionNo") Integer revisionNo);
+
+    /**
+     * 以当前读查询还原指定修订所需的记录，写入修订前在文章行锁内调用
+     *
+     * @param articleId  文章ID
+     * @param revisionNo 修订号
+     * @return 快照及增量，修订不存在时为空
+     */
+    @Select("SELECT * FROM article_revision WHERE article_id = #{articleId} AND revision_no <= #{revisionNo} "
+            + "AND revision_no >= (SELECT MAX(revision_no) FROM article_revision WHERE article_id = #{articleId} "
+            + "AND revision_no <= #{revisionNo} AND type = 0 FOR SHARE) ORDER BY revision_no FOR SHARE")
+    List<ArticleRevision> selectRestoreChainForShare(@Param("articleId") Long articleId,
+                                                     @Param("revisionNo") Integer revisionNo);
+}
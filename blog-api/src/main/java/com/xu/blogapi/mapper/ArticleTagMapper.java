@@ -6,6 +6,7 @@ import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -33,6 +34,17 @@ public interface ArticleTagMapper extends BaseMapper<ArticleTag> {
     @Select("SELECT article_id FROM article_tag WHERE tag_id = #{tagId}")
     List<Long> selectArticleIdsByTagId(@Param("tagId") Long tagId);
 
+    /**
+     * 批量查询多篇文章的标签关联
+     *
+     * @param articleIds 文章ID列表
+     * @return 关联列表（只包含 articleId 和 tagId），按文章ID和关联创建顺序排序
+     */
+    @Select("<script>SELECT article_id, tag_id FROM article_tag WHERE article_id IN "
+            + "<foreach collection='articleIds' item='articleId' open='(' separator=',' close=')'>#{articleId}</foreach>"
+            + " ORDER BY article_id, id</script>")
+    List<ArticleTag> selectByArticleIds(@Param("articleIds") Collection<Long> articleIds);
+
     /**
      * 批量插入文章标签关联
      *
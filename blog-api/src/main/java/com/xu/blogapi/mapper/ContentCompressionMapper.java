@@ -0,0 +1,53 @@
+package com.xu.blogapi.mapper;
+
+import com.xu.blogapi.manager.compression.ContentBlob;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.List;
+
+/**
+ * 大字段压缩迁移数据访问层
+ * 表名只能来自 {@link com.xu.blogapi.manager.compression.ContentCompressionMigrator} 中的固定列表
+ *
+ * @author xu
+ */
+public interface ContentCompressionMapper {
+
+    /**
+     * 查询 content 字段已改为二进制类型的表
+     *
+     * @param tables 表名
+     * @return content 字段为 BLOB 类型的表名
+     */
+    @Select("<script>SELECT TABLE_NAME FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE() "
+            + "AND COLUMN_NAME = 'content' AND DATA_TYPE IN ('blob', 'mediumblob', 'longblob') AND TABLE_NAME IN "
+            + "<foreach collection='tables' item='table' open='(' separator=',' close=')'>#{table}</foreach></script>")
+    List<String> selectBinaryContentTables(@Param("tables") List<String> tables);
+
+    /**
+     * 按ID顺序读取一批原始字节（包括已逻辑删除的记录）
+     *
+     * @param table   表名
+     * @param afterId 起始ID（不包含）
+     * @param limit   条数
+     * @return 记录ID及 content 原始字节
+     */
+    @Select("SELECT id, content FROM ${table} WHERE id > #{afterId} ORDER BY id LIMIT #{limit}")
+    List<ContentBlob> selectContentBatch(@Param("table") String table, @Param("afterId") Long afterId,
+                                         @Param("limit") Integer limit);
+
+    /**
+     * 写入压缩后的内容，内容在读取后被修改过时不更新；保留原更新时间
+     *
+     * @param table    表名
+     * @param id       记录ID
+     * @param content  压缩后的内容
+     * @param expected 读取时的原始字节
+     * @return 影响行数
+     */
+    @Update("UPDATE ${table} SET content = #{content}, update_time = update_time WHERE id = #{id} AND content = #{expected}")
+    int updateCompressedContent(@Param("table") String table, @Param("id") Long id, @Param("content") byte[] content,
+                                @Param("expected") byte[] expected);
+}
@@ -0,0 +1,96 @@
+package com.xu.blogapi.mapper;
+
+import com.xu.blogapi.manager.stats.GroupCount;
+import com.xu.blogapi.model.vo.DashboardStatsVO;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+/**
+ * 仪表盘统计数据访问层
+ * 每张表用一次扫描算出所有计数，分组计数单独查询
+ *
+ * @author xu
+ */
+public interface DashboardStatsMapper {
+
+    /**
+     * 文章计数
+     *
+     * @return 文章统计
+     */
+    @Select("SELECT COUNT(*) AS total, IFNULL(SUM(status = 1), 0) AS published, IFNULL(SUM(status = 0), 0) AS draft, "
+            + "IFNULL(SUM(status = 2), 0) AS offline, IFNULL(SUM(status = 3), 0) AS scheduled, "
+            + "IFNULL(SUM(is_top = 1), 0) AS top, IFNULL(SUM(is_featured = 1), 0) AS featured "
+            + "FROM article WHERE is_delete = 0")
+    DashboardStatsVO.ArticleStats selectArticleStats();
+
+    /**
+     * 想法计数
+     *
+     * @return 想法统计
+     */
+    @Select("SELECT COUNT(*) AS total, IFNULL(SUM(status = 1), 0) AS public_count FROM thought WHERE is_delete = 0")
+    DashboardStatsVO.ThoughtStats selectThoughtStats();
+
+    /**
+     * 旅行计数
+     *
+     * @return 旅行统计（不含分组计数）
+     */
+    @Select("SELECT COUNT(*) AS total, IFNULL(SUM(status = 1), 0) AS public_count, IFNULL(SUM(rating >= 4), 0) AS high_rated "
+            + "FROM travel WHERE is_delete = 0")
+    DashboardStatsVO.TravelStats selectTravelStats();
+
+    /**
+     * 按评分统计旅行
+     *
+     * @return 评分及数量
+     */
+    @Select("SELECT rating AS group_key, COUNT(*) AS count FROM travel "
+            + "WHERE is_delete = 0 AND rating IS NOT NULL GROUP BY rating ORDER BY rating DESC")
+    List<GroupCount> selectTravelRatingCounts();
+
+    /**
+     * 按作者统计旅行
+     *
+     * @return 作者ID及数量
+     */
+    @Select("SELECT author_id AS group_key, COUNT(*) AS count FROM travel "
+            + "WHERE is_delete = 0 AND author_id IS NOT NULL GROUP BY author_id ORDER BY count DESC")
+    List<GroupCount> selectTravelAuthorCounts();
+
+    /**
+     * 标签计数
+     *
+     * @return 标签统计
+     */
+    @Select("SELECT COUNT(*) AS total, IFNULL(SUM(use_count > 0), 0) AS used FROM tag WHERE is_delete = 0")
+    DashboardStatsVO.TagStats selectTagStats();
+
+    /**
+     * 项目计数
+     *
+     * @return 项目统计
+     */
+    @Select("SELECT COUNT(*) AS total, IFNULL(SUM(is_featured = 1), 0) AS featured, "
+            + "IFNULL(SUM(is_open_source = 1), 0) AS open_source FROM project WHERE is_delete = 0")
+    DashboardStatsVO.ProjectStats selectProjectStats();
+
+    /**
+     * 技术栈计数
+     *
+     * @return 技术栈统计（不含分组计数）
+     */
+    @Select("SELECT COUNT(*) AS total, IFNULL(SUM(status = 1), 0) AS displayed FROM tech_stack WHERE is_delete = 0")
+    DashboardStatsVO.TechStackStats selectTechStackStats();
+
+    /**
+     * 按分类统计技术栈
+     *
+     * @return 分类及数量
+     */
+    @Select("SELECT category AS group_key, COUNT(*) AS count FROM tech_stack "
+            + "WHERE is_delete = 0 AND category IS NOT NULL GROUP BY category ORDER BY count DESC")
+    List<GroupCount> selectTechStackCategoryCounts();
+}
@@ -0,0 +1,26 @@
+package com.xu.blogapi.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.xu.blogapi.model.entity.ImageAsset;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 图片资源数据访问层
+ *
+ * @author xu
+ */
+public interface ImageAssetMapper extends BaseMapper<ImageAsset> {
+
+    /**
+     * 保存图片资源，同一对象键重复上传时覆盖
+     *
+     * @param asset 图片资源
+     * @return 影响行数
+     */
+    @Insert("INSERT INTO image_asset (object_key, width, height, placeholder, variants) "
+            + "VALUES (#{asset.objectKey}, #{asset.width}, #{asset.height}, #{asset.placeholder}, #{asset.variants}) "
+            + "ON DUPLICATE KEY UPDATE width = VALUES(width), height = VALUES(height), "
+            + "placeholder = VALUES(placeholder), variants = VALUES(variants)")
+    int upsert(@Param("asset") ImageAsset asset);
+}
@@ -1,9 +1,16 @@
 package com.xu.blogapi.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.xu.blogapi.common.JsonListTypeHandler;
 import com.xu.blogapi.model.entity.Project;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Result;
+import org.apache.ibatis.annotations.ResultType;
+import org.apache.ibatis.annotations.Results;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.util.List;
 
@@ -66,6 +73,15 @@ public interface ProjectMapper extends BaseMapper<Project> {
     @Select("SELECT * FROM project WHERE slug = #{slug} AND is_delete = 0")
     Project selectBySlug(@Param("slug") String slug);
 
+    /**
+     * 按ID加锁读取项目，读到最新提交的数据，行锁持有到事务结束
+     *
+     * @param id 项目ID
+     * @return 项目信息
+     */
+    @Select("SELECT * FROM project WHERE id = #{id} AND is_delete = 0 FOR UPDATE")
+    Project selectByIdForUpdate(@Param("id") Long id);
+
     /**
      * 检查项目别名是否存在
      *
@@ -117,4 +133,36 @@ public interface ProjectMapper extends BaseMapper<Project> {
      */
     @Select("SELECT COUNT(*) FROM project WHERE is_delete = 0")
     Long countProjects();
-}
\ No newline at end of file
+
+    /**
+     * 按ID游标流式查询，逐行回调，不在内存中保留结果列表
+     * fetchSize 为 Integer.MIN_VALUE 时 MySQL 驱动逐行返回
+     *
+     * @param afterId 起始ID（不包含）
+     * @param maxId   结束ID（包含，可选）
+     * @param handler 行处理器
+     */
+    @Select({"<script>",
+            "SELECT * FROM project WHERE is_delete = 0 AND id &gt; #{afterId}",
+            "<if test='maxId != null'> AND id &lt;= #{maxId} </if>",
+            "ORDER BY id",
+            "</script>"})
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    @ResultType(Project.class)
+    @Results({
+            @Result(column = "images", property = "images", typeHandler = JsonListTypeHandler.class),
+            @Result(column = "tech_stack", property = "techStack", typeHandler = JsonListTypeHandler.class),
+            @Result(column = "features", property = "features", typeHandler = JsonListTypeHandler.class)
+    })
+    void streamByIdRange(@Param("afterId") Long afterId, @Param("maxId") Long maxId, ResultHandler<Project> handler);
+
+    /**
+     * 查询从起始ID之后第 offset 条记录的ID，用于确定分块导出的结束位置
+     *
+     * @param afterId 起始ID（不包含）
+     * @param offset  偏移量
+     * @return 记录ID，不足 offset + 1 条时返回 null
+     */
+    @Select("SELECT id FROM project WHERE is_delete = 0 AND id > #{afterId} ORDER BY id LIMIT #{offset}, 1")
+    Long selectChunkEndId(@Param("afterId") Long afterId, @Param("offset") Integer offset);
+}
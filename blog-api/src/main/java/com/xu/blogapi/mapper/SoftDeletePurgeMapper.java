@@ -0,0 +1,70 @@
+package com.xu.blogapi.mapper;
+
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 逻辑删除数据清理数据访问层
+ * 表名和列名只能来自 {@link com.xu.blogapi.manager.purge.PurgeTarget} 中的固定配置
+ *
+ * @author xu
+ */
+public interface SoftDeletePurgeMapper {
+
+    /**
+     * 查询表的最大ID
+     *
+     * @param table 表名
+     * @return 最大ID，空表返回 0
+     */
+    @Select("SELECT COALESCE(MAX(id), 0) FROM ${table}")
+    long selectMaxId(@Param("table") String table);
+
+    /**
+     * 在主键范围内查询可清理的记录，只按主键范围扫描，不加锁
+     *
+     * @param table         表名
+     * @param afterId       起始ID（不包含）
+     * @param toId          结束ID（包含）
+     * @param before        逻辑删除时间早于该时间
+     * @param referenceSql  仍被引用时跳过的条件（NOT EXISTS 子查询），可为空
+     * @return 记录ID
+     */
+    @Select("<script>SELECT id FROM ${table} WHERE id &gt; #{afterId} AND id &lt;= #{toId} AND is_delete = 1 "
+            + "AND update_time &lt; #{before}<if test='referenceSql != null'> AND ${referenceSql}</if></script>")
+    List<Long> selectPurgeableIds(@Param("table") String table, @Param("afterId") long afterId,
+                                  @Param("toId") long toId, @Param("before") Date before,
+                                  @Param("referenceSql") String referenceSql);
+
+    /**
+     * 按主键锁定仍满足清理条件的记录（事务中调用），读取后被恢复或修改的记录不会返回
+     *
+     * @param table        表名
+     * @param ids          候选ID
+     * @param before       逻辑删除时间早于该时间
+     * @param referenceSql 仍被引用时跳过的条件，可为空
+     * @return 已锁定的记录ID
+     */
+    @Select("<script>SELECT id FROM ${table} WHERE id IN "
+            + "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach> "
+            + "AND is_delete = 1 AND update_time &lt; #{before}<if test='referenceSql != null'> AND ${referenceSql}</if> "
+            + "FOR UPDATE</script>")
+    List<Long> lockPurgeableIds(@Param("table") String table, @Param("ids") List<Long> ids,
+                                @Param("before") Date before, @Param("referenceSql") String referenceSql);
+
+    /**
+     * 按列值删除
+     *
+     * @param table  表名
+     * @param column 列名
+     * @param ids    列值
+     * @return 删除行数
+     */
+    @Delete("<script>DELETE FROM ${table} WHERE ${column} IN "
+            + "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach></script>")
+    int deleteByColumn(@Param("table") String table, @Param("column") String column, @Param("ids") List<Long> ids);
+}
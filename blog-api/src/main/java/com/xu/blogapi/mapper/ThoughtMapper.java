@@ -3,6 +3,7 @@ package com.xu.blogapi.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.xu.blogapi.model.entity.Thought;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.annotations.Select;
 
 import java.util.List;
@@ -97,4 +98,24 @@ public interface ThoughtMapper extends BaseMapper<Thought> {
      */
     @Select("SELECT COUNT(*) FROM thought WHERE is_delete = 0")
     Long countThoughts();
-}
\ No newline at end of file
+
+    /**
+     * 按ID游标流式查询，逐行回调，不在内存中保留结果列表
+     *
+     * @param afterId 起始ID（不包含）
+     * @param maxId 结束ID（包含，可选）
+     * @param handler 行处理器
+     */
+    void streamByIdRange(@Param("afterId") Long afterId,
+                         @Param("maxId") Long maxId,
+                         ResultHandler<Thought> handler);
+
+    /**
+     * 查询从起始ID之后第 offset 条记录的ID，用于确定分块导出的结束位置
+     *
+     * @param afterId 起始ID（不包含）
+     * @param offset 偏移量
+     * @return 记录ID，不足 offset + 1 条时返回 null
+     */
+    Long selectChunkEndId(@Param("afterId") Long afterId, @Param("offset") Integer offset);
+}
@@ -1,9 +1,16 @@
 package com.xu.blogapi.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.xu.blogapi.common.JsonListTypeHandler;
 import com.xu.blogapi.model.entity.Travel;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Result;
+import org.apache.ibatis.annotations.ResultType;
+import org.apache.ibatis.annotations.Results;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -167,4 +174,35 @@ public interface TravelMapper extends BaseMapper<Travel> {
      */
     @Select("SELECT COUNT(*) FROM travel WHERE rating = #{rating} AND is_delete = 0")
     Long countByRating(@Param("rating") Integer rating);
-}
\ No newline at end of file
+
+    /**
+     * 按ID游标流式查询，逐行回调，不在内存中保留结果列表
+     * fetchSize 为 Integer.MIN_VALUE 时 MySQL 驱动逐行返回
+     *
+     * @param afterId 起始ID（不包含）
+     * @param maxId   结束ID（包含，可选）
+     * @param handler 行处理器
+     */
+    @Select({"<script>",
+            "SELECT * FROM travel WHERE is_delete = 0 AND id &gt; #{afterId}",
+            "<if test='maxId != null'> AND id &lt;= #{maxId} </if>",
+            "ORDER BY id",
+            "</script>"})
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    @ResultType(Travel.class)
+    @Results({
+            @Result(column = "images", property = "images", typeHandler = JsonListTypeHandler.class),
+            @Result(column = "highlights", property = "highlights", typeHandler = JsonListTypeHandler.class)
+    })
+    void streamByIdRange(@Param("afterId") Long afterId, @Param("maxId") Long maxId, ResultHandler<Travel> handler);
+
+    /**
+     * 查询从起始ID之后第 offset 条记录的ID，用于确定分块导出的结束位置
+     *
+     * @param afterId 起始ID（不包含）
+     * @param offset  偏移量
+     * @return 记录ID，不足 offset + 1 条时返回 null
+     */
+    @Select("SELECT id FROM travel WHERE is_delete = 0 AND id > #{afterId} ORDER BY id LIMIT #{offset}, 1")
+    Long selectChunkEndId(@Param("afterId") Long afterId, @Param("offset") Integer offset);
+}
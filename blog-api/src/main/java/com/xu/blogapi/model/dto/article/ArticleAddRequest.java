@@ -69,9 +69,14 @@ public class ArticleAddRequest implements Serializable {
     private Integer isFeatured = 0;
 
     /**
-     * 发布时间（如果状态为已发布且未指定发布时间，则使用当前时间）
+     * 发布时间（如果状态为已发布且未指定发布时间，则使用当前时间；晚于当前时间时转为定时发布）
      */
     private LocalDateTime publishTime;
 
+    /**
+     * 计划下线时间（可选）
+     */
+    private LocalDateTime unpublishTime;
+
     private static final long serialVersionUID = 1L;
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.xu.blogapi.model.dto.article;
+
+import com.alibaba.excel.annotation.ExcelProperty;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 文章导入行（Excel 表头按名称匹配，Markdown 头信息也映射到该对象）
+ *
+ * @author xu
+ */
+@Data
+public class ArticleImportRow implements Serializable {
+
+    /**
+     * 文章标题
+     */
+    @ExcelProperty("标题")
+    private String title;
+
+    /**
+     * 文章别名，为空时根据标题生成
+     */
+    @ExcelProperty("别名")
+    private String slug;
+
+    /**
+     * 文章摘要
+     */
+    @ExcelProperty("摘要")
+    private String summary;
+
+    /**
+     * 文章内容（Markdown）
+     */
+    @ExcelProperty("内容")
+    private String content;
+
+    /**
+     * 封面图片URL
+     */
+    @ExcelProperty("封面")
+    private String coverImage;
+
+    /**
+     * 分类ID
+     */
+    @ExcelProperty("分类ID")
+    private Long categoryId;
+
+    /**
+     * 状态：0-草稿，1-已发布，2-已下线
+     */
+    @ExcelProperty("状态")
+    private Integer status;
+
+    /**
+     * 是否置顶：0-否，1-是
+     */
+    @ExcelProperty("置顶")
+    private Integer isTop;
+
+    /**
+     * 是否精选：0-否，1-是
+     */
+    @ExcelProperty("精选")
+    private Integer isFeatured;
+
+    /**
+     * 发布时间，格式 yyyy-MM-dd HH:mm:ss 或 yyyy-MM-dd
+     */
+    @ExcelProperty("发布时间")
+    private String publishTime;
+
+    private static final long serialVersionUID = 1L;
+}
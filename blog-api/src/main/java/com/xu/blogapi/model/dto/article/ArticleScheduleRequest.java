@@ -0,0 +1,34 @@
+package com.xu.blogapi.model.dto.article;
+
+import lombok.Data;
+
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 文章定时发布/下线请求DTO
+ *
+ * @author xu
+ */
+@Data
+public class ArticleScheduleRequest implements Serializable {
+
+    /**
+     * 文章ID
+     */
+    @NotNull(message = "文章ID不能为空")
+    private Long id;
+
+    /**
+     * 计划发布时间（可选，必须晚于当前时间）
+     */
+    private LocalDateTime publishTime;
+
+    /**
+     * 计划下线时间（可选，必须晚于发布时间）
+     */
+    private LocalDateTime unpublishTime;
+
+    private static final long serialVersionUID = 1L;
+}
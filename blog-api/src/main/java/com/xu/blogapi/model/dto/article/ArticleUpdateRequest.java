@@ -70,5 +70,10 @@ public class ArticleUpdateRequest implements Serializable {
      */
     private LocalDateTime publishTime;
 
+    /**
+     * 计划下线时间
+     */
+    private LocalDateTime unpublishTime;
+
     private static final long serialVersionUID = 1L;
 }
\ No newline at end of file
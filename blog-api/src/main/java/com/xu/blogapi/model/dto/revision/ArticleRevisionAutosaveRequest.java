@@ -0,0 +1,52 @@
+package com.xu.blogapi.model.dto.revision;
+
+import lombok.Data;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 自动保存请求DTO
+ * 编辑器只提交相对基准修订的增量，基准修订必须是文章当前的最新修订
+ *
+ * @author xu
+ */
+@Data
+public class ArticleRevisionAutosaveRequest implements Serializable {
+
+    /**
+     * 文章ID
+     */
+    @NotNull(message = "文章ID不能为空")
+    private Long articleId;
+
+    /**
+     * 基准修订号，文章还没有修订时为 0（以文章当前内容为基准）
+     */
+    @NotNull(message = "基准修订号不能为空")
+    private Integer baseRevisionNo;
+
+    /**
+     * 基准内容的MD5，用于校验编辑器持有的基准与服务端一致
+     */
+    @NotNull(message = "基准内容摘要不能为空")
+    private String baseHash;
+
+    /**
+     * 基准内容的行数（按 \n 拆分）
+     */
+    @NotNull(message = "基准行数不能为空")
+    private Integer baseLineCount;
+
+    /**
+     * 增量操作
+     */
+    @Valid
+    @NotEmpty(message = "增量不能为空")
+    private List<ArticleRevisionDeltaOp> ops;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,44 @@
+package com.xu.blogapi.model.dto.revision;
+
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 增量操作DTO
+ * copy：复制基准内容从 start 开始的 count 行；insert：插入 lines；未被复制的基准行视为删除
+ *
+ * @author xu
+ */
+@Data
+public class ArticleRevisionDeltaOp implements Serializable {
+
+    public static final String COPY = "copy";
+
+    public static final String INSERT = "insert";
+
+    /**
+     * 操作类型：copy / insert
+     */
+    @NotBlank(message = "操作类型不能为空")
+    private String type;
+
+    /**
+     * 复制的起始行（从0开始）
+     */
+    private Integer start;
+
+    /**
+     * 复制的行数
+     */
+    private Integer count;
+
+    /**
+     * 插入的行
+     */
+    private List<String> lines;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,29 @@
+package com.xu.blogapi.model.dto.revision;
+
+import lombok.Data;
+
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+
+/**
+ * 恢复文章修订请求DTO
+ *
+ * @author xu
+ */
+@Data
+public class ArticleRevisionRestoreRequest implements Serializable {
+
+    /**
+     * 文章ID
+     */
+    @NotNull(message = "文章ID不能为空")
+    private Long articleId;
+
+    /**
+     * 要恢复的修订号
+     */
+    @NotNull(message = "修订号不能为空")
+    private Integer revisionNo;
+
+    private static final long serialVersionUID = 1L;
+}
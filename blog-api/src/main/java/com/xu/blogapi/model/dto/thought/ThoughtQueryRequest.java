@@ -86,5 +86,11 @@ public class ThoughtQueryRequest implements Serializable {
     @Max(value = 100, message = "每页大小不能超过100")
     private Integer pageSize = 10;
 
+    /**
+     * 是否查询总数，只需要翻页时传 false，返回的总数为 0
+     */
+    @ApiModelProperty(value = "是否查询总数", example = "true")
+    private boolean searchCount = true;
+
     private static final long serialVersionUID = 1L;
 }
\ No newline at end of file
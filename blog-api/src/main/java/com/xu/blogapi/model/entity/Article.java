@@ -1,10 +1,14 @@
 package com.xu.blogapi.model.entity;
 
 import com.baomidou.mybatisplus.annotation.*;
+import com.xu.blogapi.common.CompressedTextTypeHandler;
+import com.xu.blogapi.model.vo.ArticleTocItemVO;
+import com.xu.blogapi.model.vo.TagVO;
 import lombok.Data;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 文章实体类
@@ -43,7 +47,7 @@ public class Article implements Serializable {
     /**
      * 文章内容（Markdown格式）
      */
-    @TableField(value = "content")
+    @TableField(value = "content", typeHandler = CompressedTextTypeHandler.class)
     private String content;
 
     /**
@@ -100,6 +104,12 @@ public class Article implements Serializable {
     @TableField(value = "publish_time")
     private LocalDateTime publishTime;
 
+    /**
+     * 计划下线时间
+     */
+    @TableField(value = "unpublish_time")
+    private LocalDateTime unpublishTime;
+
     /**
      * 创建时间
      */
@@ -119,6 +129,30 @@ public class Article implements Serializable {
     @TableField(value = "is_delete")
     private Integer isDelete;
 
+    /**
+     * 渲染后的HTML（仅详情接口返回）
+     */
+    @TableField(exist = false)
+    private String contentHtml;
+
+    /**
+     * 目录（仅详情接口返回）
+     */
+    @TableField(exist = false)
+    private List<ArticleTocItemVO> toc;
+
+    /**
+     * 纯文本摘要（仅详情接口返回）
+     */
+    @TableField(exist = false)
+    private String excerpt;
+
+    /**
+     * 标签（仅列表接口返回）
+     */
+    @TableField(exist = false)
+    private List<TagVO> tags;
+
     @TableField(exist = false)
     private static final long serialVersionUID = 1L;
 }
\ No newline at end of file
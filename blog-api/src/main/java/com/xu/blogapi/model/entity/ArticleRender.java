@@ -0,0 +1,63 @@
+package com.xu.blogapi.model.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 文章渲染结果实体类
+ * 对应数据库表：article_render
+ *
+ * @author xu
+ */
+@TableName(value = "article_render")
+@Data
+public class ArticleRender implements Serializable {
+
+    /**
+     * 文章ID
+     */
+    @TableId(value = "article_id", type = IdType.INPUT)
+    private Long articleId;
+
+    /**
+     * 渲染时文章内容的MD5
+     */
+    @TableField(value = "content_hash")
+    private String contentHash;
+
+    /**
+     * 渲染器版本
+     */
+    @TableField(value = "renderer_version")
+    private Integer rendererVersion;
+
+    /**
+     * 渲染后的HTML
+     */
+    @TableField(value = "html")
+    private String html;
+
+    /**
+     * 目录（JSON）
+     */
+    @TableField(value = "toc")
+    private String toc;
+
+    /**
+     * 纯文本摘要
+     */
+    @TableField(value = "excerpt")
+    private String excerpt;
+
+    /**
+     * 渲染时间
+     */
+    @TableField(value = "update_time")
+    private LocalDateTime updateTime;
+
+    @TableField(exist = false)
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,87 @@
+package com.xu.blogapi.model.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 文章修订实体类
+ * 对应数据库表：article_revision
+ *
+ * @author xu
+ */
+@TableName(value = "article_revision")
+@Data
+public class ArticleRevision implements Serializable {
+
+    /**
+     * 修订ID
+     */
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 文章ID
+     */
+    @TableField(value = "article_id")
+    private Long articleId;
+
+    /**
+     * 修订号（文章内从1递增）
+     */
+    @TableField(value = "revision_no")
+    private Integer revisionNo;
+
+    /**
+     * 存储类型：0-全量快照，1-相对上一修订的增量
+     */
+    @TableField(value = "type")
+    private Integer type;
+
+    /**
+     * 来源：0-保存，1-自动保存，2-恢复
+     */
+    @TableField(value = "source")
+    private Integer source;
+
+    /**
+     * 压缩后的快照或增量
+     */
+    @TableField(value = "content")
+    private byte[] content;
+
+    /**
+     * 该修订完整内容的MD5
+     */
+    @TableField(value = "content_hash")
+    private String contentHash;
+
+    /**
+     * 该修订完整内容的字符数
+     */
+    @TableField(value = "content_length")
+    private Integer contentLength;
+
+    /**
+     * 编辑者ID
+     */
+    @TableField(value = "editor_id")
+    private Long editorId;
+
+    /**
+     * 创建时间
+     */
+    @TableField(value = "create_time", fill = FieldFill.INSERT)
+    private LocalDateTime createTime;
+
+    /**
+     * 压缩后的存储大小（字节），仅列表查询时填充
+     */
+    @TableField(exist = false)
+    private Integer storedSize;
+
+    @TableField(exist = false)
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,69 @@
+package com.xu.blogapi.model.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 图片资源实体类
+ * 对应数据库表：image_asset
+ *
+ * @author xu
+ */
+@TableName(value = "image_asset")
+@Data
+public class ImageAsset implements Serializable {
+
+    /**
+     * 图片ID
+     */
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 原图对象键
+     */
+    @TableField(value = "object_key")
+    private String objectKey;
+
+    /**
+     * 原图宽度（像素）
+     */
+    @TableField(value = "width")
+    private Integer width;
+
+    /**
+     * 原图高度（像素）
+     */
+    @TableField(value = "height")
+    private Integer height;
+
+    /**
+     * 低质量占位图（data URI）
+     */
+    @TableField(value = "placeholder")
+    private String placeholder;
+
+    /**
+     * 缩放版本（JSON）
+     */
+    @TableField(value = "variants")
+    private String variants;
+
+    /**
+     * 创建时间
+     */
+    @TableField(value = "create_time")
+    private LocalDateTime createTime;
+
+    /**
+     * 更新时间
+     */
+    @TableField(value = "update_time")
+    private LocalDateTime updateTime;
+
+    @TableField(exist = false)
+    private static final long serialVersionUID = 1L;
+}
@@ -41,6 +41,7 @@ public class Project implements Serializable {
     /**
      * 项目详细介绍
      */
+    @TableField(typeHandler = com.xu.blogapi.common.CompressedTextTypeHandler.class)
     private String content;
 
     /**
@@ -52,6 +52,7 @@ public class Travel implements Serializable {
     /**
      * 详细游记内容
      */
+    @TableField(typeHandler = com.xu.blogapi.common.CompressedTextTypeHandler.class)
     private String content;
 
     /**
@@ -0,0 +1,65 @@
+package com.xu.blogapi.model.enums;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.ObjectUtils;
+
+/**
+ * 导出内容类型枚举
+ *
+ * @author xu
+ */
+public enum ExportContentTypeEnum {
+
+    ARTICLE("文章", "article"),
+    TRAVEL("旅行记录", "travel"),
+    THOUGHT("想法", "thought"),
+    PROJECT("项目", "project");
+
+    private final String text;
+
+    private final String value;
+
+    ExportContentTypeEnum(String text, String value) {
+        this.text = text;
+        this.value = value;
+    }
+
+    /**
+     * 获取值
+     * 获取值列表
+     *
+     * @return {@link List}<{@link String}>
+     */
+    public static List<String> getValues() {
+        return Arrays.stream(values()).map(item -> item.value).collect(Collectors.toList());
+    }
+
+    /**
+     * 按值获取枚举
+     * 根据 value 获取枚举
+     *
+     * @param value 价值
+     * @return {@link ExportContentTypeEnum}
+     */
+    public static ExportContentTypeEnum getEnumByValue(String value) {
+        if (ObjectUtils.isEmpty(value)) {
+            return null;
+        }
+        for (ExportContentTypeEnum anEnum : ExportContentTypeEnum.values()) {
+            if (anEnum.value.equals(value)) {
+                return anEnum;
+            }
+        }
+        return null;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getText() {
+        return text;
+    }
+}
@@ -0,0 +1,64 @@
+package com.xu.blogapi.model.enums;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.ObjectUtils;
+
+/**
+ * 导出格式枚举
+ *
+ * @author xu
+ */
+public enum ExportFormatEnum {
+
+    EXCEL("Excel 表格", "excel"),
+    NDJSON("每行一个 JSON 对象", "ndjson"),
+    MARKDOWN("Markdown 压缩包", "markdown");
+
+    private final String text;
+
+    private final String value;
+
+    ExportFormatEnum(String text, String value) {
+        this.text = text;
+        this.value = value;
+    }
+
+    /**
+     * 获取值
+     * 获取值列表
+     *
+     * @return {@link List}<{@link String}>
+     */
+    public static List<String> getValues() {
+        return Arrays.stream(values()).map(item -> item.value).collect(Collectors.toList());
+    }
+
+    /**
+     * 按值获取枚举
+     * 根据 value 获取枚举
+     *
+     * @param value 价值
+     * @return {@link ExportFormatEnum}
+     */
+    public static ExportFormatEnum getEnumByValue(String value) {
+        if (ObjectUtils.isEmpty(value)) {
+            return null;
+        }
+        for (ExportFormatEnum anEnum : ExportFormatEnum.values()) {
+            if (anEnum.value.equals(value)) {
+                return anEnum;
+            }
+        }
+        return null;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getText() {
+        return text;
+    }
+}
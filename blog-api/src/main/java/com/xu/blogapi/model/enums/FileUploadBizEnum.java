@@ -10,7 +10,13 @@ import org.apache.commons.lang3.ObjectUtils;
  */
 public enum FileUploadBizEnum {
 
-    USER_AVATAR("用户头像", "user_avatar");
+    USER_AVATAR("用户头像", "user_avatar"),
+
+    ARTICLE_COVER("文章封面", "article_cover"),
+
+    TRAVEL_IMAGE("旅行图片", "travel_image"),
+
+    PROJECT_IMAGE("项目图片", "project_image");
 
     private final String text;
 
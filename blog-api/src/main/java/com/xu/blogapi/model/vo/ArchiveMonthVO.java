@@ -0,0 +1,44 @@
+package com.xu.blogapi.model.vo;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 月度归档视图对象VO
+ *
+ * @author xu
+ */
+@Data
+@ApiModel(description = "月度归档")
+public class ArchiveMonthVO implements Serializable {
+
+    /**
+     * 年份
+     */
+    @ApiModelProperty(value = "年份", example = "2024")
+    private Integer year;
+
+    /**
+     * 月份（1-12）
+     */
+    @ApiModelProperty(value = "月份（1-12）", example = "5")
+    private Integer month;
+
+    /**
+     * 数量
+     */
+    @ApiModelProperty(value = "数量", example = "3")
+    private Integer count;
+
+    /**
+     * 记录ID，按归档时间倒序
+     */
+    @ApiModelProperty(value = "记录ID，按归档时间倒序")
+    private List<Long> ids;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,38 @@
+package com.xu.blogapi.model.vo;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 年度归档视图对象VO
+ *
+ * @author xu
+ */
+@Data
+@ApiModel(description = "年度归档")
+public class ArchiveYearVO implements Serializable {
+
+    /**
+     * 年份
+     */
+    @ApiModelProperty(value = "年份", example = "2024")
+    private Integer year;
+
+    /**
+     * 全年数量
+     */
+    @ApiModelProperty(value = "全年数量", example = "12")
+    private Integer count;
+
+    /**
+     * 各月归档，按月份倒序，不含没有记录的月份
+     */
+    @ApiModelProperty(value = "各月归档，按月份倒序")
+    private List<ArchiveMonthVO> months;
+
+    private static final long serialVersionUID = 1L;
+}
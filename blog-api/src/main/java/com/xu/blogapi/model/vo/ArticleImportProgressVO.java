@@ -0,0 +1,57 @@
+package com.xu.blogapi.model.vo;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 文章导入进度视图对象
+ *
+ * @author xu
+ */
+@Data
+@ApiModel(description = "文章导入进度")
+public class ArticleImportProgressVO implements Serializable {
+
+    @ApiModelProperty(value = "任务ID")
+    private String taskId;
+
+    @ApiModelProperty(value = "导入来源")
+    private String source;
+
+    @ApiModelProperty(value = "状态：RUNNING-进行中，COMPLETED-已完成，FAILED-失败")
+    private String status;
+
+    @ApiModelProperty(value = "总行数（Excel 为估算值）")
+    private Long total;
+
+    @ApiModelProperty(value = "已处理行数")
+    private Long processed;
+
+    @ApiModelProperty(value = "成功导入数")
+    private Long succeeded;
+
+    @ApiModelProperty(value = "跳过数（别名已存在或检查点之前的行）")
+    private Long skipped;
+
+    @ApiModelProperty(value = "失败数")
+    private Long failed;
+
+    @ApiModelProperty(value = "从检查点恢复时的起始行，-1 表示从头开始")
+    private Long resumedFromRow;
+
+    @ApiModelProperty(value = "错误信息（最多保留前 100 条）")
+    private List<String> errors;
+
+    @ApiModelProperty(value = "开始时间")
+    private LocalDateTime startTime;
+
+    @ApiModelProperty(value = "结束时间")
+    private LocalDateTime finishTime;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,60 @@
+package com.xu.blogapi.model.vo;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 文章修订对比视图对象VO
+ *
+ * @author xu
+ */
+@Data
+@ApiModel(description = "文章修订对比视图对象")
+public class ArticleRevisionDiffVO implements Serializable {
+
+    /**
+     * 旧修订号
+     */
+    @ApiModelProperty(value = "旧修订号", example = "1")
+    private Integer fromRevisionNo;
+
+    /**
+     * 新修订号
+     */
+    @ApiModelProperty(value = "新修订号", example = "2")
+    private Integer toRevisionNo;
+
+    /**
+     * 对比片段，按顺序拼接即为两个修订的逐行对比
+     */
+    @ApiModelProperty(value = "对比片段")
+    private List<Chunk> chunks;
+
+    /**
+     * 对比片段
+     */
+    @Data
+    @ApiModel(description = "修订对比片段")
+    public static class Chunk implements Serializable {
+
+        /**
+         * 类型：equal-相同，delete-删除，insert-新增
+         */
+        @ApiModelProperty(value = "类型：equal-相同，delete-删除，insert-新增", example = "insert")
+        private String type;
+
+        /**
+         * 行内容
+         */
+        @ApiModelProperty(value = "行内容")
+        private List<String> lines;
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    private static final long serialVersionUID = 1L;
+}
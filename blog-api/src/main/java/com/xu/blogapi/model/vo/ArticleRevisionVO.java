@@ -0,0 +1,80 @@
+package com.xu.blogapi.model.vo;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 文章修订视图对象VO
+ *
+ * @author xu
+ */
+@Data
+@ApiModel(description = "文章修订视图对象")
+public class ArticleRevisionVO implements Serializable {
+
+    /**
+     * 文章ID
+     */
+    @ApiModelProperty(value = "文章ID", example = "1")
+    private Long articleId;
+
+    /**
+     * 修订号，0 表示文章尚无修订记录时的当前内容
+     */
+    @ApiModelProperty(value = "修订号", example = "3")
+    private Integer revisionNo;
+
+    /**
+     * 存储类型：0-全量快照，1-增量
+     */
+    @ApiModelProperty(value = "存储类型：0-全量快照，1-增量", example = "1")
+    private Integer type;
+
+    /**
+     * 来源：0-保存，1-自动保存，2-恢复
+     */
+    @ApiModelProperty(value = "来源：0-保存，1-自动保存，2-恢复", example = "0")
+    private Integer source;
+
+    /**
+     * 完整内容的MD5，自动保存时作为基准摘要
+     */
+    @ApiModelProperty(value = "内容MD5")
+    private String contentHash;
+
+    /**
+     * 完整内容的字符数
+     */
+    @ApiModelProperty(value = "内容字符数", example = "5000")
+    private Integer contentLength;
+
+    /**
+     * 压缩后的存储大小（字节）
+     */
+    @ApiModelProperty(value = "存储大小（字节）", example = "120")
+    private Integer storedSize;
+
+    /**
+     * 编辑者ID
+     */
+    @ApiModelProperty(value = "编辑者ID", example = "1")
+    private Long editorId;
+
+    /**
+     * 完整内容，仅查询单个修订时返回
+     */
+    @ApiModelProperty(value = "完整内容")
+    private String content;
+
+    /**
+     * 创建时间
+     */
+    @ApiModelProperty(value = "创建时间")
+    private LocalDateTime createTime;
+
+    private static final long serialVersionUID = 1L;
+}
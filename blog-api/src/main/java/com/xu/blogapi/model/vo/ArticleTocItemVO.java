@@ -0,0 +1,41 @@
+package com.xu.blogapi.model.vo;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 文章目录项视图对象VO
+ *
+ * @author xu
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "文章目录项")
+public class ArticleTocItemVO implements Serializable {
+
+    /**
+     * 标题级别（1-6）
+     */
+    @ApiModelProperty(value = "标题级别（1-6）", example = "2")
+    private Integer level;
+
+    /**
+     * 锚点ID
+     */
+    @ApiModelProperty(value = "锚点ID", example = "快速开始")
+    private String id;
+
+    /**
+     * 标题文本
+     */
+    @ApiModelProperty(value = "标题文本", example = "快速开始")
+    private String text;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,86 @@
+package com.xu.blogapi.model.vo;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 大字段压缩迁移进度视图对象VO
+ *
+ * @author xu
+ */
+@Data
+@ApiModel(description = "大字段压缩迁移进度视图对象")
+public class ContentCompressionMigrationVO implements Serializable {
+
+    /**
+     * 是否正在运行
+     */
+    @ApiModelProperty(value = "是否正在运行")
+    private Boolean running;
+
+    /**
+     * 当前处理的表
+     */
+    @ApiModelProperty(value = "当前处理的表", example = "article")
+    private String currentTable;
+
+    /**
+     * 当前表已处理到的ID
+     */
+    @ApiModelProperty(value = "当前表已处理到的ID")
+    private Long lastId;
+
+    /**
+     * 已扫描行数
+     */
+    @ApiModelProperty(value = "已扫描行数")
+    private Long scannedCount;
+
+    /**
+     * 已压缩行数
+     */
+    @ApiModelProperty(value = "已压缩行数")
+    private Long compressedCount;
+
+    /**
+     * 跳过的行数（已压缩、内容过短或压缩收益不足）
+     */
+    @ApiModelProperty(value = "跳过行数")
+    private Long skippedCount;
+
+    /**
+     * 读取后被并发修改而未更新的行数
+     */
+    @ApiModelProperty(value = "并发修改行数")
+    private Long conflictCount;
+
+    /**
+     * 节省的字节数
+     */
+    @ApiModelProperty(value = "节省字节数")
+    private Long savedBytes;
+
+    /**
+     * 开始时间
+     */
+    @ApiModelProperty(value = "开始时间")
+    private LocalDateTime startTime;
+
+    /**
+     * 结束时间
+     */
+    @ApiModelProperty(value = "结束时间")
+    private LocalDateTime finishTime;
+
+    /**
+     * 结果说明
+     */
+    @ApiModelProperty(value = "结果说明")
+    private String message;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,110 @@
+package com.xu.blogapi.model.vo;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 大字段压缩统计视图对象VO
+ * 统计自应用启动以来的数据
+ *
+ * @author xu
+ */
+@Data
+@ApiModel(description = "大字段压缩统计视图对象")
+public class ContentCompressionStatsVO implements Serializable {
+
+    /**
+     * 是否正在压缩写入（配置开启且字段已迁移为二进制类型）
+     */
+    @ApiModelProperty(value = "是否正在压缩写入")
+    private Boolean enabled;
+
+    /**
+     * 配置是否开启
+     */
+    @ApiModelProperty(value = "配置是否开启")
+    private Boolean configEnabled;
+
+    /**
+     * content 字段是否已改为二进制类型
+     */
+    @ApiModelProperty(value = "字段是否已改为二进制类型")
+    private Boolean binaryColumnsReady;
+
+    /**
+     * 写入次数（压缩启用后）
+     */
+    @ApiModelProperty(value = "写入次数")
+    private Long writeCount;
+
+    /**
+     * 实际压缩的写入次数
+     */
+    @ApiModelProperty(value = "压缩写入次数")
+    private Long compressedWriteCount;
+
+    /**
+     * 写入的原始字节数
+     */
+    @ApiModelProperty(value = "写入原始字节数")
+    private Long writeRawBytes;
+
+    /**
+     * 写入的存储字节数
+     */
+    @ApiModelProperty(value = "写入存储字节数")
+    private Long writeStoredBytes;
+
+    /**
+     * 写入压缩率（存储字节数 / 原始字节数）
+     */
+    @ApiModelProperty(value = "写入压缩率", example = "0.35")
+    private Double writeCompressionRatio;
+
+    /**
+     * 读取到未压缩数据的次数
+     */
+    @ApiModelProperty(value = "未压缩读取次数")
+    private Long plainReadCount;
+
+    /**
+     * 解压次数
+     */
+    @ApiModelProperty(value = "解压次数")
+    private Long decodeCount;
+
+    /**
+     * 平均解压耗时（微秒）
+     */
+    @ApiModelProperty(value = "平均解压耗时（微秒）")
+    private Double decodeAvgMicros;
+
+    /**
+     * 最大解压耗时（微秒）
+     */
+    @ApiModelProperty(value = "最大解压耗时（微秒）")
+    private Double decodeMaxMicros;
+
+    /**
+     * 解压得到的原始字节数
+     */
+    @ApiModelProperty(value = "读取原始字节数")
+    private Long readRawBytes;
+
+    /**
+     * 解压前从数据库读取的字节数
+     */
+    @ApiModelProperty(value = "读取存储字节数")
+    private Long readStoredBytes;
+
+    /**
+     * 读取压缩率（存储字节数 / 原始字节数）
+     */
+    @ApiModelProperty(value = "读取压缩率", example = "0.35")
+    private Double readCompressionRatio;
+
+    private static final long serialVersionUID = 1L;
+}
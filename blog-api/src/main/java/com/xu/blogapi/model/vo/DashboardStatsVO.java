@@ -0,0 +1,180 @@
+package com.xu.blogapi.model.vo;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 仪表盘统计视图对象VO
+ *
+ * @author xu
+ */
+@Data
+@ApiModel(description = "仪表盘统计")
+public class DashboardStatsVO implements Serializable {
+
+    @ApiModelProperty(value = "文章统计")
+    private ArticleStats article;
+
+    @ApiModelProperty(value = "想法统计")
+    private ThoughtStats thought;
+
+    @ApiModelProperty(value = "旅行统计")
+    private TravelStats travel;
+
+    @ApiModelProperty(value = "标签统计")
+    private TagStats tag;
+
+    @ApiModelProperty(value = "项目统计")
+    private ProjectStats project;
+
+    @ApiModelProperty(value = "技术栈统计")
+    private TechStackStats techStack;
+
+    /**
+     * 统计时间
+     */
+    @ApiModelProperty(value = "统计时间")
+    private LocalDateTime generatedTime;
+
+    /**
+     * 文章统计
+     */
+    @Data
+    @ApiModel(description = "文章统计")
+    public static class ArticleStats implements Serializable {
+
+        @ApiModelProperty(value = "文章总数")
+        private Long total;
+
+        @ApiModelProperty(value = "已发布")
+        private Long published;
+
+        @ApiModelProperty(value = "草稿")
+        private Long draft;
+
+        @ApiModelProperty(value = "已下线")
+        private Long offline;
+
+        @ApiModelProperty(value = "定时发布")
+        private Long scheduled;
+
+        @ApiModelProperty(value = "置顶")
+        private Long top;
+
+        @ApiModelProperty(value = "精选")
+        private Long featured;
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * 想法统计
+     */
+    @Data
+    @ApiModel(description = "想法统计")
+    public static class ThoughtStats implements Serializable {
+
+        @ApiModelProperty(value = "想法总数")
+        private Long total;
+
+        @ApiModelProperty(value = "公开想法数")
+        private Long publicCount;
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * 旅行统计
+     */
+    @Data
+    @ApiModel(description = "旅行统计")
+    public static class TravelStats implements Serializable {
+
+        @ApiModelProperty(value = "旅行总数")
+        private Long total;
+
+        @ApiModelProperty(value = "公开旅行数")
+        private Long publicCount;
+
+        @ApiModelProperty(value = "高评分（4分及以上）旅行数")
+        private Long highRated;
+
+        /**
+         * 评分 -> 数量
+         */
+        @ApiModelProperty(value = "按评分统计")
+        private Map<String, Long> ratingCounts;
+
+        /**
+         * 作者ID -> 数量
+         */
+        @ApiModelProperty(value = "按作者统计")
+        private Map<String, Long> authorCounts;
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * 标签统计
+     */
+    @Data
+    @ApiModel(description = "标签统计")
+    public static class TagStats implements Serializable {
+
+        @ApiModelProperty(value = "标签总数")
+        private Long total;
+
+        @ApiModelProperty(value = "已使用的标签数")
+        private Long used;
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * 项目统计
+     */
+    @Data
+    @ApiModel(description = "项目统计")
+    public static class ProjectStats implements Serializable {
+
+        @ApiModelProperty(value = "项目总数")
+        private Long total;
+
+        @ApiModelProperty(value = "精选项目数")
+        private Long featured;
+
+        @ApiModelProperty(value = "开源项目数")
+        private Long openSource;
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * 技术栈统计
+     */
+    @Data
+    @ApiModel(description = "技术栈统计")
+    public static class TechStackStats implements Serializable {
+
+        @ApiModelProperty(value = "技术栈总数")
+        private Long total;
+
+        @ApiModelProperty(value = "展示中的技术栈数")
+        private Long displayed;
+
+        /**
+         * 分类 -> 数量
+         */
+        @ApiModelProperty(value = "按分类统计")
+        private Map<String, Long> categoryCounts;
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,50 @@
+package com.xu.blogapi.model.vo;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 图片资源VO
+ *
+ * @author xu
+ */
+@Data
+@ApiModel(description = "图片资源")
+public class ImageAssetVO implements Serializable {
+
+    /**
+     * 原图访问地址
+     */
+    @ApiModelProperty(value = "原图访问地址")
+    private String url;
+
+    /**
+     * 原图宽度（像素）
+     */
+    @ApiModelProperty(value = "原图宽度（像素）", example = "1920")
+    private Integer width;
+
+    /**
+     * 原图高度（像素）
+     */
+    @ApiModelProperty(value = "原图高度（像素）", example = "1080")
+    private Integer height;
+
+    /**
+     * 低质量占位图（data URI），原图加载完成前显示
+     */
+    @ApiModelProperty(value = "低质量占位图（data URI）")
+    private String placeholder;
+
+    /**
+     * 缩放版本，按宽度升序
+     */
+    @ApiModelProperty(value = "缩放版本，按宽度升序")
+    private List<ImageVariantVO> variants;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,43 @@
+package com.xu.blogapi.model.vo;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 图片缩放版本VO
+ *
+ * @author xu
+ */
+@Data
+@ApiModel(description = "图片缩放版本")
+public class ImageVariantVO implements Serializable {
+
+    /**
+     * 宽度（像素）
+     */
+    @ApiModelProperty(value = "宽度（像素）", example = "640")
+    private Integer width;
+
+    /**
+     * 高度（像素）
+     */
+    @ApiModelProperty(value = "高度（像素）", example = "360")
+    private Integer height;
+
+    /**
+     * 格式：webp、jpeg
+     */
+    @ApiModelProperty(value = "格式：webp、jpeg", example = "jpeg")
+    private String format;
+
+    /**
+     * 访问地址
+     */
+    @ApiModelProperty(value = "访问地址")
+    private String url;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,93 @@
+package com.xu.blogapi.model.vo;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 逻辑删除数据清理进度视图对象VO
+ *
+ * @author xu
+ */
+@Data
+@ApiModel(description = "逻辑删除数据清理进度视图对象")
+public class SoftDeletePurgeProgressVO implements Serializable {
+
+    /**
+     * 是否正在运行
+     */
+    @ApiModelProperty(value = "是否正在运行")
+    private Boolean running;
+
+    /**
+     * 当前处理的表
+     */
+    @ApiModelProperty(value = "当前处理的表", example = "article")
+    private String currentTable;
+
+    /**
+     * 当前表已扫描到的ID
+     */
+    @ApiModelProperty(value = "当前表已扫描到的ID")
+    private Long lastId;
+
+    /**
+     * 当前表本次扫描的最大ID
+     */
+    @ApiModelProperty(value = "当前表本次扫描的最大ID")
+    private Long maxId;
+
+    /**
+     * 逻辑删除时间早于该时间的记录会被清理
+     */
+    @ApiModelProperty(value = "清理截止时间")
+    private LocalDateTime cutoffTime;
+
+    /**
+     * 各表已物理删除的行数
+     */
+    @ApiModelProperty(value = "各表已删除行数")
+    private Map<String, Long> purgedCounts;
+
+    /**
+     * 已删除的关联表行数
+     */
+    @ApiModelProperty(value = "已删除关联表行数")
+    private Long childRowCount;
+
+    /**
+     * 已处理的块数
+     */
+    @ApiModelProperty(value = "已处理块数")
+    private Long chunkCount;
+
+    /**
+     * 读取后被恢复或修改而未删除的行数
+     */
+    @ApiModelProperty(value = "并发修改行数")
+    private Long conflictCount;
+
+    /**
+     * 开始时间
+     */
+    @ApiModelProperty(value = "开始时间")
+    private LocalDateTime startTime;
+
+    /**
+     * 结束时间
+     */
+    @ApiModelProperty(value = "结束时间")
+    private LocalDateTime finishTime;
+
+    /**
+     * 结果说明
+     */
+    @ApiModelProperty(value = "结果说明")
+    private String message;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,55 @@
+package com.xu.blogapi.model.vo;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 自动补全候选项VO
+ *
+ * @author xu
+ */
+@Data
+@ApiModel(description = "自动补全候选项")
+public class SuggestionVO implements Serializable {
+
+    /**
+     * 类型：tag-标签，category-分类
+     */
+    @ApiModelProperty(value = "类型：tag-标签，category-分类", example = "tag")
+    private String type;
+
+    /**
+     * ID
+     */
+    @ApiModelProperty(value = "ID", example = "1")
+    private Long id;
+
+    /**
+     * 名称
+     */
+    @ApiModelProperty(value = "名称", example = "Java")
+    private String name;
+
+    /**
+     * 别名
+     */
+    @ApiModelProperty(value = "别名", example = "java")
+    private String slug;
+
+    /**
+     * 颜色
+     */
+    @ApiModelProperty(value = "颜色", example = "#007bff")
+    private String color;
+
+    /**
+     * 排序依据：标签为使用次数，分类为文章数量
+     */
+    @ApiModelProperty(value = "排序依据：标签为使用次数，分类为文章数量", example = "10")
+    private Long count;
+
+    private static final long serialVersionUID = 1L;
+}
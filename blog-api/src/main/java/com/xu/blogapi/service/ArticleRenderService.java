@@ -0,0 +1,30 @@
+package com.xu.blogapi.service;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import com.xu.blogapi.model.entity.Article;
+import com.xu.blogapi.model.entity.ArticleRender;
+
+/**
+ * 文章渲染服务接口
+ *
+ * @author xu
+ */
+public interface ArticleRenderService extends IService<ArticleRender> {
+
+    /**
+     * 渲染文章内容并保存渲染结果
+     *
+     * @param articleId 文章ID
+     * @param content   文章内容（Markdown）
+     * @return 渲染结果
+     */
+    ArticleRender renderArticle(Long articleId, String content);
+
+    /**
+     * 为文章填充渲染后的HTML、目录和摘要
+     * 使用保存文章时生成的渲染结果；没有或已过期时只在内存中渲染，不写入数据库
+     *
+     * @param article 文章（需包含ID和内容）
+     */
+    void fillRender(Article article);
+}
@@ -0,0 +1,74 @@
+package com.xu.blogapi.service;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import com.xu.blogapi.model.dto.revision.ArticleRevisionAutosaveRequest;
+import com.xu.blogapi.model.entity.ArticleRevision;
+import com.xu.blogapi.model.vo.ArticleRevisionDiffVO;
+import com.xu.blogapi.model.vo.ArticleRevisionVO;
+
+import java.util.List;
+
+/**
+ * 文章修订服务接口
+ *
+ * @author xu
+ */
+public interface ArticleRevisionService extends IService<ArticleRevision> {
+
+    /**
+     * 记录文章内容的新修订，内容与最新修订相同时不记录
+     * 文章还没有修订时先以 previousContent 作为第一个修订
+     *
+     * @param articleId       文章ID
+     * @param previousContent 修改前的内容（可为 null）
+     * @param content         新内容
+     * @param source          来源
+     * @return 最新修订
+     */
+    ArticleRevision recordRevision(Long articleId, String previousContent, String content, int source);
+
+    /**
+     * 查询文章的修订列表（不含内容）
+     *
+     * @param articleId 文章ID
+     * @return 修订列表，按修订号倒序
+     */
+    List<ArticleRevisionVO> listRevisions(Long articleId);
+
+    /**
+     * 查询指定修订（含完整内容）
+     * 不指定修订号时返回最新修订；文章还没有修订时返回修订号为 0 的当前内容
+     *
+     * @param articleId  文章ID
+     * @param revisionNo 修订号（可为 null）
+     * @return 修订
+     */
+    ArticleRevisionVO getRevision(Long articleId, Integer revisionNo);
+
+    /**
+     * 还原指定修订的完整内容
+     *
+     * @param articleId  文章ID
+     * @param revisionNo 修订号
+     * @return 完整内容
+     */
+    String getRevisionContent(Long articleId, Integer revisionNo);
+
+    /**
+     * 逐行对比两个修订
+     *
+     * @param articleId      文章ID
+     * @param fromRevisionNo 旧修订号
+     * @param toRevisionNo   新修订号
+     * @return 对比结果
+     */
+    ArticleRevisionDiffVO diffRevisions(Long articleId, Integer fromRevisionNo, Integer toRevisionNo);
+
+    /**
+     * 自动保存：在最新修订上应用编辑器提交的增量，生成新修订（不修改文章本身）
+     *
+     * @param autosaveRequest 自动保存请求
+     * @return 新修订（不含内容），内容未变化时返回最新修订
+     */
+    ArticleRevisionVO autosave(ArticleRevisionAutosaveRequest autosaveRequest);
+}
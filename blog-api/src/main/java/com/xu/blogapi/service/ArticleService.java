@@ -4,7 +4,9 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.xu.blogapi.model.dto.article.ArticleAddRequest;
 import com.xu.blogapi.model.dto.article.ArticleQueryRequest;
+import com.xu.blogapi.model.dto.article.ArticleScheduleRequest;
 import com.xu.blogapi.model.dto.article.ArticleUpdateRequest;
+import com.xu.blogapi.model.dto.revision.ArticleRevisionRestoreRequest;
 import com.xu.blogapi.model.entity.Article;
 
 import java.util.List;
@@ -48,6 +50,14 @@ public interface ArticleService extends IService<Article> {
      */
     Article getArticleBySlug(String slug);
 
+    /**
+     * 根据ID批量获取文章，优先读取缓存，未命中的一次查询
+     *
+     * @param ids 文章ID列表
+     * @return 存在的文章，按请求顺序排列
+     */
+    List<Article> listArticlesByIds(List<Long> ids);
+
     /**
      * 分页查询文章列表
      *
@@ -112,6 +122,30 @@ public interface ArticleService extends IService<Article> {
      */
     Boolean unpublishArticle(Long id);
 
+    /**
+     * 设置定时发布/下线
+     *
+     * @param articleScheduleRequest 定时请求
+     * @return 是否设置成功
+     */
+    Boolean scheduleArticle(ArticleScheduleRequest articleScheduleRequest);
+
+    /**
+     * 取消定时发布/下线，定时发布的文章回到草稿
+     *
+     * @param id 文章ID
+     * @return 是否取消成功
+     */
+    Boolean cancelArticleSchedule(Long id);
+
+    /**
+     * 将文章内容恢复为指定修订，恢复本身记为新修订
+     *
+     * @param articleRevisionRestoreRequest 恢复请求
+     * @return 是否恢复成功
+     */
+    Boolean restoreArticleRevision(ArticleRevisionRestoreRequest articleRevisionRestoreRequest);
+
     /**
      * 设置文章置顶状态
      *
@@ -136,4 +170,19 @@ public interface ArticleService extends IService<Article> {
      * @param article 文章对象
      */
     void validArticle(Article article);
+
+    /**
+     * 新建文章的定时处理，与创建接口相同：发布时间晚于当前时间的已发布文章转为定时发布，并校验定时和下线时间
+     *
+     * @param article 文章对象
+     */
+    void normalizeSchedule(Article article);
+
+    /**
+     * 批量保存导入的文章，保存后与创建接口相同记录第一个修订并生成渲染结果
+     *
+     * @param articles  已校验、别名已去重的文章
+     * @param batchSize 每批插入条数
+     */
+    void saveImportedArticles(List<Article> articles, int batchSize);
 }
\ No newline at end of file
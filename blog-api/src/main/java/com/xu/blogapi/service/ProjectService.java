@@ -1,5 +1,6 @@
 package com.xu.blogapi.service;
 
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.xu.blogapi.model.dto.project.ProjectAddRequest;
@@ -62,6 +63,14 @@ public interface ProjectService extends IService<Project> {
      */
     Project getProjectBySlug(String slug, User loginUser);
 
+    /**
+     * 根据ID批量获取项目，优先读取缓存，未命中的一次查询
+     *
+     * @param ids 项目ID列表
+     * @return 存在的项目，按请求顺序排列
+     */
+    List<Project> listProjectsByIds(List<Long> ids);
+
     /**
      * 分页查询项目列表
      *
@@ -71,6 +80,14 @@ public interface ProjectService extends IService<Project> {
      */
     Page<Project> listProjectsByPage(ProjectQueryRequest projectQueryRequest, User loginUser);
 
+    /**
+     * 获取分页查询条件
+     *
+     * @param projectQueryRequest 查询请求
+     * @return 查询条件
+     */
+    QueryWrapper<Project> getQueryWrapper(ProjectQueryRequest projectQueryRequest);
+
     /**
      * 获取精选项目列表
      *
@@ -57,6 +57,14 @@ public interface TagService extends IService<Tag> {
      */
     TagVO getTagBySlug(String slug);
 
+    /**
+     * 根据ID批量获取标签，优先读取缓存，未命中的一次查询
+     *
+     * @param ids 标签ID列表
+     * @return 存在的标签，按请求顺序排列
+     */
+    List<TagVO> listTagsByIds(List<Long> ids);
+
     /**
      * 分页查询标签
      *
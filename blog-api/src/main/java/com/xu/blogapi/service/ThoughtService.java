@@ -1,5 +1,6 @@
 package com.xu.blogapi.service;
 
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.xu.blogapi.model.dto.thought.ThoughtAddRequest;
@@ -62,6 +63,14 @@ public interface ThoughtService extends IService<Thought> {
      */
     Page<Thought> listThoughtsByPage(ThoughtQueryRequest thoughtQueryRequest, User loginUser);
 
+    /**
+     * 获取分页查询条件
+     *
+     * @param thoughtQueryRequest 查询请求
+     * @return 查询条件
+     */
+    QueryWrapper<Thought> getQueryWrapper(ThoughtQueryRequest thoughtQueryRequest);
+
 
 
     /**
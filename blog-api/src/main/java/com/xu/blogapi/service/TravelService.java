@@ -1,5 +1,6 @@
 package com.xu.blogapi.service;
 
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.xu.blogapi.model.dto.travel.TravelAddRequest;
@@ -62,6 +63,15 @@ public interface TravelService extends IService<Travel> {
      */
     Page<Travel> listTravelsByPage(TravelQueryRequest travelQueryRequest, User loginUser);
 
+    /**
+     * 获取分页查询条件
+     *
+     * @param travelQueryRequest 查询请求
+     * @param loginUser          当前登录用户，未指定状态时据此决定是否只查公开记录
+     * @return 查询条件
+     */
+    QueryWrapper<Travel> getQueryWrapper(TravelQueryRequest travelQueryRequest, User loginUser);
+
     /**
      * 根据作者查询旅行记录列表
      *
@@ -94,6 +94,14 @@ public interface UserService extends IService<User> {
      */
     List<UserVO> getUserVO(List<User> userList);
 
+    /**
+     * 根据ID批量获取脱敏的用户信息，优先读取缓存，未命中的一次查询
+     *
+     * @param ids 用户ID列表
+     * @return 存在的用户，按请求顺序排列
+     */
+    List<UserVO> listUserVOByIds(List<Long> ids);
+
     /**
      * 获取查询条件
      *
@@ -0,0 +1,107 @@
+package com.xu.blogapi.service.impl;
+
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xu.blogapi.common.ErrorCode;
+import com.xu.blogapi.exception.BusinessException;
+import com.xu.blogapi.manager.render.MarkdownRenderer;
+import com.xu.blogapi.mapper.ArticleRenderMapper;
+import com.xu.blogapi.model.entity.Article;
+import com.xu.blogapi.model.entity.ArticleRender;
+import com.xu.blogapi.model.vo.ArticleTocItemVO;
+import com.xu.blogapi.service.ArticleRenderService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import javax.annotation.Resource;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 文章渲染服务实现类
+ * 渲染结果在保存文章时生成并按文章保存，以内容MD5和渲染器版本判断是否过期；读请求不写库
+ *
+ * @author xu
+ */
+@Service
+@Slf4j
+public class ArticleRenderServiceImpl extends ServiceImpl<ArticleRenderMapper, ArticleRender> implements ArticleRenderService {
+
+    private static final TypeReference<List<ArticleTocItemVO>> TOC_TYPE = new TypeReference<List<ArticleTocItemVO>>() {
+    };
+
+    private final MarkdownRenderer markdownRenderer = new MarkdownRenderer();
+
+    @Resource
+    private ObjectMapper objectMapper;
+
+    @Override
+    public ArticleRender renderArticle(Long articleId, String content) {
+        if (articleId == null || articleId <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR);
+        }
+        String markdown = StringUtils.defaultString(content);
+        MarkdownRenderer.RenderResult result = markdownRenderer.render(markdown);
+
+        ArticleRender render = new ArticleRender();
+        render.setArticleId(articleId);
+        render.setContentHash(hash(markdown));
+        render.setRendererVersion(MarkdownRenderer.VERSION);
+        render.setHtml(result.getHtml());
+        render.setToc(writeToc(result.getToc()));
+        render.setExcerpt(result.getExcerpt());
+        this.baseMapper.upsert(render);
+        return render;
+    }
+
+    @Override
+    public void fillRender(Article article) {
+        if (article == null || article.getId() == null) {
+            return;
+        }
+        String markdown = StringUtils.defaultString(article.getContent());
+        ArticleRender render = this.getById(article.getId());
+        if (render == null || !Objects.equals(render.getRendererVersion(), MarkdownRenderer.VERSION)
+                || !hash(markdown).equals(render.getContentHash())) {
+            // 没有渲染结果或已过期（如渲染器升级后文章尚未重新保存），读请求只在内存中渲染，不写入数据库
+            MarkdownRenderer.RenderResult result = markdownRenderer.render(markdown);
+            article.setContentHtml(result.getHtml());
+            article.setToc(result.getToc());
+            article.setExcerpt(result.getExcerpt());
+            return;
+        }
+        article.setContentHtml(render.getHtml());
+        article.setToc(readToc(render.getToc()));
+        article.setExcerpt(render.getExcerpt());
+    }
+
+    private String writeToc(List<ArticleTocItemVO> toc) {
+        try {
+            return objectMapper.writeValueAsString(toc);
+        } catch (JsonProcessingException e) {
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "目录序列化失败");
+        }
+    }
+
+    private List<ArticleTocItemVO> readToc(String toc) {
+        if (StringUtils.isBlank(toc)) {
+            return Collections.emptyList();
+        }
+        try {
+            return objectMapper.readValue(toc, TOC_TYPE);
+        } catch (JsonProcessingException e) {
+            log.warn("parse article toc failed", e);
+            return Collections.emptyList();
+        }
+    }
+
+    private static String hash(String content) {
+        return DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,337 @@
+package com.xu.blogapi.service.impl;
+
+import cn.dev33.satoken.stp.StpUtil;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.xu.blogapi.common.ErrorCode;
+import com.xu.blogapi.config.ArticleRevisionProperties;
+import com.xu.blogapi.constant.ArticleConstant;
+import com.xu.blogapi.exception.BusinessException;
+import com.xu.blogapi.manager.revision.LineDelta;
+import com.xu.blogapi.manager.revision.RevisionCodec;
+import com.xu.blogapi.mapper.ArticleMapper;
+import com.xu.blogapi.mapper.ArticleRevisionMapper;
+import com.xu.blogapi.model.dto.revision.ArticleRevisionAutosaveRequest;
+import com.xu.blogapi.model.dto.revision.ArticleRevisionDeltaOp;
+import com.xu.blogapi.model.entity.Article;
+import com.xu.blogapi.model.entity.ArticleRevision;
+import com.xu.blogapi.model.vo.ArticleRevisionDiffVO;
+import com.xu.blogapi.model.vo.ArticleRevisionVO;
+import com.xu.blogapi.service.ArticleRevisionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+import javax.annotation.Resource;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 文章修订服务实现类
+ * 每隔 snapshotInterval 个修订保存一次全量快照，其余修订只保存相对上一修订的行增量；
+ * 增量压缩后不比快照小时也直接保存快照
+ *
+ * @author xu
+ */
+@Slf4j
+@Service
+public class ArticleRevisionServiceImpl extends ServiceImpl<ArticleRevisionMapper, ArticleRevision> implements ArticleRevisionService {
+
+    @Resource
+    private ArticleMapper articleMapper;
+
+    @Resource
+    private ArticleRevisionProperties articleRevisionProperties;
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public ArticleRevision recordRevision(Long articleId, String previousContent, String content, int source) {
+        if (articleId == null || articleId <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR);
+        }
+        String text = content == null ? "" : content;
+
+        ArticleRevision latest = lockLatest(articleId);
+        if (latest != null && hash(text).equals(latest.getContentHash())) {
+            return latest;
+        }
+
+        List<ArticleRevision> chain;
+        if (latest == null) {
+            if (previousContent == null || previousContent.equals(text)) {
+                return appendRevision(articleId, null, null, text, null, source);
+            }
+            // 已有文章第一次修改时补记修改前的内容
+            ArticleRevision baseline = appendRevision(articleId, null, null, previousContent, null,
+                    ArticleConstant.REVISION_SOURCE_SAVE);
+            chain = Collections.singletonList(baseline);
+        } else {
+            chain = loadRestoreChain(articleId, latest.getRevisionNo(), true);
+        }
+        return appendRevision(articleId, chain, null, text, null, source);
+    }
+
+    @Override
+    public List<ArticleRevisionVO> listRevisions(Long articleId) {
+        if (articleId == null || articleId <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR);
+        }
+
+        return this.baseMapper.selectRevisionList(articleId).stream()
+                .map(revision -> toRevisionVO(revision, null))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public ArticleRevisionVO getRevision(Long articleId, Integer revisionNo) {
+        if (articleId == null || articleId <= 0 || (revisionNo != null && revisionNo <= 0)) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR);
+        }
+
+        if (revisionNo == null) {
+            ArticleRevision latest = this.baseMapper.selectLatest(articleId);
+            if (latest == null) {
+                // 还没有修订时以文章当前内容作为修订 0，编辑器据此计算自动保存的增量
+                String content = getArticleContent(articleId);
+                ArticleRevisionVO revisionVO = new ArticleRevisionVO();
+                revisionVO.setArticleId(articleId);
+                revisionVO.setRevisionNo(0);
+                revisionVO.setContentHash(hash(content));
+                revisionVO.setContentLength(content.length());
+                revisionVO.setContent(content);
+                return revisionVO;
+            }
+            revisionNo = latest.getRevisionNo();
+        }
+
+        List<ArticleRevision> chain = loadRestoreChain(articleId, revisionNo);
+        return toRevisionVO(chain.get(chain.size() - 1), restore(chain));
+    }
+
+    @Override
+    public String getRevisionContent(Long articleId, Integer revisionNo) {
+        if (articleId == null || articleId <= 0 || revisionNo == null || revisionNo <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR);
+        }
+
+        return restore(loadRestoreChain(articleId, revisionNo));
+    }
+
+    @Override
+    public ArticleRevisionDiffVO diffRevisions(Long articleId, Integer fromRevisionNo, Integer toRevisionNo) {
+        List<String> fromLines = LineDelta.splitLines(getRevisionContent(articleId, fromRevisionNo));
+        List<String> toLines = LineDelta.splitLines(getRevisionContent(articleId, toRevisionNo));
+
+        List<ArticleRevisionDiffVO.Chunk> chunks = new ArrayList<>();
+        for (LineDelta.Chunk deltaChunk : LineDelta.diff(fromLines, toLines,
+                articleRevisionProperties.getMaxEditDistance()).toChunks(fromLines)) {
+            ArticleRevisionDiffVO.Chunk chunk = new ArticleRevisionDiffVO.Chunk();
+            chunk.setType(deltaChunk.getType());
+            chunk.setLines(deltaChunk.getLines());
+            chunks.add(chunk);
+        }
+
+        ArticleRevisionDiffVO diffVO = new ArticleRevisionDiffVO();
+        diffVO.setFromRevisionNo(fromRevisionNo);
+        diffVO.setToRevisionNo(toRevisionNo);
+        diffVO.setChunks(chunks);
+        return diffVO;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public ArticleRevisionVO autosave(ArticleRevisionAutosaveRequest autosaveRequest) {
+        if (autosaveRequest == null || autosaveRequest.getArticleId() == null || autosaveRequest.getBaseRevisionNo() == null
+                || autosaveRequest.getBaseHash() == null || autosaveRequest.getBaseLineCount() == null) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR);
+        }
+        Long articleId = autosaveRequest.getArticleId();
+        LineDelta delta = toLineDelta(autosaveRequest);
+
+        ArticleRevision latest = lockLatest(articleId);
+        int latestRevisionNo = latest == null ? 0 : latest.getRevisionNo();
+        if (autosaveRequest.getBaseRevisionNo() != latestRevisionNo) {
+            throw new BusinessException(ErrorCode.OPERATION_ERROR, "文章已有更新的修订，请刷新后重试");
+        }
+
+        List<ArticleRevision> chain = latest == null ? null : loadRestoreChain(articleId, latestRevisionNo, true);
+        String baseContent = chain == null ? getArticleContent(articleId) : restore(chain);
+        if (!hash(baseContent).equals(autosaveRequest.getBaseHash())) {
+            throw new BusinessException(ErrorCode.OPERATION_ERROR, "基准内容不一致，请刷新后重试");
+        }
+
+        String content;
+        try {
+            content = LineDelta.joinLines(delta.apply(LineDelta.splitLines(baseContent)));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "增量与基准内容不匹配");
+        }
+        if (content.equals(baseContent)) {
+            return latest == null ? getRevision(articleId, null) : toRevisionVO(latest, null);
+        }
+
+        if (chain == null) {
+            chain = Collections.singletonList(appendRevision(articleId, null, null, baseContent, null,
+                    ArticleConstant.REVISION_SOURCE_SAVE));
+        }
+        ArticleRevision revision = appendRevision(articleId, chain, baseContent, content, delta,
+                ArticleConstant.REVISION_SOURCE_AUTOSAVE);
+        return toRevisionVO(revision, null);
+    }
+
+    /**
+     * 在 chain 的最后一个修订之后追加新修订
+     *
+     * @param chain       上一修订的还原链，为 null 时写入第一个修订
+     * @param baseContent 上一修订的内容，为 null 时按需还原
+     * @param delta       已知的增量，为 null 时按需计算
+     * @return 新修订
+     */
+    private ArticleRevision appendRevision(Long articleId, List<ArticleRevision> chain, String baseContent,
+                                           String content, LineDelta delta, int source) {
+        ArticleRevision revision = new ArticleRevision();
+        revision.setArticleId(articleId);
+        revision.setRevisionNo(chain == null ? 1 : chain.get(chain.size() - 1).getRevisionNo() + 1);
+        revision.setSource(source);
+        revision.setContentHash(hash(content));
+        revision.setContentLength(content.length());
+        revision.setEditorId(currentEditorId());
+        revision.setType(ArticleConstant.REVISION_TYPE_SNAPSHOT);
+        revision.setContent(RevisionCodec.encodeSnapshot(content));
+
+        // 还原链达到上限时保存快照，限制还原任一修订需要应用的增量个数
+        if (chain != null && chain.size() < articleRevisionProperties.getSnapshotInterval()) {
+            if (delta == null) {
+                String base = baseContent == null ? restore(chain) : baseContent;
+                delta = LineDelta.diff(LineDelta.splitLines(base), LineDelta.splitLines(content),
+                        articleRevisionProperties.getMaxEditDistance());
+            }
+            byte[] encodedDelta = RevisionCodec.encodeDelta(delta);
+            if (encodedDelta.length < revision.getContent().length) {
+                revision.setType(ArticleConstant.REVISION_TYPE_DELTA);
+                revision.setContent(encodedDelta);
+            }
+        }
+
+        boolean result = this.save(revision);
+        if (!result) {
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "修订保存失败");
+        }
+        return revision;
+    }
+
+    /**
+     * 锁定文章行后以当前读取得最新修订，同一篇文章的修订依次写入
+     * 调用方事务的快照早于其他事务的提交时，也不会读到旧的修订号而写入重复的修订
+     *
+     * @return 最新修订，没有修订时返回 null
+     */
+    private ArticleRevision lockLatest(Long articleId) {
+        if (articleMapper.lockById(articleId) == null) {
+            throw new BusinessException(ErrorCode.NOT_FOUND_ERROR, "文章不存在");
+        }
+        return this.baseMapper.selectLatestForShare(articleId);
+    }
+
+    private List<ArticleRevision> loadRestoreChain(Long articleId, Integer revisionNo) {
+        return loadRestoreChain(articleId, revisionNo, false);
+    }
+
+    /**
+     * 查询还原指定修订所需的记录
+     *
+     * @param current 是否以当前读查询，写入修订时在文章行锁内使用
+     */
+    private List<ArticleRevision> loadRestoreChain(Long articleId, Integer revisionNo, boolean current) {
+        List<ArticleRevision> chain = current ? this.baseMapper.selectRestoreChainForShare(articleId, revisionNo)
+                : this.baseMapper.selectRestoreChain(articleId, revisionNo);
+        if (chain.isEmpty() || !revisionNo.equals(chain.get(chain.size() - 1).getRevisionNo())) {
+            throw new BusinessException(ErrorCode.NOT_FOUND_ERROR, "修订不存在");
+        }
+        return chain;
+    }
+
+    /**
+     * 从快照依次应用增量，并用摘要校验结果
+     */
+    private String restore(List<ArticleRevision> chain) {
+        ArticleRevision target = chain.get(chain.size() - 1);
+        String content;
+        try {
+            List<byte[]> deltas = new ArrayList<>(chain.size() - 1);
+            for (int i = 1; i < chain.size(); i++) {
+                deltas.add(chain.get(i).getContent());
+            }
+            content = RevisionCodec.restore(chain.get(0).getContent(), deltas);
+        } catch (IllegalArgumentException e) {
+            log.error("restore article revision failed, articleId = {}, revisionNo = {}",
+                    target.getArticleId(), target.getRevisionNo(), e);
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "修订数据已损坏");
+        }
+        if (!hash(content).equals(target.getContentHash())) {
+            log.error("article revision hash mismatch, articleId = {}, revisionNo = {}",
+                    target.getArticleId(), target.getRevisionNo());
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "修订数据已损坏");
+        }
+        return content;
+    }
+
+    private LineDelta toLineDelta(ArticleRevisionAutosaveRequest autosaveRequest) {
+        List<ArticleRevisionDeltaOp> requestOps = autosaveRequest.getOps();
+        if (requestOps == null || requestOps.isEmpty()) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "增量不能为空");
+        }
+        List<LineDelta.Op> ops = new ArrayList<>(requestOps.size());
+        for (ArticleRevisionDeltaOp requestOp : requestOps) {
+            if (ArticleRevisionDeltaOp.COPY.equals(requestOp.getType())
+                    && requestOp.getStart() != null && requestOp.getCount() != null) {
+                ops.add(LineDelta.Op.copy(requestOp.getStart(), requestOp.getCount()));
+            } else if (ArticleRevisionDeltaOp.INSERT.equals(requestOp.getType()) && requestOp.getLines() != null) {
+                ops.add(LineDelta.Op.insert(requestOp.getLines()));
+            } else {
+                throw new BusinessException(ErrorCode.PARAMS_ERROR, "增量操作无效");
+            }
+        }
+        return new LineDelta(autosaveRequest.getBaseLineCount(), ops);
+    }
+
+    private String getArticleContent(Long articleId) {
+        Article article = articleMapper.selectById(articleId);
+        if (article == null) {
+            throw new BusinessException(ErrorCode.NOT_FOUND_ERROR, "文章不存在");
+        }
+        return article.getContent() == null ? "" : article.getContent();
+    }
+
+    private ArticleRevisionVO toRevisionVO(ArticleRevision revision, String content) {
+        ArticleRevisionVO revisionVO = new ArticleRevisionVO();
+        revisionVO.setArticleId(revision.getArticleId());
+        revisionVO.setRevisionNo(revision.getRevisionNo());
+        revisionVO.setType(revision.getType());
+        revisionVO.setSource(revision.getSource());
+        revisionVO.setContentHash(revision.getContentHash());
+        revisionVO.setContentLength(revision.getContentLength());
+        revisionVO.setStoredSize(revision.getStoredSize() != null ? revision.getStoredSize()
+                : revision.getContent() != null ? Integer.valueOf(revision.getContent().length) : null);
+        revisionVO.setEditorId(revision.getEditorId());
+        revisionVO.setContent(content);
+        revisionVO.setCreateTime(revision.getCreateTime());
+        return revisionVO;
+    }
+
+    private static String hash(String content) {
+        return DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long currentEditorId() {
+        try {
+            return StpUtil.isLogin() ? StpUtil.getLoginIdAsLong() : null;
+        } catch (Exception e) {
+            // 非请求线程（如批量导入）没有登录上下文
+            return null;
+        }
+    }
+}
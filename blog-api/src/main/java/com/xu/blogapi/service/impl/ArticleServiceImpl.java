@@ -5,20 +5,42 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.xu.blogapi.common.ErrorCode;
+import com.xu.blogapi.constant.ArticleConstant;
+import com.xu.blogapi.constant.CommonConstant;
+import com.xu.blogapi.constant.LockConstant;
+import com.xu.blogapi.converter.ArticleConverter;
 import com.xu.blogapi.exception.BusinessException;
+import com.xu.blogapi.exception.ThrowUtils;
+import com.xu.blogapi.manager.cache.EntityCacheManager;
+import com.xu.blogapi.manager.lock.KeyedLockManager;
+import com.xu.blogapi.manager.tag.TagDictionaryManager;
 import com.xu.blogapi.mapper.ArticleMapper;
+import com.xu.blogapi.mapper.ArticleTagMapper;
 import com.xu.blogapi.model.dto.article.ArticleAddRequest;
 import com.xu.blogapi.model.dto.article.ArticleQueryRequest;
+import com.xu.blogapi.model.dto.article.ArticleScheduleRequest;
 import com.xu.blogapi.model.dto.article.ArticleUpdateRequest;
+import com.xu.blogapi.model.dto.revision.ArticleRevisionRestoreRequest;
 import com.xu.blogapi.model.entity.Article;
+import com.xu.blogapi.model.entity.ArticleTag;
+import com.xu.blogapi.model.vo.TagVO;
+import com.xu.blogapi.service.ArticleRenderService;
+import com.xu.blogapi.service.ArticleRevisionService;
 import com.xu.blogapi.service.ArticleService;
+import com.xu.blogapi.utils.ArticleContentUtils;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.annotation.Resource;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * 文章服务实现类
@@ -26,9 +48,29 @@ import java.util.regex.Pattern;
  * @author xu
  */
 @Service
+@Slf4j
 public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> implements ArticleService {
 
+    @Resource
+    private KeyedLockManager keyedLockManager;
+
+    @Resource
+    private ArticleRevisionService articleRevisionService;
+
+    @Resource
+    private ArticleRenderService articleRenderService;
+
+    @Resource
+    private EntityCacheManager entityCacheManager;
+
+    @Resource
+    private ArticleTagMapper articleTagMapper;
+
+    @Resource
+    private TagDictionaryManager tagDictionaryManager;
+
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public Long addArticle(ArticleAddRequest articleAddRequest) {
         // 参数校验
         if (articleAddRequest == null) {
@@ -36,12 +78,11 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
         }
 
         // 创建文章对象
-        Article article = new Article();
-        BeanUtils.copyProperties(articleAddRequest, article);
+        Article article = ArticleConverter.toArticle(articleAddRequest);
 
         // 生成slug（如果未提供）
         if (StringUtils.isBlank(article.getSlug())) {
-            article.setSlug(generateSlug(article.getTitle()));
+            article.setSlug(ArticleContentUtils.generateSlug(article.getTitle()));
         }
 
         // 计算字数和阅读时间
@@ -52,70 +93,96 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             article.setPublishTime(LocalDateTime.now());
         }
 
+        // 发布时间晚于当前时间时转为定时发布
+        normalizeSchedule(article, null);
+
         // 验证文章数据
         validArticle(article);
 
-        // 检查slug是否重复
-        if (isSlugExists(article.getSlug(), null)) {
-            throw new BusinessException(ErrorCode.PARAMS_ERROR, "文章别名已存在");
-        }
+        // 查重和保存在同一把别名锁内完成，避免并发创建相同别名
+        return keyedLockManager.executeWithLock(LockConstant.ARTICLE_SLUG + article.getSlug(), () -> {
+            // 检查slug是否重复
+            if (isSlugExists(article.getSlug(), null)) {
+                throw new BusinessException(ErrorCode.PARAMS_ERROR, "文章别名已存在");
+            }
 
-        // 保存文章
-        boolean result = this.save(article);
-        if (!result) {
-            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "文章创建失败");
-        }
+            // 保存文章
+            boolean result = this.save(article);
+            if (!result) {
+                throw new BusinessException(ErrorCode.SYSTEM_ERROR, "文章创建失败");
+            }
 
-        return article.getId();
+            // 记录第一个修订
+            articleRevisionService.recordRevision(article.getId(), null, article.getContent(),
+                    ArticleConstant.REVISION_SOURCE_SAVE);
+            renderContent(article.getId(), article.getContent());
+
+            return article.getId();
+        });
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public Boolean updateArticle(ArticleUpdateRequest articleUpdateRequest) {
         // 参数校验
         if (articleUpdateRequest == null || articleUpdateRequest.getId() == null) {
             throw new BusinessException(ErrorCode.PARAMS_ERROR);
         }
 
-        // 获取原文章
-        Article oldArticle = this.getById(articleUpdateRequest.getId());
-        if (oldArticle == null) {
-            throw new BusinessException(ErrorCode.NOT_FOUND_ERROR, "文章不存在");
-        }
+        // 修改别名时，查重和更新在同一把别名锁内完成；原文章在锁内读取
+        String slug = articleUpdateRequest.getSlug();
+        String lockKey = StringUtils.isNotBlank(slug) ? LockConstant.ARTICLE_SLUG + slug : null;
+        return keyedLockManager.executeWithLock(Collections.singletonList(lockKey), () -> {
+            // 加锁读取原文章：拿到最新提交的数据，行锁持有到事务结束，同一篇文章的并发更新依次执行
+            Article oldArticle = this.baseMapper.selectByIdForUpdate(articleUpdateRequest.getId());
+            if (oldArticle == null) {
+                throw new BusinessException(ErrorCode.NOT_FOUND_ERROR, "文章不存在");
+            }
 
-        // 更新文章对象
-        Article article = new Article();
-        BeanUtils.copyProperties(articleUpdateRequest, article);
-        
-        // 保留原有的作者ID（更新时不允许修改作者）
-        article.setAuthorId(oldArticle.getAuthorId());
+            // 更新文章对象
+            Article article = ArticleConverter.toArticle(articleUpdateRequest);
 
-        // 如果更新了内容，重新计算字数和阅读时间
-        if (StringUtils.isNotBlank(article.getContent())) {
-            calculateWordCountAndReadingTime(article);
-        }
+            // 保留原有的作者ID（更新时不允许修改作者）
+            article.setAuthorId(oldArticle.getAuthorId());
 
-        // 如果状态改为已发布且原来不是已发布状态，设置发布时间
-        if (article.getStatus() != null && article.getStatus() == 1 
-            && (oldArticle.getStatus() == null || oldArticle.getStatus() != 1)
-            && article.getPublishTime() == null) {
-            article.setPublishTime(LocalDateTime.now());
-        }
+            // 如果更新了内容，重新计算字数和阅读时间
+            if (StringUtils.isNotBlank(article.getContent())) {
+                calculateWordCountAndReadingTime(article);
+            }
 
-        // 验证文章数据
-        validArticle(article);
+            // 如果状态改为已发布且原来不是已发布状态，设置发布时间
+            if (article.getStatus() != null && article.getStatus() == 1
+                && (oldArticle.getStatus() == null || oldArticle.getStatus() != 1)
+                && article.getPublishTime() == null) {
+                article.setPublishTime(LocalDateTime.now());
+            }
 
-        // 检查slug是否重复（排除自己）
-        if (StringUtils.isNotBlank(article.getSlug()) && isSlugExists(article.getSlug(), article.getId())) {
-            throw new BusinessException(ErrorCode.PARAMS_ERROR, "文章别名已存在");
-        }
+            // 发布时间晚于当前时间时转为定时发布
+            normalizeSchedule(article, oldArticle);
 
-        // 更新文章
-        boolean result = this.updateById(article);
-        if (!result) {
-            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "文章更新失败");
-        }
+            // 验证文章数据
+            validArticle(article);
 
-        return true;
+            // 检查slug是否重复（排除自己）
+            if (StringUtils.isNotBlank(article.getSlug()) && isSlugExists(article.getSlug(), article.getId())) {
+                throw new BusinessException(ErrorCode.PARAMS_ERROR, "文章别名已存在");
+            }
+
+            // 更新文章
+            boolean result = this.updateById(article);
+            if (!result) {
+                throw new BusinessException(ErrorCode.SYSTEM_ERROR, "文章更新失败");
+            }
+
+            // 提交了内容时记录修订，与最新修订相同则忽略
+            if (StringUtils.isNotBlank(article.getContent())) {
+                articleRevisionService.recordRevision(article.getId(), oldArticle.getContent(), article.getContent(),
+                        ArticleConstant.REVISION_SOURCE_SAVE);
+                renderContent(article.getId(), article.getContent());
+            }
+
+            return true;
+        });
     }
 
     @Override
@@ -146,6 +213,14 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
         return article;
     }
 
+    @Override
+    public List<Article> listArticlesByIds(List<Long> ids) {
+        ThrowUtils.throwIf(ids == null || ids.isEmpty() || ids.size() > CommonConstant.MAX_BATCH_SIZE,
+                ErrorCode.PARAMS_ERROR, "ID数量须在1到" + CommonConstant.MAX_BATCH_SIZE + "之间");
+
+        return entityCacheManager.getArticleCache().getAll(ids, this::listByIds, Article::getId);
+    }
+
     @Override
     public IPage<Article> listArticlesByPage(ArticleQueryRequest articleQueryRequest) {
         if (articleQueryRequest == null) {
@@ -153,13 +228,16 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
         }
 
         // 创建分页对象
-        Page<Article> page = new Page<>(articleQueryRequest.getCurrent(), articleQueryRequest.getPageSize());
+        Page<Article> page = new Page<>(articleQueryRequest.getCurrent(), articleQueryRequest.getPageSize(),
+                articleQueryRequest.isSearchCount());
 
         // 调用自定义查询方法
-        return this.baseMapper.selectArticleListPage(page, 
+        IPage<Article> articlePage = this.baseMapper.selectArticleListPage(page, 
             articleQueryRequest.getStatus(),
             articleQueryRequest.getCategoryId(),
             articleQueryRequest.getAuthorId());
+        fillTags(articlePage.getRecords());
+        return articlePage;
     }
 
     @Override
@@ -223,12 +301,16 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
 
     @Override
     public List<Article> getTopArticles(Integer limit) {
-        return this.baseMapper.selectTopArticles(limit);
+        List<Article> articleList = this.baseMapper.selectTopArticles(limit);
+        fillTags(articleList);
+        return articleList;
     }
 
     @Override
     public List<Article> getFeaturedArticles(Integer limit) {
-        return this.baseMapper.selectFeaturedArticles(limit);
+        List<Article> articleList = this.baseMapper.selectFeaturedArticles(limit);
+        fillTags(articleList);
+        return articleList;
     }
 
     @Override
@@ -256,18 +338,105 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             throw new BusinessException(ErrorCode.PARAMS_ERROR);
         }
 
+        // 同时清除计划下线时间，避免重新发布后被过期的计划立即下线
+        boolean result = this.baseMapper.updateToOffline(id, null) > 0;
+        if (!result) {
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "文章下线失败");
+        }
+
+        return true;
+    }
+
+    @Override
+    public Boolean scheduleArticle(ArticleScheduleRequest articleScheduleRequest) {
+        if (articleScheduleRequest == null || articleScheduleRequest.getId() == null) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR);
+        }
+        LocalDateTime publishTime = articleScheduleRequest.getPublishTime();
+        LocalDateTime unpublishTime = articleScheduleRequest.getUnpublishTime();
+        if (publishTime == null && unpublishTime == null) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "发布时间和下线时间不能同时为空");
+        }
+
+        Article oldArticle = this.getById(articleScheduleRequest.getId());
+        if (oldArticle == null) {
+            throw new BusinessException(ErrorCode.NOT_FOUND_ERROR, "文章不存在");
+        }
+
         Article article = new Article();
-        article.setId(id);
-        article.setStatus(2);
+        article.setId(oldArticle.getId());
+        if (publishTime != null) {
+            if (!publishTime.isAfter(LocalDateTime.now())) {
+                throw new BusinessException(ErrorCode.PARAMS_ERROR, "发布时间必须晚于当前时间");
+            }
+            article.setStatus(ArticleConstant.STATUS_SCHEDULED);
+            article.setPublishTime(publishTime);
+        } else {
+            Integer status = oldArticle.getStatus();
+            if (status == null || (status != ArticleConstant.STATUS_PUBLISHED && status != ArticleConstant.STATUS_SCHEDULED)) {
+                throw new BusinessException(ErrorCode.OPERATION_ERROR, "文章未发布，不能设置下线时间");
+            }
+            publishTime = oldArticle.getPublishTime();
+        }
+        if (unpublishTime != null) {
+            validUnpublishTime(unpublishTime, publishTime);
+            article.setUnpublishTime(unpublishTime);
+        }
 
         boolean result = this.updateById(article);
         if (!result) {
-            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "文章下线失败");
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "设置定时失败");
         }
 
         return true;
     }
 
+    @Override
+    public Boolean cancelArticleSchedule(Long id) {
+        if (id == null || id <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR);
+        }
+
+        boolean result = this.baseMapper.clearSchedule(id) > 0;
+        if (!result) {
+            throw new BusinessException(ErrorCode.NOT_FOUND_ERROR, "文章不存在");
+        }
+
+        return true;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Boolean restoreArticleRevision(ArticleRevisionRestoreRequest articleRevisionRestoreRequest) {
+        if (articleRevisionRestoreRequest == null || articleRevisionRestoreRequest.getArticleId() == null
+                || articleRevisionRestoreRequest.getRevisionNo() == null) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR);
+        }
+        Long articleId = articleRevisionRestoreRequest.getArticleId();
+
+        // 加锁读取原文章，与并发更新依次执行
+        Article oldArticle = this.baseMapper.selectByIdForUpdate(articleId);
+        if (oldArticle == null) {
+            throw new BusinessException(ErrorCode.NOT_FOUND_ERROR, "文章不存在");
+        }
+
+        String content = articleRevisionService.getRevisionContent(articleId, articleRevisionRestoreRequest.getRevisionNo());
+        Article article = new Article();
+        article.setId(articleId);
+        article.setContent(content);
+        calculateWordCountAndReadingTime(article);
+
+        boolean result = this.updateById(article);
+        if (!result) {
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "文章恢复失败");
+        }
+
+        articleRevisionService.recordRevision(articleId, oldArticle.getContent(), content,
+                ArticleConstant.REVISION_SOURCE_RESTORE);
+        renderContent(articleId, content);
+        return true;
+    }
+
     @Override
     public Boolean setArticleTop(Long id, Integer isTop) {
         if (id == null || id <= 0 || isTop == null) {
@@ -304,6 +473,28 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
         return true;
     }
 
+    @Override
+    public void normalizeSchedule(Article article) {
+        normalizeSchedule(article, null);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void saveImportedArticles(List<Article> articles, int batchSize) {
+        if (articles == null || articles.isEmpty()) {
+            return;
+        }
+        boolean result = this.saveBatch(articles, batchSize);
+        if (!result) {
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "文章导入失败");
+        }
+        for (Article article : articles) {
+            articleRevisionService.recordRevision(article.getId(), null, article.getContent(),
+                    ArticleConstant.REVISION_SOURCE_SAVE);
+            renderContent(article.getId(), article.getContent());
+        }
+    }
+
     @Override
     public void validArticle(Article article) {
         if (article == null) {
@@ -337,41 +528,54 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
         // 验证slug格式（如果提供）
         String slug = article.getSlug();
         if (StringUtils.isNotBlank(slug)) {
-            if (!isValidSlug(slug)) {
+            if (!ArticleContentUtils.isValidSlug(slug)) {
                 throw new BusinessException(ErrorCode.PARAMS_ERROR, "文章别名格式不正确");
             }
         }
     }
 
     /**
-     * 生成slug
+     * 处理定时发布状态
+     * 已发布但发布时间在未来的转为定时发布；定时发布但发布时间已过的直接发布
      *
-     * @param title 标题
-     * @return slug
+     * @param article 待保存的文章
+     * @param oldArticle 原文章（新增时为 null）
      */
-    private String generateSlug(String title) {
-        if (StringUtils.isBlank(title)) {
-            return "";
+    private void normalizeSchedule(Article article, Article oldArticle) {
+        Integer status = article.getStatus() != null ? article.getStatus()
+                : (oldArticle != null ? oldArticle.getStatus() : null);
+        LocalDateTime publishTime = article.getPublishTime() != null ? article.getPublishTime()
+                : (oldArticle != null ? oldArticle.getPublishTime() : null);
+        LocalDateTime now = LocalDateTime.now();
+        if (status != null && status == ArticleConstant.STATUS_PUBLISHED
+                && article.getPublishTime() != null && publishTime.isAfter(now)) {
+            article.setStatus(ArticleConstant.STATUS_SCHEDULED);
+        } else if (status != null && status == ArticleConstant.STATUS_SCHEDULED) {
+            if (publishTime == null) {
+                throw new BusinessException(ErrorCode.PARAMS_ERROR, "定时发布需要指定发布时间");
+            }
+            if (!publishTime.isAfter(now)) {
+                article.setStatus(ArticleConstant.STATUS_PUBLISHED);
+            }
+        }
+        if (article.getUnpublishTime() != null) {
+            validUnpublishTime(article.getUnpublishTime(), publishTime);
         }
-
-        // 简单的slug生成逻辑：转小写，替换空格为连字符，移除特殊字符
-        return title.toLowerCase()
-                .replaceAll("\\s+", "-")
-                .replaceAll("[^a-z0-9\\-]", "")
-                .replaceAll("-+", "-")
-                .replaceAll("^-|-$", "");
     }
 
     /**
-     * 验证slug格式
+     * 校验计划下线时间
      *
-     * @param slug slug
-     * @return 是否有效
+     * @param unpublishTime 计划下线时间
+     * @param publishTime 发布时间
      */
-    private boolean isValidSlug(String slug) {
-        // slug只能包含小写字母、数字和连字符
-        Pattern pattern = Pattern.compile("^[a-z0-9\\-]+$");
-        return pattern.matcher(slug).matches();
+    private void validUnpublishTime(LocalDateTime unpublishTime, LocalDateTime publishTime) {
+        if (!unpublishTime.isAfter(LocalDateTime.now())) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "下线时间必须晚于当前时间");
+        }
+        if (publishTime != null && !unpublishTime.isAfter(publishTime)) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "下线时间必须晚于发布时间");
+        }
     }
 
     /**
@@ -402,21 +606,48 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             return;
         }
 
-        // 简单的字数统计（去除Markdown标记）
-        String content = article.getContent()
-                .replaceAll("```[\\s\\S]*?```", "") // 移除代码块
-                .replaceAll("`[^`]*`", "") // 移除行内代码
-                .replaceAll("!\\[[^\\]]*\\]\\([^)]*\\)", "") // 移除图片
-                .replaceAll("\\[[^\\]]*\\]\\([^)]*\\)", "") // 移除链接
-                .replaceAll("[#*_~`>-]", "") // 移除Markdown标记
-                .replaceAll("\\s+", " ") // 合并空白字符
-                .trim();
-
-        int wordCount = content.length();
+        int wordCount = ArticleContentUtils.countWords(article.getContent());
         article.setWordCount(wordCount);
+        article.setReadingTime(ArticleContentUtils.calculateReadingTime(wordCount));
+    }
+
+    /**
+     * 保存后立即渲染，失败时只记录日志，读取时会重新渲染
+     *
+     * @param articleId 文章ID
+     * @param content   文章内容
+     */
+    private void renderContent(Long articleId, String content) {
+        try {
+            articleRenderService.renderArticle(articleId, content);
+        } catch (Exception e) {
+            log.warn("render article failed, articleId = {}", articleId, e);
+        }
+    }
+
+    /**
+     * 批量补充列表页文章的标签：一次查询所有文章的标签关联，标签从内存中的标签字典读取
+     *
+     * @param articleList 文章列表
+     */
+    private void fillTags(List<Article> articleList) {
+        if (articleList == null || articleList.isEmpty()) {
+            return;
+        }
+        List<Long> articleIds = articleList.stream().map(Article::getId).collect(Collectors.toList());
+        List<ArticleTag> articleTagList = articleTagMapper.selectByArticleIds(articleIds);
+        Map<Long, TagVO> tagMap = tagDictionaryManager.getTags(
+                articleTagList.stream().map(ArticleTag::getTagId).collect(Collectors.toSet()));
 
-        // 按照每分钟200字的阅读速度计算阅读时间
-        int readingTime = Math.max(1, (int) Math.ceil(wordCount / 200.0));
-        article.setReadingTime(readingTime);
+        Map<Long, List<TagVO>> tagsByArticleId = new HashMap<>(articleList.size() * 2);
+        for (ArticleTag articleTag : articleTagList) {
+            TagVO tagVO = tagMap.get(articleTag.getTagId());
+            if (tagVO != null) {
+                tagsByArticleId.computeIfAbsent(articleTag.getArticleId(), key -> new ArrayList<>()).add(tagVO);
+            }
+        }
+        for (Article article : articleList) {
+            article.setTags(tagsByArticleId.getOrDefault(article.getId(), Collections.emptyList()));
+        }
     }
-}
\ No newline at end of file
+}
@@ -4,8 +4,11 @@ import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.xu.blogapi.common.ErrorCode;
+import com.xu.blogapi.constant.LockConstant;
+import com.xu.blogapi.converter.CategoryConverter;
 import com.xu.blogapi.exception.BusinessException;
 import com.xu.blogapi.exception.CategoryException;
+import com.xu.blogapi.manager.lock.KeyedLockManager;
 import com.xu.blogapi.mapper.CategoryMapper;
 import com.xu.blogapi.model.dto.category.CategoryAddRequest;
 import com.xu.blogapi.model.dto.category.CategoryQueryRequest;
@@ -17,7 +20,6 @@ import com.xu.blogapi.service.CategoryService;
 import com.xu.blogapi.service.CategoryService.CategoryRelationInfo;
 import com.xu.blogapi.validator.CategoryValidator;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -41,44 +43,52 @@ public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category> i
     @Resource
     private CategoryValidator categoryValidator;
 
+    @Resource
+    private KeyedLockManager keyedLockManager;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Long addCategory(CategoryAddRequest categoryAddRequest) {
         // 参数验证
         categoryValidator.validateAddRequest(categoryAddRequest);
 
-        // 检查分类名称是否已存在
-        if (categoryMapper.existsByName(categoryAddRequest.getName(), null)) {
-            throw CategoryException.nameExists(categoryAddRequest.getName());
-        }
+        // 名称锁和别名锁持有到事务结束，避免并发创建重复分类
+        List<String> lockKeys = Arrays.asList(
+                LockConstant.CATEGORY_NAME + categoryAddRequest.getName(),
+                LockConstant.CATEGORY_SLUG + categoryAddRequest.getSlug());
+        return keyedLockManager.executeWithLock(lockKeys, () -> {
+            // 检查分类名称是否已存在
+            if (categoryMapper.existsByName(categoryAddRequest.getName(), null)) {
+                throw CategoryException.nameExists(categoryAddRequest.getName());
+            }
 
-        // 检查分类别名是否已存在
-        if (categoryMapper.existsBySlug(categoryAddRequest.getSlug(), null)) {
-            throw CategoryException.slugExists(categoryAddRequest.getSlug());
-        }
+            // 检查分类别名是否已存在
+            if (categoryMapper.existsBySlug(categoryAddRequest.getSlug(), null)) {
+                throw CategoryException.slugExists(categoryAddRequest.getSlug());
+            }
 
-        // 创建分类对象
-        Category category = new Category();
-        BeanUtils.copyProperties(categoryAddRequest, category);
+            // 创建分类对象
+            Category category = CategoryConverter.toCategory(categoryAddRequest);
 
-        // 设置排序权重
-        if (category.getSortOrder() == null) {
-            Integer maxSortOrder = categoryMapper.getMaxSortOrder();
-            category.setSortOrder(maxSortOrder != null ? maxSortOrder + 1 : 1);
-        }
+            // 设置排序权重
+            if (category.getSortOrder() == null) {
+                Integer maxSortOrder = categoryMapper.getMaxSortOrder();
+                category.setSortOrder(maxSortOrder != null ? maxSortOrder + 1 : 1);
+            }
 
-        // 设置默认状态
-        if (category.getStatus() == null) {
-            category.setStatus(1); // 默认启用
-        }
+            // 设置默认状态
+            if (category.getStatus() == null) {
+                category.setStatus(1); // 默认启用
+            }
 
-        // 保存分类
-        boolean result = this.save(category);
-        if (!result) {
-            throw new BusinessException(ErrorCode.OPERATION_ERROR, "分类创建失败");
-        }
+            // 保存分类
+            boolean result = this.save(category);
+            if (!result) {
+                throw new BusinessException(ErrorCode.OPERATION_ERROR, "分类创建失败");
+            }
 
-        return category.getId();
+            return category.getId();
+        });
     }
 
     @Override
@@ -113,8 +123,7 @@ public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category> i
 
         // 验证父分类变更
         // 更新分类信息
-        Category category = new Category();
-        BeanUtils.copyProperties(categoryUpdateRequest, category);
+        Category category = CategoryConverter.toCategory(categoryUpdateRequest);
 
         boolean result = this.updateById(category);
         if (!result) {
@@ -191,7 +200,7 @@ public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category> i
         long size = categoryQueryRequest.getPageSize();
 
         // 查询数据
-        Page<Category> categoryPage = this.page(new Page<>(current, size),
+        Page<Category> categoryPage = this.page(new Page<>(current, size, categoryQueryRequest.isSearchCount()),
                 this.getQueryWrapper(categoryQueryRequest));
 
         // 转换为VO
@@ -324,8 +333,7 @@ public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category> i
             return null;
         }
 
-        CategoryVO categoryVO = new CategoryVO();
-        BeanUtils.copyProperties(category, categoryVO);
+        CategoryVO categoryVO = CategoryConverter.toCategoryVO(category);
 
         // 查询文章数量
         Long articleCount = categoryMapper.countArticlesByCategory(category.getId());
@@ -356,8 +364,7 @@ public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category> i
 
         // 转换为VO
         return categoryList.stream().map(category -> {
-            CategoryVO categoryVO = new CategoryVO();
-            BeanUtils.copyProperties(category, categoryVO);
+            CategoryVO categoryVO = CategoryConverter.toCategoryVO(category);
             
             // 设置文章数量
             Long articleCount = articleCountMap.getOrDefault(category.getId(), 0L);
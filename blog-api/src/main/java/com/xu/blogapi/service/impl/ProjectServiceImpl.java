@@ -4,7 +4,13 @@ import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.xu.blogapi.common.ErrorCode;
+import com.xu.blogapi.constant.CommonConstant;
+import com.xu.blogapi.constant.LockConstant;
+import com.xu.blogapi.converter.ProjectConverter;
 import com.xu.blogapi.exception.BusinessException;
+import com.xu.blogapi.exception.ThrowUtils;
+import com.xu.blogapi.manager.cache.EntityCacheManager;
+import com.xu.blogapi.manager.lock.KeyedLockManager;
 import com.xu.blogapi.mapper.ProjectMapper;
 import com.xu.blogapi.model.dto.project.ProjectAddRequest;
 import com.xu.blogapi.model.dto.project.ProjectQueryRequest;
@@ -15,11 +21,11 @@ import com.xu.blogapi.model.enums.UserRoleEnum;
 import com.xu.blogapi.service.ProjectService;
 import com.xu.blogapi.service.UserService;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.annotation.Resource;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -33,9 +39,15 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, Project> impl
     @Resource
     private ProjectMapper projectMapper;
 
+    @Resource
+    private EntityCacheManager entityCacheManager;
+
     @Resource
     private UserService userService;
 
+    @Resource
+    private KeyedLockManager keyedLockManager;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Long addProject(ProjectAddRequest projectAddRequest, User loginUser) {
@@ -47,26 +59,30 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, Project> impl
             throw new BusinessException(ErrorCode.NOT_LOGIN_ERROR);
         }
 
-        // 检查项目别名是否已存在
-        if (StringUtils.isNotBlank(projectAddRequest.getSlug()) && existsBySlug(projectAddRequest.getSlug())) {
-            throw new BusinessException(ErrorCode.PARAMS_ERROR, "项目别名已存在");
-        }
+        // 别名锁持有到事务结束，避免并发创建相同别名
+        String slug = projectAddRequest.getSlug();
+        String lockKey = StringUtils.isNotBlank(slug) ? LockConstant.PROJECT_SLUG + slug : null;
+        return keyedLockManager.executeWithLock(Collections.singletonList(lockKey), () -> {
+            // 检查项目别名是否已存在
+            if (StringUtils.isNotBlank(projectAddRequest.getSlug()) && existsBySlug(projectAddRequest.getSlug())) {
+                throw new BusinessException(ErrorCode.PARAMS_ERROR, "项目别名已存在");
+            }
 
-        // 创建项目对象
-        Project project = new Project();
-        BeanUtils.copyProperties(projectAddRequest, project);
-        project.setAuthorId(loginUser.getId());
+            // 创建项目对象
+            Project project = ProjectConverter.toProject(projectAddRequest);
+            project.setAuthorId(loginUser.getId());
 
-        // 校验项目参数
-        validProject(project);
+            // 校验项目参数
+            validProject(project);
 
-        // 保存到数据库
-        boolean result = this.save(project);
-        if (!result) {
-            throw new BusinessException(ErrorCode.OPERATION_ERROR, "创建项目失败");
-        }
+            // 保存到数据库
+            boolean result = this.save(project);
+            if (!result) {
+                throw new BusinessException(ErrorCode.OPERATION_ERROR, "创建项目失败");
+            }
 
-        return project.getId();
+            return project.getId();
+        });
     }
 
     @Override
@@ -80,38 +96,42 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, Project> impl
             throw new BusinessException(ErrorCode.NOT_LOGIN_ERROR);
         }
 
-        // 获取原项目
-        Project oldProject = this.getById(projectUpdateRequest.getId());
-        if (oldProject == null) {
-            throw new BusinessException(ErrorCode.NOT_FOUND_ERROR, "项目不存在");
-        }
+        // 修改别名时，别名锁持有到事务结束；原项目在锁内读取
+        String slug = projectUpdateRequest.getSlug();
+        String lockKey = StringUtils.isNotBlank(slug) ? LockConstant.PROJECT_SLUG + slug : null;
+        return keyedLockManager.executeWithLock(Collections.singletonList(lockKey), () -> {
+            // 加锁读取原项目：拿到最新提交的数据，行锁持有到事务结束，同一个项目的并发更新依次执行
+            Project oldProject = this.baseMapper.selectByIdForUpdate(projectUpdateRequest.getId());
+            if (oldProject == null) {
+                throw new BusinessException(ErrorCode.NOT_FOUND_ERROR, "项目不存在");
+            }
 
-        // 权限校验：只有项目作者或管理员可以更新
-        if (!oldProject.getAuthorId().equals(loginUser.getId()) && !userService.isAdmin(loginUser)) {
-            throw new BusinessException(ErrorCode.NO_AUTH_ERROR, "无权限更新此项目");
-        }
+            // 权限校验：只有项目作者或管理员可以更新
+            if (!oldProject.getAuthorId().equals(loginUser.getId()) && !userService.isAdmin(loginUser)) {
+                throw new BusinessException(ErrorCode.NO_AUTH_ERROR, "无权限更新此项目");
+            }
 
-        // 检查项目别名是否已存在（排除当前项目）
-        if (StringUtils.isNotBlank(projectUpdateRequest.getSlug()) && 
-            existsBySlugExcludeId(projectUpdateRequest.getSlug(), projectUpdateRequest.getId())) {
-            throw new BusinessException(ErrorCode.PARAMS_ERROR, "项目别名已存在");
-        }
+            // 检查项目别名是否已存在（排除当前项目）
+            if (StringUtils.isNotBlank(projectUpdateRequest.getSlug()) && 
+                existsBySlugExcludeId(projectUpdateRequest.getSlug(), projectUpdateRequest.getId())) {
+                throw new BusinessException(ErrorCode.PARAMS_ERROR, "项目别名已存在");
+            }
 
-        // 更新项目对象
-        Project project = new Project();
-        BeanUtils.copyProperties(projectUpdateRequest, project);
-        project.setAuthorId(oldProject.getAuthorId()); // 保持原作者不变
+            // 更新项目对象
+            Project project = ProjectConverter.toProject(projectUpdateRequest);
+            project.setAuthorId(oldProject.getAuthorId()); // 保持原作者不变
 
-        // 校验项目参数
-        validProject(project);
+            // 校验项目参数
+            validProject(project);
 
-        // 更新到数据库
-        boolean result = this.updateById(project);
-        if (!result) {
-            throw new BusinessException(ErrorCode.OPERATION_ERROR, "更新项目失败");
-        }
+            // 更新到数据库
+            boolean result = this.updateById(project);
+            if (!result) {
+                throw new BusinessException(ErrorCode.OPERATION_ERROR, "更新项目失败");
+            }
 
-        return true;
+            return true;
+        });
     }
 
     @Override
@@ -175,6 +195,14 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, Project> impl
         return project;
     }
 
+    @Override
+    public List<Project> listProjectsByIds(List<Long> ids) {
+        ThrowUtils.throwIf(ids == null || ids.isEmpty() || ids.size() > CommonConstant.MAX_BATCH_SIZE,
+                ErrorCode.PARAMS_ERROR, "ID数量须在1到" + CommonConstant.MAX_BATCH_SIZE + "之间");
+
+        return entityCacheManager.getProjectCache().getAll(ids, this::listByIds, Project::getId);
+    }
+
     @Override
     public Page<Project> listProjectsByPage(ProjectQueryRequest projectQueryRequest, User loginUser) {
         // 参数校验
@@ -190,57 +218,9 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, Project> impl
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "每页数量不能超过50");
         }
 
-        // 构建查询条件
-        QueryWrapper<Project> queryWrapper = new QueryWrapper<>();
-        queryWrapper.eq("is_delete", 0);
-
-        // 添加查询条件
-        if (StringUtils.isNotBlank(projectQueryRequest.getName())) {
-            queryWrapper.like("name", projectQueryRequest.getName());
-        }
-        if (StringUtils.isNotBlank(projectQueryRequest.getSlug())) {
-            queryWrapper.eq("slug", projectQueryRequest.getSlug());
-        }
-        if (StringUtils.isNotBlank(projectQueryRequest.getDescription())) {
-            queryWrapper.like("description", projectQueryRequest.getDescription());
-        }
-        if (StringUtils.isNotBlank(projectQueryRequest.getProjectType())) {
-            queryWrapper.eq("project_type", projectQueryRequest.getProjectType());
-        }
-        if (projectQueryRequest.getStatus() != null) {
-            queryWrapper.eq("status", projectQueryRequest.getStatus());
-        }
-        if (projectQueryRequest.getIsFeatured() != null) {
-            queryWrapper.eq("is_featured", projectQueryRequest.getIsFeatured());
-        }
-        if (projectQueryRequest.getIsOpenSource() != null) {
-            queryWrapper.eq("is_open_source", projectQueryRequest.getIsOpenSource());
-        }
-        if (projectQueryRequest.getAuthorId() != null) {
-            queryWrapper.eq("author_id", projectQueryRequest.getAuthorId());
-        }
-        if (StringUtils.isNotBlank(projectQueryRequest.getTechStack())) {
-            queryWrapper.like("tech_stack", projectQueryRequest.getTechStack());
-        }
-
-        // 排序
-        String sortField = projectQueryRequest.getSortField();
-        String sortOrder = projectQueryRequest.getSortOrder();
-        if (StringUtils.isNotBlank(sortField)) {
-            boolean isAsc = "asc".equals(sortOrder);
-            if ("createTime".equals(sortField)) {
-                queryWrapper.orderBy(true, isAsc, "create_time");
-            } else if ("updateTime".equals(sortField)) {
-                queryWrapper.orderBy(true, isAsc, "update_time");
-            } else if ("sortOrder".equals(sortField)) {
-                queryWrapper.orderBy(true, isAsc, "sort_order");
-            }
-        } else {
-            // 默认排序：按排序权重降序，创建时间降序
-            queryWrapper.orderByDesc("sort_order", "create_time");
-        }
+        QueryWrapper<Project> queryWrapper = getQueryWrapper(projectQueryRequest);
 
-        return this.page(new Page<>(current, size), queryWrapper);
+        return this.page(new Page<>(current, size, projectQueryRequest.isSearchCount()), queryWrapper);
     }
 
     @Override
@@ -422,4 +402,59 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, Project> impl
         }
         return url.matches("^https?://[^\\s/$.?#].[^\\s]*$");
     }
-}
\ No newline at end of file
+
+    @Override
+    public QueryWrapper<Project> getQueryWrapper(ProjectQueryRequest projectQueryRequest) {
+        // 构建查询条件
+        QueryWrapper<Project> queryWrapper = new QueryWrapper<>();
+        queryWrapper.eq("is_delete", 0);
+
+        // 添加查询条件
+        if (StringUtils.isNotBlank(projectQueryRequest.getName())) {
+            queryWrapper.like("name", projectQueryRequest.getName());
+        }
+        if (StringUtils.isNotBlank(projectQueryRequest.getSlug())) {
+            queryWrapper.eq("slug", projectQueryRequest.getSlug());
+        }
+        if (StringUtils.isNotBlank(projectQueryRequest.getDescription())) {
+            queryWrapper.like("description", projectQueryRequest.getDescription());
+        }
+        if (StringUtils.isNotBlank(projectQueryRequest.getProjectType())) {
+            queryWrapper.eq("project_type", projectQueryRequest.getProjectType());
+        }
+        if (projectQueryRequest.getStatus() != null) {
+            queryWrapper.eq("status", projectQueryRequest.getStatus());
+        }
+        if (projectQueryRequest.getIsFeatured() != null) {
+            queryWrapper.eq("is_featured", projectQueryRequest.getIsFeatured());
+        }
+        if (projectQueryRequest.getIsOpenSource() != null) {
+            queryWrapper.eq("is_open_source", projectQueryRequest.getIsOpenSource());
+        }
+        if (projectQueryRequest.getAuthorId() != null) {
+            queryWrapper.eq("author_id", projectQueryRequest.getAuthorId());
+        }
+        if (StringUtils.isNotBlank(projectQueryRequest.getTechStack())) {
+            queryWrapper.like("tech_stack", projectQueryRequest.getTechStack());
+        }
+
+        // 排序
+        String sortField = projectQueryRequest.getSortField();
+        String sortOrder = projectQueryRequest.getSortOrder();
+        if (StringUtils.isNotBlank(sortField)) {
+            boolean isAsc = "asc".equals(sortOrder);
+            if ("createTime".equals(sortField)) {
+                queryWrapper.orderBy(true, isAsc, "create_time");
+            } else if ("updateTime".equals(sortField)) {
+                queryWrapper.orderBy(true, isAsc, "update_time");
+            } else if ("sortOrder".equals(sortField)) {
+                queryWrapper.orderBy(true, isAsc, "sort_order");
+            }
+        } else {
+            // 默认排序：按排序权重降序，创建时间降序
+            queryWrapper.orderByDesc("sort_order", "create_time");
+        }
+
+        return queryWrapper;
+    }
+}
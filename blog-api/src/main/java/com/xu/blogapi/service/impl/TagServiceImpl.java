@@ -5,7 +5,13 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.xu.blogapi.common.ErrorCode;
+import com.xu.blogapi.constant.CommonConstant;
+import com.xu.blogapi.converter.TagConverter;
 import com.xu.blogapi.exception.BusinessException;
+import com.xu.blogapi.exception.ThrowUtils;
+import com.xu.blogapi.manager.tag.TagDictionary;
+import com.xu.blogapi.manager.tag.TagDictionaryManager;
+import com.xu.blogapi.mapper.ArticleTagMapper;
 import com.xu.blogapi.mapper.TagMapper;
 import com.xu.blogapi.model.dto.tag.TagAddRequest;
 import com.xu.blogapi.model.dto.tag.TagQueryRequest;
@@ -14,13 +20,14 @@ import com.xu.blogapi.model.entity.Tag;
 import com.xu.blogapi.model.vo.TagVO;
 import com.xu.blogapi.service.TagService;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.annotation.Resource;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -31,9 +38,22 @@ import java.util.stream.Collectors;
 @Service
 public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagService {
 
+    /**
+     * 文章标签排序：使用次数降序，创建时间升序
+     */
+    private static final Comparator<TagVO> ARTICLE_TAG_ORDER = Comparator
+            .comparing(TagVO::getUseCount, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(TagVO::getCreateTime, Comparator.nullsLast(Comparator.naturalOrder()));
+
     @Resource
     private TagMapper tagMapper;
 
+    @Resource
+    private ArticleTagMapper articleTagMapper;
+
+    @Resource
+    private TagDictionaryManager tagDictionaryManager;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Long addTag(TagAddRequest tagAddRequest) {
@@ -43,8 +63,7 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagSe
         }
 
         // 创建标签实体
-        Tag tag = new Tag();
-        BeanUtils.copyProperties(tagAddRequest, tag);
+        Tag tag = TagConverter.toTag(tagAddRequest);
         tag.setUseCount(0);
         tag.setCreateTime(LocalDateTime.now());
         tag.setUpdateTime(LocalDateTime.now());
@@ -97,8 +116,7 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagSe
         }
 
         // 创建更新实体
-        Tag tag = new Tag();
-        BeanUtils.copyProperties(tagUpdateRequest, tag);
+        Tag tag = TagConverter.toTag(tagUpdateRequest);
         tag.setUpdateTime(LocalDateTime.now());
 
         // 校验标签
@@ -115,13 +133,13 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagSe
             throw new BusinessException(ErrorCode.PARAMS_ERROR);
         }
 
-        // 查询标签
-        Tag tag = this.getById(id);
-        if (tag == null) {
+        // 从标签字典读取
+        TagVO tagVO = tagDictionaryManager.getDictionary().get(id);
+        if (tagVO == null) {
             throw new BusinessException(ErrorCode.NOT_FOUND_ERROR);
         }
 
-        return getTagVO(tag);
+        return tagVO;
     }
 
     @Override
@@ -131,13 +149,27 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagSe
             throw new BusinessException(ErrorCode.PARAMS_ERROR);
         }
 
-        // 查询标签
-        Tag tag = tagMapper.selectBySlug(slug);
-        if (tag == null) {
+        // 从标签字典读取
+        TagVO tagVO = tagDictionaryManager.getDictionary().getBySlug(slug);
+        if (tagVO == null) {
             throw new BusinessException(ErrorCode.NOT_FOUND_ERROR);
         }
 
-        return getTagVO(tag);
+        return tagVO;
+    }
+
+    @Override
+    public List<TagVO> listTagsByIds(List<Long> ids) {
+        ThrowUtils.throwIf(ids == null || ids.isEmpty() || ids.size() > CommonConstant.MAX_BATCH_SIZE,
+                ErrorCode.PARAMS_ERROR, "ID数量须在1到" + CommonConstant.MAX_BATCH_SIZE + "之间");
+
+        TagDictionary dictionary = tagDictionaryManager.getDictionary();
+        return ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(dictionary::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -151,7 +183,8 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagSe
         QueryWrapper<Tag> queryWrapper = getQueryWrapper(tagQueryRequest);
 
         // 分页查询
-        Page<Tag> tagPage = new Page<>(tagQueryRequest.getCurrent(), tagQueryRequest.getPageSize());
+        Page<Tag> tagPage = new Page<>(tagQueryRequest.getCurrent(), tagQueryRequest.getPageSize(),
+                tagQueryRequest.isSearchCount());
         IPage<Tag> tagIPage = this.page(tagPage, queryWrapper);
 
         // 转换为VO
@@ -166,14 +199,7 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagSe
 
     @Override
     public List<TagVO> listAllTags() {
-        QueryWrapper<Tag> queryWrapper = new QueryWrapper<>();
-        queryWrapper.eq("is_delete", 0);
-        queryWrapper.orderByDesc("use_count", "create_time");
-
-        List<Tag> tagList = this.list(queryWrapper);
-        return tagList.stream()
-                .map(this::getTagVO)
-                .collect(Collectors.toList());
+        return tagDictionaryManager.getDictionary().listAll();
     }
 
     @Override
@@ -182,10 +208,7 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagSe
             limit = 10;
         }
 
-        List<Tag> tagList = tagMapper.selectPopularTags(limit);
-        return tagList.stream()
-                .map(this::getTagVO)
-                .collect(Collectors.toList());
+        return tagDictionaryManager.getDictionary().listPopular(limit);
     }
 
     @Override
@@ -195,9 +218,13 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagSe
             throw new BusinessException(ErrorCode.PARAMS_ERROR);
         }
 
-        List<Tag> tagList = tagMapper.selectTagsByArticleId(articleId);
-        return tagList.stream()
-                .map(this::getTagVO)
+        List<Long> tagIds = articleTagMapper.selectTagIdsByArticleId(articleId);
+        TagDictionary dictionary = tagDictionaryManager.getDictionary();
+        return tagIds.stream()
+                .distinct()
+                .map(dictionary::get)
+                .filter(Objects::nonNull)
+                .sorted(ARTICLE_TAG_ORDER)
                 .collect(Collectors.toList());
     }
 
@@ -241,14 +268,7 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagSe
                 throw new BusinessException(ErrorCode.PARAMS_ERROR, "标签名称过长");
             }
             // 检查名称是否已存在
-            QueryWrapper<Tag> nameWrapper = new QueryWrapper<>();
-            nameWrapper.eq("name", name);
-            nameWrapper.eq("is_delete", 0);
-            if (!add && tag.getId() != null) {
-                nameWrapper.ne("id", tag.getId());
-            }
-            long nameCount = this.count(nameWrapper);
-            if (nameCount > 0) {
+            if (tagDictionaryManager.getDictionary().existsByName(name, add ? null : tag.getId())) {
                 throw new BusinessException(ErrorCode.PARAMS_ERROR, "标签名称已存在");
             }
         }
@@ -258,7 +278,7 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagSe
                 throw new BusinessException(ErrorCode.PARAMS_ERROR, "标签别名过长");
             }
             // 检查别名是否已存在
-            boolean slugExists = tagMapper.existsBySlug(slug, add ? null : tag.getId());
+            boolean slugExists = tagDictionaryManager.getDictionary().existsBySlug(slug, add ? null : tag.getId());
             if (slugExists) {
                 throw new BusinessException(ErrorCode.PARAMS_ERROR, "标签别名已存在");
             }
@@ -270,8 +290,7 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagSe
         if (tag == null) {
             return null;
         }
-        TagVO tagVO = new TagVO();
-        BeanUtils.copyProperties(tag, tagVO);
+        TagVO tagVO = TagConverter.toTagVO(tag);
         return tagVO;
     }
 
@@ -280,7 +299,7 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagSe
         if (id == null || id <= 0) {
             return false;
         }
-        return this.getById(id) != null;
+        return tagDictionaryManager.getDictionary().get(id) != null;
     }
 
     @Override
@@ -288,7 +307,7 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagSe
         if (StringUtils.isBlank(name)) {
             return false;
         }
-        return tagMapper.existsByName(name, null);
+        return tagDictionaryManager.getDictionary().existsByName(name, null);
     }
 
     @Override
@@ -296,7 +315,7 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagSe
         if (StringUtils.isBlank(slug)) {
             return false;
         }
-        return tagMapper.existsBySlug(slug, null);
+        return tagDictionaryManager.getDictionary().existsBySlug(slug, null);
     }
 
     @Override
@@ -304,7 +323,7 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagSe
         if (StringUtils.isBlank(name)) {
             return false;
         }
-        return tagMapper.existsByName(name, excludeId);
+        return tagDictionaryManager.getDictionary().existsByName(name, excludeId);
     }
 
     @Override
@@ -312,7 +331,7 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagSe
         if (StringUtils.isBlank(slug)) {
             return false;
         }
-        return tagMapper.existsBySlug(slug, excludeId);
+        return tagDictionaryManager.getDictionary().existsBySlug(slug, excludeId);
     }
 
     /**
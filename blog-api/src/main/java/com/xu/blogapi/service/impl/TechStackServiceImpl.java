@@ -5,6 +5,7 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.xu.blogapi.common.ErrorCode;
+import com.xu.blogapi.converter.TechStackConverter;
 import com.xu.blogapi.exception.BusinessException;
 import com.xu.blogapi.exception.TechStackException;
 import com.xu.blogapi.mapper.TechStackMapper;
@@ -16,7 +17,6 @@ import com.xu.blogapi.model.entity.TechStack;
 import com.xu.blogapi.service.TechStackService;
 import com.xu.blogapi.validator.TechStackValidator;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -46,8 +46,7 @@ public class TechStackServiceImpl extends ServiceImpl<TechStackMapper, TechStack
         techStackValidator.validateTechStackAddRequest(techStackAddRequest);
 
         // 创建技术栈实体
-        TechStack techStack = new TechStack();
-        BeanUtils.copyProperties(techStackAddRequest, techStack);
+        TechStack techStack = TechStackConverter.toTechStack(techStackAddRequest);
         techStack.setCreateTime(LocalDateTime.now());
         techStack.setUpdateTime(LocalDateTime.now());
         techStack.setIsDelete(0);
@@ -112,8 +111,7 @@ public class TechStackServiceImpl extends ServiceImpl<TechStackMapper, TechStack
         }
 
         // 更新技术栈实体
-        TechStack techStack = new TechStack();
-        BeanUtils.copyProperties(techStackUpdateRequest, techStack);
+        TechStack techStack = TechStackConverter.toTechStack(techStackUpdateRequest);
         techStack.setUpdateTime(LocalDateTime.now());
 
         // 校验技术栈
@@ -163,12 +161,13 @@ public class TechStackServiceImpl extends ServiceImpl<TechStackMapper, TechStack
         QueryWrapper<TechStack> queryWrapper = getQueryWrapper(techStackQueryRequest);
 
         // 分页查询
-        Page<TechStack> page = new Page<>(techStackQueryRequest.getCurrent(), techStackQueryRequest.getPageSize());
+        Page<TechStack> page = new Page<>(techStackQueryRequest.getCurrent(), techStackQueryRequest.getPageSize(),
+                techStackQueryRequest.isSearchCount());
         IPage<TechStack> techStackPage = this.page(page, queryWrapper);
 
         // 转换为响应对象
-        IPage<TechStackResponse> responsePage = new Page<>();
-        BeanUtils.copyProperties(techStackPage, responsePage);
+        IPage<TechStackResponse> responsePage = new Page<>(techStackPage.getCurrent(), techStackPage.getSize(),
+                techStackPage.getTotal());
         List<TechStackResponse> responseList = techStackPage.getRecords().stream()
                 .map(this::getTechStackResponse)
                 .collect(Collectors.toList());
@@ -244,8 +243,7 @@ public class TechStackServiceImpl extends ServiceImpl<TechStackMapper, TechStack
             return null;
         }
 
-        TechStackResponse techStackResponse = new TechStackResponse();
-        BeanUtils.copyProperties(techStack, techStackResponse);
+        TechStackResponse techStackResponse = TechStackConverter.toTechStackResponse(techStack);
         return techStackResponse;
     }
 
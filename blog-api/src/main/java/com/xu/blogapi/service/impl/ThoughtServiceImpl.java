@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.xu.blogapi.common.ErrorCode;
+import com.xu.blogapi.converter.ThoughtConverter;
 import com.xu.blogapi.exception.BusinessException;
 import com.xu.blogapi.mapper.ThoughtMapper;
 import com.xu.blogapi.model.dto.thought.ThoughtAddRequest;
@@ -15,7 +16,6 @@ import com.xu.blogapi.model.enums.UserRoleEnum;
 import com.xu.blogapi.service.ThoughtService;
 import com.xu.blogapi.service.UserService;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -48,8 +48,7 @@ public class ThoughtServiceImpl extends ServiceImpl<ThoughtMapper, Thought> impl
         }
 
         // 创建想法对象
-        Thought thought = new Thought();
-        BeanUtils.copyProperties(thoughtAddRequest, thought);
+        Thought thought = ThoughtConverter.toThought(thoughtAddRequest);
         thought.setAuthorId(loginUser.getId());
 
         // 校验想法参数
@@ -82,8 +81,7 @@ public class ThoughtServiceImpl extends ServiceImpl<ThoughtMapper, Thought> impl
         }
 
         // 更新想法对象
-        Thought thought = new Thought();
-        BeanUtils.copyProperties(thoughtUpdateRequest, thought);
+        Thought thought = ThoughtConverter.toThought(thoughtUpdateRequest);
         thought.setAuthorId(oldThought.getAuthorId()); // 保持原作者不变
 
         // 校验想法参数
@@ -155,49 +153,9 @@ public class ThoughtServiceImpl extends ServiceImpl<ThoughtMapper, Thought> impl
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "每页数量不能超过50");
         }
 
-        // 构建查询条件
-        QueryWrapper<Thought> queryWrapper = new QueryWrapper<>();
-        queryWrapper.eq("is_delete", 0);
+        QueryWrapper<Thought> queryWrapper = getQueryWrapper(thoughtQueryRequest);
 
-        // 允许所有用户查看所有想法，不再进行权限限制
-
-        // 添加查询条件
-        if (StringUtils.isNotBlank(thoughtQueryRequest.getContent())) {
-            queryWrapper.like("content", thoughtQueryRequest.getContent());
-        }
-        if (StringUtils.isNotBlank(thoughtQueryRequest.getMood())) {
-            queryWrapper.eq("mood", thoughtQueryRequest.getMood());
-        }
-        if (StringUtils.isNotBlank(thoughtQueryRequest.getLocation())) {
-            queryWrapper.like("location", thoughtQueryRequest.getLocation());
-        }
-        if (StringUtils.isNotBlank(thoughtQueryRequest.getWeather())) {
-            queryWrapper.eq("weather", thoughtQueryRequest.getWeather());
-        }
-        if (thoughtQueryRequest.getAuthorId() != null) {
-            queryWrapper.eq("author_id", thoughtQueryRequest.getAuthorId());
-        }
-        if (thoughtQueryRequest.getStatus() != null) {
-            queryWrapper.eq("status", thoughtQueryRequest.getStatus());
-        }
-        if (StringUtils.isNotBlank(thoughtQueryRequest.getSearchText())) {
-            queryWrapper.like("content", thoughtQueryRequest.getSearchText());
-        }
-
-        // 排序
-        String sortField = thoughtQueryRequest.getSortField();
-        String sortOrder = thoughtQueryRequest.getSortOrder();
-        if (StringUtils.isNotBlank(sortField)) {
-            // 将驼峰命名转换为数据库字段名
-            String dbSortField = convertToDbField(sortField);
-            boolean isAsc = "asc".equals(sortOrder);
-            queryWrapper.orderBy(true, isAsc, dbSortField);
-        } else {
-            // 默认按创建时间倒序
-            queryWrapper.orderByDesc("create_time");
-        }
-
-        return this.page(new Page<>(current, size), queryWrapper);
+        return this.page(new Page<>(current, size, thoughtQueryRequest.isSearchCount()), queryWrapper);
     }
 
 
@@ -295,4 +253,51 @@ public class ThoughtServiceImpl extends ServiceImpl<ThoughtMapper, Thought> impl
                 return "create_time"; // 不支持的字段使用默认排序
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public QueryWrapper<Thought> getQueryWrapper(ThoughtQueryRequest thoughtQueryRequest) {
+        // 构建查询条件
+        QueryWrapper<Thought> queryWrapper = new QueryWrapper<>();
+        queryWrapper.eq("is_delete", 0);
+
+        // 允许所有用户查看所有想法，不再进行权限限制
+
+        // 添加查询条件
+        if (StringUtils.isNotBlank(thoughtQueryRequest.getContent())) {
+            queryWrapper.like("content", thoughtQueryRequest.getContent());
+        }
+        if (StringUtils.isNotBlank(thoughtQueryRequest.getMood())) {
+            queryWrapper.eq("mood", thoughtQueryRequest.getMood());
+        }
+        if (StringUtils.isNotBlank(thoughtQueryRequest.getLocation())) {
+            queryWrapper.like("location", thoughtQueryRequest.getLocation());
+        }
+        if (StringUtils.isNotBlank(thoughtQueryRequest.getWeather())) {
+            queryWrapper.eq("weather", thoughtQueryRequest.getWeather());
+        }
+        if (thoughtQueryRequest.getAuthorId() != null) {
+            queryWrapper.eq("author_id", thoughtQueryRequest.getAuthorId());
+        }
+        if (thoughtQueryRequest.getStatus() != null) {
+            queryWrapper.eq("status", thoughtQueryRequest.getStatus());
+        }
+        if (StringUtils.isNotBlank(thoughtQueryRequest.getSearchText())) {
+            queryWrapper.like("content", thoughtQueryRequest.getSearchText());
+        }
+
+        // 排序
+        String sortField = thoughtQueryRequest.getSortField();
+        String sortOrder = thoughtQueryRequest.getSortOrder();
+        if (StringUtils.isNotBlank(sortField)) {
+            // 将驼峰命名转换为数据库字段名
+            String dbSortField = convertToDbField(sortField);
+            boolean isAsc = "asc".equals(sortOrder);
+            queryWrapper.orderBy(true, isAsc, dbSortField);
+        } else {
+            // 默认按创建时间倒序
+            queryWrapper.orderByDesc("create_time");
+        }
+
+        return queryWrapper;
+    }
+}
@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.xu.blogapi.common.ErrorCode;
+import com.xu.blogapi.converter.TravelConverter;
 import com.xu.blogapi.exception.BusinessException;
 import com.xu.blogapi.mapper.TravelMapper;
 import com.xu.blogapi.model.dto.travel.TravelAddRequest;
@@ -15,7 +16,6 @@ import com.xu.blogapi.model.enums.UserRoleEnum;
 import com.xu.blogapi.service.TravelService;
 import com.xu.blogapi.service.UserService;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -51,8 +51,7 @@ public class TravelServiceImpl extends ServiceImpl<TravelMapper, Travel> impleme
         }
 
         // 创建旅行记录对象
-        Travel travel = new Travel();
-        BeanUtils.copyProperties(travelAddRequest, travel);
+        Travel travel = TravelConverter.toTravel(travelAddRequest);
         travel.setAuthorId(loginUser.getId());
 
         // 自动计算旅行天数
@@ -97,8 +96,7 @@ public class TravelServiceImpl extends ServiceImpl<TravelMapper, Travel> impleme
         }
 
         // 更新旅行记录对象
-        Travel travel = new Travel();
-        BeanUtils.copyProperties(travelUpdateRequest, travel);
+        Travel travel = TravelConverter.toTravel(travelUpdateRequest);
         
         // 设置作者ID（更新时保持原作者ID不变）
         travel.setAuthorId(oldTravel.getAuthorId());
@@ -183,132 +181,11 @@ public class TravelServiceImpl extends ServiceImpl<TravelMapper, Travel> impleme
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "查询参数为空");
         }
 
-        // 构建查询条件
-        QueryWrapper<Travel> queryWrapper = new QueryWrapper<>();
-        
-        // 基础条件
-        queryWrapper.eq("is_delete", 0);
-        
-        // 标题模糊查询
-        if (StringUtils.isNotBlank(travelQueryRequest.getTitle())) {
-            queryWrapper.like("title", travelQueryRequest.getTitle());
-        }
-        
-        // 目的地模糊查询
-        if (StringUtils.isNotBlank(travelQueryRequest.getDestination())) {
-            queryWrapper.like("destination", travelQueryRequest.getDestination());
-        }
-        
-        // 国家查询
-        if (StringUtils.isNotBlank(travelQueryRequest.getCountry())) {
-            queryWrapper.eq("country", travelQueryRequest.getCountry());
-        }
-        
-        // 城市查询
-        if (StringUtils.isNotBlank(travelQueryRequest.getCity())) {
-            queryWrapper.eq("city", travelQueryRequest.getCity());
-        }
-        
-        // 描述模糊查询
-        if (StringUtils.isNotBlank(travelQueryRequest.getDescription())) {
-            queryWrapper.like("description", travelQueryRequest.getDescription());
-        }
-        
-        // 日期范围查询
-        if (travelQueryRequest.getStartDateFrom() != null) {
-            queryWrapper.ge("start_date", travelQueryRequest.getStartDateFrom());
-        }
-        if (travelQueryRequest.getStartDateTo() != null) {
-            queryWrapper.le("start_date", travelQueryRequest.getStartDateTo());
-        }
-        if (travelQueryRequest.getEndDateFrom() != null) {
-            queryWrapper.ge("end_date", travelQueryRequest.getEndDateFrom());
-        }
-        if (travelQueryRequest.getEndDateTo() != null) {
-            queryWrapper.le("end_date", travelQueryRequest.getEndDateTo());
-        }
-        
-        // 旅行天数范围查询
-        if (travelQueryRequest.getMinDuration() != null) {
-            queryWrapper.ge("duration", travelQueryRequest.getMinDuration());
-        }
-        if (travelQueryRequest.getMaxDuration() != null) {
-            queryWrapper.le("duration", travelQueryRequest.getMaxDuration());
-        }
-        
-        // 预算范围查询
-        if (travelQueryRequest.getMinBudget() != null) {
-            queryWrapper.ge("budget", travelQueryRequest.getMinBudget());
-        }
-        if (travelQueryRequest.getMaxBudget() != null) {
-            queryWrapper.le("budget", travelQueryRequest.getMaxBudget());
-        }
-        
-        // 交通方式查询
-        if (StringUtils.isNotBlank(travelQueryRequest.getTransportation())) {
-            queryWrapper.like("transportation", travelQueryRequest.getTransportation());
-        }
-        
-        // 天气情况查询
-        if (StringUtils.isNotBlank(travelQueryRequest.getWeather())) {
-            queryWrapper.eq("weather", travelQueryRequest.getWeather());
-        }
-        
-        // 评分查询
-        if (travelQueryRequest.getRating() != null) {
-            queryWrapper.eq("rating", travelQueryRequest.getRating());
-        }
-        
-        // 状态查询
-        if (travelQueryRequest.getStatus() != null) {
-            queryWrapper.eq("status", travelQueryRequest.getStatus());
-        } else {
-            // 如果没有指定状态，默认只查询公开记录（除非是管理员或查询自己的记录）
-            if (loginUser == null || 
-                (!Integer.valueOf(1).equals(loginUser.getRole()) && // 1表示管理员
-                 (travelQueryRequest.getAuthorId() == null || !travelQueryRequest.getAuthorId().equals(loginUser.getId())))) {
-                queryWrapper.eq("status", 1);
-            }
-        }
-        
-        // 作者查询
-        if (travelQueryRequest.getAuthorId() != null) {
-            queryWrapper.eq("author_id", travelQueryRequest.getAuthorId());
-        }
-        
-        // 排序
-        String sortField = travelQueryRequest.getSortField();
-        String sortOrder = travelQueryRequest.getSortOrder();
-        
-        if (StringUtils.isNotBlank(sortField)) {
-            boolean isAsc = "asc".equals(sortOrder);
-            switch (sortField) {
-                case "createTime":
-                    queryWrapper.orderBy(true, isAsc, "create_time");
-                    break;
-                case "updateTime":
-                    queryWrapper.orderBy(true, isAsc, "update_time");
-                    break;
-                case "startDate":
-                    queryWrapper.orderBy(true, isAsc, "start_date");
-                    break;
-                case "endDate":
-                    queryWrapper.orderBy(true, isAsc, "end_date");
-                    break;
-                case "rating":
-                    queryWrapper.orderBy(true, isAsc, "rating");
-                    break;
-                default:
-                    queryWrapper.orderByDesc("start_date").orderByDesc("create_time");
-                    break;
-            }
-        } else {
-            // 默认排序：按开始日期降序，创建时间降序
-            queryWrapper.orderByDesc("start_date").orderByDesc("create_time");
-        }
-        
+        QueryWrapper<Travel> queryWrapper = getQueryWrapper(travelQueryRequest, loginUser);
+
         // 分页查询
-        Page<Travel> page = new Page<>(travelQueryRequest.getCurrent(), travelQueryRequest.getPageSize());
+        Page<Travel> page = new Page<>(travelQueryRequest.getCurrent(), travelQueryRequest.getPageSize(),
+                travelQueryRequest.isSearchCount());
         return this.page(page, queryWrapper);
     }
 
@@ -506,4 +383,133 @@ public class TravelServiceImpl extends ServiceImpl<TravelMapper, Travel> impleme
         }
         return url.startsWith("http://") || url.startsWith("https://");
     }
-}
\ No newline at end of file
+
+    @Override
+    public QueryWrapper<Travel> getQueryWrapper(TravelQueryRequest travelQueryRequest, User loginUser) {
+        // 构建查询条件
+        QueryWrapper<Travel> queryWrapper = new QueryWrapper<>();
+        
+        // 基础条件
+        queryWrapper.eq("is_delete", 0);
+        
+        // 标题模糊查询
+        if (StringUtils.isNotBlank(travelQueryRequest.getTitle())) {
+            queryWrapper.like("title", travelQueryRequest.getTitle());
+        }
+        
+        // 目的地模糊查询
+        if (StringUtils.isNotBlank(travelQueryRequest.getDestination())) {
+            queryWrapper.like("destination", travelQueryRequest.getDestination());
+        }
+        
+        // 国家查询
+        if (StringUtils.isNotBlank(travelQueryRequest.getCountry())) {
+            queryWrapper.eq("country", travelQueryRequest.getCountry());
+        }
+        
+        // 城市查询
+        if (StringUtils.isNotBlank(travelQueryRequest.getCity())) {
+            queryWrapper.eq("city", travelQueryRequest.getCity());
+        }
+        
+        // 描述模糊查询
+        if (StringUtils.isNotBlank(travelQueryRequest.getDescription())) {
+            queryWrapper.like("description", travelQueryRequest.getDescription());
+        }
+        
+        // 日期范围查询
+        if (travelQueryRequest.getStartDateFrom() != null) {
+            queryWrapper.ge("start_date", travelQueryRequest.getStartDateFrom());
+        }
+        if (travelQueryRequest.getStartDateTo() != null) {
+            queryWrapper.le("start_date", travelQueryRequest.getStartDateTo());
+        }
+        if (travelQueryRequest.getEndDateFrom() != null) {
+            queryWrapper.ge("end_date", travelQueryRequest.getEndDateFrom());
+        }
+        if (travelQueryRequest.getEndDateTo() != null) {
+            queryWrapper.le("end_date", travelQueryRequest.getEndDateTo());
+        }
+        
+        // 旅行天数范围查询
+        if (travelQueryRequest.getMinDuration() != null) {
+            queryWrapper.ge("duration", travelQueryRequest.getMinDuration());
+        }
+        if (travelQueryRequest.getMaxDuration() != null) {
+            queryWrapper.le("duration", travelQueryRequest.getMaxDuration());
+        }
+        
+        // 预算范围查询
+        if (travelQueryRequest.getMinBudget() != null) {
+            queryWrapper.ge("budget", travelQueryRequest.getMinBudget());
+        }
+        if (travelQueryRequest.getMaxBudget() != null) {
+            queryWrapper.le("budget", travelQueryRequest.getMaxBudget());
+        }
+        
+        // 交通方式查询
+        if (StringUtils.isNotBlank(travelQueryRequest.getTransportation())) {
+            queryWrapper.like("transportation", travelQueryRequest.getTransportation());
+        }
+        
+        // 天气情况查询
+        if (StringUtils.isNotBlank(travelQueryRequest.getWeather())) {
+            queryWrapper.eq("weather", travelQueryRequest.getWeather());
+        }
+        
+        // 评分查询
+        if (travelQueryRequest.getRating() != null) {
+            queryWrapper.eq("rating", travelQueryRequest.getRating());
+        }
+        
+        // 状态查询
+        if (travelQueryRequest.getStatus() != null) {
+            queryWrapper.eq("status", travelQueryRequest.getStatus());
+        } else {
+            // 如果没有指定状态，默认只查询公开记录（除非是管理员或查询自己的记录）
+            if (loginUser == null || 
+                (!Integer.valueOf(1).equals(loginUser.getRole()) && // 1表示管理员
+                 (travelQueryRequest.getAuthorId() == null || !travelQueryRequest.getAuthorId().equals(loginUser.getId())))) {
+                queryWrapper.eq("status", 1);
+            }
+        }
+        
+        // 作者查询
+        if (travelQueryRequest.getAuthorId() != null) {
+            queryWrapper.eq("author_id", travelQueryRequest.getAuthorId());
+        }
+        
+        // 排序
+        String sortField = travelQueryRequest.getSortField();
+        String sortOrder = travelQueryRequest.getSortOrder();
+        
+        if (StringUtils.isNotBlank(sortField)) {
+            boolean isAsc = "asc".equals(sortOrder);
+            switch (sortField) {
+                case "createTime":
+                    queryWrapper.orderBy(true, isAsc, "create_time");
+                    break;
+                case "updateTime":
+                    queryWrapper.orderBy(true, isAsc, "update_time");
+                    break;
+                case "startDate":
+                    queryWrapper.orderBy(true, isAsc, "start_date");
+                    break;
+                case "endDate":
+                    queryWrapper.orderBy(true, isAsc, "end_date");
+                    break;
+                case "rating":
+                    queryWrapper.orderBy(true, isAsc, "rating");
+                    break;
+                default:
+                    queryWrapper.orderByDesc("start_date").orderByDesc("create_time");
+                    break;
+            }
+        } else {
+            // 默认排序：按开始日期降序，创建时间降序
+            queryWrapper.orderByDesc("start_date").orderByDesc("create_time");
+        }
+
+        return queryWrapper;
+    }
+}
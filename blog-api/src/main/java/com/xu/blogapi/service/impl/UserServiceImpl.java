@@ -10,8 +10,13 @@ import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.xu.blogapi.common.ErrorCode;
 import com.xu.blogapi.constant.CommonConstant;
+import com.xu.blogapi.constant.LockConstant;
 import com.xu.blogapi.constant.SystemConstants;
+import com.xu.blogapi.converter.UserConverter;
 import com.xu.blogapi.exception.BusinessException;
+import com.xu.blogapi.exception.ThrowUtils;
+import com.xu.blogapi.manager.cache.EntityCacheManager;
+import com.xu.blogapi.manager.lock.KeyedLockManager;
 import com.xu.blogapi.mapper.UserMapper;
 import com.xu.blogapi.model.dto.user.UserQueryRequest;
 import com.xu.blogapi.model.entity.User;
@@ -28,7 +33,6 @@ import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.util.DigestUtils;
 
@@ -41,6 +45,12 @@ import javax.annotation.Resource;
 @Slf4j
 public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements UserService {
 
+    @Resource
+    private KeyedLockManager keyedLockManager;
+
+    @Resource
+    private EntityCacheManager entityCacheManager;
+
     @Override
     public long userRegister(String userAccount, String userPassword, String checkPassword) {
         // 1. 校验
@@ -57,7 +67,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         if (!userPassword.equals(checkPassword)) {
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "两次输入的密码不一致");
         }
-        synchronized (userAccount.intern()) {
+        return keyedLockManager.executeWithLock(LockConstant.USER_REGISTER + userAccount, () -> {
             // 账户不能重复
             QueryWrapper<User> queryWrapper = new QueryWrapper<>();
             queryWrapper.eq("username", userAccount);
@@ -78,7 +88,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
                 throw new BusinessException(ErrorCode.SYSTEM_ERROR, "注册失败，数据库错误");
             }
             return user.getId();
-        }
+        });
     }
 
     @Override
@@ -116,8 +126,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         if (user == null) {
             return null;
         }
-        TokenLoginUserVo tokenLoginUserVo = new TokenLoginUserVo();
-        BeanUtils.copyProperties(user, tokenLoginUserVo);
+        TokenLoginUserVo tokenLoginUserVo = UserConverter.toTokenLoginUserVo(user);
         SaTokenInfo tokenInfo = StpUtil.getTokenInfo();
         tokenLoginUserVo.setSaTokenInfo(tokenInfo);
         return tokenLoginUserVo;
@@ -203,8 +212,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         if (user == null) {
             return null;
         }
-        LoginUserVO loginUserVO = new LoginUserVO();
-        BeanUtils.copyProperties(user, loginUserVO);
+        LoginUserVO loginUserVO = UserConverter.toLoginUserVO(user);
         return loginUserVO;
     }
 
@@ -213,8 +221,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         if (user == null) {
             return null;
         }
-        UserVO userVO = new UserVO();
-        BeanUtils.copyProperties(user, userVO);
+        UserVO userVO = UserConverter.toUserVO(user);
         return userVO;
     }
 
@@ -226,6 +233,14 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         return userList.stream().map(this::getUserVO).collect(Collectors.toList());
     }
 
+    @Override
+    public List<UserVO> listUserVOByIds(List<Long> ids) {
+        ThrowUtils.throwIf(ids == null || ids.isEmpty() || ids.size() > CommonConstant.MAX_BATCH_SIZE,
+                ErrorCode.PARAMS_ERROR, "ID数量须在1到" + CommonConstant.MAX_BATCH_SIZE + "之间");
+
+        return getUserVO(entityCacheManager.getUserCache().getAll(ids, this::listByIds, User::getId));
+    }
+
     @Override
     public QueryWrapper<User> getQueryWrapper(UserQueryRequest userQueryRequest) {
         if (userQueryRequest == null) {
@@ -0,0 +1,211 @@
+package com.xu.blogapi.utils;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 文章内容工具类
+ * 别名生成、字数统计和 Markdown 头信息解析，供文章服务和批量导入共用
+ *
+ * @author xu
+ */
+public class ArticleContentUtils {
+
+    /**
+     * 别名格式：只能包含小写字母、数字和连字符
+     */
+    private static final Pattern SLUG_PATTERN = Pattern.compile("^[a-z0-9\\-]+$");
+
+    private static final Pattern CODE_BLOCK_PATTERN = Pattern.compile("```[\\s\\S]*?```");
+
+    private static final Pattern INLINE_CODE_PATTERN = Pattern.compile("`[^`]*`");
+
+    private static final Pattern IMAGE_PATTERN = Pattern.compile("!\\[[^\\]]*\\]\\([^)]*\\)");
+
+    private static final Pattern LINK_PATTERN = Pattern.compile("\\[[^\\]]*\\]\\([^)]*\\)");
+
+    private static final Pattern MARKDOWN_MARK_PATTERN = Pattern.compile("[#*_~`>-]");
+
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+
+    /**
+     * 阅读速度（字/分钟）
+     */
+    private static final int READING_SPEED = 200;
+
+    /**
+     * 头信息分隔行
+     */
+    private static final String FRONT_MATTER_DELIMITER = "---";
+
+    private ArticleContentUtils() {
+    }
+
+    /**
+     * 根据标题生成别名
+     *
+     * @param title 标题
+     * @return 别名，标题中没有可用字符时返回空字符串
+     */
+    public static String generateSlug(String title) {
+        if (StringUtils.isBlank(title)) {
+            return "";
+        }
+
+        // 简单的slug生成逻辑：转小写，替换空格为连字符，移除特殊字符
+        return title.toLowerCase()
+                .replaceAll("\\s+", "-")
+                .replaceAll("[^a-z0-9\\-]", "")
+                .replaceAll("-+", "-")
+                .replaceAll("^-|-$", "");
+    }
+
+    /**
+     * 校验别名格式
+     *
+     * @param slug 别名
+     * @return 是否有效
+     */
+    public static boolean isValidSlug(String slug) {
+        return slug != null && SLUG_PATTERN.matcher(slug).matches();
+    }
+
+    /**
+     * 统计字数（去除 Markdown 标记）
+     *
+     * @param content Markdown 内容
+     * @return 字数
+     */
+    public static int countWords(String content) {
+        if (StringUtils.isBlank(content)) {
+            return 0;
+        }
+        String text = CODE_BLOCK_PATTERN.matcher(content).replaceAll("");
+        text = INLINE_CODE_PATTERN.matcher(text).replaceAll("");
+        text = IMAGE_PATTERN.matcher(text).replaceAll("");
+        text = LINK_PATTERN.matcher(text).replaceAll("");
+        text = MARKDOWN_MARK_PATTERN.matcher(text).replaceAll("");
+        text = WHITESPACE_PATTERN.matcher(text).replaceAll(" ");
+        return text.trim().length();
+    }
+
+    /**
+     * 计算阅读时间
+     *
+     * @param wordCount 字数
+     * @return 阅读时间（分钟），有内容时至少 1 分钟
+     */
+    public static int calculateReadingTime(int wordCount) {
+        if (wordCount <= 0) {
+            return 0;
+        }
+        return Math.max(1, (int) Math.ceil(wordCount / (double) READING_SPEED));
+    }
+
+    /**
+     * 解析 Markdown 头信息
+     * 文件以 --- 开始、下一个 --- 结束的部分按 key: value 解析，其余部分为正文
+     *
+     * @param markdown Markdown 文本
+     * @return 头信息和正文
+     */
+    public static FrontMatter parseFrontMatter(String markdown) {
+        if (markdown == null) {
+            return new FrontMatter(Collections.emptyMap(), "");
+        }
+        // 去掉 BOM
+        String text = markdown.startsWith("\uFEFF") ? markdown.substring(1) : markdown;
+        String[] lines = text.split("\\r?\\n", -1);
+        if (lines.length == 0 || !FRONT_MATTER_DELIMITER.equals(lines[0].trim())) {
+            return new FrontMatter(Collections.emptyMap(), text);
+        }
+        Map<String, String> attributes = new LinkedHashMap<>();
+        for (int i = 1; i < lines.length; i++) {
+            String line = lines[i];
+            if (FRONT_MATTER_DELIMITER.equals(line.trim())) {
+                String body = String.join("\n", Arrays.copyOfRange(lines, i + 1, lines.length));
+                return new FrontMatter(attributes, StringUtils.stripStart(body, "\n"));
+            }
+            int colonIndex = line.indexOf(':');
+            if (colonIndex <= 0 || line.trim().startsWith("#")) {
+                continue;
+            }
+            String key = line.substring(0, colonIndex).trim();
+            String value = StringUtils.strip(line.substring(colonIndex + 1).trim(), "\"'");
+            attributes.put(key, value);
+        }
+        // 没有结束分隔行，按普通正文处理
+        return new FrontMatter(Collections.emptyMap(), text);
+    }
+
+    /**
+     * 生成带头信息的 Markdown，与 {@link #parseFrontMatter(String)} 互逆
+     * 空值不输出，值中的换行替换为空格
+     *
+     * @param attributes 头信息
+     * @param body 正文
+     * @return Markdown 文本
+     */
+    public static String formatFrontMatter(Map<String, ?> attributes, String body) {
+        StringBuilder builder = new StringBuilder();
+        builder.append(FRONT_MATTER_DELIMITER).append('\n');
+        attributes.forEach((key, value) -> {
+            if (value == null) {
+                return;
+            }
+            String text = WHITESPACE_PATTERN.matcher(String.valueOf(value)).replaceAll(" ").trim();
+            if (!text.isEmpty()) {
+                builder.append(key).append(": ").append(text).append('\n');
+            }
+        });
+        builder.append(FRONT_MATTER_DELIMITER).append("\n\n");
+        if (body != null) {
+            builder.append(body);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Markdown 头信息和正文
+     */
+    public static class FrontMatter {
+
+        private final Map<String, String> attributes;
+
+        private final String body;
+
+        public FrontMatter(Map<String, String> attributes, String body) {
+            this.attributes = attributes;
+            this.body = body;
+        }
+
+        public Map<String, String> getAttributes() {
+            return attributes;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        /**
+         * 按顺序取第一个非空的属性值
+         *
+         * @param keys 属性名
+         * @return 属性值，都不存在时返回 null
+         */
+        public String get(String... keys) {
+            for (String key : keys) {
+                String value = attributes.get(key);
+                if (StringUtils.isNotBlank(value)) {
+                    return value;
+                }
+            }
+            return null;
+        }
+    }
+}
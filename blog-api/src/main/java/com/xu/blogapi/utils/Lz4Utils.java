@@ -0,0 +1,77 @@
+package com.xu.blogapi.utils;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+
+/**
+ * LZ4 压缩工具类
+ * 压缩结果为“4 字节原始长度 + LZ4 块”，可在前面附加调用方自己的头部
+ *
+ * @author xu
+ */
+public class Lz4Utils {
+
+    private static final LZ4Factory LZ4_FACTORY = LZ4Factory.fastestInstance();
+
+    private static final int LENGTH_BYTES = Integer.BYTES;
+
+    /**
+     * 压缩
+     *
+     * @param raw    原始数据
+     * @param header 写在结果最前面的头部，可为空数组
+     * @return 头部 + 原始长度 + LZ4 块
+     */
+    public static byte[] compress(byte[] raw, byte[] header) {
+        LZ4Compressor compressor = LZ4_FACTORY.fastCompressor();
+        int offset = header.length + LENGTH_BYTES;
+        byte[] output = new byte[offset + compressor.maxCompressedLength(raw.length)];
+        System.arraycopy(header, 0, output, 0, header.length);
+        writeInt(output, header.length, raw.length);
+        int length = compressor.compress(raw, 0, raw.length, output, offset);
+        byte[] result = new byte[offset + length];
+        System.arraycopy(output, 0, result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * 解压
+     *
+     * @param data   压缩数据
+     * @param offset 原始长度所在位置（即头部长度）
+     * @return 原始数据
+     * @throws IllegalArgumentException 数据损坏
+     */
+    public static byte[] decompress(byte[] data, int offset) {
+        if (data == null || data.length < offset + LENGTH_BYTES) {
+            throw new IllegalArgumentException("malformed lz4 data");
+        }
+        int rawLength = readInt(data, offset);
+        if (rawLength < 0) {
+            throw new IllegalArgumentException("malformed lz4 data");
+        }
+        byte[] raw = new byte[rawLength];
+        try {
+            int read = LZ4_FACTORY.fastDecompressor().decompress(data, offset + LENGTH_BYTES, raw, 0, rawLength);
+            if (read != data.length - offset - LENGTH_BYTES) {
+                throw new IllegalArgumentException("malformed lz4 data");
+            }
+        } catch (LZ4Exception e) {
+            throw new IllegalArgumentException("malformed lz4 data", e);
+        }
+        return raw;
+    }
+
+    private static void writeInt(byte[] buffer, int offset, int value) {
+        buffer[offset] = (byte) (value >>> 24);
+        buffer[offset + 1] = (byte) (value >>> 16);
+        buffer[offset + 2] = (byte) (value >>> 8);
+        buffer[offset + 3] = (byte) value;
+    }
+
+    private static int readInt(byte[] buffer, int offset) {
+        return ((buffer[offset] & 0xFF) << 24) | ((buffer[offset + 1] & 0xFF) << 16)
+                | ((buffer[offset + 2] & 0xFF) << 8) | (buffer[offset + 3] & 0xFF);
+    }
+}
@@ -0,0 +1,101 @@
+package com.xu.blogapi.utils;
+
+import java.nio.charset.Charset;
+
+/**
+ * 拼音首字母工具类
+ * GB2312 一级汉字（3755 个常用字）按拼音排序，根据编码所在区间即可得到首字母，不依赖拼音库；
+ * 二级汉字（按部首排序）和 GB2312 以外的字符无法识别，直接跳过
+ *
+ * @author xu
+ */
+public class PinyinUtils {
+
+    private static final Charset GB2312 = Charset.forName("GB2312");
+
+    /**
+     * 各首字母第一个汉字的 GB2312 编码，最后一项为一级汉字的结束位置
+     */
+    private static final int[] BOUNDARIES = {
+            0xB0A1, 0xB0C5, 0xB2C1, 0xB4EE, 0xB6EA, 0xB7A2, 0xB8C1, 0xB9FE, 0xBBF7, 0xBFA6, 0xC0AC, 0xC2E8,
+            0xC4C3, 0xC5B6, 0xC5BE, 0xC6DA, 0xC8BB, 0xC8F6, 0xCBFA, 0xCDDA, 0xCEF4, 0xD1B9, 0xD4D1, 0xD7FA
+    };
+
+    private static final char[] INITIALS = "abcdefghjklmnopqrstwxyz".toCharArray();
+
+    private PinyinUtils() {
+    }
+
+    /**
+     * 是否包含汉字
+     *
+     * @param text 文本
+     * @return 是否包含
+     */
+    public static boolean containsChinese(String text) {
+        if (text == null) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (isChinese(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 获取拼音首字母，如"后端开发"返回"hdkf"
+     * 汉字取首字母，英文字母和数字转为小写保留，其他字符跳过
+     *
+     * @param text 文本
+     * @return 首字母
+     */
+    public static String getInitials(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder initials = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 128) {
+                if (Character.isLetterOrDigit(c)) {
+                    initials.append(Character.toLowerCase(c));
+                }
+            } else if (isChinese(c)) {
+                char initial = getInitial(c);
+                if (initial != 0) {
+                    initials.append(initial);
+                }
+            }
+        }
+        return initials.toString();
+    }
+
+    /**
+     * 获取单个汉字的拼音首字母
+     *
+     * @param c 汉字
+     * @return 首字母，无法识别时返回 0
+     */
+    public static char getInitial(char c) {
+        byte[] bytes = String.valueOf(c).getBytes(GB2312);
+        if (bytes.length != 2) {
+            return 0;
+        }
+        int code = (bytes[0] & 0xFF) << 8 | (bytes[1] & 0xFF);
+        if (code < BOUNDARIES[0] || code >= BOUNDARIES[BOUNDARIES.length - 1]) {
+            return 0;
+        }
+        for (int i = INITIALS.length - 1; i >= 0; i--) {
+            if (code >= BOUNDARIES[i]) {
+                return INITIALS[i];
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isChinese(char c) {
+        return c >= '一' && c <= '龥';
+    }
+}
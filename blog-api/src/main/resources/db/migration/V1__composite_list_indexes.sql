@@ -0,0 +1,60 @@
+-- 列表查询的复合索引
+-- 等值条件列在前、排序列在后，列表分页直接按索引顺序读取，不再回表过滤后文件排序；
+-- 被复合索引覆盖的单列索引一并删除，减少写入时的索引维护
+
+-- 文章：selectArticleListPage（status）、selectTopArticles
+ALTER TABLE `article`
+    ADD KEY `idx_list` (`is_delete`, `status`, `is_top`, `publish_time`, `create_time`);
+
+-- 文章：selectArticleListPage（status + category_id）、分类文章数量统计；同时作为 category_id 外键的索引
+ALTER TABLE `article`
+    ADD KEY `idx_category_list` (`category_id`, `is_delete`, `status`, `is_top`, `publish_time`, `create_time`);
+
+-- 文章：selectFeaturedArticles
+ALTER TABLE `article`
+    ADD KEY `idx_featured_list` (`is_delete`, `status`, `is_featured`, `publish_time`, `create_time`);
+
+ALTER TABLE `article`
+    DROP KEY `idx_category_id`,
+    DROP KEY `idx_status`,
+    DROP KEY `idx_is_delete`,
+    DROP KEY `idx_is_top`,
+    DROP KEY `idx_is_featured`;
+
+-- 旅行：listTravelsByPage 默认排序、listTravelsByAuthor；idx_author_list 同时作为 author_id 外键的索引
+ALTER TABLE `travel`
+    ADD KEY `idx_list` (`is_delete`, `status`, `start_date`, `create_time`),
+    ADD KEY `idx_author_list` (`author_id`, `is_delete`, `status`, `start_date`, `create_time`);
+
+ALTER TABLE `travel`
+    DROP KEY `idx_author_id`,
+    DROP KEY `idx_status`,
+    DROP KEY `idx_is_delete`;
+
+-- 想法：listThoughtsByPage 默认排序
+ALTER TABLE `thought`
+    ADD KEY `idx_list` (`is_delete`, `status`, `create_time`),
+    DROP KEY `idx_status`,
+    DROP KEY `idx_is_delete`;
+
+-- 项目：listProjectsByPage 默认排序、selectFeaturedProjects、selectOpenSourceProjects
+ALTER TABLE `project`
+    ADD KEY `idx_list` (`is_delete`, `status`, `sort_order`, `create_time`),
+    ADD KEY `idx_featured_list` (`is_delete`, `is_featured`, `sort_order`, `create_time`),
+    ADD KEY `idx_open_source_list` (`is_delete`, `is_open_source`, `sort_order`, `create_time`),
+    DROP KEY `idx_status`,
+    DROP KEY `idx_is_delete`,
+    DROP KEY `idx_is_featured`,
+    DROP KEY `idx_is_open_source`;
+
+-- 技术栈：listAllTechStacks（sort_order 升序、create_time 降序，需要降序索引列）
+ALTER TABLE `tech_stack`
+    ADD KEY `idx_list` (`is_delete`, `status`, `sort_order`, `create_time` DESC),
+    DROP KEY `idx_status`,
+    DROP KEY `idx_is_delete`;
+
+-- 分类：selectEnabledCategories
+ALTER TABLE `category`
+    ADD KEY `idx_list` (`is_delete`, `status`, `sort_order`, `create_time`),
+    DROP KEY `idx_status`,
+    DROP KEY `idx_is_delete`;
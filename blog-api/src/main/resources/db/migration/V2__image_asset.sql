@@ -0,0 +1,14 @@
+-- 图片资源表
+-- 上传图片后异步生成缩放版本和占位图，前端按宽度选择合适的版本，避免缩略图也下载原图
+CREATE TABLE IF NOT EXISTS `image_asset` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '图片ID',
+    `object_key` VARCHAR(512) NOT NULL COMMENT '原图对象键',
+    `width` INT NOT NULL COMMENT '原图宽度（像素）',
+    `height` INT NOT NULL COMMENT '原图高度（像素）',
+    `placeholder` TEXT DEFAULT NULL COMMENT '低质量占位图（data URI）',
+    `variants` VARCHAR(2000) DEFAULT NULL COMMENT '缩放版本（JSON）：宽度、高度、格式、对象键',
+    `create_time` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    `update_time` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_object_key` (`object_key`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='图片资源表';
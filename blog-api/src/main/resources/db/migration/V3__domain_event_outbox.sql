@@ -0,0 +1,16 @@
+-- 领域事件发件箱
+-- 数据表变更与业务写操作在同一事务中写入，由后台线程批量转发到 Redis Stream，提交成功的变更最终一定送达其他节点
+CREATE TABLE IF NOT EXISTS `domain_event_outbox` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '事件ID',
+    `event_key` CHAR(32) NOT NULL COMMENT '幂等键，订阅方据此去重',
+    `table_name` VARCHAR(64) NOT NULL COMMENT '变更的数据表',
+    `row_ids` VARCHAR(2000) DEFAULT NULL COMMENT '变更的主键ID，逗号分隔，为空表示整表',
+    `node_id` CHAR(32) NOT NULL COMMENT '写入节点ID',
+    `status` TINYINT NOT NULL DEFAULT 0 COMMENT '状态：0-待发布，1-已发布',
+    `create_time` DATETIME(3) DEFAULT CURRENT_TIMESTAMP(3) COMMENT '创建时间',
+    `publish_time` DATETIME(3) DEFAULT NULL COMMENT '发布时间',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_event_key` (`event_key`),
+    KEY `idx_status_id` (`status`, `id`),
+    KEY `idx_status_publish_time` (`status`, `publish_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='领域事件发件箱';
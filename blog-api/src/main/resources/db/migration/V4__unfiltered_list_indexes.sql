@@ -0,0 +1,11 @@
+-- 不按状态筛选的默认列表索引
+-- 想法和项目的分页接口未指定 status 时只有 is_delete 一个等值条件，idx_list 第二列是 status，
+-- 排序列用不上索引顺序而退化为文件排序；为这两条默认路径补充跳过 status 的复合索引
+
+-- 想法：listThoughtsByPage 未指定状态，按 create_time 降序
+ALTER TABLE `thought`
+    ADD KEY `idx_all_list` (`is_delete`, `create_time`);
+
+-- 项目：listProjectsByPage 未指定状态，按 sort_order、create_time 降序
+ALTER TABLE `project`
+    ADD KEY `idx_all_list` (`is_delete`, `sort_order`, `create_time`);
@@ -0,0 +1,36 @@
+package ${packageName}.converter;
+
+<#list imports as importName>
+import ${importName};
+</#list>
+
+/**
+ * ${dataName}对象转换器
+ * 由 GenerateProcessor 生成，直接调用 getter/setter，请勿手动修改
+ *
+ * @author xu
+ */
+public final class ${converterName} {
+
+    private ${converterName}() {
+    }
+<#list methods as method>
+
+    /**
+     * ${method.sourceType} 转 ${method.targetType}
+     *
+     * @param source 源对象
+     * @return {@link ${method.targetType} }
+     */
+    public static ${method.targetType} ${method.methodName}(${method.sourceType} source) {
+        if (source == null) {
+            return null;
+        }
+        ${method.targetType} target = new ${method.targetType}();
+<#list method.properties as property>
+        target.${property.setter}(source.${property.getter}());
+</#list>
+        return target;
+    }
+</#list>
+}
@@ -0,0 +1,42 @@
+package com.xu.blogapi.aop;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 响应体缓存拦截器测试
+ *
+ * @author xu
+ */
+public class ResponseCacheInterceptorTest {
+
+    @SuppressWarnings("unused")
+    public void list(@RequestParam(defaultValue = "5") Integer limit, @RequestParam(name = "category") String type,
+                     @PathVariable Long id, HttpServletRequest request) {
+    }
+
+    @SuppressWarnings("unused")
+    public void listAll(HttpServletRequest request) {
+    }
+
+    /**
+     * 测试缓存键只包含接口绑定的请求参数
+     */
+    @Test
+    public void testResolveBoundParameterNames() throws NoSuchMethodException {
+        HandlerMethod list = new HandlerMethod(this, getClass().getMethod("list", Integer.class, String.class,
+                Long.class, HttpServletRequest.class));
+        HandlerMethod listAll = new HandlerMethod(this, getClass().getMethod("listAll", HttpServletRequest.class));
+
+        assertEquals(Arrays.asList("category", "limit"), ResponseCacheInterceptor.resolveParameterNames(list));
+        assertEquals(Collections.emptyList(), ResponseCacheInterceptor.resolveParameterNames(listAll));
+    }
+}
@@ -0,0 +1,76 @@
+package com.xu.blogapi.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 虚拟线程执行模式配置测试
+ *
+ * @author xu
+ */
+public class VirtualThreadConfigTest {
+
+    private static final boolean VIRTUAL_THREADS_SUPPORTED = Runtime.version().feature() >= 21;
+
+    @Test
+    void testDisabledByDefault() {
+        try (AnnotationConfigApplicationContext context = newContext(null)) {
+            assertEquals(0, context.getBeanNamesForType(TomcatProtocolHandlerCustomizer.class).length);
+            assertFalse(context.containsBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testEnabled() throws Exception {
+        assumeTrue(VIRTUAL_THREADS_SUPPORTED, "虚拟线程需要 Java 21 及以上运行环境");
+        try (AnnotationConfigApplicationContext context = newContext("true")) {
+            ExecutorService executor = context.getBean("virtualThreadExecutor", ExecutorService.class);
+
+            // Tomcat 请求处理使用虚拟线程执行器
+            Http11NioProtocol protocol = new Http11NioProtocol();
+            context.getBean(TomcatProtocolHandlerCustomizer.class).customize(protocol);
+            assertSame(executor, ((ProtocolHandler) protocol).getExecutor());
+
+            // @Async 默认执行器运行在虚拟线程上
+            AsyncTaskExecutor taskExecutor = context.getBean(
+                    TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, AsyncTaskExecutor.class);
+            assertSame(taskExecutor, context.getBean("taskExecutor"));
+            Boolean virtual = taskExecutor.submit(() -> (Boolean) Thread.class.getMethod("isVirtual")
+                    .invoke(Thread.currentThread())).get(5, TimeUnit.SECONDS);
+            assertTrue(virtual);
+        }
+    }
+
+    @Test
+    void testEnabledOnOldRuntimeFailsFast() {
+        assumeTrue(!VIRTUAL_THREADS_SUPPORTED, "当前运行环境支持虚拟线程");
+        BeanCreationException exception = assertThrows(BeanCreationException.class, () -> newContext("true"));
+        assertTrue(exception.getMostSpecificCause() instanceof NoSuchMethodException);
+    }
+
+    private static AnnotationConfigApplicationContext newContext(String enabled) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        if (enabled != null) {
+            context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test",
+                    Collections.singletonMap("blog.virtual-threads.enabled", enabled)));
+        }
+        context.register(VirtualThreadConfig.class);
+        context.refresh();
+        return context;
+    }
+}
@@ -0,0 +1,158 @@
+package com.xu.blogapi.config;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 虚拟线程负载测试
+ * 启动内嵌 Tomcat，接口阻塞固定时间模拟 COS 上传和数据库查询，
+ * 并发发送真实 HTTP 请求，对比 Tomcat 默认线程池与 VirtualThreadConfig 开启后的吞吐量
+ * 耗时受机器影响，默认不执行，使用 mvn test -Dbenchmark=true -Dtest=VirtualThreadLoadTest 运行
+ *
+ * @author xu
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class VirtualThreadLoadTest {
+
+    /**
+     * 并发请求数，远大于 Tomcat 默认的 200 个工作线程
+     */
+    private static final int REQUESTS = 2000;
+
+    /**
+     * 单次请求阻塞耗时（毫秒）
+     */
+    private static final long BLOCKING_MILLIS = 50;
+
+    @Test
+    void testThroughputUnderHighConcurrency() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "虚拟线程需要 Java 21 及以上运行环境");
+
+        LoadResult platform = runLoad(null);
+        LoadResult virtual;
+        try (AnnotationConfigApplicationContext context = newVirtualThreadContext()) {
+            virtual = runLoad(context.getBean(TomcatProtocolHandlerCustomizer.class));
+        }
+
+        System.out.printf("platform threads: %.0f req/s%n", platform.throughput);
+        System.out.printf("virtual threads: %.0f req/s%n", virtual.throughput);
+        // 只校验请求全部成功且运行在预期的线程上，吞吐量供对比参考
+        assertEquals(Collections.singletonList("false"), platform.threadKinds);
+        assertEquals(Collections.singletonList("true"), virtual.threadKinds);
+    }
+
+    /**
+     * 启动 Tomcat 并发送并发请求
+     *
+     * @param customizer 为 null 时使用 Tomcat 默认线程池
+     */
+    private LoadResult runLoad(TomcatProtocolHandlerCustomizer<?> customizer) throws Exception {
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        if (customizer != null) {
+            factory.addProtocolHandlerCustomizers(customizer);
+        }
+        WebServer webServer = factory.getWebServer(servletContext ->
+                servletContext.addServlet("blocking", new BlockingServlet()).addMapping("/blocking"));
+        webServer.start();
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(16);
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientExecutor)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            HttpRequest request = HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + webServer.getPort() + "/blocking"))
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+            // 预热
+            client.send(request, HttpResponse.BodyHandlers.ofString());
+
+            long start = System.nanoTime();
+            List<CompletableFuture<HttpResponse<String>>> futures = new ArrayList<>(REQUESTS);
+            for (int i = 0; i < REQUESTS; i++) {
+                futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+            }
+            List<String> threadKinds = new ArrayList<>();
+            for (CompletableFuture<HttpResponse<String>> future : futures) {
+                HttpResponse<String> response = future.join();
+                assertEquals(200, response.statusCode());
+                if (!threadKinds.contains(response.body())) {
+                    threadKinds.add(response.body());
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            return new LoadResult(REQUESTS / seconds, threadKinds);
+        } finally {
+            clientExecutor.shutdownNow();
+            webServer.stop();
+        }
+    }
+
+    private static AnnotationConfigApplicationContext newVirtualThreadContext() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test",
+                Collections.singletonMap("blog.virtual-threads.enabled", "true")));
+        context.register(VirtualThreadConfig.class);
+        context.refresh();
+        return context;
+    }
+
+    /**
+     * 阻塞固定时间后返回当前是否为虚拟线程
+     */
+    private static class BlockingServlet extends HttpServlet {
+
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            try {
+                Thread.sleep(BLOCKING_MILLIS);
+                Object virtual = Thread.class.getMethod("isVirtual").invoke(Thread.currentThread());
+                response.getWriter().write(String.valueOf(virtual));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            } catch (ReflectiveOperationException e) {
+                response.getWriter().write("false");
+            }
+        }
+    }
+
+    private static class LoadResult {
+
+        private final double throughput;
+
+        private final List<String> threadKinds;
+
+        LoadResult(double throughput, List<String> threadKinds) {
+            this.throughput = throughput;
+            this.threadKinds = threadKinds;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.xu.blogapi.converter;
+
+import com.xu.blogapi.model.dto.article.ArticleAddRequest;
+import com.xu.blogapi.model.dto.project.ProjectResponse;
+import com.xu.blogapi.model.dto.tag.TagUpdateRequest;
+import com.xu.blogapi.model.dto.travel.TravelUpdateRequest;
+import com.xu.blogapi.model.entity.Article;
+import com.xu.blogapi.model.entity.Project;
+import com.xu.blogapi.model.entity.Tag;
+import com.xu.blogapi.model.entity.Travel;
+import com.xu.blogapi.model.entity.User;
+import com.xu.blogapi.model.vo.TokenLoginUserVo;
+import com.xu.blogapi.model.vo.UserVO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.BeanUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 生成的对象转换器测试
+ * 校验转换结果与 BeanUtils.copyProperties 一致；列表页映射耗时对比受机器影响，默认不执行，
+ * 使用 mvn test -Dbenchmark=true -Dtest=ConverterTest 运行
+ *
+ * @author xu
+ */
+public class ConverterTest {
+
+    /**
+     * 测试转换结果与 BeanUtils.copyProperties 一致
+     */
+    @Test
+    public void testSameResultAsBeanUtils() {
+        ArticleAddRequest articleAddRequest = new ArticleAddRequest();
+        articleAddRequest.setTitle("标题");
+        articleAddRequest.setSlug("slug");
+        articleAddRequest.setContent("内容");
+        articleAddRequest.setCategoryId(1L);
+        articleAddRequest.setPublishTime(LocalDateTime.now());
+        assertEquals(copy(articleAddRequest, Article::new), ArticleConverter.toArticle(articleAddRequest));
+
+        TagUpdateRequest tagUpdateRequest = new TagUpdateRequest();
+        tagUpdateRequest.setId(1L);
+        tagUpdateRequest.setName("Java");
+        assertEquals(copy(tagUpdateRequest, Tag::new), TagConverter.toTag(tagUpdateRequest));
+
+        TravelUpdateRequest travelUpdateRequest = new TravelUpdateRequest();
+        travelUpdateRequest.setId(1L);
+        travelUpdateRequest.setImages(Arrays.asList("a.png", "b.png"));
+        travelUpdateRequest.setBudget(new BigDecimal("100.50"));
+        travelUpdateRequest.setStartDate(LocalDate.now());
+        assertEquals(copy(travelUpdateRequest, Travel::new), TravelConverter.toTravel(travelUpdateRequest));
+
+        User user = mockUser();
+        assertEquals(copy(user, UserVO::new), UserConverter.toUserVO(user));
+        assertEquals(copy(user, TokenLoginUserVo::new), UserConverter.toTokenLoginUserVo(user));
+
+        Project project = mockProject(1);
+        assertEquals(copy(project, ProjectResponse::new), ProjectConverter.toProjectResponse(project));
+
+        assertNull(ProjectConverter.toProjectResponse(null));
+    }
+
+    /**
+     * 对比列表页映射耗时，只校验映射结果，耗时供对比参考
+     */
+    @Test
+    @org.junit.jupiter.api.Tag("benchmark")
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void benchmarkListPageMapping() {
+        List<Project> projectList = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            projectList.add(mockProject(i));
+        }
+        // 预热
+        for (int i = 0; i < 5; i++) {
+            map(projectList, project -> copy(project, ProjectResponse::new));
+            map(projectList, ProjectConverter::toProjectResponse);
+        }
+        long beanUtilsNanos = time(() -> map(projectList, project -> copy(project, ProjectResponse::new)));
+        long converterNanos = time(() -> map(projectList, ProjectConverter::toProjectResponse));
+        System.out.printf("BeanUtils.copyProperties: %.2f ms / 10000 rows%n", beanUtilsNanos / 1_000_000.0);
+        System.out.printf("ProjectConverter: %.2f ms / 10000 rows%n", converterNanos / 1_000_000.0);
+        assertEquals(map(projectList, project -> copy(project, ProjectResponse::new)),
+                map(projectList, ProjectConverter::toProjectResponse));
+    }
+
+    private <S, T> T copy(S source, Supplier<T> targetSupplier) {
+        T target = targetSupplier.get();
+        BeanUtils.copyProperties(source, target);
+        return target;
+    }
+
+    private <S, T> List<T> map(List<S> sourceList, Function<S, T> mapper) {
+        List<T> result = new ArrayList<>(sourceList.size());
+        for (S source : sourceList) {
+            result.add(mapper.apply(source));
+        }
+        return result;
+    }
+
+    private long time(Runnable runnable) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            runnable.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private User mockUser() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("xu");
+        user.setPassword("password");
+        user.setNickname("xu");
+        user.setRole(0);
+        user.setLastLoginTime(new Date());
+        user.setCreateTime(new Date());
+        return user;
+    }
+
+    private Project mockProject(int index) {
+        Project project = new Project();
+        project.setId((long) index);
+        project.setName("项目" + index);
+        project.setSlug("project-" + index);
+        project.setDescription("描述");
+        project.setImages(Arrays.asList("a.png", "b.png"));
+        project.setTechStack(Arrays.asList("Java", "Spring Boot"));
+        project.setStatus(1);
+        project.setIsFeatured(index % 2);
+        project.setStartDate(LocalDate.now());
+        project.setAuthorId(1L);
+        project.setCreateTime(LocalDateTime.now());
+        return project;
+    }
+}
@@ -0,0 +1,264 @@
+package com.xu.blogapi.datasource;
+
+import com.xu.blogapi.config.ReadWriteDataSourceProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 读写分离数据源路由测试
+ *
+ * @author xu
+ */
+public class ReadWriteRoutingDataSourceTest {
+
+    private StubDataSource primary;
+
+    private StubDataSource replica;
+
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        primary = new StubDataSource("primary");
+        replica = new StubDataSource("replica");
+        ReadWriteDataSourceProperties properties = new ReadWriteDataSourceProperties();
+        properties.setMaxLagMillis(1000);
+        properties.setCheckIntervalMillis(20);
+        routingDataSource = new ReadWriteRoutingDataSource(primary, Collections.singletonList(replica), properties);
+        routingDataSource.afterPropertiesSet();
+        // 首次检测通过后从库才可用
+        awaitRoute(replica, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        routingDataSource.destroy();
+        RequestContextHolder.resetRequestAttributes();
+        ReadWriteRoutingDataSource.restoreStatement(null);
+        ReadWriteRoutingDataSource.restorePrimary(null);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void testReadStatementInWebRequestUsesReplica() throws SQLException {
+        bindRequest(null);
+        assertEquals("primary", connect());
+
+        ReadWriteRoutingDataSource.markStatement(true);
+        assertEquals("replica", connect());
+
+        // 后台线程（没有请求上下文）的查询走主库
+        RequestContextHolder.resetRequestAttributes();
+        assertEquals("primary", connect());
+    }
+
+    @Test
+    void testTransactions() throws SQLException {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertEquals("primary", connect());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals("replica", connect());
+    }
+
+    @Test
+    void testStickyAfterWrite() throws SQLException {
+        bindRequest(new Cookie(ReadWriteRoutingDataSource.STICKY_COOKIE,
+                String.valueOf(System.currentTimeMillis() + 60_000)));
+        ReadWriteRoutingDataSource.markStatement(true);
+        assertEquals("primary", connect());
+
+        bindRequest(new Cookie(ReadWriteRoutingDataSource.STICKY_COOKIE,
+                String.valueOf(System.currentTimeMillis() - 1)));
+        assertEquals("replica", connect());
+
+        // 本请求写入后，剩余的查询走主库
+        routingDataSource.markWrite();
+        assertEquals("primary", connect());
+    }
+
+    @Test
+    void testForcePrimary() {
+        bindRequest(null);
+        ReadWriteRoutingDataSource.markStatement(true);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals("primary", ReadWriteRoutingDataSource.executeOnPrimary(this::connectUnchecked));
+        assertEquals("replica", connectUnchecked());
+    }
+
+    @Test
+    void testFallbackWhenReplicaUnhealthy() throws Exception {
+        bindRequest(null);
+        ReadWriteRoutingDataSource.markStatement(true);
+
+        // 复制延迟超过上限后暂停使用，恢复后重新使用
+        replica.lagMillis = 5000;
+        awaitRoute(primary, true);
+        replica.lagMillis = 0;
+        awaitRoute(replica, true);
+
+        // 获取连接失败时当次回到主库，并暂停使用该从库
+        replica.failing.set(true);
+        assertEquals("primary", connect());
+        replica.failing.set(false);
+        awaitRoute(replica, true);
+    }
+
+    private String connect() throws SQLException {
+        try (Connection connection = routingDataSource.getConnection()) {
+            return connection.toString();
+        }
+    }
+
+    private String connectUnchecked() {
+        try {
+            return connect();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 等待查询路由到指定数据源（从库状态由后台检测更新）
+     */
+    private void awaitRoute(StubDataSource expected, boolean read) throws Exception {
+        boolean bound = RequestContextHolder.getRequestAttributes() != null;
+        if (!bound) {
+            bindRequest(null);
+        }
+        Boolean previous = ReadWriteRoutingDataSource.markStatement(read);
+        try {
+            for (int i = 0; i < 250; i++) {
+                if (expected.name.equals(connect())) {
+                    return;
+                }
+                Thread.sleep(20);
+            }
+            fail("not routed to " + expected.name);
+        } finally {
+            ReadWriteRoutingDataSource.restoreStatement(previous);
+            if (!bound) {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        }
+    }
+
+    private static void bindRequest(Cookie cookie) {
+        Map<String, Object> attributes = new HashMap<>();
+        Cookie[] cookies = cookie == null ? null : new Cookie[]{cookie};
+        HttpServletRequest request = (HttpServletRequest) Proxy.newProxyInstance(
+                ReadWriteRoutingDataSourceTest.class.getClassLoader(), new Class<?>[]{HttpServletRequest.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getCookies":
+                            return cookies;
+                        case "getAttribute":
+                            return attributes.get((String) args[0]);
+                        case "setAttribute":
+                            attributes.put((String) args[0], args[1]);
+                            return null;
+                        case "removeAttribute":
+                            attributes.remove((String) args[0]);
+                            return null;
+                        default:
+                            return null;
+                    }
+                });
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    /**
+     * 模拟数据源：连接的 toString 返回数据源名称，从库可模拟复制延迟和连接失败
+     */
+    private static class StubDataSource extends AbstractDataSource {
+
+        private final String name;
+
+        private final AtomicBoolean failing = new AtomicBoolean();
+
+        private volatile long lagMillis;
+
+        private StubDataSource(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (failing.get()) {
+                throw new SQLException(name + " unavailable");
+            }
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "toString":
+                                return name;
+                            case "createStatement":
+                                return statement();
+                            case "isClosed":
+                                return false;
+                            default:
+                                return null;
+                        }
+                    });
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+
+        private Statement statement() {
+            return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Statement.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "executeQuery":
+                                return lagResultSet();
+                            case "executeUpdate":
+                                return 1;
+                            case "execute":
+                                return true;
+                            default:
+                                return null;
+                        }
+                    });
+        }
+
+        private ResultSet lagResultSet() {
+            AtomicBoolean read = new AtomicBoolean();
+            long lag = lagMillis;
+            return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "next":
+                                return !read.getAndSet(true);
+                            case "getLong":
+                                return lag;
+                            default:
+                                return null;
+                        }
+                    });
+        }
+    }
+}
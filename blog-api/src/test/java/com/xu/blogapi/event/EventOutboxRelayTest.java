@@ -0,0 +1,140 @@
+package com.xu.blogapi.event;
+
+import com.xu.blogapi.config.EventOutboxProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 领域事件转发测试
+ *
+ * @author xu
+ */
+public class EventOutboxRelayTest {
+
+    private final StubOutboxDataSource dataSource = new StubOutboxDataSource();
+
+    private final StubRedisTemplate redisTemplate = new StubRedisTemplate();
+
+    private final EventOutbox eventOutbox = new EventOutbox();
+
+    private final EventOutboxProperties eventOutboxProperties = new EventOutboxProperties();
+
+    private final EventOutboxRelay eventOutboxRelay = new EventOutboxRelay();
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(eventOutbox, "dataSource", dataSource);
+        ReflectionTestUtils.setField(eventOutboxRelay, "dataSource", dataSource);
+        ReflectionTestUtils.setField(eventOutboxRelay, "stringRedisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(eventOutboxRelay, "eventOutbox", eventOutbox);
+        ReflectionTestUtils.setField(eventOutboxRelay, "eventOutboxProperties", eventOutboxProperties);
+    }
+
+    @Test
+    void testRelayAndMarkPublished() throws Exception {
+        Map<String, Set<Long>> changes = new LinkedHashMap<>();
+        changes.put("article", Collections.singleton(1L));
+        changes.put("tag", null);
+        eventOutbox.append(changes);
+
+        assertEquals(2, eventOutboxRelay.relayBatch());
+
+        assertEquals(2, redisTemplate.records.size());
+        Map<String, String> record = redisTemplate.records.get(0);
+        assertEquals("article", record.get(EventOutboxRelay.FIELD_TABLE));
+        assertEquals("1", record.get(EventOutboxRelay.FIELD_IDS));
+        assertEquals(EventOutbox.NODE_ID, record.get(EventOutboxRelay.FIELD_NODE));
+        assertEquals(dataSource.committedRows().get(0).eventKey, record.get(EventOutboxRelay.FIELD_KEY));
+        // 整表变更以空字符串写入
+        assertEquals("", redisTemplate.records.get(1).get(EventOutboxRelay.FIELD_IDS));
+        assertTrue(dataSource.committedRows().stream().allMatch(row -> row.status == 1));
+
+        // 已发布的事件不会再次转发
+        assertEquals(0, eventOutboxRelay.relayBatch());
+        assertEquals(2, redisTemplate.records.size());
+    }
+
+    @Test
+    void testRelayInBatches() throws Exception {
+        eventOutboxProperties.setBatchSize(2);
+        for (long id = 1; id <= 3; id++) {
+            eventOutbox.append(Collections.singletonMap("article", Collections.singleton(id)));
+        }
+
+        assertEquals(2, eventOutboxRelay.relayBatch());
+        assertEquals(1, eventOutboxRelay.relayBatch());
+        assertEquals(0, eventOutboxRelay.relayBatch());
+        assertEquals(3, redisTemplate.records.size());
+    }
+
+    @Test
+    void testRedisFailureKeepsEventsPending() throws Exception {
+        eventOutbox.append(Collections.singletonMap("article", Collections.singleton(1L)));
+        redisTemplate.failing = true;
+
+        assertThrows(RedisConnectionFailureException.class, eventOutboxRelay::relayBatch);
+        assertEquals(0, dataSource.committedRows().get(0).status);
+
+        // 恢复后重新转发
+        redisTemplate.failing = false;
+        assertEquals(1, eventOutboxRelay.relayBatch());
+        assertEquals(1, dataSource.committedRows().get(0).status);
+    }
+
+    /**
+     * 记录写入 Stream 的消息
+     */
+    private static class StubRedisTemplate extends StringRedisTemplate {
+
+        private final List<Map<String, String>> records = new ArrayList<>();
+
+        private volatile boolean failing;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<Object> executePipelined(RedisCallback<?> action) {
+            if (failing) {
+                throw new RedisConnectionFailureException("redis unavailable");
+            }
+            StringRedisConnection connection = (StringRedisConnection) Proxy.newProxyInstance(
+                    getClass().getClassLoader(), new Class<?>[]{StringRedisConnection.class}, (proxy, method, args) -> {
+                        if ("xAdd".equals(method.getName()) && args.length == 2) {
+                            records.add(new HashMap<>((Map<String, String>) args[1]));
+                            return null;
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    });
+            action.doInRedis(connection);
+            return Collections.emptyList();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <HK, HV> StreamOperations<String, HK, HV> opsForStream() {
+            return (StreamOperations<String, HK, HV>) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{StreamOperations.class}, (proxy, method, args) -> {
+                        if ("trim".equals(method.getName())) {
+                            return 0L;
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.xu.blogapi.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 领域事件发件箱测试
+ *
+ * @author xu
+ */
+public class EventOutboxTest {
+
+    private final StubOutboxDataSource dataSource = new StubOutboxDataSource();
+
+    private final EventOutbox eventOutbox = new EventOutbox();
+
+    private final TableChangeInterceptor tableChangeInterceptor = new TableChangeInterceptor();
+
+    private final List<TableChangedEvent> events = new ArrayList<>();
+
+    private final TransactionTemplate transactionTemplate =
+            new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(eventOutbox, "dataSource", dataSource);
+        ReflectionTestUtils.setField(tableChangeInterceptor, "eventOutbox", eventOutbox);
+        ReflectionTestUtils.setField(tableChangeInterceptor, "eventPublisher",
+                (ApplicationEventPublisher) event -> events.add((TableChangedEvent) event));
+    }
+
+    @Test
+    void testIdsRoundTrip() {
+        Set<Long> ids = new LinkedHashSet<>(Arrays.asList(3L, 1L, 20L));
+        assertEquals("3,1,20", EventOutbox.formatIds(ids));
+        assertEquals(new HashSet<>(ids), EventOutbox.parseIds(EventOutbox.formatIds(ids)));
+    }
+
+    @Test
+    void testWholeTable() {
+        assertNull(EventOutbox.formatIds(null));
+        assertNull(EventOutbox.formatIds(Collections.emptySet()));
+        assertTrue(EventOutbox.parseIds(null).isEmpty());
+        assertTrue(EventOutbox.parseIds("").isEmpty());
+        // 任一ID无法解析都按整表处理
+        assertTrue(EventOutbox.parseIds("1,x,3").isEmpty());
+
+        // 超过列长度时按整表记录
+        Set<Long> ids = new HashSet<>();
+        for (long id = 1_000_000_000L; ids.size() < 300; id++) {
+            ids.add(id);
+        }
+        assertNull(EventOutbox.formatIds(ids));
+    }
+
+    @Test
+    void testAppendBeforeCommit() {
+        transactionTemplate.executeWithoutResult(status -> {
+            businessWrite("UPDATE article SET title = 'a' WHERE id = 1");
+            tableChangeInterceptor.onChange("article", Collections.singleton(1L));
+            tableChangeInterceptor.onChange("article", Collections.singleton(2L));
+            tableChangeInterceptor.onChange("tag", Collections.emptySet());
+            assertTrue(tableChangeInterceptor.hasPendingChanges("article"));
+            // 提交前既不写入发件箱也不发布事件
+            assertTrue(dataSource.committedRows().isEmpty());
+            assertTrue(events.isEmpty());
+        });
+
+        List<StubOutboxDataSource.OutboxRow> rows = dataSource.committedRows();
+        assertEquals(2, rows.size());
+        assertEquals("article", rows.get(0).tableName);
+        assertEquals(new HashSet<>(Arrays.asList(1L, 2L)), EventOutbox.parseIds(rows.get(0).rowIds));
+        assertEquals("tag", rows.get(1).tableName);
+        assertNull(rows.get(1).rowIds);
+        assertEquals(EventOutbox.NODE_ID, rows.get(0).nodeId);
+        assertNotEquals(rows.get(0).eventKey, rows.get(1).eventKey);
+        assertEquals(1, dataSource.committedBusinessWrites().size());
+
+        // 提交后在本节点发布，按表合并
+        assertEquals(2, events.size());
+        assertEquals("article", events.get(0).getTable());
+        assertEquals(new HashSet<>(Arrays.asList(1L, 2L)), events.get(0).getIds());
+        assertFalse(events.get(0).isRemote());
+        assertTrue(events.get(1).isWholeTable());
+        assertFalse(tableChangeInterceptor.hasPendingChanges("article"));
+    }
+
+    @Test
+    void testRollbackWithBusinessTransaction() {
+        transactionTemplate.executeWithoutResult(status -> {
+            businessWrite("UPDATE article SET title = 'a' WHERE id = 1");
+            tableChangeInterceptor.onChange("article", Collections.singleton(1L));
+            status.setRollbackOnly();
+        });
+
+        assertTrue(dataSource.committedRows().isEmpty());
+        assertTrue(dataSource.committedBusinessWrites().isEmpty());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void testAppendFailureRollsBackBusinessTransaction() {
+        dataSource.failing = true;
+
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            businessWrite("UPDATE article SET title = 'a' WHERE id = 1");
+            tableChangeInterceptor.onChange("article", Collections.singleton(1L));
+        }));
+
+        assertTrue(dataSource.committedBusinessWrites().isEmpty());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void testAppendWithoutTransaction() {
+        tableChangeInterceptor.onChange("article", Collections.singleton(1L));
+
+        assertEquals(1, dataSource.committedRows().size());
+        assertEquals("1", dataSource.committedRows().get(0).rowIds);
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    void testQueueFailedAppendWithoutTransaction() {
+        dataSource.failing = true;
+        tableChangeInterceptor.onChange("article", Collections.singleton(1L));
+        tableChangeInterceptor.onChange("article", Collections.singleton(2L));
+        tableChangeInterceptor.onChange("tag", Collections.singleton(3L));
+        tableChangeInterceptor.onChange("tag", Collections.emptySet());
+
+        // 写操作不受影响，本节点照常发布
+        assertTrue(dataSource.committedRows().isEmpty());
+        assertEquals(4, events.size());
+
+        // 重试仍失败时放回队列
+        assertThrows(IllegalStateException.class, eventOutbox::retryFailed);
+
+        dataSource.failing = false;
+        eventOutbox.retryFailed();
+        List<StubOutboxDataSource.OutboxRow> rows = dataSource.committedRows();
+        assertEquals(2, rows.size());
+        assertEquals("article", rows.get(0).tableName);
+        assertEquals(new HashSet<>(Arrays.asList(1L, 2L)), EventOutbox.parseIds(rows.get(0).rowIds));
+        assertEquals("tag", rows.get(1).tableName);
+        assertNull(rows.get(1).rowIds);
+
+        eventOutbox.retryFailed();
+        assertEquals(2, dataSource.committedRows().size());
+    }
+
+    private void businessWrite(String sql) {
+        try (Statement statement = DataSourceUtils.getConnection(dataSource).createStatement()) {
+            statement.executeUpdate(sql);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.xu.blogapi.event;
+
+import cn.hutool.core.util.IdUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 领域事件订阅测试，直接投递消息，不依赖 Redis
+ *
+ * @author xu
+ */
+public class EventStreamSubscriberTest {
+
+    private final EventStreamSubscriber eventStreamSubscriber = new EventStreamSubscriber();
+
+    private final List<TableChangedEvent> events = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(eventStreamSubscriber, "eventPublisher",
+                (ApplicationEventPublisher) event -> events.add((TableChangedEvent) event));
+    }
+
+    @Test
+    void testPublishRemoteChange() {
+        eventStreamSubscriber.onMessage(message(IdUtil.fastSimpleUUID(), "other-node", "article", "1,2"));
+
+        assertEquals(1, events.size());
+        TableChangedEvent event = events.get(0);
+        assertEquals("article", event.getTable());
+        assertEquals(new HashSet<>(Arrays.asList(1L, 2L)), event.getIds());
+        assertTrue(event.isRemote());
+
+        eventStreamSubscriber.onMessage(message(IdUtil.fastSimpleUUID(), "other-node", "tag", ""));
+        assertTrue(events.get(1).isWholeTable());
+    }
+
+    @Test
+    void testSkipOwnNode() {
+        eventStreamSubscriber.onMessage(message(IdUtil.fastSimpleUUID(), EventOutbox.NODE_ID, "article", "1"));
+
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void testSkipDuplicateKey() {
+        String eventKey = IdUtil.fastSimpleUUID();
+        eventStreamSubscriber.onMessage(message(eventKey, "other-node", "article", "1"));
+        // 转发重试产生的重复消息
+        eventStreamSubscriber.onMessage(message(eventKey, "other-node", "article", "1"));
+        eventStreamSubscriber.onMessage(message(IdUtil.fastSimpleUUID(), "other-node", "article", "1"));
+
+        assertEquals(2, events.size());
+    }
+
+    @Test
+    void testSkipBlankTable() {
+        eventStreamSubscriber.onMessage(message(IdUtil.fastSimpleUUID(), "other-node", "", "1"));
+
+        assertTrue(events.isEmpty());
+    }
+
+    private static MapRecord<String, String, String> message(String eventKey, String nodeId, String table, String ids) {
+        Map<String, String> body = new HashMap<>(8);
+        body.put(EventOutboxRelay.FIELD_KEY, eventKey);
+        body.put(EventOutboxRelay.FIELD_NODE, nodeId);
+        body.put(EventOutboxRelay.FIELD_TABLE, table);
+        body.put(EventOutboxRelay.FIELD_IDS, ids);
+        return StreamRecords.newRecord().in(EventOutboxRelay.STREAM_KEY).ofMap(body);
+    }
+}
@@ -0,0 +1,233 @@
+package com.xu.blogapi.event;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 发件箱测试用的内存数据源
+ * 支持写入发件箱、查询待发布事件、标记已发布和任意业务写语句；每个连接的修改在提交时生效，回滚时丢弃
+ *
+ * @author xu
+ */
+class StubOutboxDataSource extends AbstractDataSource {
+
+    /**
+     * 已提交的发件箱记录
+     */
+    private final List<OutboxRow> rows = new ArrayList<>();
+
+    /**
+     * 已提交的业务写语句
+     */
+    private final List<String> businessWrites = new ArrayList<>();
+
+    /**
+     * 为 true 时写入发件箱失败
+     */
+    volatile boolean failing;
+
+    private final AtomicLong idGenerator = new AtomicLong();
+
+    @Override
+    public Connection getConnection() {
+        return new StubConnection().proxy;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) {
+        return getConnection();
+    }
+
+    synchronized List<OutboxRow> committedRows() {
+        return new ArrayList<>(rows);
+    }
+
+    synchronized List<String> committedBusinessWrites() {
+        return new ArrayList<>(businessWrites);
+    }
+
+    private synchronized void apply(List<Runnable> operations) {
+        operations.forEach(Runnable::run);
+        operations.clear();
+    }
+
+    private static Object defaultValue(Method method) {
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+    /**
+     * 发件箱记录
+     */
+    static class OutboxRow {
+
+        long id;
+
+        String eventKey;
+
+        String tableName;
+
+        String rowIds;
+
+        String nodeId;
+
+        int status;
+    }
+
+    private class StubConnection {
+
+        private final List<Runnable> pending = new ArrayList<>();
+
+        private boolean autoCommit = true;
+
+        private final Connection proxy = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getAutoCommit":
+                            return autoCommit;
+                        case "setAutoCommit":
+                            autoCommit = (Boolean) args[0];
+                            if (autoCommit) {
+                                apply(pending);
+                            }
+                            return null;
+                        case "commit":
+                            apply(pending);
+                            return null;
+                        case "rollback":
+                            pending.clear();
+                            return null;
+                        case "prepareStatement":
+                            return preparedStatement((String) args[0]);
+                        case "createStatement":
+                            return statement();
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            return defaultValue(method);
+                    }
+                });
+
+        private void execute(Runnable operation) {
+            pending.add(operation);
+            if (autoCommit) {
+                apply(pending);
+            }
+        }
+
+        private PreparedStatement preparedStatement(String sql) {
+            List<String[]> batches = new ArrayList<>();
+            String[] parameters = new String[4];
+            int[] limit = new int[1];
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "setString":
+                                parameters[(Integer) args[0] - 1] = (String) args[1];
+                                return null;
+                            case "setInt":
+                                limit[0] = (Integer) args[1];
+                                return null;
+                            case "addBatch":
+                                batches.add(parameters.clone());
+                                return null;
+                            case "executeBatch":
+                                return insert(sql, batches);
+                            case "executeQuery":
+                                return pendingRows(sql, limit[0]);
+                            default:
+                                return defaultValue(method);
+                        }
+                    });
+        }
+
+        private int[] insert(String sql, List<String[]> batches) throws SQLException {
+            if (!sql.startsWith("INSERT INTO domain_event_outbox")) {
+                throw new SQLException("unsupported sql: " + sql);
+            }
+            if (failing) {
+                throw new SQLException("outbox unavailable");
+            }
+            List<String[]> values = new ArrayList<>(batches);
+            execute(() -> values.forEach(value -> {
+                OutboxRow row = new OutboxRow();
+                row.id = idGenerator.incrementAndGet();
+                row.eventKey = value[0];
+                row.tableName = value[1];
+                row.rowIds = value[2];
+                row.nodeId = value[3];
+                rows.add(row);
+            }));
+            int[] counts = new int[values.size()];
+            Arrays.fill(counts, 1);
+            return counts;
+        }
+
+        private ResultSet pendingRows(String sql, int limit) throws SQLException {
+            if (!sql.startsWith("SELECT id, event_key")) {
+                throw new SQLException("unsupported sql: " + sql);
+            }
+            List<OutboxRow> result = committedRows().stream()
+                    .filter(row -> row.status == 0)
+                    .limit(limit)
+                    .collect(Collectors.toList());
+            int[] index = {-1};
+            return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "next":
+                                return ++index[0] < result.size();
+                            case "getLong":
+                                return result.get(index[0]).id;
+                            case "getString":
+                                OutboxRow row = result.get(index[0]);
+                                String[] columns = {row.eventKey, row.tableName, row.rowIds, row.nodeId};
+                                return columns[(Integer) args[0] - 2];
+                            default:
+                                return defaultValue(method);
+                        }
+                    });
+        }
+
+        private Statement statement() {
+            return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Statement.class},
+                    (proxy, method, args) -> {
+                        if (!"executeUpdate".equals(method.getName())) {
+                            return defaultValue(method);
+                        }
+                        String sql = (String) args[0];
+                        if (sql.startsWith("UPDATE domain_event_outbox SET status = 1")) {
+                            List<Long> ids = Arrays.stream(sql.substring(sql.indexOf("IN (") + 4, sql.lastIndexOf(')'))
+                                    .split(",")).map(Long::valueOf).collect(Collectors.toList());
+                            execute(() -> rows.stream().filter(row -> ids.contains(row.id)).forEach(row -> row.status = 1));
+                            return ids.size();
+                        }
+                        execute(() -> businessWrites.add(sql));
+                        return 1;
+                    });
+        }
+    }
+}
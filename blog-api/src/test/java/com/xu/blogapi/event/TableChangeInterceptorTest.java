@@ -0,0 +1,107 @@
+package com.xu.blogapi.event;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.xu.blogapi.model.entity.Category;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Invocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 数据表变更拦截器测试，使用真实的 Mapper XML 生成语句，不依赖数据库
+ *
+ * @author xu
+ */
+public class TableChangeInterceptorTest {
+
+    private static final String CATEGORY_MAPPER = "com.xu.blogapi.mapper.CategoryMapper";
+
+    private final MybatisConfiguration configuration = new MybatisConfiguration();
+
+    private final TableChangeInterceptor tableChangeInterceptor = new TableChangeInterceptor();
+
+    private final StubOutboxDataSource dataSource = new StubOutboxDataSource();
+
+    private final List<TableChangedEvent> events = new ArrayList<>();
+
+    private final Executor executor = (Executor) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[]{Executor.class}, (proxy, method, args) -> 1);
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        String resource = "mapper/CategoryMapper.xml";
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(resource)) {
+            new XMLMapperBuilder(inputStream, configuration, resource, configuration.getSqlFragments()).parse();
+        }
+        EventOutbox eventOutbox = new EventOutbox();
+        ReflectionTestUtils.setField(eventOutbox, "dataSource", dataSource);
+        ReflectionTestUtils.setField(tableChangeInterceptor, "eventOutbox", eventOutbox);
+        ReflectionTestUtils.setField(tableChangeInterceptor, "eventPublisher",
+                (ApplicationEventPublisher) event -> events.add((TableChangedEvent) event));
+    }
+
+    /**
+     * 测试在 CategoryMapper 中批量修改文章分类时发布 article 的整表变更
+     */
+    @Test
+    void testUpdateArticleCategory() throws Throwable {
+        Map<String, Object> parameter = new HashMap<>(4);
+        parameter.put("oldCategoryId", 1L);
+        parameter.put("newCategoryId", 2L);
+        update(CATEGORY_MAPPER + ".updateArticleCategory", parameter);
+
+        assertEquals(1, events.size());
+        assertEquals("article", events.get(0).getTable());
+        assertTrue(events.get(0).isWholeTable());
+        assertEquals("article", dataSource.committedRows().get(0).tableName);
+    }
+
+    /**
+     * 测试在 CategoryMapper 中清空文章分类时发布 article 的整表变更
+     */
+    @Test
+    void testClearArticleCategoryRelation() throws Throwable {
+        update(CATEGORY_MAPPER + ".clearArticleCategoryRelation", Collections.singletonMap("categoryId", 3L));
+
+        assertEquals(1, events.size());
+        assertEquals("article", events.get(0).getTable());
+        // 参数中的分类ID不能当作文章ID
+        assertTrue(events.get(0).isWholeTable());
+    }
+
+    /**
+     * 测试通用更新语句仍按命名空间对应的表和主键发布
+     */
+    @Test
+    void testUpdateById() throws Throwable {
+        Category category = new Category();
+        category.setId(5L);
+        category.setName("后端");
+        update(CATEGORY_MAPPER + ".updateById", Collections.singletonMap(Constants.ENTITY, category));
+
+        assertEquals(1, events.size());
+        assertEquals("category", events.get(0).getTable());
+        assertEquals(Collections.singleton(5L), events.get(0).getIds());
+    }
+
+    private void update(String statementId, Object parameter) throws Throwable {
+        MappedStatement ms = configuration.getMappedStatement(statementId);
+        tableChangeInterceptor.intercept(new Invocation(executor,
+                Executor.class.getMethod("update", MappedStatement.class, Object.class), new Object[]{ms, parameter}));
+    }
+}
@@ -0,0 +1,89 @@
+package com.xu.blogapi.manager;
+
+import com.xu.blogapi.event.TableChangedEvent;
+import com.xu.blogapi.manager.ResponseCacheManager.CachedResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 响应体缓存测试
+ *
+ * @author xu
+ */
+public class ResponseCacheManagerTest {
+
+    private final ResponseCacheManager responseCacheManager = new ResponseCacheManager();
+
+    /**
+     * 测试写入后命中，且 gzip 内容可还原
+     */
+    @Test
+    public void testPutAndGet() throws IOException {
+        byte[] body = "{\"code\":0,\"data\":\"".concat("tag,".repeat(200)).concat("\"}").getBytes(StandardCharsets.UTF_8);
+        responseCacheManager.put("/api/tag/list/all", body, new String[]{"tag"}, 60, responseCacheManager.getGeneration());
+
+        CachedResponse cachedResponse = responseCacheManager.get("/api/tag/list/all");
+        assertNotNull(cachedResponse);
+        assertArrayEquals(body, cachedResponse.getIdentity());
+        assertNotNull(cachedResponse.getGzip());
+        assertTrue(cachedResponse.getGzip().length < body.length);
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(cachedResponse.getGzip()))) {
+            assertArrayEquals(body, inputStream.readAllBytes());
+        }
+    }
+
+    /**
+     * 测试数据表变更后失效
+     */
+    @Test
+    public void testInvalidateOnTableChanged() {
+        byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+        responseCacheManager.put("tag", body, new String[]{"tag"}, 60, responseCacheManager.getGeneration());
+        responseCacheManager.put("travel", body, new String[]{"travel"}, 60, responseCacheManager.getGeneration());
+
+        responseCacheManager.onTableChanged(new TableChangedEvent(this, "tag", Collections.emptySet(), false));
+
+        assertNull(responseCacheManager.get("tag"));
+        assertNotNull(responseCacheManager.get("travel"));
+    }
+
+    /**
+     * 测试读取期间发生失效时不写入旧数据
+     */
+    @Test
+    public void testSkipStalePut() {
+        long generation = responseCacheManager.getGeneration();
+        responseCacheManager.onTableChanged(new TableChangedEvent(this, "tag", Collections.emptySet(), false));
+
+        responseCacheManager.put("tag", "{}".getBytes(StandardCharsets.UTF_8), new String[]{"tag"}, 60, generation);
+
+        assertNull(responseCacheManager.get("tag"));
+    }
+
+    /**
+     * 测试超出容量时淘汰最久未访问的条目，而不是拒绝写入新条目
+     */
+    @Test
+    public void testEvictLeastRecentlyUsed() {
+        byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+        responseCacheManager.put("first", body, new String[]{"tag"}, 60, responseCacheManager.getGeneration());
+        for (int i = 0; i < 2000; i++) {
+            // 持续访问 first，使其不会被淘汰
+            assertNotNull(responseCacheManager.get("first"));
+            responseCacheManager.put("/api/article/top?x=" + i, body, new String[]{"article"}, 60,
+                    responseCacheManager.getGeneration());
+        }
+        responseCacheManager.put("last", body, new String[]{"tag"}, 60, responseCacheManager.getGeneration());
+
+        assertNotNull(responseCacheManager.get("first"));
+        assertNotNull(responseCacheManager.get("last"));
+        assertNull(responseCacheManager.get("/api/article/top?x=0"));
+    }
+}
@@ -0,0 +1,82 @@
+package com.xu.blogapi.manager.archive;
+
+import com.xu.blogapi.model.vo.ArchiveMonthVO;
+import com.xu.blogapi.model.vo.ArchiveYearVO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 归档汇总测试
+ *
+ * @author xu
+ */
+public class ArchiveRollupTest {
+
+    @Test
+    void testReset() {
+        ArchiveRollup rollup = new ArchiveRollup();
+        rollup.reset(Arrays.asList(
+                entry(1L, "2023-12-30T10:00"),
+                entry(2L, "2024-01-05T10:00"),
+                entry(3L, "2024-01-20T10:00"),
+                entry(4L, "2024-03-01T08:00")));
+
+        List<ArchiveYearVO> years = rollup.getSnapshot();
+        assertEquals(2, years.size());
+        assertEquals(Integer.valueOf(2024), years.get(0).getYear());
+        assertEquals(Integer.valueOf(3), years.get(0).getCount());
+
+        ArchiveMonthVO january = years.get(0).getMonths().get(1);
+        assertEquals(Integer.valueOf(1), january.getMonth());
+        assertEquals(Arrays.asList(3L, 2L), january.getIds());
+        assertEquals(Integer.valueOf(2023), years.get(1).getYear());
+        assertEquals(4, rollup.size());
+    }
+
+    @Test
+    void testIncrementalUpdate() {
+        ArchiveRollup rollup = new ArchiveRollup();
+        rollup.reset(Arrays.asList(entry(1L, "2024-01-05T10:00"), entry(2L, "2024-02-05T10:00")));
+        List<ArchiveYearVO> before = rollup.getSnapshot();
+
+        // 文章 1 改期到二月，文章 3 新发布
+        rollup.update(Arrays.asList(1L, 3L), Arrays.asList(entry(1L, "2024-02-10T10:00"), entry(3L, "2025-06-01T00:00")));
+
+        List<ArchiveYearVO> years = rollup.getSnapshot();
+        assertEquals(2, years.size());
+        assertEquals(Integer.valueOf(2025), years.get(0).getYear());
+        List<ArchiveMonthVO> months2024 = years.get(1).getMonths();
+        assertEquals(1, months2024.size());
+        assertEquals(Arrays.asList(1L, 2L), months2024.get(0).getIds());
+
+        // 旧快照不受影响
+        assertEquals(2, before.get(0).getMonths().size());
+    }
+
+    @Test
+    void testRemove() {
+        ArchiveRollup rollup = new ArchiveRollup();
+        rollup.reset(Arrays.asList(entry(1L, "2024-01-05T10:00"), entry(2L, "2024-01-06T10:00")));
+
+        // 下线或删除后查不到数据
+        rollup.update(Collections.singletonList(2L), Collections.emptyList());
+        assertEquals(Collections.singletonList(1L), rollup.getSnapshot().get(0).getMonths().get(0).getIds());
+
+        rollup.update(Collections.singletonList(1L), Collections.emptyList());
+        assertTrue(rollup.getSnapshot().isEmpty());
+        assertEquals(0, rollup.size());
+    }
+
+    private static ArchiveEntry entry(Long id, String time) {
+        ArchiveEntry entry = new ArchiveEntry();
+        entry.setId(id);
+        entry.setArchiveTime(LocalDateTime.parse(time));
+        return entry;
+    }
+}
@@ -0,0 +1,105 @@
+package com.xu.blogapi.manager.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 实体缓存测试
+ *
+ * @author xu
+ */
+public class EntityCacheTest {
+
+    private final List<Collection<Long>> loads = new ArrayList<>();
+
+    /**
+     * 模拟批量查询：只存在 ID 小于 100 的记录，值为 "v" + ID
+     */
+    private final Function<Collection<Long>, Collection<String>> loader = ids -> {
+        loads.add(new ArrayList<>(ids));
+        return ids.stream().filter(id -> id < 100).map(id -> "v" + id).collect(Collectors.toList());
+    };
+
+    private final Function<String, Long> idGetter = value -> Long.valueOf(value.substring(1));
+
+    @Test
+    void testRequestOrderAndSingleLoad() {
+        EntityCache<String> cache = new EntityCache<>(16, 60_000);
+
+        List<String> values = cache.getAll(Arrays.asList(3L, 1L, 200L, 2L, 3L), loader, idGetter);
+
+        assertEquals(Arrays.asList("v3", "v1", "v2"), values);
+        assertEquals(1, loads.size());
+        assertEquals(Arrays.asList(3L, 1L, 200L, 2L), loads.get(0));
+    }
+
+    @Test
+    void testOnlyMissesAreLoaded() {
+        EntityCache<String> cache = new EntityCache<>(16, 60_000);
+        cache.getAll(Arrays.asList(1L, 2L), loader, idGetter);
+
+        List<String> values = cache.getAll(Arrays.asList(2L, 5L, 1L), loader, idGetter);
+
+        assertEquals(Arrays.asList("v2", "v5", "v1"), values);
+        assertEquals(Collections.singletonList(5L), loads.get(1));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void testInvalidate() {
+        EntityCache<String> cache = new EntityCache<>(16, 60_000);
+        cache.getAll(Arrays.asList(1L, 2L), loader, idGetter);
+
+        cache.invalidate(Collections.singletonList(1L));
+        cache.getAll(Arrays.asList(1L, 2L), loader, idGetter);
+        assertEquals(Collections.singletonList(1L), loads.get(1));
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testStaleLoadNotCached() {
+        EntityCache<String> cache = new EntityCache<>(16, 60_000);
+
+        // 加载期间发生失效，结果照常返回但不写入缓存
+        List<String> values = cache.getAll(Collections.singletonList(1L), ids -> {
+            cache.invalidate(ids);
+            return loader.apply(ids);
+        }, idGetter);
+
+        assertEquals(Collections.singletonList("v1"), values);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testEvictLeastRecentlyUsed() {
+        EntityCache<String> cache = new EntityCache<>(2, 60_000);
+        cache.getAll(Arrays.asList(1L, 2L), loader, idGetter);
+        cache.getAll(Collections.singletonList(1L), loader, idGetter);
+
+        cache.getAll(Collections.singletonList(3L), loader, idGetter);
+        cache.getAll(Arrays.asList(1L, 2L), loader, idGetter);
+
+        assertEquals(Collections.singletonList(2L), loads.get(loads.size() - 1));
+    }
+
+    @Test
+    void testExpired() {
+        EntityCache<String> cache = new EntityCache<>(16, -1);
+        cache.getAll(Collections.singletonList(1L), loader, idGetter);
+        cache.getAll(Collections.singletonList(1L), loader, idGetter);
+
+        assertEquals(2, loads.size());
+    }
+}
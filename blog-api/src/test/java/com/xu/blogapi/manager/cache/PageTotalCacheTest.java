@@ -0,0 +1,78 @@
+package com.xu.blogapi.manager.cache;
+
+import com.xu.blogapi.config.PageTotalCacheProperties;
+import com.xu.blogapi.event.TableChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 分页总数缓存测试
+ *
+ * @author xu
+ */
+public class PageTotalCacheTest {
+
+    private static PageTotalCache newCache(int maxSize) {
+        PageTotalCacheProperties properties = new PageTotalCacheProperties();
+        properties.setMaxSize(maxSize);
+        return new PageTotalCache(properties);
+    }
+
+    private static Set<String> tables(String... names) {
+        return new HashSet<>(Arrays.asList(names));
+    }
+
+    @Test
+    void testInvalidateByTable() {
+        PageTotalCache cache = newCache(16);
+        cache.put("articles", tables("article", "article_tag"), 42, cache.getGeneration());
+        cache.put("tags", tables("tag"), 7, cache.getGeneration());
+        assertEquals(Long.valueOf(42), cache.get("articles"));
+
+        cache.onTableChanged(new TableChangedEvent(this, "article_tag", Collections.singleton(1L), false));
+
+        assertNull(cache.get("articles"));
+        assertEquals(Long.valueOf(7), cache.get("tags"));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void testSkipPutAfterConcurrentChange() {
+        PageTotalCache cache = newCache(16);
+        long readGeneration = cache.getGeneration();
+        // COUNT 执行期间表发生变更，结果可能已过时
+        cache.onTableChanged(new TableChangedEvent(this, "tag", null, true));
+        cache.put("tags", tables("tag"), 7, readGeneration);
+
+        assertNull(cache.get("tags"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testEvictLeastRecentlyUsed() {
+        PageTotalCache cache = newCache(2);
+        cache.put("a", tables("tag"), 1, cache.getGeneration());
+        cache.put("b", tables("tag"), 2, cache.getGeneration());
+        cache.get("a");
+        cache.put("c", tables("tag"), 3, cache.getGeneration());
+
+        assertEquals(2, cache.size());
+        assertEquals(Long.valueOf(1), cache.get("a"));
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    void testParseTables() {
+        assertEquals(tables("article", "article_tag", "tag"), CachedCountPaginationInnerInterceptor.parseTables(
+                "SELECT a.id FROM `article` a LEFT JOIN article_tag at ON at.article_id = a.id "
+                        + "WHERE a.is_delete = 0 AND at.tag_id IN (SELECT id FROM blog.tag WHERE name = ?)"));
+        assertNull(CachedCountPaginationInnerInterceptor.parseTables("not a query"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.xu.blogapi.manager.compression;
+
+import com.xu.blogapi.config.ContentCompressionProperties;
+import com.xu.blogapi.model.vo.ContentCompressionStatsVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 大字段压缩测试
+ *
+ * @author xu
+ */
+public class ContentCompressionManagerTest {
+
+    private final ContentCompressionProperties properties = new ContentCompressionProperties();
+
+    private final ContentCompressionManager contentCompressionManager = new ContentCompressionManager();
+
+    private final String content = "# 标题\n" + repeat("这是一段会重复出现的文章内容 markdown\n", 300);
+
+    @BeforeEach
+    public void setUp() {
+        properties.setEnabled(true);
+        ReflectionTestUtils.setField(contentCompressionManager, "contentCompressionProperties", properties);
+        contentCompressionManager.setBinaryColumnsReady(true);
+    }
+
+    @Test
+    void testRoundTrip() {
+        byte[] compressed = contentCompressionManager.encode(content);
+        assertNotNull(compressed);
+        assertTrue(ContentCompressionManager.isCompressed(compressed));
+        assertTrue(compressed.length < content.getBytes(StandardCharsets.UTF_8).length / 2);
+        assertEquals(content, contentCompressionManager.decode(compressed));
+    }
+
+    @Test
+    void testReadPlainText() {
+        byte[] plain = content.getBytes(StandardCharsets.UTF_8);
+        assertFalse(ContentCompressionManager.isCompressed(plain));
+        assertEquals(content, contentCompressionManager.decode(plain));
+        assertEquals("", contentCompressionManager.decode(new byte[0]));
+    }
+
+    @Test
+    void testSkipCompression() {
+        // 内容过短
+        assertNull(contentCompressionManager.encode("短内容"));
+
+        // 字段还是文本类型
+        contentCompressionManager.setBinaryColumnsReady(false);
+        assertNull(contentCompressionManager.encode(content));
+
+        // 配置关闭，仍可读取已压缩的数据
+        contentCompressionManager.setBinaryColumnsReady(true);
+        byte[] compressed = contentCompressionManager.encode(content);
+        properties.setEnabled(false);
+        assertNull(contentCompressionManager.encode(content));
+        assertEquals(content, contentCompressionManager.decode(compressed));
+    }
+
+    @Test
+    void testCorruptedData() {
+        byte[] compressed = contentCompressionManager.encode(content);
+        byte[] truncated = new byte[compressed.length - 3];
+        System.arraycopy(compressed, 0, truncated, 0, truncated.length);
+        assertThrows(IllegalArgumentException.class, () -> contentCompressionManager.decode(truncated));
+
+        compressed[ContentCompressionManager.MAGIC.length - 1] = 9;
+        assertThrows(IllegalArgumentException.class, () -> contentCompressionManager.decode(compressed));
+    }
+
+    @Test
+    void testStats() {
+        byte[] compressed = contentCompressionManager.encode(content);
+        contentCompressionManager.decode(compressed);
+        contentCompressionManager.decode("plain".getBytes(StandardCharsets.UTF_8));
+
+        ContentCompressionStatsVO stats = contentCompressionManager.getStats();
+        assertEquals(1L, stats.getCompressedWriteCount());
+        assertEquals(1L, stats.getDecodeCount());
+        assertEquals(1L, stats.getPlainReadCount());
+        assertTrue(stats.getWriteCompressionRatio() < 0.5);
+        assertNotNull(stats.getDecodeAvgMicros());
+    }
+
+    private static String repeat(String text, int times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(text);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,136 @@
+package com.xu.blogapi.manager.export;
+
+import com.alibaba.excel.EasyExcel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.xu.blogapi.model.entity.Article;
+import com.xu.blogapi.utils.ArticleContentUtils;
+import com.xu.blogapi.utils.ArticleContentUtils.FrontMatter;
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 导出写入器测试
+ *
+ * @author xu
+ */
+public class ExportWriterTest {
+
+    private final List<Article> articles = new ArrayList<>();
+
+    private final ExportSource<Article> source = new ExportSource<Article>("article", Article::getId,
+            (afterId, maxId, handler) -> articles.stream()
+                    .filter(article -> article.getId() > afterId && (maxId == null || article.getId() <= maxId))
+                    .forEach(article -> {
+                        DefaultResultContext<Article> context = new DefaultResultContext<>();
+                        context.nextResultObject(article);
+                        handler.handleResult(context);
+                    }),
+            (afterId, offset) -> articles.stream()
+                    .filter(article -> article.getId() > afterId)
+                    .skip(offset)
+                    .map(Article::getId)
+                    .findFirst()
+                    .orElse(null))
+            .column("id", "ID", Article::getId)
+            .column("title", "标题", Article::getTitle)
+            .column("slug", "别名", Article::getSlug)
+            .column("content", "内容", Article::getContent)
+            .column("publishTime", "发布时间", Article::getPublishTime)
+            .markdown(article -> article.getId() + "-" + article.getSlug(), "content", Article::getContent);
+
+    public ExportWriterTest() {
+        for (long i = 1; i <= 3; i++) {
+            Article article = new Article();
+            article.setId(i);
+            article.setTitle("文章" + i);
+            article.setSlug("post-" + i);
+            article.setContent("# 正文" + i);
+            article.setPublishTime(LocalDateTime.of(2024, 1, (int) i, 8, 0));
+            articles.add(article);
+        }
+    }
+
+    @Test
+    public void testNdjson() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ExportWriter<Article> writer = new NdjsonExportWriter<>(objectMapper, outputStream)) {
+            source.stream(1L, null, context -> {
+                try {
+                    writer.write(context.getResultObject());
+                } catch (Exception e) {
+                    fail(e);
+                }
+            });
+        }
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8.name()).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("post-2", objectMapper.readTree(lines[0]).get("slug").asText());
+        assertEquals("post-3", objectMapper.readTree(lines[1]).get("slug").asText());
+    }
+
+    @Test
+    public void testMarkdownZip() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ExportWriter<Article> writer = new MarkdownZipExportWriter<>(source, outputStream)) {
+            for (Article article : articles) {
+                writer.write(article);
+            }
+        }
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(outputStream.toByteArray()),
+                StandardCharsets.UTF_8)) {
+            ZipEntry entry = zipInputStream.getNextEntry();
+            assertNotNull(entry);
+            assertEquals("article/1-post-1.md", entry.getName());
+            String markdown = new String(readAll(zipInputStream), StandardCharsets.UTF_8);
+            FrontMatter frontMatter = ArticleContentUtils.parseFrontMatter(markdown);
+            assertEquals("文章1", frontMatter.get("title"));
+            assertEquals("2024-01-01 08:00:00", frontMatter.get("publishTime"));
+            assertNull(frontMatter.get("content"));
+            assertEquals("# 正文1", frontMatter.getBody());
+        }
+    }
+
+    @Test
+    public void testExcel() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ExportWriter<Article> writer = new ExcelExportWriter<>(source, outputStream, 2)) {
+            for (Article article : articles) {
+                writer.write(article);
+            }
+        }
+        List<Map<Integer, String>> rows = EasyExcel.read(new ByteArrayInputStream(outputStream.toByteArray()))
+                .sheet().doReadSync();
+        assertEquals(3, rows.size());
+        assertEquals("post-3", rows.get(2).get(2));
+    }
+
+    @Test
+    public void testChunkEnd() {
+        assertEquals(2L, source.findChunkEndId(0L, 1));
+        assertNull(source.findChunkEndId(2L, 1));
+    }
+
+    private static byte[] readAll(ZipInputStream zipInputStream) throws Exception {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] bytes = new byte[1024];
+        int read;
+        while ((read = zipInputStream.read(bytes)) != -1) {
+            buffer.write(bytes, 0, read);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,135 @@
+package com.xu.blogapi.manager.image;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 磁盘 LRU 缓存测试
+ *
+ * @author xu
+ */
+public class DiskLruCacheTest {
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("disk-lru-cache-test");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> stream = Files.walk(directory)) {
+            stream.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void testEvictLeastRecentlyUsed() throws IOException {
+        DiskLruCache cache = new DiskLruCache(directory, 250);
+        Path a = cache.get("a", target -> write(target, 100));
+        Path b = cache.get("b", target -> write(target, 100));
+        // 访问 a 后 b 成为最久未访问
+        assertEquals(a, cache.get("a", target -> fail("should hit")));
+        cache.get("c", target -> write(target, 100));
+        assertEquals(2, cache.size());
+        assertEquals(200, cache.getTotalBytes());
+        assertTrue(Files.exists(a));
+        assertFalse(Files.exists(b));
+
+        // 单个文件超过上限时保留它本身
+        cache.get("d", target -> write(target, 400));
+        assertEquals(1, cache.size());
+        assertEquals(400, cache.getTotalBytes());
+    }
+
+    @Test
+    void testConcurrentMissesLoadOnce() throws Exception {
+        DiskLruCache cache = new DiskLruCache(directory, 1 << 20);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Path>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> cache.get("same", target -> {
+                    loads.incrementAndGet();
+                    started.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    write(target, 10);
+                })));
+            }
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            release.countDown();
+            Path first = futures.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<Path> future : futures) {
+                assertEquals(first, future.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFailedLoadNotCached() throws IOException {
+        DiskLruCache cache = new DiskLruCache(directory, 1 << 20);
+        assertThrows(IOException.class, () -> cache.get("broken", target -> {
+            write(target, 10);
+            throw new IOException("source unavailable");
+        }));
+        assertEquals(0, cache.size());
+        try (Stream<Path> stream = Files.walk(directory)) {
+            assertEquals(0, stream.filter(Files::isRegularFile).count());
+        }
+        Path path = cache.get("broken", target -> write(target, 10));
+        assertEquals(10, Files.size(path));
+    }
+
+    @Test
+    void testRebuildFromDirectory() throws IOException {
+        DiskLruCache cache = new DiskLruCache(directory, 1 << 20);
+        Path a = cache.get("a", target -> write(target, 30));
+        cache.get("b", target -> write(target, 20));
+
+        DiskLruCache reopened = new DiskLruCache(directory, 1 << 20);
+        assertEquals(2, reopened.size());
+        assertEquals(50, reopened.getTotalBytes());
+        assertEquals(a, reopened.get("a", target -> fail("should hit")));
+        reopened.remove("a");
+        assertFalse(Files.exists(a));
+        assertEquals(20, reopened.getTotalBytes());
+    }
+
+    private static void write(Path target, int size) throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            content.append('x');
+        }
+        Files.write(target, content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,133 @@
+package com.xu.blogapi.manager.image;
+
+import com.xu.blogapi.config.ImageVariantProperties;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 图片缩放版本生成测试
+ *
+ * @author xu
+ */
+public class ImageVariantGeneratorTest {
+
+    @Test
+    void testVariantsNotUpscaled() throws IOException {
+        ImageVariantProperties properties = new ImageVariantProperties();
+        properties.setWidths(Arrays.asList(1280, 320, 640));
+        ImageVariantGenerator generator = new ImageVariantGenerator(properties);
+        File file = writeImage(1000, 750, false, "jpg");
+        try {
+            ImageVariantGenerator.Result result = generator.generate(file);
+            assertEquals(1000, result.getWidth());
+            assertEquals(750, result.getHeight());
+            List<ImageVariantGenerator.EncodedImage> jpegs = result.getVariants().stream()
+                    .filter(image -> ImageVariantGenerator.FORMAT_JPEG.equals(image.getFormat()))
+                    .collect(Collectors.toList());
+            assertEquals(Arrays.asList(320, 640), jpegs.stream()
+                    .map(ImageVariantGenerator.EncodedImage::getWidth).collect(Collectors.toList()));
+            assertEquals(240, jpegs.get(0).getHeight());
+            BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(jpegs.get(1).getData()));
+            assertEquals(640, decoded.getWidth());
+            assertEquals(480, decoded.getHeight());
+            assertTrue(jpegs.get(1).getData().length < file.length());
+            assertTrue(result.getPlaceholder().startsWith("data:image/jpeg;base64,"));
+            assertTrue(result.getPlaceholder().length() < 2000);
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    @Test
+    void testTransparentPngFlattenedForJpeg() throws IOException {
+        ImageVariantGenerator generator = new ImageVariantGenerator(new ImageVariantProperties());
+        File file = writeImage(800, 400, true, "png");
+        try {
+            ImageVariantGenerator.Result result = generator.generate(file);
+            ImageVariantGenerator.EncodedImage jpeg = result.getVariants().stream()
+                    .filter(image -> ImageVariantGenerator.FORMAT_JPEG.equals(image.getFormat()))
+                    .findFirst().orElseThrow(AssertionError::new);
+            BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(jpeg.getData()));
+            assertEquals(320, decoded.getWidth());
+            assertEquals(160, decoded.getHeight());
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    @Test
+    void testOversizedAndUnreadable() throws IOException {
+        ImageVariantProperties properties = new ImageVariantProperties();
+        properties.setMaxPixels(1000);
+        ImageVariantGenerator generator = new ImageVariantGenerator(properties);
+        File file = writeImage(100, 50, false, "png");
+        File text = File.createTempFile("image-variant-test", ".jpg");
+        try {
+            // 超过像素上限只记录尺寸
+            ImageVariantGenerator.Result result = generator.generate(file);
+            assertEquals(100, result.getWidth());
+            assertEquals(50, result.getHeight());
+            assertNull(result.getPlaceholder());
+            assertTrue(result.getVariants().isEmpty());
+            assertNull(generator.generate(text));
+        } finally {
+            assertTrue(file.delete());
+            assertTrue(text.delete());
+        }
+    }
+
+    @Test
+    void testReadFromOpenedFile() throws IOException {
+        File file = writeImage(120, 80, false, "png");
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // 打开后被缓存淘汰删除，仍能先读尺寸再解码
+            file.delete();
+            InputStream input = Channels.newInputStream(channel);
+            assertArrayEquals(new int[]{120, 80}, ImageVariantGenerator.readSize(input));
+            channel.position(0);
+            BufferedImage image = ImageIO.read(input);
+            assertNotNull(image);
+            assertEquals(120, image.getWidth());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    void testVariantKey() {
+        assertEquals("/travel_image/1/abc-photo_640w.jpg",
+                ImageVariantManager.variantKey("/travel_image/1/abc-photo.PNG", 640, ImageVariantGenerator.FORMAT_JPEG));
+        assertEquals("/travel_image/1/abc-a.b_320w.webp",
+                ImageVariantManager.variantKey("/travel_image/1/abc-a.b.jpg", 320, ImageVariantGenerator.FORMAT_WEBP));
+    }
+
+    private static File writeImage(int width, int height, boolean alpha, String format) throws IOException {
+        BufferedImage image = new BufferedImage(width, height,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, new Color(30, 90, 200, alpha ? 80 : 255),
+                width, height, new Color(240, 180, 40)));
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        File file = File.createTempFile("image-variant-test", "." + format);
+        assertTrue(ImageIO.write(image, format, file));
+        return file;
+    }
+}
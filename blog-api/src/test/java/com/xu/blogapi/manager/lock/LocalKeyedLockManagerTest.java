@@ -0,0 +1,81 @@
+package com.xu.blogapi.manager.lock;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 单机按键加锁测试
+ *
+ * @author xu
+ */
+public class LocalKeyedLockManagerTest {
+
+    private final LocalKeyedLockManager keyedLockManager = new LocalKeyedLockManager();
+
+    /**
+     * 测试并发“先查重再写入”只有一个请求成功
+     */
+    @Test
+    public void testCheckThenInsertIsExclusive() throws Exception {
+        Set<String> accounts = new HashSet<>();
+        AtomicInteger success = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(executorService.submit(() -> keyedLockManager.executeWithLock("user:register:xu", () -> {
+                if (accounts.contains("xu")) {
+                    return false;
+                }
+                Thread.yield();
+                accounts.add("xu");
+                success.incrementAndGet();
+                return true;
+            })));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertEquals(1, success.get());
+    }
+
+    /**
+     * 测试多个键以不同顺序传入时不会死锁
+     */
+    @Test
+    public void testMultipleKeysNoDeadlock() throws Exception {
+        AtomicInteger executed = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            List<String> keys = i % 2 == 0 ? Arrays.asList("category:name:a", "category:slug:b")
+                    : Arrays.asList("category:slug:b", "category:name:a");
+            futures.add(executorService.submit(() -> keyedLockManager.executeWithLock(keys,
+                    executed::incrementAndGet)));
+        }
+        try {
+            // 死锁时等待超时失败，而不是一直挂起
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertEquals(1000, executed.get());
+    }
+}
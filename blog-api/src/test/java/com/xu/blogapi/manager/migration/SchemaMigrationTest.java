@@ -0,0 +1,62 @@
+package com.xu.blogapi.manager.migration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 迁移脚本解析测试
+ *
+ * @author xu
+ */
+public class SchemaMigrationTest {
+
+    /**
+     * 测试从文件名解析版本号和说明
+     */
+    @Test
+    public void testParseFileName() throws IOException {
+        SchemaMigration migration = SchemaMigration.of(new ClassPathResource("db/migration/V1__composite_list_indexes.sql"));
+
+        assertEquals(1, migration.getVersion());
+        assertEquals("composite list indexes", migration.getDescription());
+        assertEquals("V1 composite list indexes", migration.toString());
+    }
+
+    /**
+     * 测试校验值忽略换行符差异
+     */
+    @Test
+    public void testChecksumIgnoresLineEndings() throws IOException {
+        SchemaMigration unix = SchemaMigration.of(script("V2__add_index.sql", "ALTER TABLE a ADD KEY k (c);\nSELECT 1;\n"));
+        SchemaMigration windows = SchemaMigration.of(script("V2__add_index.sql", "ALTER TABLE a ADD KEY k (c);\r\nSELECT 1;\r\n"));
+        SchemaMigration changed = SchemaMigration.of(script("V2__add_index.sql", "ALTER TABLE a ADD KEY k (d);\nSELECT 1;\n"));
+
+        assertEquals(unix.getChecksum(), windows.getChecksum());
+        assertNotEquals(unix.getChecksum(), changed.getChecksum());
+        assertTrue(unix.compareTo(SchemaMigration.of(script("V10__later.sql", ""))) < 0);
+    }
+
+    /**
+     * 测试文件名格式错误
+     */
+    @Test
+    public void testInvalidFileName() {
+        assertThrows(IllegalStateException.class, () -> SchemaMigration.of(script("add_index.sql", "")));
+        assertThrows(IllegalStateException.class, () -> SchemaMigration.of(script("V1_add_index.sql", "")));
+    }
+
+    private static ByteArrayResource script(String fileName, String content) {
+        return new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public String getFilename() {
+                return fileName;
+            }
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package com.xu.blogapi.manager.purge;
+
+import com.baomidou.mybatisplus.annotation.TableLogic;
+import com.baomidou.mybatisplus.annotation.TableName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 逻辑删除数据清理目标测试
+ *
+ * @author xu
+ */
+public class PurgeTargetTest {
+
+    @Test
+    void testCoverAllSoftDeleteTables() throws ClassNotFoundException {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(TableName.class));
+        Set<String> softDeleteTables = new HashSet<>();
+        for (BeanDefinition definition : scanner.findCandidateComponents("com.xu.blogapi.model.entity")) {
+            Class<?> entityClass = Class.forName(definition.getBeanClassName());
+            for (Field field : entityClass.getDeclaredFields()) {
+                if (field.isAnnotationPresent(TableLogic.class)) {
+                    softDeleteTables.add(entityClass.getAnnotation(TableName.class).value());
+                }
+            }
+        }
+        assertTrue(softDeleteTables.contains("article"));
+
+        // 新增逻辑删除表时需要决定是否清理
+        Set<String> configured = Arrays.stream(PurgeTarget.values()).map(PurgeTarget::getTable).collect(Collectors.toSet());
+        configured.addAll(PurgeTarget.EXCLUDED_TABLES);
+        assertEquals(softDeleteTables, configured);
+    }
+
+    @Test
+    void testChildTablesBeforeParent() {
+        // 分类的引用检查依赖已删除文章先被清理
+        assertTrue(PurgeTarget.ARTICLE.ordinal() < PurgeTarget.CATEGORY.ordinal());
+        assertEquals(Arrays.asList("article_tag", "article_revision", "article_render"),
+                PurgeTarget.ARTICLE.getChildren().stream().map(PurgeTarget.ChildTable::getTable).collect(Collectors.toList()));
+        assertEquals("tag_id", PurgeTarget.TAG.getChildren().get(0).getColumn());
+        assertTrue(PurgeTarget.THOUGHT.getChildren().isEmpty());
+    }
+}
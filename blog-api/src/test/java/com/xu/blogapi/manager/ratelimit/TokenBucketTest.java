@@ -0,0 +1,69 @@
+package com.xu.blogapi.manager.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 无锁令牌桶测试
+ *
+ * @author xu
+ */
+public class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void testBurstThenRefill() {
+        long now = 0;
+        TokenBucket bucket = new TokenBucket(2, 5, now);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(now));
+        }
+        long waitNanos = bucket.tryAcquire(now);
+        assertEquals(SECOND / 2, waitNanos);
+
+        // 半秒后补充一个令牌
+        now += SECOND / 2;
+        assertEquals(0, bucket.tryAcquire(now));
+        assertTrue(bucket.tryAcquire(now) > 0);
+        assertFalse(bucket.isIdle(now));
+
+        // 足够久之后恢复为满桶，但不会超过容量
+        now += 10 * SECOND;
+        assertTrue(bucket.isIdle(now));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(now));
+        }
+        assertTrue(bucket.tryAcquire(now) > 0);
+    }
+
+    @Test
+    void testConcurrentAcquireNeverExceedsBurst() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(0.001, 100, 0);
+        AtomicInteger acquired = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch latch = new CountDownLatch(8);
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    if (bucket.tryAcquire(0) == 0) {
+                        acquired.incrementAndGet();
+                    }
+                }
+                latch.countDown();
+            });
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertEquals(100, acquired.get());
+    }
+}
@@ -0,0 +1,107 @@
+package com.xu.blogapi.manager.redis;
+
+import cn.dev33.satoken.dao.SaSessionForJacksonCustomized;
+import cn.dev33.satoken.session.SaSession;
+import com.xu.blogapi.config.RedisCodecProperties;
+import com.xu.blogapi.constant.SystemConstants;
+import com.xu.blogapi.model.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 紧凑 Redis 值序列化器测试
+ *
+ * @author xu
+ */
+public class CompactRedisSerializerTest {
+
+    private static final String SESSION_ID = "satoken:login:token-session:0d8c5f1e-3b7a-4c29-9e61-5a2f7b9d4c13";
+
+    /**
+     * 测试 Smile 和 CBOR 编码的会话往返
+     */
+    @Test
+    public void testRoundTrip() {
+        for (String format : new String[]{"smile", "cbor"}) {
+            CompactRedisSerializer serializer = CompactSaTokenDao.createSerializer(properties(format, 0));
+            byte[] bytes = serializer.serialize(newSession());
+
+            assertEquals(CompactRedisSerializer.MAGIC, bytes[0]);
+            assertSession(serializer.deserialize(bytes));
+        }
+    }
+
+    /**
+     * 测试切换格式后仍能读取原有的 JSON 数据
+     */
+    @Test
+    public void testReadLegacyJson() {
+        byte[] json = CompactSaTokenDao.createSerializer(properties("json", 512)).serialize(newSession());
+        assertEquals('{', json[0]);
+
+        CompactRedisSerializer serializer = CompactSaTokenDao.createSerializer(properties("smile", 512));
+        assertSession(serializer.deserialize(json));
+        assertNull(serializer.deserialize(new byte[0]));
+    }
+
+    /**
+     * 测试超过阈值时压缩
+     */
+    @Test
+    public void testCompressAboveThreshold() {
+        SaSession session = newSession();
+        StringBuilder bio = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            bio.append("热爱技术，记录生活。");
+        }
+        ((User) session.get(SystemConstants.USER_LOGIN_STATE)).setBio(bio.toString());
+
+        byte[] plain = CompactSaTokenDao.createSerializer(properties("smile", 0)).serialize(session);
+        CompactRedisSerializer serializer = CompactSaTokenDao.createSerializer(properties("smile", 512));
+        byte[] compressed = serializer.serialize(session);
+
+        assertEquals(0, plain[2] & CompactRedisSerializer.FLAG_LZ4);
+        assertEquals(CompactRedisSerializer.FLAG_LZ4, compressed[2] & CompactRedisSerializer.FLAG_LZ4);
+        assertTrue(compressed.length < plain.length);
+        SaSession decoded = (SaSession) serializer.deserialize(compressed);
+        assertEquals(bio.toString(), ((User) decoded.get(SystemConstants.USER_LOGIN_STATE)).getBio());
+    }
+
+    static RedisCodecProperties properties(String format, int compressThreshold) {
+        RedisCodecProperties properties = new RedisCodecProperties();
+        properties.setFormat(format);
+        properties.setCompressThreshold(compressThreshold);
+        return properties;
+    }
+
+    static SaSession newSession() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("admin");
+        user.setEmail("admin@example.com");
+        user.setNickname("管理员");
+        user.setAvatar("https://example.com/avatar.png");
+        user.setBio("一个专注于技术分享的个人博客");
+        user.setRole(1);
+        user.setStatus(1);
+        user.setCreateTime(new Date(1700000000000L));
+        user.setUpdateTime(new Date(1700000000000L));
+        SaSession session = new SaSessionForJacksonCustomized(SESSION_ID);
+        // 直接写入 dataMap：set() 会同步到 SaManager 的默认持久层并启动其刷新线程
+        session.getDataMap().put(SystemConstants.USER_LOGIN_STATE, user);
+        return session;
+    }
+
+    private static void assertSession(Object value) {
+        assertTrue(value instanceof SaSession);
+        SaSession session = (SaSession) value;
+        User user = (User) session.get(SystemConstants.USER_LOGIN_STATE);
+        assertEquals("admin", user.getUsername());
+        assertEquals("管理员", user.getNickname());
+        assertEquals(new Date(1700000000000L), user.getCreateTime());
+        assertEquals(SESSION_ID, session.getId());
+    }
+}
@@ -0,0 +1,81 @@
+package com.xu.blogapi.manager.redis;
+
+import cn.dev33.satoken.session.SaSession;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Redis 值编码基准测试
+ * 以登录会话（含用户信息）为样本，对比原有 JSON 与 Smile、CBOR 的字节数和单次编解码耗时；
+ * 字节数是确定值，默认校验，耗时受机器影响，使用 mvn test -Dbenchmark=true -Dtest=RedisCodecBenchmarkTest 运行
+ *
+ * @author xu
+ */
+public class RedisCodecBenchmarkTest {
+
+    /**
+     * 预热次数
+     */
+    private static final int WARMUP = 20_000;
+
+    /**
+     * 计时次数
+     */
+    private static final int ITERATIONS = 50_000;
+
+    /**
+     * 测试 Smile、CBOR 编码比 JSON 更小
+     */
+    @Test
+    public void testBytes() {
+        SaSession session = CompactRedisSerializerTest.newSession();
+        int jsonBytes = serialize("json", session, 512).length;
+
+        assertTrue(serialize("smile", session, 512).length < jsonBytes);
+        assertTrue(serialize("cbor", session, 512).length < jsonBytes);
+    }
+
+    /**
+     * 对比单次编解码耗时，耗时供对比参考
+     */
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void benchmarkLatency() {
+        SaSession session = CompactRedisSerializerTest.newSession();
+        run("json", session, 512);
+        run("smile", session, 512);
+        run("cbor", session, 512);
+        run("smile", session, 0);
+    }
+
+    private byte[] serialize(String format, SaSession session, int compressThreshold) {
+        return CompactSaTokenDao.createSerializer(CompactRedisSerializerTest.properties(format, compressThreshold))
+                .serialize(session);
+    }
+
+    private void run(String format, SaSession session, int compressThreshold) {
+        CompactRedisSerializer serializer = CompactSaTokenDao.createSerializer(
+                CompactRedisSerializerTest.properties(format, compressThreshold));
+        byte[] bytes = serializer.serialize(session);
+        for (int i = 0; i < WARMUP; i++) {
+            serializer.deserialize(serializer.serialize(session));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            serializer.serialize(session);
+        }
+        long serializeNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            serializer.deserialize(bytes);
+        }
+        long deserializeNanos = System.nanoTime() - start;
+        System.out.printf("%-6s threshold %4d: %5d bytes, serialize %6.2f us/op, deserialize %6.2f us/op%n",
+                format, compressThreshold, bytes.length, serializeNanos / 1000.0 / ITERATIONS,
+                deserializeNanos / 1000.0 / ITERATIONS);
+    }
+}
@@ -0,0 +1,103 @@
+package com.xu.blogapi.manager.render;
+
+import com.xu.blogapi.model.vo.ArticleTocItemVO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Markdown 渲染测试
+ *
+ * @author xu
+ */
+public class MarkdownRendererTest {
+
+    private final MarkdownRenderer renderer = new MarkdownRenderer();
+
+    @Test
+    void testHeadingAnchorsAndToc() {
+        MarkdownRenderer.RenderResult result = renderer.render("# 快速 开始\n\n## Hello *World*\n\n## Hello World");
+
+        assertTrue(result.getHtml().contains("<h1 id=\"快速-开始\">快速 开始</h1>"));
+        assertTrue(result.getHtml().contains("<h2 id=\"hello-world\">Hello <em>World</em></h2>"));
+        assertTrue(result.getHtml().contains("<h2 id=\"hello-world-1\">Hello World</h2>"));
+
+        List<ArticleTocItemVO> toc = result.getToc();
+        assertEquals(3, toc.size());
+        assertEquals(Integer.valueOf(2), toc.get(1).getLevel());
+        assertEquals("hello-world", toc.get(1).getId());
+        assertEquals("Hello World", toc.get(1).getText());
+    }
+
+    @Test
+    void testRawHtmlIsEscaped() {
+        String html = renderer.render("<script>alert(1)</script>\n\n<img src=x onerror=alert(1)>").getHtml();
+
+        assertFalse(html.contains("<script"));
+        assertFalse(html.contains("<img"));
+        assertTrue(html.contains("&lt;script&gt;"));
+    }
+
+    @Test
+    void testUnsafeLinksAreDropped() {
+        String html = renderer.render("[a](javascript:alert(1)) [b](JaVa\tScRiPt:x) ![c](data:image/png;base64,AA) "
+                + "[d](https://example.com) [e](/article/1) [f](#intro)").getHtml();
+
+        assertFalse(html.toLowerCase().contains("javascript"));
+        assertFalse(html.contains("data:"));
+        assertTrue(html.contains("<a href=\"https://example.com\" rel=\"noopener noreferrer\">d</a>"));
+        assertTrue(html.contains("<a href=\"/article/1\">e</a>"));
+        assertTrue(html.contains("<a href=\"#intro\">f</a>"));
+    }
+
+    @Test
+    void testCodeBlocks() {
+        String html = renderer.render("```java\nif (a < b) {\n    return;\n}\n```\n\n行内 `<b>` 代码").getHtml();
+
+        assertTrue(html.contains("<pre><code class=\"language-java\">if (a &lt; b) {\n    return;\n}\n</code></pre>"));
+        assertTrue(html.contains("<code>&lt;b&gt;</code>"));
+    }
+
+    @Test
+    void testListsAndTables() {
+        String html = renderer.render("- a\n- [x] b\n  - c\n\n1. x\n2. y\n\n| 名称 | 数量 |\n|:--|--:|\n| 苹果 | 3 |").getHtml();
+
+        assertTrue(html.contains("<ul>\n<li>a</li>\n<li class=\"task-list-item\"><input type=\"checkbox\" disabled=\"\" checked=\"\"> b\n<ul>\n<li>c</li>\n</ul>\n</li>\n</ul>"));
+        assertTrue(html.contains("<ol>\n<li>x</li>\n<li>y</li>\n</ol>"));
+        assertTrue(html.contains("<th align=\"left\">名称</th>"));
+        assertTrue(html.contains("<td align=\"right\">3</td>"));
+    }
+
+    @Test
+    void testImagesAndStrikethrough() {
+        String html = renderer.render("![a](/a.png) ![b](javascript:x) ~~删除~~").getHtml();
+
+        assertTrue(html.contains("<img src=\"/a.png\" alt=\"a\" loading=\"lazy\" />"));
+        assertTrue(html.contains("<img alt=\"b\" loading=\"lazy\" />"));
+        assertTrue(html.contains("<del>删除</del>"));
+    }
+
+    @Test
+    void testExcerpt() {
+        StringBuilder markdown = new StringBuilder("# 标题\n\n第一段 **加粗**。\n\n");
+        for (int i = 0; i < 50; i++) {
+            markdown.append("很长的段落内容");
+        }
+        String excerpt = renderer.render(markdown.toString()).getExcerpt();
+
+        assertTrue(excerpt.startsWith("第一段 加粗。 很长的段落内容"));
+        assertEquals(201, excerpt.length());
+        assertTrue(excerpt.endsWith("…"));
+    }
+
+    @Test
+    void testEmptyContent() {
+        MarkdownRenderer.RenderResult result = renderer.render(null);
+
+        assertEquals("", result.getHtml());
+        assertTrue(result.getToc().isEmpty());
+        assertEquals("", result.getExcerpt());
+    }
+}
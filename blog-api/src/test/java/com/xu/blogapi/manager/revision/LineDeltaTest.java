@@ -0,0 +1,106 @@
+package com.xu.blogapi.manager.revision;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 行增量与修订编解码测试
+ *
+ * @author xu
+ */
+public class LineDeltaTest {
+
+    @Test
+    void testSplitAndJoinLines() {
+        String text = "第一行\r\n第二行\n\n末尾";
+        assertEquals(text, LineDelta.joinLines(LineDelta.splitLines(text)));
+        assertEquals(Collections.singletonList(""), LineDelta.splitLines(""));
+        assertEquals(Arrays.asList("a", ""), LineDelta.splitLines("a\n"));
+    }
+
+    @Test
+    void testDiffAndApply() {
+        List<String> base = Arrays.asList("# 标题", "a", "b", "c", "d", "结尾");
+        List<String> target = Arrays.asList("# 新标题", "a", "c", "x", "d", "结尾", "追加");
+
+        LineDelta delta = LineDelta.diff(base, target, 100);
+        assertEquals(target, delta.apply(base));
+        assertEquals(target, LineDelta.decode(delta.encode()).apply(base));
+    }
+
+    @Test
+    void testRandomEdits() {
+        Random random = new Random(42);
+        for (int round = 0; round < 500; round++) {
+            List<String> base = new ArrayList<>();
+            int size = random.nextInt(30);
+            for (int i = 0; i < size; i++) {
+                base.add("line" + random.nextInt(6));
+            }
+            List<String> target = new ArrayList<>(base);
+            for (int i = random.nextInt(8); i > 0; i--) {
+                if (target.isEmpty() || random.nextBoolean()) {
+                    target.add(random.nextInt(target.size() + 1), "new" + random.nextInt(6));
+                } else {
+                    target.remove(random.nextInt(target.size()));
+                }
+            }
+            // 编辑距离上限很小时退化为整段替换，结果仍然正确
+            int maxEditDistance = round % 2 == 0 ? 1000 : 1;
+            assertEquals(target, LineDelta.diff(base, target, maxEditDistance).apply(base));
+        }
+    }
+
+    @Test
+    void testToChunks() {
+        List<String> base = Arrays.asList("a", "b", "c");
+        List<String> target = Arrays.asList("a", "x", "c");
+
+        List<LineDelta.Chunk> chunks = LineDelta.diff(base, target, 100).toChunks(base);
+        assertEquals(4, chunks.size());
+        assertEquals(LineDelta.Chunk.EQUAL, chunks.get(0).getType());
+        assertEquals(LineDelta.Chunk.DELETE, chunks.get(1).getType());
+        assertEquals(Collections.singletonList("b"), chunks.get(1).getLines());
+        assertEquals(LineDelta.Chunk.INSERT, chunks.get(2).getType());
+        assertEquals(Collections.singletonList("x"), chunks.get(2).getLines());
+        assertEquals(LineDelta.Chunk.EQUAL, chunks.get(3).getType());
+    }
+
+    @Test
+    void testApplyRejectsMismatchedBase() {
+        LineDelta delta = LineDelta.diff(Arrays.asList("a", "b"), Arrays.asList("a", "c"), 100);
+        assertThrows(IllegalArgumentException.class, () -> delta.apply(Collections.singletonList("a")));
+        LineDelta outOfRange = new LineDelta(1, Collections.singletonList(LineDelta.Op.copy(0, 2)));
+        assertThrows(IllegalArgumentException.class, () -> outOfRange.apply(Collections.singletonList("a")));
+    }
+
+    @Test
+    void testRevisionCodec() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            builder.append("第").append(i).append("段内容，用于测试修订压缩\n");
+        }
+        String v1 = builder.toString();
+        String v2 = v1.replace("第500段", "第五百段");
+        String v3 = v2 + "新增的结尾";
+
+        byte[] snapshot = RevisionCodec.encodeSnapshot(v1);
+        byte[] delta2 = RevisionCodec.encodeDelta(
+                LineDelta.diff(LineDelta.splitLines(v1), LineDelta.splitLines(v2), 1000));
+        byte[] delta3 = RevisionCodec.encodeDelta(
+                LineDelta.diff(LineDelta.splitLines(v2), LineDelta.splitLines(v3), 1000));
+
+        assertTrue(snapshot.length < v1.length());
+        assertTrue(delta2.length < 200);
+        assertEquals(v1, RevisionCodec.decodeSnapshot(snapshot));
+        assertEquals(v3, RevisionCodec.restore(snapshot, Arrays.asList(delta2, delta3)));
+        assertThrows(IllegalArgumentException.class, () -> RevisionCodec.decodeSnapshot(new byte[]{0, 0, 0, 9, 1}));
+    }
+}
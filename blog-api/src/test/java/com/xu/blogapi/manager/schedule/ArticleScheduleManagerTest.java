@@ -0,0 +1,113 @@
+package com.xu.blogapi.manager.schedule;
+
+import com.xu.blogapi.constant.ArticleConstant;
+import com.xu.blogapi.event.TableChangedEvent;
+import com.xu.blogapi.mapper.ArticleMapper;
+import com.xu.blogapi.model.entity.Article;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 文章定时发布/下线测试
+ *
+ * @author xu
+ */
+public class ArticleScheduleManagerTest {
+
+    private final ArticleMapper articleMapper = mock(ArticleMapper.class);
+
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+
+    private final ArticleScheduleManager articleScheduleManager = new ArticleScheduleManager();
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(articleScheduleManager, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(articleScheduleManager, "stringRedisTemplate", stringRedisTemplate);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        articleScheduleManager.init();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        articleScheduleManager.destroy();
+    }
+
+    /**
+     * 测试成为负责节点后从数据库恢复任务并按时触发
+     */
+    @Test
+    public void testRecoverAndFire() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        Article article = new Article();
+        article.setId(1L);
+        article.setStatus(ArticleConstant.STATUS_SCHEDULED);
+        article.setPublishTime(LocalDateTime.now().plusSeconds(1));
+        when(articleMapper.selectPendingSchedules()).thenReturn(Collections.singletonList(article));
+        when(articleMapper.updateScheduledToPublished(eq(1L), any())).thenReturn(1);
+
+        articleScheduleManager.start();
+
+        verify(articleMapper, after(500).never()).updateScheduledToPublished(eq(1L), any());
+        verify(articleMapper, timeout(3000)).updateScheduledToPublished(eq(1L), any());
+        assertTrue(articleScheduleManager.isLeader());
+    }
+
+    /**
+     * 测试已过期的计划下线在文章变更后立即触发
+     */
+    @Test
+    public void testOverdueUnpublishFiresOnChange() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        when(articleMapper.selectPendingSchedules()).thenReturn(Collections.emptyList());
+        articleScheduleManager.start();
+        verify(articleMapper, timeout(3000)).selectPendingSchedules();
+
+        Article article = new Article();
+        article.setId(2L);
+        article.setStatus(ArticleConstant.STATUS_PUBLISHED);
+        article.setUnpublishTime(LocalDateTime.now().minusSeconds(1));
+        when(articleMapper.selectScheduleByIds(any())).thenReturn(Collections.singletonList(article));
+        when(articleMapper.updateToOffline(eq(2L), any())).thenReturn(1);
+
+        articleScheduleManager.onTableChanged(new TableChangedEvent(this, "article", Collections.singleton(2L), true));
+
+        verify(articleMapper, timeout(3000)).updateToOffline(eq(2L), any());
+    }
+
+    /**
+     * 测试没有拿到租约的节点不加载也不触发任务
+     */
+    @Test
+    public void testFollowerDoesNotFire() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+
+        articleScheduleManager.start();
+
+        verify(articleMapper, after(1000).never()).selectPendingSchedules();
+        assertFalse(articleScheduleManager.isLeader());
+    }
+}
@@ -0,0 +1,116 @@
+package com.xu.blogapi.manager.stats;
+
+import com.xu.blogapi.event.TableChangedEvent;
+import com.xu.blogapi.mapper.DashboardStatsMapper;
+import com.xu.blogapi.model.vo.DashboardStatsVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 仪表盘统计测试
+ *
+ * @author xu
+ */
+public class DashboardStatsManagerTest {
+
+    private final AtomicInteger articleQueries = new AtomicInteger();
+
+    private final DashboardStatsManager dashboardStatsManager = new DashboardStatsManager();
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(dashboardStatsManager, "dashboardStatsMapper", new StubMapper());
+        dashboardStatsManager.init();
+    }
+
+    @Test
+    void testSnapshotCached() {
+        DashboardStatsVO first = dashboardStatsManager.getStats();
+        DashboardStatsVO second = dashboardStatsManager.getStats();
+
+        assertSame(first, second);
+        assertEquals(1, articleQueries.get());
+        assertEquals(Long.valueOf(10), first.getArticle().getTotal());
+        assertEquals(Long.valueOf(3), first.getTravel().getRatingCounts().get("5"));
+        assertEquals(Long.valueOf(2), first.getTechStack().getCategoryCounts().get("backend"));
+    }
+
+    @Test
+    void testInvalidatedByTableChange() {
+        dashboardStatsManager.getStats();
+
+        // 无关的表不影响快照
+        dashboardStatsManager.onTableChanged(new TableChangedEvent(this, "user", Collections.singleton(1L), false));
+        dashboardStatsManager.getStats();
+        assertEquals(1, articleQueries.get());
+
+        dashboardStatsManager.onTableChanged(new TableChangedEvent(this, "tag", Collections.singleton(1L), true));
+        dashboardStatsManager.getStats();
+        assertEquals(2, articleQueries.get());
+    }
+
+    private class StubMapper implements DashboardStatsMapper {
+
+        @Override
+        public DashboardStatsVO.ArticleStats selectArticleStats() {
+            articleQueries.incrementAndGet();
+            DashboardStatsVO.ArticleStats stats = new DashboardStatsVO.ArticleStats();
+            stats.setTotal(10L);
+            return stats;
+        }
+
+        @Override
+        public DashboardStatsVO.ThoughtStats selectThoughtStats() {
+            return new DashboardStatsVO.ThoughtStats();
+        }
+
+        @Override
+        public DashboardStatsVO.TravelStats selectTravelStats() {
+            return new DashboardStatsVO.TravelStats();
+        }
+
+        @Override
+        public List<GroupCount> selectTravelRatingCounts() {
+            return Collections.singletonList(groupCount("5", 3L));
+        }
+
+        @Override
+        public List<GroupCount> selectTravelAuthorCounts() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public DashboardStatsVO.TagStats selectTagStats() {
+            return new DashboardStatsVO.TagStats();
+        }
+
+        @Override
+        public DashboardStatsVO.ProjectStats selectProjectStats() {
+            return new DashboardStatsVO.ProjectStats();
+        }
+
+        @Override
+        public DashboardStatsVO.TechStackStats selectTechStackStats() {
+            return new DashboardStatsVO.TechStackStats();
+        }
+
+        @Override
+        public List<GroupCount> selectTechStackCategoryCounts() {
+            return Collections.singletonList(groupCount("backend", 2L));
+        }
+
+        private GroupCount groupCount(String key, Long count) {
+            GroupCount groupCount = new GroupCount();
+            groupCount.setGroupKey(key);
+            groupCount.setCount(count);
+            return groupCount;
+        }
+    }
+}
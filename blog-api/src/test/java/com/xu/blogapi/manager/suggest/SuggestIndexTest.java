@@ -0,0 +1,62 @@
+package com.xu.blogapi.manager.suggest;
+
+import com.xu.blogapi.model.vo.SuggestionVO;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 自动补全前缀索引测试
+ *
+ * @author xu
+ */
+public class SuggestIndexTest {
+
+    private final SuggestIndex index = new SuggestIndex(Arrays.asList(
+            suggestion(SuggestType.TAG, 1L, "Java", "java", 10),
+            suggestion(SuggestType.TAG, 2L, "JavaScript", "javascript", 30),
+            suggestion(SuggestType.TAG, 3L, "后端开发", "backend", 5),
+            suggestion(SuggestType.CATEGORY, 4L, "技术随笔", "java-notes", 8),
+            suggestion(SuggestType.TAG, 5L, "Spring", "spring", 1)));
+
+    @Test
+    void testPrefixRankedByCount() {
+        assertEquals(Arrays.asList(2L, 1L, 4L), ids(index.search(" JA", null, 10)));
+        assertEquals(Arrays.asList(2L, 1L), ids(index.search("ja", SuggestType.TAG, 10)));
+        assertEquals(Arrays.asList(2L), ids(index.search("ja", null, 1)));
+        assertTrue(index.search("python", null, 10).isEmpty());
+        assertTrue(index.search("  ", null, 10).isEmpty());
+    }
+
+    @Test
+    void testChineseNameAndPinyinInitials() {
+        assertEquals(Arrays.asList(3L), ids(index.search("后端", null, 10)));
+        assertEquals(Arrays.asList(3L), ids(index.search("hdk", null, 10)));
+        assertEquals(Arrays.asList(4L), ids(index.search("jssb", SuggestType.CATEGORY, 10)));
+    }
+
+    @Test
+    void testMatchedOnceAcrossKeys() {
+        // 名称、别名、拼音首字母都匹配时只返回一次
+        assertEquals(Arrays.asList(5L), ids(index.search("s", SuggestType.TAG, 10)));
+        assertEquals(Arrays.asList(4L), ids(index.search("j", SuggestType.CATEGORY, 10)));
+    }
+
+    private static List<Long> ids(List<SuggestionVO> suggestions) {
+        return suggestions.stream().map(SuggestionVO::getId).collect(Collectors.toList());
+    }
+
+    private static SuggestionVO suggestion(SuggestType type, Long id, String name, String slug, long count) {
+        SuggestionVO suggestion = new SuggestionVO();
+        suggestion.setType(type.getValue());
+        suggestion.setId(id);
+        suggestion.setName(name);
+        suggestion.setSlug(slug);
+        suggestion.setCount(count);
+        return suggestion;
+    }
+}
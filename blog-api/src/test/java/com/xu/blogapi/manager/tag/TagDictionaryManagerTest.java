@@ -0,0 +1,143 @@
+package com.xu.blogapi.manager.tag;
+
+import com.xu.blogapi.event.TableChangeInterceptor;
+import com.xu.blogapi.event.TableChangedEvent;
+import com.xu.blogapi.mapper.TagMapper;
+import com.xu.blogapi.model.entity.Tag;
+import com.xu.blogapi.model.vo.TagVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 标签字典测试
+ *
+ * @author xu
+ */
+public class TagDictionaryManagerTest {
+
+    private final List<Tag> tags = new ArrayList<>();
+
+    private final AtomicInteger queries = new AtomicInteger();
+
+    /**
+     * 不为 null 时，下一次查询在返回前等待放行
+     */
+    private volatile CountDownLatch blockNextQuery;
+
+    private final CountDownLatch queryBlocked = new CountDownLatch(1);
+
+    private final TagDictionaryManager tagDictionaryManager = new TagDictionaryManager();
+
+    @BeforeEach
+    public void setUp() {
+        tags.add(tag(1L, "Java"));
+        tags.add(tag(2L, "Spring"));
+        TagMapper tagMapper = (TagMapper) Proxy.newProxyInstance(TagMapper.class.getClassLoader(),
+                new Class<?>[]{TagMapper.class}, (proxy, method, args) -> {
+                    queries.incrementAndGet();
+                    switch (method.getName()) {
+                        case "selectList":
+                            List<Tag> result = new ArrayList<>(tags);
+                            CountDownLatch release = blockNextQuery;
+                            if (release != null) {
+                                blockNextQuery = null;
+                                queryBlocked.countDown();
+                                release.await(5, TimeUnit.SECONDS);
+                            }
+                            return result;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        ReflectionTestUtils.setField(tagDictionaryManager, "tagMapper", tagMapper);
+        ReflectionTestUtils.setField(tagDictionaryManager, "tableChangeInterceptor", new TableChangeInterceptor());
+    }
+
+    @Test
+    void testLoadOnFirstRead() {
+        Map<Long, TagVO> tagMap = tagDictionaryManager.getTags(Arrays.asList(1L, 3L));
+
+        assertEquals(1, tagMap.size());
+        assertEquals("Java", tagMap.get(1L).getName());
+        assertEquals(1, queries.get());
+        assertSame(tagDictionaryManager.getDictionary(), tagDictionaryManager.getDictionary());
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    void testReadFromSnapshot() {
+        tagDictionaryManager.start();
+        queries.set(0);
+
+        Map<Long, TagVO> tagMap = tagDictionaryManager.getTags(Arrays.asList(1L, 2L, 3L));
+
+        assertEquals(2, tagMap.size());
+        assertEquals("Spring", tagMap.get(2L).getName());
+        assertEquals(0, queries.get());
+        assertTrue(tagDictionaryManager.getTags(Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    void testReloadOnTagChange() {
+        tagDictionaryManager.start();
+        tags.add(tag(3L, "Redis"));
+
+        // 无关的表不触发重新加载
+        tagDictionaryManager.onTableChanged(new TableChangedEvent(this, "article", Collections.singleton(1L), false));
+        assertNull(tagDictionaryManager.getTags(Collections.singletonList(3L)).get(3L));
+
+        tagDictionaryManager.onTableChanged(new TableChangedEvent(this, "tag", Collections.singleton(3L), true));
+        assertEquals("Redis", tagDictionaryManager.getTags(Collections.singletonList(3L)).get(3L).getName());
+        assertEquals(3, tagDictionaryManager.getDictionary().size());
+    }
+
+    /**
+     * 测试加载期间读取不被阻塞，先开始、后完成的加载不覆盖更新的快照
+     */
+    @Test
+    void testSlowOlderLoadDoesNotBlockOrOverwrite() throws Exception {
+        tagDictionaryManager.start();
+        TagDictionary initial = tagDictionaryManager.getDictionary();
+
+        // 第一次加载读到旧数据后卡住
+        CountDownLatch release = new CountDownLatch(1);
+        blockNextQuery = release;
+        tags.add(tag(3L, "Redis"));
+        CompletableFuture<TagDictionary> slowLoad = CompletableFuture.supplyAsync(tagDictionaryManager::reload);
+        assertTrue(queryBlocked.await(5, TimeUnit.SECONDS));
+
+        // 加载期间仍读取当前快照
+        assertSame(initial, tagDictionaryManager.getDictionary());
+
+        // 之后开始的加载读到新数据，不等待卡住的加载，先完成
+        tags.add(tag(4L, "MySQL"));
+        assertEquals(4, tagDictionaryManager.reload().size());
+        assertFalse(slowLoad.isDone());
+
+        release.countDown();
+        assertEquals(3, slowLoad.get(5, TimeUnit.SECONDS).size());
+        assertEquals(4, tagDictionaryManager.getDictionary().size());
+    }
+
+    private static Tag tag(Long id, String name) {
+        Tag tag = new Tag();
+        tag.setId(id);
+        tag.setName(name);
+        tag.setSlug(name.toLowerCase());
+        return tag;
+    }
+}
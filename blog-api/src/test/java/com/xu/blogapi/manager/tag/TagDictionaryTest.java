@@ -0,0 +1,77 @@
+package com.xu.blogapi.manager.tag;
+
+import com.xu.blogapi.model.entity.Tag;
+import com.xu.blogapi.model.vo.TagVO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 标签字典快照测试
+ *
+ * @author xu
+ */
+public class TagDictionaryTest {
+
+    @Test
+    void testIdIndex() {
+        List<Tag> tagList = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            tagList.add(tag(id * 7919, "tag" + id, 0));
+        }
+        TagDictionary dictionary = TagDictionary.of(tagList);
+
+        assertEquals(500, dictionary.size());
+        for (long id = 1; id <= 500; id++) {
+            assertEquals("tag" + id, dictionary.get(id * 7919).getName());
+        }
+        assertNull(dictionary.get(1));
+        assertNull(dictionary.get(-7919));
+        assertEquals(2, dictionary.getAll(Arrays.asList(7919L, 15838L, 3L, null)).size());
+    }
+
+    @Test
+    void testNameAndSlugIgnoreCase() {
+        TagDictionary dictionary = TagDictionary.of(Arrays.asList(tag(1L, "Java", 3), tag(2L, "Spring", 5)));
+
+        assertEquals(Long.valueOf(1), dictionary.getBySlug("JAVA").getId());
+        assertNull(dictionary.getBySlug("redis"));
+        assertTrue(dictionary.existsByName("java", null));
+        assertTrue(dictionary.existsByName("java", 2L));
+        assertFalse(dictionary.existsByName("java", 1L));
+        assertTrue(dictionary.existsBySlug("spring", null));
+        assertFalse(dictionary.existsBySlug("spring", 2L));
+        assertFalse(dictionary.existsBySlug(null, null));
+    }
+
+    @Test
+    void testPopularOrder() {
+        Tag older = tag(1L, "Java", 5);
+        older.setCreateTime(LocalDateTime.of(2024, 1, 1, 0, 0));
+        Tag newer = tag(2L, "Spring", 5);
+        newer.setCreateTime(LocalDateTime.of(2025, 1, 1, 0, 0));
+        TagDictionary dictionary = TagDictionary.of(Arrays.asList(tag(3L, "Redis", 1), older, newer));
+
+        assertEquals(Arrays.asList(2L, 1L, 3L),
+                dictionary.listAll().stream().map(TagVO::getId).collect(Collectors.toList()));
+        assertEquals(2, dictionary.listPopular(2).size());
+        assertEquals(3, dictionary.listPopular(10).size());
+        assertTrue(TagDictionary.of(Collections.emptyList()).listAll().isEmpty());
+    }
+
+    private static Tag tag(Long id, String name, int useCount) {
+        Tag tag = new Tag();
+        tag.setId(id);
+        tag.setName(name);
+        tag.setSlug(name.toLowerCase());
+        tag.setUseCount(useCount);
+        return tag;
+    }
+}
@@ -0,0 +1,209 @@
+package com.xu.blogapi.mapper;
+
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.xu.blogapi.model.dto.project.ProjectQueryRequest;
+import com.xu.blogapi.model.dto.thought.ThoughtQueryRequest;
+import com.xu.blogapi.model.dto.travel.TravelQueryRequest;
+import com.xu.blogapi.service.ProjectService;
+import com.xu.blogapi.service.ThoughtService;
+import com.xu.blogapi.service.TravelService;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 列表查询执行计划测试
+ * 对各列表查询执行 EXPLAIN，确认使用了 db/migration 中为其设计的复合索引，没有退化为全表扫描或文件排序；
+ * 分页查询的 SQL 由 Service 构建的 QueryWrapper 经 Mapper 的 selectList 语句生成，与线上执行的语句一致
+ *
+ * @author xu
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class QueryPlanTest {
+
+    /**
+     * 分页插件追加的 LIMIT
+     */
+    private static final String PAGE_LIMIT = " LIMIT 10";
+
+    @Resource
+    private JdbcTemplate jdbcTemplate;
+
+    @Resource
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Resource
+    private TravelService travelService;
+
+    @Resource
+    private ThoughtService thoughtService;
+
+    @Resource
+    private ProjectService projectService;
+
+    /**
+     * 测试文章分页（按状态、按分类）
+     */
+    @Test
+    public void testArticleListPage() {
+        Map<String, Object> params = new HashMap<>();
+        params.put("status", 1);
+        params.put("categoryId", null);
+        params.put("authorId", null);
+        assertPlan(mapperSql("ArticleMapper.selectArticleListPage", params), "article", "idx_list", PAGE_LIMIT);
+
+        params.put("categoryId", 1L);
+        assertPlan(mapperSql("ArticleMapper.selectArticleListPage", params), "article", "idx_category_list", PAGE_LIMIT);
+    }
+
+    /**
+     * 测试置顶文章和精选文章
+     */
+    @Test
+    public void testTopAndFeaturedArticles() {
+        Map<String, Object> params = new HashMap<>();
+        params.put("limit", 5);
+        assertPlan(mapperSql("ArticleMapper.selectTopArticles", params), "article", "idx_list", "");
+        assertPlan(mapperSql("ArticleMapper.selectFeaturedArticles", params), "article", "idx_featured_list", "");
+    }
+
+    /**
+     * 测试分类文章数量统计
+     */
+    @Test
+    public void testCountArticlesByCategoryIds() {
+        Map<String, Object> params = new HashMap<>();
+        params.put("categoryIds", Arrays.asList(1L, 2L, 3L));
+        assertPlan(mapperSql("CategoryMapper.countArticlesByCategoryIds", params), "article", "idx_category_list", "");
+    }
+
+    /**
+     * 测试旅行记录分页（未登录时只查公开记录）和作者的公开旅行记录
+     */
+    @Test
+    public void testTravelList() {
+        Wrapper<?> wrapper = travelService.getQueryWrapper(new TravelQueryRequest(), null);
+        assertPlan(wrapperSql("TravelMapper", wrapper), "travel", "idx_list", PAGE_LIMIT);
+        // listTravelsByAuthor 中的 QueryWrapper
+        assertPlan(new Explain("SELECT * FROM travel WHERE author_id = ? AND status = ? AND is_delete = ? "
+                + "ORDER BY start_date DESC, create_time DESC", 1L, 1, 0), "travel", "idx_author_list", "");
+    }
+
+    /**
+     * 测试想法分页（按状态、未指定状态的默认列表）
+     */
+    @Test
+    public void testThoughtList() {
+        ThoughtQueryRequest request = new ThoughtQueryRequest();
+        request.setStatus(1);
+        assertPlan(wrapperSql("ThoughtMapper", thoughtService.getQueryWrapper(request)), "thought", "idx_list",
+                PAGE_LIMIT);
+
+        request.setStatus(null);
+        assertPlan(wrapperSql("ThoughtMapper", thoughtService.getQueryWrapper(request)), "thought", "idx_all_list",
+                PAGE_LIMIT);
+    }
+
+    /**
+     * 测试项目分页（按状态、未指定状态的默认列表）、精选项目和开源项目
+     */
+    @Test
+    public void testProjectList() {
+        ProjectQueryRequest request = new ProjectQueryRequest();
+        request.setStatus(1);
+        assertPlan(wrapperSql("ProjectMapper", projectService.getQueryWrapper(request)), "project", "idx_list",
+                PAGE_LIMIT);
+
+        request.setStatus(null);
+        assertPlan(wrapperSql("ProjectMapper", projectService.getQueryWrapper(request)), "project", "idx_all_list",
+                PAGE_LIMIT);
+
+        assertPlan(mapperSql("ProjectMapper.selectFeaturedProjects", new HashMap<>()), "project",
+                "idx_featured_list", "");
+        assertPlan(mapperSql("ProjectMapper.selectOpenSourceProjects", new HashMap<>()), "project",
+                "idx_open_source_list", "");
+    }
+
+    /**
+     * 测试启用的技术栈和分类
+     */
+    @Test
+    public void testEnabledTechStacksAndCategories() {
+        assertPlan(new Explain("SELECT * FROM tech_stack WHERE is_delete = ? AND status = ? "
+                + "ORDER BY sort_order ASC, create_time DESC", 0, 1), "tech_stack", "idx_list", "");
+        assertPlan(mapperSql("CategoryMapper.selectEnabledCategories", new HashMap<>()), "category", "idx_list", "");
+    }
+
+    /**
+     * 取 Mapper 语句的 SQL 和参数
+     */
+    private Explain mapperSql(String statementId, Map<String, Object> params) {
+        return boundSql("com.xu.blogapi.mapper." + statementId, params);
+    }
+
+    /**
+     * 取 QueryWrapper 在 Mapper 的 selectList 语句中生成的 SQL 和参数（含逻辑删除条件）
+     */
+    private Explain wrapperSql(String mapper, Wrapper<?> wrapper) {
+        Map<String, Object> params = new HashMap<>();
+        params.put(Constants.WRAPPER, wrapper);
+        return boundSql("com.xu.blogapi.mapper." + mapper + ".selectList", params);
+    }
+
+    private Explain boundSql(String statementId, Map<String, Object> params) {
+        Configuration configuration = sqlSessionFactory.getConfiguration();
+        MappedStatement ms = configuration.getMappedStatement(statementId);
+        BoundSql boundSql = ms.getBoundSql(params);
+        MetaObject metaObject = configuration.newMetaObject(params);
+        List<Object> args = new ArrayList<>();
+        for (ParameterMapping mapping : boundSql.getParameterMappings()) {
+            String property = mapping.getProperty();
+            args.add(boundSql.hasAdditionalParameter(property)
+                    ? boundSql.getAdditionalParameter(property) : metaObject.getValue(property));
+        }
+        return new Explain(boundSql.getSql(), args.toArray());
+    }
+
+    private void assertPlan(Explain explain, String table, String expectedKey, String suffix) {
+        String sql = explain.sql + suffix;
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("EXPLAIN " + sql, explain.args);
+        Map<String, Object> tableRow = rows.stream()
+                .filter(row -> table.equals(row.get("table")))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("执行计划中没有表 " + table + "：" + rows));
+        String extra = String.valueOf(tableRow.get("Extra"));
+        assertNotEquals("ALL", tableRow.get("type"), "全表扫描：" + sql + "\n" + rows);
+        assertFalse(extra.contains("Using filesort"), "文件排序：" + sql + "\n" + rows);
+        assertEquals(expectedKey, tableRow.get("key"), "未使用预期索引：" + sql + "\n" + rows);
+    }
+
+    private static final class Explain {
+
+        private final String sql;
+
+        private final Object[] args;
+
+        private Explain(String sql, Object... args) {
+            this.sql = sql;
+            this.args = args;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.xu.blogapi.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.xu.blogapi.model.dto.article.ArticleAddRequest;
+import com.xu.blogapi.model.dto.article.ArticleUpdateRequest;
+import com.xu.blogapi.model.entity.Article;
+import com.xu.blogapi.model.entity.ArticleRevision;
+import com.xu.blogapi.model.vo.ArticleRevisionVO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 文章并发更新测试
+ * 各线程在独立事务中提交，测试类不加 @Transactional，结束后清理数据
+ *
+ * @author xu
+ */
+@SpringBootTest
+class ArticleConcurrentUpdateTest {
+
+    private static final int THREADS = 8;
+
+    @Resource
+    private ArticleService articleService;
+
+    @Resource
+    private ArticleRevisionService articleRevisionService;
+
+    private Long articleId;
+
+    @AfterEach
+    void tearDown() {
+        if (articleId != null) {
+            articleRevisionService.remove(new QueryWrapper<ArticleRevision>().eq("article_id", articleId));
+            articleService.removeById(articleId);
+        }
+    }
+
+    /**
+     * 测试同一篇文章的并发更新依次执行
+     * 原文章在加锁前读取时，后拿到锁的事务沿用旧快照，算出重复的修订号而回滚
+     */
+    @Test
+    void testConcurrentUpdateSameArticle() throws Exception {
+        String slug = "concurrent-update-" + System.nanoTime();
+        ArticleAddRequest addRequest = new ArticleAddRequest();
+        addRequest.setTitle("并发更新");
+        addRequest.setSlug(slug);
+        addRequest.setContent("原始内容");
+        addRequest.setAuthorId(1L);
+        addRequest.setStatus(2);
+        articleId = articleService.addArticle(addRequest);
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            ArticleUpdateRequest updateRequest = new ArticleUpdateRequest();
+            updateRequest.setId(articleId);
+            updateRequest.setSlug(slug);
+            updateRequest.setContent("并发更新内容 " + i);
+            futures.add(executorService.submit(() -> {
+                start.await();
+                return articleService.updateArticle(updateRequest);
+            }));
+        }
+        start.countDown();
+        try {
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        // 每次更新各产生一条修订，修订号连续，最新修订与文章内容一致
+        List<ArticleRevisionVO> revisions = articleRevisionService.listRevisions(articleId);
+        assertEquals(THREADS + 1, revisions.size());
+        List<Integer> revisionNos = revisions.stream().map(ArticleRevisionVO::getRevisionNo).sorted()
+                .collect(Collectors.toList());
+        for (int i = 0; i < revisionNos.size(); i++) {
+            assertEquals(i + 1, revisionNos.get(i));
+        }
+        Article article = articleService.getArticleById(articleId);
+        assertEquals(article.getContent(), articleRevisionService.getRevisionContent(articleId, THREADS + 1));
+    }
+}
@@ -0,0 +1,64 @@
+package com.xu.blogapi.utils;
+
+import com.xu.blogapi.utils.ArticleContentUtils.FrontMatter;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 文章内容工具类测试
+ *
+ * @author xu
+ */
+public class ArticleContentUtilsTest {
+
+    @Test
+    public void testGenerateSlug() {
+        assertEquals("hello-spring-boot", ArticleContentUtils.generateSlug("  Hello, Spring Boot! "));
+        assertEquals("", ArticleContentUtils.generateSlug("你好世界"));
+        assertTrue(ArticleContentUtils.isValidSlug("hello-spring-boot"));
+        assertFalse(ArticleContentUtils.isValidSlug("Hello World"));
+    }
+
+    @Test
+    public void testCountWords() {
+        String content = "# 标题\n\n正文内容 `code` ![图](a.png)\n\n```java\nint a = 1;\n```";
+        assertEquals("标题 正文内容".length(), ArticleContentUtils.countWords(content));
+        assertEquals(0, ArticleContentUtils.calculateReadingTime(0));
+        assertEquals(1, ArticleContentUtils.calculateReadingTime(10));
+        assertEquals(3, ArticleContentUtils.calculateReadingTime(401));
+    }
+
+    @Test
+    public void testParseFrontMatter() {
+        String markdown = "---\ntitle: \"第一篇文章\"\nslug: first-post\ndate: 2024-01-01\n---\n\n正文";
+        FrontMatter frontMatter = ArticleContentUtils.parseFrontMatter(markdown);
+        assertEquals("第一篇文章", frontMatter.get("title"));
+        assertEquals("first-post", frontMatter.get("slug"));
+        assertEquals("2024-01-01", frontMatter.get("publishTime", "date"));
+        assertEquals("正文", frontMatter.getBody());
+
+        FrontMatter noFrontMatter = ArticleContentUtils.parseFrontMatter("正文 --- 分隔");
+        assertTrue(noFrontMatter.getAttributes().isEmpty());
+        assertEquals("正文 --- 分隔", noFrontMatter.getBody());
+    }
+
+    @Test
+    public void testFormatFrontMatterRoundTrip() {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("title", "多行\n标题");
+        attributes.put("slug", "first-post");
+        attributes.put("categoryId", 3L);
+        attributes.put("summary", null);
+        String markdown = ArticleContentUtils.formatFrontMatter(attributes, "# 正文\n\n内容");
+        FrontMatter frontMatter = ArticleContentUtils.parseFrontMatter(markdown);
+        assertEquals("多行 标题", frontMatter.get("title"));
+        assertEquals("first-post", frontMatter.get("slug"));
+        assertEquals("3", frontMatter.get("categoryId"));
+        assertFalse(frontMatter.getAttributes().containsKey("summary"));
+        assertEquals("# 正文\n\n内容", frontMatter.getBody());
+    }
+}